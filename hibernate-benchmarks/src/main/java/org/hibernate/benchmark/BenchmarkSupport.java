@@ -0,0 +1,89 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Author;
+import org.hibernate.benchmark.model.Book;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Bootstraps an in-memory H2 backed {@link SessionFactoryImplementor} for the benchmarks
+ * and takes care of populating the test data.
+ * <p/>
+ * Subclasses are expected to call {@link #start} from their trial-level {@code @Setup}
+ * method and {@link #stop} from their trial-level {@code @TearDown} method.
+ */
+public abstract class BenchmarkSupport {
+	/**
+	 * The number of books (and of authors, one author per ten books) inserted by {@link #populate}
+	 */
+	public static final int BOOK_COUNT = 10_000;
+
+	private StandardServiceRegistry serviceRegistry;
+	protected SessionFactoryImplementor sessionFactory;
+
+	protected void start(Map<String, Object> extraSettings) {
+		final Map<String, Object> settings = new HashMap<>();
+		settings.put( AvailableSettings.DRIVER, "org.h2.Driver" );
+		settings.put( AvailableSettings.URL, "jdbc:h2:mem:" + getClass().getSimpleName() + ";DB_CLOSE_DELAY=-1" );
+		settings.put( AvailableSettings.USER, "sa" );
+		settings.put( AvailableSettings.PASS, "" );
+		settings.put( AvailableSettings.HBM2DDL_AUTO, "create-drop" );
+		settings.put( AvailableSettings.SHOW_SQL, "false" );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "50" );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "false" );
+		settings.putAll( extraSettings );
+
+		serviceRegistry = new StandardServiceRegistryBuilder().applySettings( settings ).build();
+		sessionFactory = (SessionFactoryImplementor) new MetadataSources( serviceRegistry )
+				.addAnnotatedClass( Author.class )
+				.addAnnotatedClass( Book.class )
+				.buildMetadata()
+				.buildSessionFactory();
+	}
+
+	protected void stop() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+			sessionFactory = null;
+		}
+		if ( serviceRegistry != null ) {
+			StandardServiceRegistryBuilder.destroy( serviceRegistry );
+			serviceRegistry = null;
+		}
+	}
+
+	/**
+	 * Inserts {@link #BOOK_COUNT} books and their authors.
+	 */
+	protected void populate() {
+		try ( Session session = sessionFactory.openSession() ) {
+			session.beginTransaction();
+			Author author = null;
+			for ( long i = 0; i < BOOK_COUNT; i++ ) {
+				if ( i % 10 == 0 ) {
+					author = new Author( i / 10, "author-" + i / 10 );
+					session.persist( author );
+				}
+				session.persist( new Book( i, "title-" + i, author ) );
+				if ( i % 500 == 0 ) {
+					session.flush();
+					session.clear();
+				}
+			}
+			session.getTransaction().commit();
+		}
+	}
+}
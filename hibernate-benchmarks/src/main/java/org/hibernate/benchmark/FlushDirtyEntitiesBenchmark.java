@@ -0,0 +1,81 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Book;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the flush of a session holding {@link #managedEntities} entities of which
+ * {@link #dirtyEntities} have been modified, which exercises
+ * {@code DefaultFlushEntityEventListener#onFlushEntity} for every managed entity.
+ * <p/>
+ * The transaction is rolled back so that every invocation starts from the same data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FlushDirtyEntitiesBenchmark extends BenchmarkSupport {
+	@Param({ "1000", "10000" })
+	public int managedEntities;
+
+	@Param({ "0", "100" })
+	public int dirtyEntities;
+
+	private Session session;
+	private List<Book> books;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		start( Collections.emptyMap() );
+		populate();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		stop();
+	}
+
+	@Setup(Level.Invocation)
+	public void loadEntities() {
+		session = sessionFactory.openSession();
+		session.beginTransaction();
+		books = session.createQuery( "select b from Book b order by b.id", Book.class )
+				.setMaxResults( managedEntities )
+				.getResultList();
+		for ( int i = 0; i < dirtyEntities; i++ ) {
+			final Book book = books.get( i * ( books.size() / dirtyEntities ) );
+			book.setTitle( book.getTitle() + "'" );
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void rollback() {
+		session.getTransaction().rollback();
+		session.close();
+	}
+
+	@Benchmark
+	public void flush() {
+		session.flush();
+	}
+}
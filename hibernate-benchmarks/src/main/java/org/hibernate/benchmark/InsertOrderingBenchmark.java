@@ -0,0 +1,71 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Author;
+import org.hibernate.benchmark.model.Book;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the flush of interleaved parent/child inserts, with and without
+ * {@value AvailableSettings#ORDER_INSERTS}, which exercises the {@code ActionQueue} insert sorting.
+ * <p/>
+ * The transaction is rolled back so that the table sizes stay constant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InsertOrderingBenchmark extends BenchmarkSupport {
+	@Param({ "false", "true" })
+	public boolean orderInserts;
+
+	@Param({ "1000" })
+	public int authors;
+
+	private final AtomicLong ids = new AtomicLong( 1_000_000 );
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		start( Collections.singletonMap( AvailableSettings.ORDER_INSERTS, String.valueOf( orderInserts ) ) );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		stop();
+	}
+
+	@Benchmark
+	public void persistAndFlush() {
+		try ( Session session = sessionFactory.openSession() ) {
+			session.beginTransaction();
+			for ( int i = 0; i < authors; i++ ) {
+				final Author author = new Author( ids.incrementAndGet(), "author" );
+				session.persist( author );
+				session.persist( new Book( ids.incrementAndGet(), "first", author ) );
+				session.persist( new Book( ids.incrementAndGet(), "second", author ) );
+			}
+			session.flush();
+			session.getTransaction().rollback();
+		}
+	}
+}
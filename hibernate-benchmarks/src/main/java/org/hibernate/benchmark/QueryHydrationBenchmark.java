@@ -0,0 +1,65 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Book;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the row hydration performed by {@code Loader#doQuery} for entity and scalar HQL queries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryHydrationBenchmark extends BenchmarkSupport {
+	@Param({ "10", "1000" })
+	public int rows;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		start( Collections.emptyMap() );
+		populate();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		stop();
+	}
+
+	@Benchmark
+	public List<Book> entities() {
+		try ( Session session = sessionFactory.openSession() ) {
+			return session.createQuery( "select b from Book b", Book.class )
+					.setMaxResults( rows )
+					.getResultList();
+		}
+	}
+
+	@Benchmark
+	public List<Object[]> scalars() {
+		try ( Session session = sessionFactory.openSession() ) {
+			return session.createQuery( "select b.id, b.title, b.isbn, b.price from Book b", Object[].class )
+					.setMaxResults( rows )
+					.getResultList();
+		}
+	}
+}
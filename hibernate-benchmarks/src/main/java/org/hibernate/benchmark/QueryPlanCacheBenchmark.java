@@ -0,0 +1,60 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures {@link QueryPlanCache#getHQLQueryPlan} for cache hits and for cache misses, the latter
+ * requiring a complete HQL translation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryPlanCacheBenchmark extends BenchmarkSupport {
+	private static final String HQL = "select b from Book b join fetch b.author a where a.name = :name and b.price > :price";
+
+	private QueryPlanCache queryPlanCache;
+	private long missCounter;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		start( Collections.emptyMap() );
+		queryPlanCache = sessionFactory.getQueryPlanCache();
+		queryPlanCache.getHQLQueryPlan( HQL, false, Collections.emptyMap() );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		stop();
+	}
+
+	@Benchmark
+	public HQLQueryPlan hit() {
+		return queryPlanCache.getHQLQueryPlan( HQL, false, Collections.emptyMap() );
+	}
+
+	@Benchmark
+	public HQLQueryPlan miss() {
+		// a distinct literal makes for a distinct query string, hence a distinct plan
+		return queryPlanCache.getHQLQueryPlan( HQL + " and b.id <> " + missCounter++, false, Collections.emptyMap() );
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Book;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures second-level cache put and get through {@code AbstractCachedDomainDataAccess}, both directly
+ * against the {@link EntityDataAccess} and through a {@code Session#get} served from the cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SecondLevelCacheBenchmark extends BenchmarkSupport {
+	private EntityPersister persister;
+	private EntityDataAccess cacheAccess;
+	private Session session;
+	private Object cachedValue;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final Map<String, Object> settings = new HashMap<>();
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, "testing" );
+		start( settings );
+		populate();
+
+		persister = sessionFactory.getMetamodel().entityPersister( Book.class );
+		cacheAccess = persister.getCacheAccessStrategy();
+		session = sessionFactory.openSession();
+
+		// warm the cache
+		for ( long i = 0; i < BOOK_COUNT; i++ ) {
+			try ( Session warmUp = sessionFactory.openSession() ) {
+				warmUp.get( Book.class, i );
+			}
+		}
+		cachedValue = cacheAccess.get( (SharedSessionContractImplementor) session, cacheKey( 0L ) );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		session.close();
+		stop();
+	}
+
+	private Object cacheKey(Long id) {
+		return cacheAccess.generateCacheKey( id, persister, sessionFactory, null );
+	}
+
+	@Benchmark
+	public Object regionGet() {
+		final long id = ThreadLocalRandom.current().nextLong( BOOK_COUNT );
+		return cacheAccess.get( (SharedSessionContractImplementor) session, cacheKey( id ) );
+	}
+
+	@Benchmark
+	public boolean regionPut() {
+		final long id = ThreadLocalRandom.current().nextLong( BOOK_COUNT );
+		return cacheAccess.putFromLoad( (SharedSessionContractImplementor) session, cacheKey( id ), cachedValue, null, false );
+	}
+
+	@Benchmark
+	public Book sessionGet() {
+		try ( Session readSession = sessionFactory.openSession() ) {
+			return readSession.get( Book.class, ThreadLocalRandom.current().nextLong( BOOK_COUNT ) );
+		}
+	}
+}
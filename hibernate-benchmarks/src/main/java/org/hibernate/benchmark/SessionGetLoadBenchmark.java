@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Book;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@code SessionImpl#get} and {@code SessionImpl#load}, both against entities that are
+ * already managed by the persistence context and against entities that need to be loaded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionGetLoadBenchmark extends BenchmarkSupport {
+	/**
+	 * How many entities are loaded in the same session.
+	 */
+	@Param({ "1", "100" })
+	public int entitiesPerSession;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		start( Collections.emptyMap() );
+		populate();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		stop();
+	}
+
+	@Benchmark
+	public void get(Blackhole blackhole) {
+		try ( Session session = sessionFactory.openSession() ) {
+			final long start = ThreadLocalRandom.current().nextLong( BOOK_COUNT - entitiesPerSession );
+			for ( long i = start; i < start + entitiesPerSession; i++ ) {
+				blackhole.consume( session.get( Book.class, i ) );
+			}
+		}
+	}
+
+	@Benchmark
+	public void getManaged(Blackhole blackhole) {
+		try ( Session session = sessionFactory.openSession() ) {
+			final long start = ThreadLocalRandom.current().nextLong( BOOK_COUNT - entitiesPerSession );
+			for ( long i = start; i < start + entitiesPerSession; i++ ) {
+				blackhole.consume( session.get( Book.class, i ) );
+			}
+			// second pass only hits the persistence context
+			for ( long i = start; i < start + entitiesPerSession; i++ ) {
+				blackhole.consume( session.get( Book.class, i ) );
+			}
+		}
+	}
+
+	@Benchmark
+	public void load(Blackhole blackhole) {
+		try ( Session session = sessionFactory.openSession() ) {
+			final long start = ThreadLocalRandom.current().nextLong( BOOK_COUNT - entitiesPerSession );
+			for ( long i = start; i < start + entitiesPerSession; i++ ) {
+				blackhole.consume( session.load( Book.class, i ) );
+			}
+		}
+	}
+}
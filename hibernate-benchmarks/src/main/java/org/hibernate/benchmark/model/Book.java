@@ -0,0 +1,74 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark.model;
+
+import java.math.BigDecimal;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Cached entity with a lazy to-one association, used by most of the benchmarks.
+ */
+@Entity(name = "Book")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class Book {
+	@Id
+	private Long id;
+
+	private String title;
+
+	private String isbn;
+
+	private BigDecimal price;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	private Author author;
+
+	public Book() {
+	}
+
+	public Book(Long id, String title, Author author) {
+		this.id = id;
+		this.title = title;
+		this.isbn = "isbn-" + id;
+		this.price = BigDecimal.valueOf( id % 100 );
+		this.author = author;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getIsbn() {
+		return isbn;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	public void setPrice(BigDecimal price) {
+		this.price = price;
+	}
+
+	public Author getAuthor() {
+		return author;
+	}
+}
@@ -7,6 +7,8 @@
 package org.hibernate.action.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
@@ -21,6 +23,7 @@ import org.hibernate.event.spi.PostInsertEvent;
 import org.hibernate.event.spi.PostInsertEventListener;
 import org.hibernate.event.spi.PreInsertEvent;
 import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.stat.spi.StatisticsImplementor;
 
@@ -81,17 +84,7 @@ public class EntityIdentityInsertAction extends AbstractEntityInsertAction  {
 		// else inserted the same pk first, the insert would fail
 
 		if ( !isVeto() ) {
-			generatedId = persister.insert( getState(), instance, session );
-			if ( persister.hasInsertGeneratedProperties() ) {
-				persister.processInsertGeneratedProperties( generatedId, instance, getState(), session );
-			}
-			//need to do that here rather than in the save event listener to let
-			//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
-			persister.setIdentifier( instance, generatedId, session );
-			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
-			persistenceContext.registerInsertedKey( getPersister(), generatedId );
-			entityKey = session.generateEntityKey( generatedId, persister );
-			persistenceContext.checkUniqueness( entityKey, getInstance() );
+			afterInsert( persister.insert( getState(), instance, session ) );
 		}
 
 
@@ -103,9 +96,68 @@ public class EntityIdentityInsertAction extends AbstractEntityInsertAction  {
 			persister.getCache().insert(generatedId, cacheEntry);
 		}*/
 
+		completeExecution();
+	}
+
+	/**
+	 * Execute delayed inserts of entities of the same persister as multi-row inserts.
+	 *
+	 * @param actions The delayed inserts, none of which references the entity of another
+	 *
+	 * @see AbstractEntityPersister#isIdentityInsertBatchable()
+	 */
+	public static void executeBatch(List<EntityIdentityInsertAction> actions) throws HibernateException {
+		final List<EntityIdentityInsertAction> inserts = new ArrayList<>( actions.size() );
+		for ( EntityIdentityInsertAction action : actions ) {
+			action.nullifyTransientReferencesIfNotAlready();
+			action.setVeto( action.preInsert() );
+			if ( !action.isVeto() ) {
+				inserts.add( action );
+			}
+		}
+
+		if ( !inserts.isEmpty() ) {
+			final EntityIdentityInsertAction first = inserts.get( 0 );
+			final Object[][] states = new Object[inserts.size()][];
+			final Object[] instances = new Object[inserts.size()];
+			for ( int i = 0; i < instances.length; i++ ) {
+				states[i] = inserts.get( i ).getState();
+				instances[i] = inserts.get( i ).getInstance();
+			}
+			final Serializable[] generatedIds = ( (AbstractEntityPersister) first.getPersister() )
+					.insert( states, instances, first.getSession() );
+			for ( int i = 0; i < instances.length; i++ ) {
+				inserts.get( i ).afterInsert( generatedIds[i] );
+			}
+		}
+
+		for ( EntityIdentityInsertAction action : actions ) {
+			action.completeExecution();
+		}
+	}
+
+	private void afterInsert(Serializable generatedId) {
+		final EntityPersister persister = getPersister();
+		final SharedSessionContractImplementor session = getSession();
+		final Object instance = getInstance();
+
+		this.generatedId = generatedId;
+		if ( persister.hasInsertGeneratedProperties() ) {
+			persister.processInsertGeneratedProperties( generatedId, instance, getState(), session );
+		}
+		//need to do that here rather than in the save event listener to let
+		//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
+		persister.setIdentifier( instance, generatedId, session );
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		persistenceContext.registerInsertedKey( getPersister(), generatedId );
+		entityKey = session.generateEntityKey( generatedId, persister );
+		persistenceContext.checkUniqueness( entityKey, getInstance() );
+	}
+
+	private void completeExecution() {
 		postInsert();
 
-		final StatisticsImplementor statistics = session.getFactory().getStatistics();
+		final StatisticsImplementor statistics = getSession().getFactory().getStatistics();
 		if ( statistics.isStatisticsEnabled() && !isVeto() ) {
 			statistics.insertEntity( getPersister().getEntityName() );
 		}
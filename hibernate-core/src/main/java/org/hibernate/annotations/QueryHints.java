@@ -162,4 +162,17 @@ public class QueryHints {
 	 */
 	public static final String NATIVE_SPACES = "org.hibernate.query.native.spaces";
 
+	/**
+	 * Hint to detach the entities loaded by a {@link org.hibernate.query.Query#scroll scrolled} or
+	 * {@link org.hibernate.query.Query#stream streamed} query once they are no longer needed, so that the
+	 * persistence context does not grow with the number of rows read.
+	 * <p/>
+	 * The value is the number of rows, preceding the current one, whose entities are kept managed. A value of
+	 * {@code 0} detaches the entities of a row as soon as the next row is read; all remaining entities are detached
+	 * when the results are closed. Changes made to detached entities are not flushed.
+	 *
+	 * @since 5.6
+	 */
+	public static final String STREAMING_DETACH_WINDOW = "hibernate.query.streamingDetachWindow";
+
 }
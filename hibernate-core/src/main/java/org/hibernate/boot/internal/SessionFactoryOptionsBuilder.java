@@ -73,6 +73,7 @@ import static org.hibernate.cfg.AvailableSettings.AUTO_CLOSE_SESSION;
 import static org.hibernate.cfg.AvailableSettings.AUTO_EVICT_COLLECTION_CACHE;
 import static org.hibernate.cfg.AvailableSettings.AUTO_SESSION_EVENTS_LISTENER;
 import static org.hibernate.cfg.AvailableSettings.BATCH_FETCH_STYLE;
+import static org.hibernate.cfg.AvailableSettings.BATCH_IDENTITY_INSERTS;
 import static org.hibernate.cfg.AvailableSettings.BATCH_VERSIONED_DATA;
 import static org.hibernate.cfg.AvailableSettings.CACHE_REGION_PREFIX;
 import static org.hibernate.cfg.AvailableSettings.CHECK_NULLABILITY;
@@ -93,11 +94,14 @@ import static org.hibernate.cfg.AvailableSettings.GENERATE_STATISTICS;
 import static org.hibernate.cfg.AvailableSettings.HQL_BULK_ID_STRATEGY;
 import static org.hibernate.cfg.AvailableSettings.IMMUTABLE_ENTITY_UPDATE_QUERY_HANDLING_MODE;
 import static org.hibernate.cfg.AvailableSettings.INTERCEPTOR;
+import static org.hibernate.cfg.AvailableSettings.IN_CLAUSE_PARAMETER_ARRAY_BINDING;
 import static org.hibernate.cfg.AvailableSettings.IN_CLAUSE_PARAMETER_PADDING;
+import static org.hibernate.cfg.AvailableSettings.IN_CLAUSE_PARAMETER_PLAN_SHARING;
 import static org.hibernate.cfg.AvailableSettings.JDBC_TIME_ZONE;
 import static org.hibernate.cfg.AvailableSettings.JDBC_TYLE_PARAMS_ZERO_BASE;
 import static org.hibernate.cfg.AvailableSettings.JPA_CALLBACKS_ENABLED;
 import static org.hibernate.cfg.AvailableSettings.JTA_TRACK_BY_THREAD;
+import static org.hibernate.cfg.AvailableSettings.LOADED_STATE_COPY_ON_WRITE;
 import static org.hibernate.cfg.AvailableSettings.LOG_SESSION_METRICS;
 import static org.hibernate.cfg.AvailableSettings.MAX_FETCH_DEPTH;
 import static org.hibernate.cfg.AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER;
@@ -105,9 +109,12 @@ import static org.hibernate.cfg.AvailableSettings.NATIVE_EXCEPTION_HANDLING_51_C
 import static org.hibernate.cfg.AvailableSettings.OMIT_JOIN_OF_SUPERCLASS_TABLES;
 import static org.hibernate.cfg.AvailableSettings.ORDER_INSERTS;
 import static org.hibernate.cfg.AvailableSettings.ORDER_UPDATES;
+import static org.hibernate.cfg.AvailableSettings.PARALLEL_DIRTY_CHECKING_THRESHOLD;
 import static org.hibernate.cfg.AvailableSettings.PREFER_USER_TRANSACTION;
 import static org.hibernate.cfg.AvailableSettings.PROCEDURE_NULL_PARAM_PASSING;
+import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_COMPACT_RESULTS;
 import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_FACTORY;
+import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_PARTITION_BY_TENANT;
 import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECKING;
 import static org.hibernate.cfg.AvailableSettings.QUERY_STATISTICS_MAX_SIZE;
 import static org.hibernate.cfg.AvailableSettings.QUERY_SUBSTITUTIONS;
@@ -118,6 +125,7 @@ import static org.hibernate.cfg.AvailableSettings.SESSION_SCOPED_INTERCEPTOR;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_BATCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_FETCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_INSPECTOR;
+import static org.hibernate.cfg.AvailableSettings.USE_COMPACT_CACHE;
 import static org.hibernate.cfg.AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES;
 import static org.hibernate.cfg.AvailableSettings.USE_GET_GENERATED_KEYS;
 import static org.hibernate.cfg.AvailableSettings.USE_IDENTIFIER_ROLLBACK;
@@ -224,6 +232,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private String cacheRegionPrefix;
 	private boolean minimalPutsEnabled;
 	private boolean structuredCacheEntriesEnabled;
+	private boolean compactCacheEntriesEnabled;
 	private boolean directReferenceCacheEntriesEnabled;
 	private boolean autoEvictCollectionCache;
 
@@ -261,6 +270,13 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private boolean nativeExceptionHandling51Compliance;
 	private int queryStatisticsMaxSize;
 
+	private int parallelDirtyCheckingThreshold;
+	private boolean loadedStateCopyOnWriteEnabled;
+	private boolean identityInsertBatchingEnabled;
+	private boolean inClauseParameterPlanSharingEnabled;
+	private boolean inClauseParameterArrayBindingEnabled;
+	private boolean queryCacheCompactResultsEnabled;
+	private boolean queryCachePartitionedByTenant;
 
 	@SuppressWarnings({"WeakerAccess", "deprecation"})
 	public SessionFactoryOptionsBuilder(StandardServiceRegistry serviceRegistry, BootstrapContext context) {
@@ -396,6 +412,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 					regionFactory.isMinimalPutsEnabledByDefault()
 			);
 			this.structuredCacheEntriesEnabled = cfgService.getSetting( USE_STRUCTURED_CACHE, BOOLEAN, false );
+			this.compactCacheEntriesEnabled = cfgService.getSetting( USE_COMPACT_CACHE, BOOLEAN, false );
 			this.directReferenceCacheEntriesEnabled = cfgService.getSetting(
 					USE_DIRECT_REFERENCE_CACHE_ENTRIES,
 					BOOLEAN,
@@ -410,6 +427,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 			this.cacheRegionPrefix = null;
 			this.minimalPutsEnabled = false;
 			this.structuredCacheEntriesEnabled = false;
+			this.compactCacheEntriesEnabled = false;
 			this.directReferenceCacheEntriesEnabled = false;
 			this.autoEvictCollectionCache = false;
 		}
@@ -548,6 +566,18 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 				false
 		);
 
+		this.inClauseParameterPlanSharingEnabled = ConfigurationHelper.getBoolean(
+				IN_CLAUSE_PARAMETER_PLAN_SHARING,
+				configurationSettings,
+				false
+		);
+
+		this.inClauseParameterArrayBindingEnabled = ConfigurationHelper.getBoolean(
+				IN_CLAUSE_PARAMETER_ARRAY_BINDING,
+				configurationSettings,
+				false
+		);
+
 		this.nativeExceptionHandling51Compliance = ConfigurationHelper.getBoolean(
 				NATIVE_EXCEPTION_HANDLING_51_COMPLIANCE,
 				configurationSettings,
@@ -560,6 +590,36 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 				Statistics.DEFAULT_QUERY_STATISTICS_MAX_SIZE
 		);
 
+		this.parallelDirtyCheckingThreshold = ConfigurationHelper.getInt(
+				PARALLEL_DIRTY_CHECKING_THRESHOLD,
+				configurationSettings,
+				0
+		);
+
+		this.loadedStateCopyOnWriteEnabled = ConfigurationHelper.getBoolean(
+				LOADED_STATE_COPY_ON_WRITE,
+				configurationSettings,
+				false
+		);
+
+		this.identityInsertBatchingEnabled = ConfigurationHelper.getBoolean(
+				BATCH_IDENTITY_INSERTS,
+				configurationSettings,
+				false
+		);
+
+		this.queryCacheCompactResultsEnabled = ConfigurationHelper.getBoolean(
+				QUERY_CACHE_COMPACT_RESULTS,
+				configurationSettings,
+				false
+		);
+
+		this.queryCachePartitionedByTenant = ConfigurationHelper.getBoolean(
+				QUERY_CACHE_PARTITION_BY_TENANT,
+				configurationSettings,
+				false
+		);
+
 		if ( context.isJpaBootstrap() && nativeExceptionHandling51Compliance ) {
 			log.nativeExceptionHandling51ComplianceJpaBootstrapping();
 			this.nativeExceptionHandling51Compliance = false;
@@ -943,6 +1003,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return structuredCacheEntriesEnabled;
 	}
 
+	@Override
+	public boolean isCompactCacheEntriesEnabled() {
+		return compactCacheEntriesEnabled;
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return directReferenceCacheEntriesEnabled;
@@ -1113,6 +1178,41 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return omitJoinOfSuperclassTablesEnabled;
 	}
 
+	@Override
+	public int getParallelDirtyCheckingThreshold() {
+		return parallelDirtyCheckingThreshold;
+	}
+
+	@Override
+	public boolean isLoadedStateCopyOnWriteEnabled() {
+		return loadedStateCopyOnWriteEnabled;
+	}
+
+	@Override
+	public boolean isIdentityInsertBatchingEnabled() {
+		return identityInsertBatchingEnabled;
+	}
+
+	@Override
+	public boolean inClauseParameterPlanSharingEnabled() {
+		return inClauseParameterPlanSharingEnabled;
+	}
+
+	@Override
+	public boolean inClauseParameterArrayBindingEnabled() {
+		return inClauseParameterArrayBindingEnabled;
+	}
+
+	@Override
+	public boolean isQueryCacheCompactResultsEnabled() {
+		return queryCacheCompactResultsEnabled;
+	}
+
+	@Override
+	public boolean isQueryCachePartitionedByTenant() {
+		return queryCachePartitionedByTenant;
+	}
+
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// In-flight mutation access
 
@@ -282,6 +282,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isStructuredCacheEntriesEnabled();
 	}
 
+	@Override
+	public boolean isCompactCacheEntriesEnabled() {
+		return delegate.isCompactCacheEntriesEnabled();
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return delegate.isDirectReferenceCacheEntriesEnabled();
@@ -467,4 +472,39 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 	public boolean isOmitJoinOfSuperclassTablesEnabled() {
 		return delegate.isOmitJoinOfSuperclassTablesEnabled();
 	}
+
+	@Override
+	public int getParallelDirtyCheckingThreshold() {
+		return delegate.getParallelDirtyCheckingThreshold();
+	}
+
+	@Override
+	public boolean isLoadedStateCopyOnWriteEnabled() {
+		return delegate.isLoadedStateCopyOnWriteEnabled();
+	}
+
+	@Override
+	public boolean isIdentityInsertBatchingEnabled() {
+		return delegate.isIdentityInsertBatchingEnabled();
+	}
+
+	@Override
+	public boolean inClauseParameterPlanSharingEnabled() {
+		return delegate.inClauseParameterPlanSharingEnabled();
+	}
+
+	@Override
+	public boolean inClauseParameterArrayBindingEnabled() {
+		return delegate.inClauseParameterArrayBindingEnabled();
+	}
+
+	@Override
+	public boolean isQueryCacheCompactResultsEnabled() {
+		return delegate.isQueryCacheCompactResultsEnabled();
+	}
+
+	@Override
+	public boolean isQueryCachePartitionedByTenant() {
+		return delegate.isQueryCachePartitionedByTenant();
+	}
 }
@@ -207,6 +207,10 @@ public interface SessionFactoryOptions {
 
 	boolean isStructuredCacheEntriesEnabled();
 
+	default boolean isCompactCacheEntriesEnabled() {
+		return false;
+	}
+
 	boolean isDirectReferenceCacheEntriesEnabled();
 
 	boolean isAutoEvictCollectionCache();
@@ -352,4 +356,49 @@ public interface SessionFactoryOptions {
 	}
 
 	boolean isOmitJoinOfSuperclassTablesEnabled();
+
+	/**
+	 * The minimum number of managed entities for which the dirty checking of a flush is parallelized,
+	 * or {@code 0} if it is never parallelized.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PARALLEL_DIRTY_CHECKING_THRESHOLD
+	 */
+	default int getParallelDirtyCheckingThreshold() {
+		return 0;
+	}
+
+	/**
+	 * Should the loaded state of the entities share the values of their mutable basic attributes
+	 * with the entities, instead of keeping a deep copy of them?
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#LOADED_STATE_COPY_ON_WRITE
+	 */
+	default boolean isLoadedStateCopyOnWriteEnabled() {
+		return false;
+	}
+
+	/**
+	 * Should the inserts of entities with an {@code IDENTITY} identifier be executed as multi-row inserts?
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 */
+	default boolean isIdentityInsertBatchingEnabled() {
+		return false;
+	}
+
+	default boolean inClauseParameterPlanSharingEnabled() {
+		return false;
+	}
+
+	default boolean inClauseParameterArrayBindingEnabled() {
+		return false;
+	}
+
+	default boolean isQueryCacheCompactResultsEnabled() {
+		return false;
+	}
+
+	default boolean isQueryCachePartitionedByTenant() {
+		return false;
+	}
 }
@@ -0,0 +1,38 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.cache.internal;
+
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.SecondLevelCacheLogger;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.TimestampsCacheFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+
+/**
+ * TimestampsCacheFactory returning instances of {@link NearTimestampsCacheImpl} for the
+ * timestamps regions notifying of their updates, and of {@link TimestampsCacheEnabledImpl}
+ * for the others.  Selected by setting {@value org.hibernate.cfg.AvailableSettings#QUERY_CACHE_FACTORY}
+ * to the name of this class.
+ */
+public class NearTimestampsCacheFactory implements TimestampsCacheFactory {
+	/**
+	 * Singleton access
+	 */
+	public static final NearTimestampsCacheFactory INSTANCE = new NearTimestampsCacheFactory();
+
+	@Override
+	public TimestampsCache buildTimestampsCache(
+			CacheImplementor cacheManager,
+			TimestampsRegion timestampsRegion) {
+		final NearTimestampsCacheImpl timestampsCache = new NearTimestampsCacheImpl( timestampsRegion );
+		if ( timestampsRegion.addUpdateListener( timestampsCache ) ) {
+			return timestampsCache;
+		}
+		SecondLevelCacheLogger.INSTANCE.timestampsRegionNotNotifyingUpdates( timestampsRegion.getName() );
+		return new TimestampsCacheEnabledImpl( timestampsRegion );
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.cache.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.collections.CollectionHelper;
+
+/**
+ * TimestampsCache keeping a local copy of the timestamps read from the region, so that
+ * validating a query result does not read the region at all once the timestamps of its
+ * spaces are known.  The copy is kept up to date by the update notifications of the
+ * region, which therefore must {@linkplain TimestampsRegion#addUpdateListener notify}
+ * of the updates made by every member of a cluster.  A timestamp read from the region
+ * is only kept if its space was neither updated nor invalidated while it was read.
+ *
+ * @see NearTimestampsCacheFactory
+ */
+public class NearTimestampsCacheImpl extends TimestampsCacheEnabledImpl implements TimestampsRegion.UpdateListener {
+	private final ConcurrentHashMap<Object, NearTimestamp> nearTimestamps = new ConcurrentHashMap<>();
+	private final AtomicLong versions = new AtomicLong();
+
+	/**
+	 * Constructs a NearTimestampsCacheImpl, which the caller must register as listener of
+	 * the updates of the given region.
+	 */
+	public NearTimestampsCacheImpl(TimestampsRegion timestampsRegion) {
+		super( timestampsRegion );
+	}
+
+	@Override
+	public void onUpdate(Object space, Object timestamp) {
+		// the notifications follow the updates of the region, the last one wins
+		nearTimestamps.put( space, new NearTimestamp( timestamp, versions.incrementAndGet() ) );
+	}
+
+	@Override
+	public void preInvalidate(String[] spaces, SharedSessionContractImplementor session) {
+		super.preInvalidate( spaces, session );
+		forget( spaces );
+	}
+
+	@Override
+	public void invalidate(String[] spaces, SharedSessionContractImplementor session) {
+		super.invalidate( spaces, session );
+		forget( spaces );
+	}
+
+	/**
+	 * The notification of a local update may come asynchronously: until it does, the
+	 * timestamps are read from the region.
+	 */
+	private void forget(String[] spaces) {
+		for ( String space : spaces ) {
+			nearTimestamps.put( space, new NearTimestamp( null, versions.incrementAndGet() ) );
+		}
+	}
+
+	@Override
+	protected Map<Object, Object> getLastUpdateTimestampsForSpaces(
+			String[] spaces,
+			SharedSessionContractImplementor session) {
+		final Map<Object, Object> timestamps = new HashMap<>( CollectionHelper.determineProperSizing( spaces.length ) );
+		List<String> unknownSpaces = null;
+		long[] unknownVersions = null;
+		for ( String space : spaces ) {
+			NearTimestamp nearTimestamp = nearTimestamps.get( space );
+			if ( nearTimestamp == null ) {
+				final NearTimestamp unknown = new NearTimestamp( null, versions.incrementAndGet() );
+				nearTimestamp = nearTimestamps.putIfAbsent( space, unknown );
+				if ( nearTimestamp == null ) {
+					nearTimestamp = unknown;
+				}
+			}
+			if ( nearTimestamp.timestamp != null ) {
+				timestamps.put( space, nearTimestamp.timestamp );
+			}
+			else {
+				if ( unknownSpaces == null ) {
+					unknownSpaces = new ArrayList<>( spaces.length );
+					unknownVersions = new long[spaces.length];
+				}
+				unknownVersions[unknownSpaces.size()] = nearTimestamp.version;
+				unknownSpaces.add( space );
+			}
+		}
+		if ( unknownSpaces != null ) {
+			final Map<Object, Object> read = super.getLastUpdateTimestampsForSpaces(
+					unknownSpaces.toArray( new String[0] ),
+					session
+			);
+			for ( int i = 0; i < unknownSpaces.size(); i++ ) {
+				final String space = unknownSpaces.get( i );
+				final Object timestamp = read.get( space );
+				if ( timestamp != null ) {
+					timestamps.put( space, timestamp );
+					remember( space, timestamp, unknownVersions[i] );
+				}
+			}
+		}
+		return timestamps;
+	}
+
+	/**
+	 * Keep the timestamp read from the region, unless the space was updated or invalidated
+	 * since it was read: the timestamp read may then be older than the current one.
+	 */
+	private void remember(String space, Object timestamp, long version) {
+		nearTimestamps.computeIfPresent(
+				space,
+				(key, current) -> {
+					if ( current.version != version ) {
+						return current;
+					}
+					if ( current.timestamp != null && (Long) current.timestamp >= (Long) timestamp ) {
+						// read by a concurrent validation meanwhile
+						return current;
+					}
+					return new NearTimestamp( timestamp, version );
+				}
+		);
+	}
+
+	@Override
+	public void clear() throws CacheException {
+		super.clear();
+		nearTimestamps.replaceAll( (space, nearTimestamp) -> new NearTimestamp( null, versions.incrementAndGet() ) );
+	}
+
+	/**
+	 * The timestamp of a space known locally, or {@code null} if it must be read from the
+	 * region, along with the version of the update or invalidation it results from.
+	 */
+	private static final class NearTimestamp {
+		private final Object timestamp;
+		private final long version;
+
+		private NearTimestamp(Object timestamp, long version) {
+			this.timestamp = timestamp;
+			this.version = version;
+		}
+	}
+}
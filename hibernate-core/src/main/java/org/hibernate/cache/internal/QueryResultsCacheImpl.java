@@ -8,6 +8,7 @@ package org.hibernate.cache.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -17,10 +18,13 @@ import org.hibernate.cache.spi.QueryResultsCache;
 import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.QuerySpacesHelper;
 import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.CollectionHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -82,10 +86,9 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			logCachedResultDetails( key, null, returnTypes, resultsCopy );
 		}
 
-		final CacheItem cacheItem = new CacheItem(
-				session.getTransactionStartTimestamp(),
-				resultsCopy
-		);
+		final Serializable cacheItem = session.getFactory().getSessionFactoryOptions().isQueryCacheCompactResultsEnabled()
+				? new CompactCacheItem( session.getTransactionStartTimestamp(), resultsCopy, returnTypes.length, isSingleResult )
+				: new CacheItem( session.getTransactionStartTimestamp(), resultsCopy );
 
 		try {
 			session.getEventListenerManager().cachePutStart();
@@ -149,7 +152,7 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			LOG.debugf( "Checking cached query results in region: %s", cacheRegion.getName() );
 		}
 
-		final CacheItem cacheItem = getCachedData( key, session );
+		final Object cacheItem = getCachedData( key, session );
 		if ( cacheItem == null ) {
 			if ( LOG.isDebugEnabled() ) {
 				LOG.debug( "Query results were not found in cache" );
@@ -157,7 +160,11 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			return null;
 		}
 
-		if ( !timestampsCache.isUpToDate( spaces, cacheItem.timestamp, session ) ) {
+		final long timestamp = cacheItem instanceof CompactCacheItem
+				? ( (CompactCacheItem) cacheItem ).timestamp
+				: ( (CacheItem) cacheItem ).timestamp;
+		final String[] checkedSpaces = QuerySpacesHelper.INSTANCE.toCheckedSpaces( spaces, session );
+		if ( !timestampsCache.isUpToDate( checkedSpaces, timestamp, session ) ) {
 			if ( LOG.isDebugEnabled() ) {
 				LOG.debug( "Cached query results were not up-to-date" );
 			}
@@ -169,23 +176,30 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 		}
 
 		final boolean singleResult = returnTypes.length == 1;
-		for ( int i = 0; i < cacheItem.results.size(); i++ ) {
+		final List results = cacheItem instanceof CompactCacheItem
+				? ( (CompactCacheItem) cacheItem ).getResults( singleResult )
+				: ( (CacheItem) cacheItem ).results;
+		for ( int i = 0; i < results.size(); i++ ) {
 			if ( singleResult ) {
-				returnTypes[0].beforeAssemble( (Serializable) cacheItem.results.get( i ), session );
+				returnTypes[0].beforeAssemble( (Serializable) results.get( i ), session );
 			}
 			else {
-				TypeHelper.beforeAssemble( (Serializable[]) cacheItem.results.get( i ), returnTypes, session );
+				TypeHelper.beforeAssemble( (Serializable[]) results.get( i ), returnTypes, session );
 			}
 		}
 
-		return assembleCachedResult( key, cacheItem.results, singleResult, returnTypes, session );
+		if ( cacheItem instanceof CompactCacheItem ) {
+			loadEntities( (CompactCacheItem) cacheItem, returnTypes, session );
+		}
+
+		return assembleCachedResult( key, results, singleResult, returnTypes, session );
 	}
 
-	private CacheItem getCachedData(QueryKey key, SharedSessionContractImplementor session) {
-		CacheItem cachedItem = null;
+	private Object getCachedData(QueryKey key, SharedSessionContractImplementor session) {
+		Object cachedItem = null;
 		try {
 			session.getEventListenerManager().cacheGetStart();
-			cachedItem = (CacheItem) cacheRegion.getFromCache( key, session );
+			cachedItem = cacheRegion.getFromCache( key, session );
 		}
 		finally {
 			session.getEventListenerManager().cacheGetEnd( cachedItem != null );
@@ -193,6 +207,38 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 		return cachedItem;
 	}
 
+	/**
+	 * Loads the entities returned by the cached query, for each entity return at once, so that assembling the
+	 * results finds them in the persistence context rather than looking each of them up.
+	 */
+	private static void loadEntities(
+			CompactCacheItem cacheItem,
+			Type[] returnTypes,
+			SharedSessionContractImplementor session) {
+		if ( !( session instanceof SessionImplementor ) ) {
+			return;
+		}
+		for ( int i = 0; i < returnTypes.length; i++ ) {
+			if ( !returnTypes[i].isEntityType() || !( (EntityType) returnTypes[i] ).isReferenceToPrimaryKey() ) {
+				continue;
+			}
+			final EntityPersister persister = session.getFactory()
+					.getMetamodel()
+					.entityPersister( ( (EntityType) returnTypes[i] ).getAssociatedEntityName() );
+			if ( persister.getIdentifierType().isComponentType() ) {
+				// the identifiers are cached disassembled
+				continue;
+			}
+			final List<Serializable> ids = cacheItem.getDistinctValues( i );
+			if ( ids.size() > 1 ) {
+				( (SessionImplementor) session ).byMultipleIds( persister.getEntityName() )
+						.with( session.getCacheMode() )
+						.enableSessionCheck( true )
+						.multiLoad( ids );
+			}
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private List assembleCachedResult(
 			final QueryKey key,
@@ -291,4 +337,92 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			this.results = results;
 		}
 	}
+
+	/**
+	 * Holds the disassembled results column by column, the columns of integers and of longs as primitive arrays.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_COMPACT_RESULTS
+	 */
+	public static class CompactCacheItem implements Serializable {
+		private final long timestamp;
+		private final int size;
+		private final Object[] columns;
+
+		CompactCacheItem(long timestamp, List results, int columnCount, boolean singleResult) {
+			this.timestamp = timestamp;
+			this.size = results.size();
+			this.columns = new Object[columnCount];
+			for ( int i = 0; i < columnCount; i++ ) {
+				final Serializable[] values = new Serializable[size];
+				for ( int j = 0; j < size; j++ ) {
+					values[j] = singleResult ? (Serializable) results.get( j ) : ( (Serializable[]) results.get( j ) )[i];
+				}
+				columns[i] = compact( values );
+			}
+		}
+
+		private static Object compact(Serializable[] values) {
+			boolean integers = true;
+			boolean longs = true;
+			for ( Serializable value : values ) {
+				integers = integers && value instanceof Integer;
+				longs = longs && value instanceof Long;
+			}
+			if ( integers ) {
+				final int[] column = new int[values.length];
+				for ( int i = 0; i < values.length; i++ ) {
+					column[i] = (Integer) values[i];
+				}
+				return column;
+			}
+			else if ( longs ) {
+				final long[] column = new long[values.length];
+				for ( int i = 0; i < values.length; i++ ) {
+					column[i] = (Long) values[i];
+				}
+				return column;
+			}
+			return values;
+		}
+
+		private Serializable getValue(int column, int row) {
+			final Object values = columns[column];
+			if ( values instanceof int[] ) {
+				return ( (int[]) values )[row];
+			}
+			else if ( values instanceof long[] ) {
+				return ( (long[]) values )[row];
+			}
+			return ( (Serializable[]) values )[row];
+		}
+
+		@SuppressWarnings("unchecked")
+		private List getResults(boolean singleResult) {
+			final List results = new ArrayList( size );
+			for ( int i = 0; i < size; i++ ) {
+				if ( singleResult ) {
+					results.add( getValue( 0, i ) );
+				}
+				else {
+					final Serializable[] row = new Serializable[columns.length];
+					for ( int j = 0; j < columns.length; j++ ) {
+						row[j] = getValue( j, i );
+					}
+					results.add( row );
+				}
+			}
+			return results;
+		}
+
+		private List<Serializable> getDistinctValues(int column) {
+			final Set<Serializable> values = new LinkedHashSet<>();
+			for ( int i = 0; i < size; i++ ) {
+				final Serializable value = getValue( column, i );
+				if ( value != null ) {
+					values.add( value );
+				}
+			}
+			return new ArrayList<>( values );
+		}
+	}
 }
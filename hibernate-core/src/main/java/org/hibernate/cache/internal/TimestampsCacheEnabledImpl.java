@@ -7,6 +7,9 @@
 package org.hibernate.cache.internal;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
 
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.TimestampsRegion;
@@ -114,8 +117,9 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 		final boolean stats = statistics.isStatisticsEnabled();
 		final boolean debugEnabled = log.isDebugEnabled();
 
+		final Map<Object, Object> lastUpdates = getLastUpdateTimestampsForSpaces( spaces, session );
 		for ( Serializable space : spaces ) {
-			final Long lastUpdate = getLastUpdateTimestampForSpace( space, session );
+			final Long lastUpdate = (Long) lastUpdates.get( space );
 			if ( lastUpdate == null ) {
 				// the last update timestamp for the given space was evicted from the
 				// cache or there have been no writes to it since startup
@@ -142,16 +146,31 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 		return true;
 	}
 
-	private Long getLastUpdateTimestampForSpace(Serializable space, SharedSessionContractImplementor session) {
-		Long ts = null;
+	/**
+	 * Reads the last update timestamps of the given spaces at once, so that validating a query result costs a
+	 * single cache round trip however many spaces the query touches.
+	 *
+	 * @return The last update timestamps by space, the spaces having no timestamp being absent
+	 */
+	protected Map<Object, Object> getLastUpdateTimestampsForSpaces(
+			String[] spaces,
+			SharedSessionContractImplementor session) {
+		Map<Object, Object> timestamps = Collections.emptyMap();
 		try {
 			session.getEventListenerManager().cacheGetStart();
-			ts = (Long) timestampsRegion.getFromCache( space, session );
+			timestamps = spaces.length == 1
+					? singleLastUpdateTimestamp( spaces[0], session )
+					: timestampsRegion.getAllFromCache( Arrays.asList( spaces ), session );
 		}
 		finally {
-			session.getEventListenerManager().cacheGetEnd( ts != null );
+			session.getEventListenerManager().cacheGetEnd( !timestamps.isEmpty() );
 		}
-		return ts;
+		return timestamps;
+	}
+
+	private Map<Object, Object> singleLastUpdateTimestamp(String space, SharedSessionContractImplementor session) {
+		final Object timestamp = timestampsRegion.getFromCache( space, session );
+		return timestamp == null ? Collections.emptyMap() : Collections.singletonMap( space, timestamp );
 	}
 
 }
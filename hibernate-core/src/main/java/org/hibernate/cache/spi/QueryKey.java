@@ -8,6 +8,8 @@ package org.hibernate.cache.spi;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
@@ -94,6 +96,16 @@ public class QueryKey implements Serializable {
 						)
 				);
 			}
+			// the values of the list-valued parameters bound as an array, see QueryParameters#getParameterListArrays
+			for ( Map.Entry<String,TypedValue> parameterListArrayEntry : queryParameters.getParameterListArrays().entrySet() ) {
+				namedParameters.put(
+						parameterListArrayEntry.getKey(),
+						new TypedValue(
+								parameterListArrayEntry.getValue().getType(),
+								new ArrayList<>( (Collection<?>) parameterListArrayEntry.getValue().getValue() )
+						)
+				);
+			}
 		}
 
 		// decode row selection...
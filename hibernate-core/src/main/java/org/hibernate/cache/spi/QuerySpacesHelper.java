@@ -7,19 +7,36 @@
 package org.hibernate.cache.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import org.hibernate.MultiTenancyStrategy;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.boot.spi.MetadataImplementor;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.mapping.Table;
+
 /**
  * @author Steve Ebersole
  */
 public class QuerySpacesHelper {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( QuerySpacesHelper.class );
+
 	/**
 	 * Singleton access
 	 */
 	public static final QuerySpacesHelper INSTANCE = new QuerySpacesHelper();
 
+	private static final String PARTITION_SEPARATOR = "#";
+	private static final String ANY_PARTITION = "*";
+
 	private QuerySpacesHelper() {
 	}
 
@@ -38,4 +55,110 @@ public class QuerySpacesHelper {
 		Collections.addAll( set, spacesArray );
 		return set;
 	}
+
+	/**
+	 * The timestamps to invalidate for changes of the given spaces made by the given session.  When the query cache
+	 * is partitioned by tenant, the changes of a tenant invalidate its own timestamps and the ones of the queries
+	 * checking all the tenants, rather than the timestamps of the spaces themselves.  The spaces shared by all the
+	 * tenants are still invalidated themselves.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_PARTITION_BY_TENANT
+	 * @see org.hibernate.engine.spi.SessionFactoryImplementor#getQuerySpacesSharedByTenants()
+	 */
+	public String[] toInvalidatedSpaces(String[] spaces, SharedSessionContractImplementor session) {
+		final String tenantIdentifier = getPartition( session );
+		if ( tenantIdentifier == null ) {
+			return spaces;
+		}
+		final List<String> invalidatedSpaces = new ArrayList<>( spaces.length * 2 );
+		for ( String space : spaces ) {
+			if ( isSharedByTenants( space, session ) ) {
+				invalidatedSpaces.add( space );
+			}
+			else {
+				invalidatedSpaces.add( space + PARTITION_SEPARATOR + ANY_PARTITION );
+				invalidatedSpaces.add( space + PARTITION_SEPARATOR + tenantIdentifier );
+			}
+		}
+		return invalidatedSpaces.toArray( new String[0] );
+	}
+
+	/**
+	 * The timestamps to check for query results over the given spaces cached by the given session.  When the query
+	 * cache is partitioned by tenant, the timestamps of the spaces themselves are checked along with the ones of the
+	 * tenant of the session, or with the ones of all the tenants if the session has no tenant.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_PARTITION_BY_TENANT
+	 */
+	public String[] toCheckedSpaces(String[] spaces, SharedSessionContractImplementor session) {
+		if ( !session.getFactory().getSessionFactoryOptions().isQueryCachePartitionedByTenant() ) {
+			return spaces;
+		}
+		final String tenantIdentifier = getPartition( session );
+		final String partition = tenantIdentifier == null ? ANY_PARTITION : tenantIdentifier;
+		final List<String> checkedSpaces = new ArrayList<>( spaces.length * 2 );
+		for ( String space : spaces ) {
+			checkedSpaces.add( space );
+			if ( !isSharedByTenants( space, session ) ) {
+				checkedSpaces.add( space + PARTITION_SEPARATOR + partition );
+			}
+		}
+		return checkedSpaces.toArray( new String[0] );
+	}
+
+	/**
+	 * Determines the spaces shared by all the tenants, whose changes must invalidate the query results of all the
+	 * tenants.  Under the {@link MultiTenancyStrategy#SCHEMA} strategy, these are the tables the mapping places in an
+	 * explicit schema or catalog: the statements then name the same table whatever the schema of the tenant.  Under
+	 * the {@link MultiTenancyStrategy#DATABASE} strategy, each tenant has its own tables.
+	 */
+	public Set<String> determineSpacesSharedByTenants(
+			MetadataImplementor metadata,
+			SessionFactoryOptions options,
+			SqlStringGenerationContext sqlStringGenerationContext) {
+		if ( !options.isQueryCachePartitionedByTenant() ) {
+			return Collections.emptySet();
+		}
+		if ( options.getMultiTenancyStrategy() == MultiTenancyStrategy.NONE ) {
+			LOG.warnf(
+					"%s is enabled without multi-tenancy, it has no effect",
+					AvailableSettings.QUERY_CACHE_PARTITION_BY_TENANT
+			);
+			return Collections.emptySet();
+		}
+		if ( options.getMultiTenancyStrategy() != MultiTenancyStrategy.SCHEMA ) {
+			return Collections.emptySet();
+		}
+
+		final Set<String> spaces = new HashSet<>();
+		boolean partitioned = false;
+		for ( Table table : metadata.collectTableMappings() ) {
+			if ( table.getSubselect() != null ) {
+				continue;
+			}
+			if ( table.getSchema() != null || table.getCatalog() != null ) {
+				spaces.add( sqlStringGenerationContext.format( table.getQualifiedTableName() ) );
+			}
+			else {
+				partitioned = true;
+			}
+		}
+		if ( !partitioned ) {
+			LOG.warnf(
+					"%s is enabled, but it has no effect as all the tables are mapped to an explicit schema or catalog shared by the tenants",
+					AvailableSettings.QUERY_CACHE_PARTITION_BY_TENANT
+			);
+		}
+		return Collections.unmodifiableSet( spaces );
+	}
+
+	private static boolean isSharedByTenants(String space, SharedSessionContractImplementor session) {
+		return session.getFactory().getQuerySpacesSharedByTenants().contains( space );
+	}
+
+	private static String getPartition(SharedSessionContractImplementor session) {
+		return session.getFactory().getSessionFactoryOptions().isQueryCachePartitionedByTenant()
+				? session.getTenantIdentifier()
+				: null;
+	}
 }
@@ -99,4 +99,12 @@ public interface SecondLevelCacheLogger extends BasicLogger {
 	)
 	void nonStandardSupportForAccessType(String key, String accessType, String regionName);
 
+	@LogMessage(level = WARN)
+	@Message(
+			value = "Timestamps region [%s] does not notify of its updates, so its timestamps cannot be kept" +
+					" in a near cache: the region will be read on every query cache hit.",
+			id = NAMESPACE + 9
+	)
+	void timestampsRegionNotNotifyingUpdates(String regionName);
+
 }
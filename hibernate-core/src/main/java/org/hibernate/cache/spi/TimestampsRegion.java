@@ -10,4 +10,27 @@ package org.hibernate.cache.spi;
  * @author Steve Ebersole
  */
 public interface TimestampsRegion extends DirectAccessRegion {
+	/**
+	 * Register a listener to be notified of the timestamps put into, or
+	 * removed from, this region - including by the other members of a
+	 * cluster sharing the region.
+	 *
+	 * @return {@code true} if the listener was registered; {@code false}
+	 * if this region does not notify of its updates
+	 */
+	default boolean addUpdateListener(UpdateListener listener) {
+		return false;
+	}
+
+	/**
+	 * Notified of the updates of a timestamps region
+	 */
+	interface UpdateListener {
+		/**
+		 * @param space The query space
+		 * @param timestamp The last update timestamp of the space, or
+		 * {@code null} if it was removed from the region
+		 */
+		void onUpdate(Object space, Object timestamp);
+	}
 }
@@ -7,6 +7,9 @@
 package org.hibernate.cache.spi.access;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import javax.persistence.Cache;
 
 import org.hibernate.cache.CacheException;
@@ -58,6 +61,30 @@ public interface CachedDomainDataAccess {
 	 */
 	Object get(SharedSessionContractImplementor session, Object key);
 
+	/**
+	 * Attempt to retrieve several objects from the cache at once, sparing a
+	 * round trip per key when the cache is remote.
+	 *
+	 * @param session Current session.
+	 * @param keys The keys of the items to be retrieved.
+	 *
+	 * @return the cached data by key, the keys having no cached data being absent
+	 *
+	 * @throws CacheException Propagated from underlying cache provider
+	 *
+	 * @implNote the method default is to call {@link #get} for each key
+	 */
+	default Map<Object, Object> getAll(SharedSessionContractImplementor session, Collection<?> keys) {
+		final Map<Object, Object> cached = new HashMap<>();
+		for ( Object key : keys ) {
+			final Object value = get( session, key );
+			if ( value != null ) {
+				cached.put( key, value );
+			}
+		}
+		return cached;
+	}
+
 	/**
 	 * Attempt to cache an object, afterQuery loading from the database.
 	 *
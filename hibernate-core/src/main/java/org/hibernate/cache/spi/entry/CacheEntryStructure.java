@@ -29,7 +29,7 @@ public interface CacheEntryStructure {
 	 * @param structured The structured form.
 	 * @param factory The session factory.
 	 *
-	 * @return The item
+	 * @return The item, or {@code null} if the structured form can no longer be read, which is then a cache miss
 	 */
 	public Object destructure(Object structured, SessionFactoryImplementor factory);
 }
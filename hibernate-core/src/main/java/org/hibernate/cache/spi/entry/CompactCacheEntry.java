@@ -0,0 +1,620 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.ComponentType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+
+/**
+ * Compact CacheEntry format for entities.  Used to store the entry into the second-level cache as a byte array
+ * rather than as a graph of boxed values, so that the regions holding their entries serialized (off-heap, on disk,
+ * or replicated) hold more of them and read them back without Java serialization.
+ * <p/>
+ * The layout of the entries of an entity type is derived from its property types: a two bit state per property
+ * tells whether its value is {@code null}, of the class its type maps to, in which case it is written without any
+ * tag, or of another class, in which case it is preceded by the tag of its class.  The entity name is written as its
+ * index in the sorted entity names of the hierarchy, and lengths and integral values as variable-length integers.
+ * The values of the classes having no tag are written with Java serialization.
+ * <p/>
+ * Since the layout is positional, each entry starts with a fingerprint of the layout of the hierarchy: its entity
+ * names, the names and types of their properties, and the constant names of their enum properties.  An entry written
+ * with another layout, typically before a redeployment changing the mapping, is a cache miss.
+ */
+public class CompactCacheEntry implements CacheEntryStructure {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( CompactCacheEntry.class );
+
+	private static final byte FORMAT = 2;
+
+	private static final int SLOT_NULL = 0;
+	private static final int SLOT_EXPECTED = 1;
+	private static final int SLOT_TAGGED = 2;
+
+	private static final byte TAG_NONE = -1;
+	private static final byte TAG_NULL = 0;
+	private static final byte TAG_BOOLEAN = 1;
+	private static final byte TAG_BYTE = 2;
+	private static final byte TAG_SHORT = 3;
+	private static final byte TAG_INTEGER = 4;
+	private static final byte TAG_LONG = 5;
+	private static final byte TAG_FLOAT = 6;
+	private static final byte TAG_DOUBLE = 7;
+	private static final byte TAG_CHARACTER = 8;
+	private static final byte TAG_STRING = 9;
+	private static final byte TAG_BYTES = 10;
+	private static final byte TAG_BIG_DECIMAL = 11;
+	private static final byte TAG_BIG_INTEGER = 12;
+	private static final byte TAG_UUID = 13;
+	private static final byte TAG_DATE = 14;
+	private static final byte TAG_SQL_DATE = 15;
+	private static final byte TAG_TIME = 16;
+	private static final byte TAG_TIMESTAMP = 17;
+	private static final byte TAG_ARRAY = 18;
+	private static final byte TAG_UNFETCHED = 19;
+	private static final byte TAG_UNKNOWN_BACKREF = 20;
+	private static final byte TAG_SERIALIZED = 21;
+	// only ever expected, the enum class being given by the property type
+	private static final byte TAG_ENUM = 22;
+
+	private static final Map<Class<?>, Byte> TAGS = new HashMap<>();
+
+	static {
+		TAGS.put( Boolean.class, TAG_BOOLEAN );
+		TAGS.put( Byte.class, TAG_BYTE );
+		TAGS.put( Short.class, TAG_SHORT );
+		TAGS.put( Integer.class, TAG_INTEGER );
+		TAGS.put( Long.class, TAG_LONG );
+		TAGS.put( Float.class, TAG_FLOAT );
+		TAGS.put( Double.class, TAG_DOUBLE );
+		TAGS.put( Character.class, TAG_CHARACTER );
+		TAGS.put( String.class, TAG_STRING );
+		TAGS.put( byte[].class, TAG_BYTES );
+		TAGS.put( BigDecimal.class, TAG_BIG_DECIMAL );
+		TAGS.put( BigInteger.class, TAG_BIG_INTEGER );
+		TAGS.put( UUID.class, TAG_UUID );
+		TAGS.put( Date.class, TAG_DATE );
+		TAGS.put( java.sql.Date.class, TAG_SQL_DATE );
+		TAGS.put( Time.class, TAG_TIME );
+		TAGS.put( Timestamp.class, TAG_TIMESTAMP );
+		// the disassembled state of a component
+		TAGS.put( Object[].class, TAG_ARRAY );
+		TAGS.put( Serializable[].class, TAG_ARRAY );
+	}
+
+	private final EntityPersister persister;
+	private final ConcurrentMap<String, Layout> layouts = new ConcurrentHashMap<>();
+	private volatile String[] entityNames;
+	private volatile Integer fingerprint;
+
+	/**
+	 * Constructs a CompactCacheEntry strategy
+	 *
+	 * @param persister The persister whose data needs to be structured.
+	 */
+	public CompactCacheEntry(EntityPersister persister) {
+		this.persister = persister;
+	}
+
+	@Override
+	public Object structure(Object item) {
+		final CacheEntry entry = (CacheEntry) item;
+		final SessionFactoryImplementor factory = persister.getFactory();
+		final Serializable[] state = entry.getDisassembledState();
+		final Layout layout = layout( entry.getSubclass(), factory );
+
+		final Output output = new Output( 16 + state.length * 8 );
+		output.writeByte( FORMAT );
+		output.writeFixedInt( fingerprint( factory ) );
+		final int index = Arrays.binarySearch( entityNames( factory ), entry.getSubclass() );
+		if ( index >= 0 ) {
+			output.writeVarint( index + 1 );
+		}
+		else {
+			output.writeVarint( 0 );
+			output.writeString( entry.getSubclass() );
+		}
+		writeValue( output, (Serializable) entry.getVersion() );
+		output.writeVarint( state.length );
+
+		final int slots = output.reserve( ( state.length + 3 ) / 4 );
+		for ( int i = 0; i < state.length; i++ ) {
+			final Serializable value = state[i];
+			if ( value == null ) {
+				continue;
+			}
+			if ( layout.isExpected( i, value ) ) {
+				output.setSlot( slots, i, SLOT_EXPECTED );
+				writePayload( output, layout.tags[i], value );
+			}
+			else {
+				output.setSlot( slots, i, SLOT_TAGGED );
+				writeValue( output, value );
+			}
+		}
+		return output.toByteArray();
+	}
+
+	/**
+	 * @return The cache entry, or {@code null} if it was written with another format or layout
+	 */
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		final Input input = new Input( (byte[]) structured );
+		final byte format = input.readByte();
+		if ( format != FORMAT || input.readFixedInt() != fingerprint( factory ) ) {
+			LOG.debugf( "Ignoring compact cache entry of %s written with another layout", persister.getEntityName() );
+			return null;
+		}
+		final int index = input.readVarint();
+		final String subclass = index == 0 ? input.readString() : entityNames( factory )[index - 1];
+		final Object version = readValue( input );
+		final Serializable[] state = new Serializable[input.readVarint()];
+		final Layout layout = layout( subclass, factory );
+
+		final int slots = input.skip( ( state.length + 3 ) / 4 );
+		for ( int i = 0; i < state.length; i++ ) {
+			switch ( input.getSlot( slots, i ) ) {
+				case SLOT_EXPECTED:
+					state[i] = readPayload( input, layout.tags[i], layout.enumClasses[i] );
+					break;
+				case SLOT_TAGGED:
+					state[i] = readValue( input );
+					break;
+				default:
+					state[i] = null;
+			}
+		}
+		return new StandardCacheEntryImpl( state, subclass, version );
+	}
+
+	/**
+	 * The entity names of the hierarchy, sorted so that all the members of a cluster agree on their indexes.
+	 */
+	private String[] entityNames(SessionFactoryImplementor factory) {
+		String[] names = entityNames;
+		if ( names == null ) {
+			final EntityPersister rootPersister = factory.getMetamodel().entityPersister( persister.getRootEntityName() );
+			@SuppressWarnings("unchecked")
+			final TreeSet<String> sorted = new TreeSet<>( rootPersister.getEntityMetamodel().getSubclassEntityNames() );
+			names = sorted.toArray( new String[0] );
+			entityNames = names;
+		}
+		return names;
+	}
+
+	/**
+	 * The fingerprint of the layout of the entries of the hierarchy.
+	 */
+	private int fingerprint(SessionFactoryImplementor factory) {
+		Integer value = fingerprint;
+		if ( value == null ) {
+			final CRC32 crc = new CRC32();
+			for ( String entityName : entityNames( factory ) ) {
+				updateFingerprint( crc, entityName );
+				final EntityPersister subclassPersister = factory.getMetamodel().entityPersister( entityName );
+				final String[] propertyNames = subclassPersister.getPropertyNames();
+				final Type[] propertyTypes = subclassPersister.getPropertyTypes();
+				final Layout layout = layout( entityName, factory );
+				for ( int i = 0; i < propertyTypes.length; i++ ) {
+					updateFingerprint( crc, propertyNames[i] );
+					updateFingerprint( crc, propertyTypes[i].getName() );
+					crc.update( layout.tags[i] );
+					if ( layout.enumClasses[i] != null ) {
+						// the enums are written as ordinals
+						for ( Object constant : layout.enumClasses[i].getEnumConstants() ) {
+							updateFingerprint( crc, ( (Enum) constant ).name() );
+						}
+					}
+				}
+			}
+			value = (int) crc.getValue();
+			fingerprint = value;
+		}
+		return value;
+	}
+
+	private static void updateFingerprint(CRC32 crc, String value) {
+		final byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+		crc.update( bytes, 0, bytes.length );
+		// a separator, so that the boundaries of the strings matter
+		crc.update( 0 );
+	}
+
+	private Layout layout(String entityName, SessionFactoryImplementor factory) {
+		return layouts.computeIfAbsent(
+				entityName,
+				name -> new Layout( factory.getMetamodel().entityPersister( name ).getPropertyTypes(), factory )
+		);
+	}
+
+	/**
+	 * The tags and enum classes expected from the property types of an entity type.
+	 */
+	private static final class Layout {
+		private final byte[] tags;
+		private final Class<?>[] enumClasses;
+
+		private Layout(Type[] types, SessionFactoryImplementor factory) {
+			this.tags = new byte[types.length];
+			this.enumClasses = new Class<?>[types.length];
+			for ( int i = 0; i < types.length; i++ ) {
+				final Class<?> returnedClass = disassembledClass( types[i], factory );
+				if ( returnedClass != null && returnedClass.isEnum() ) {
+					tags[i] = TAG_ENUM;
+					enumClasses[i] = returnedClass;
+				}
+				else {
+					tags[i] = returnedClass == null ? TAG_NONE : TAGS.getOrDefault( returnedClass, TAG_NONE );
+				}
+			}
+		}
+
+		/**
+		 * The class of the values the given type disassembles to, or {@code null} if it is not known.
+		 */
+		private static Class<?> disassembledClass(Type type, SessionFactoryImplementor factory) {
+			if ( type instanceof ComponentType ) {
+				return Object[].class;
+			}
+			else if ( type.isEntityType() ) {
+				// the identifier of the associated entity is cached
+				return disassembledClass(
+						factory.getMetamodel()
+								.entityPersister( ( (EntityType) type ).getAssociatedEntityName() )
+								.getIdentifierType(),
+						factory
+				);
+			}
+			else if ( type.isCollectionType() ) {
+				// the key of the collection is cached
+				return disassembledClass(
+						factory.getMetamodel()
+								.collectionPersister( ( (CollectionType) type ).getRole() )
+								.getKeyType(),
+						factory
+				);
+			}
+			else if ( type.isComponentType() || type.isAnyType() ) {
+				return null;
+			}
+			return type.getReturnedClass();
+		}
+
+		private boolean isExpected(int index, Serializable value) {
+			final byte tag = tags[index];
+			if ( tag == TAG_NONE ) {
+				return false;
+			}
+			if ( tag == TAG_ENUM ) {
+				return value instanceof Enum && ( (Enum) value ).getDeclaringClass() == enumClasses[index];
+			}
+			return tagOf( value ) == tag;
+		}
+	}
+
+	private static byte tagOf(Serializable value) {
+		if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+			return TAG_UNFETCHED;
+		}
+		if ( value == PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
+			return TAG_UNKNOWN_BACKREF;
+		}
+		return TAGS.getOrDefault( value.getClass(), TAG_SERIALIZED );
+	}
+
+	private static void writeValue(Output output, Serializable value) {
+		if ( value == null ) {
+			output.writeByte( TAG_NULL );
+		}
+		else {
+			final byte tag = tagOf( value );
+			output.writeByte( tag );
+			writePayload( output, tag, value );
+		}
+	}
+
+	private static Serializable readValue(Input input) {
+		final byte tag = input.readByte();
+		return tag == TAG_NULL ? null : readPayload( input, tag, null );
+	}
+
+	private static void writePayload(Output output, byte tag, Serializable value) {
+		switch ( tag ) {
+			case TAG_BOOLEAN:
+				output.writeByte( (Boolean) value ? 1 : 0 );
+				break;
+			case TAG_BYTE:
+				output.writeByte( (Byte) value );
+				break;
+			case TAG_SHORT:
+			case TAG_INTEGER:
+			case TAG_LONG:
+				output.writeZigZag( ( (Number) value ).longValue() );
+				break;
+			case TAG_FLOAT:
+				output.writeFixedInt( Float.floatToIntBits( (Float) value ) );
+				break;
+			case TAG_DOUBLE:
+				output.writeFixedLong( Double.doubleToLongBits( (Double) value ) );
+				break;
+			case TAG_CHARACTER:
+				output.writeVarint( (Character) value );
+				break;
+			case TAG_STRING:
+				output.writeString( (String) value );
+				break;
+			case TAG_BYTES:
+				output.writeBytes( (byte[]) value );
+				break;
+			case TAG_BIG_DECIMAL:
+				output.writeZigZag( ( (BigDecimal) value ).scale() );
+				output.writeBytes( ( (BigDecimal) value ).unscaledValue().toByteArray() );
+				break;
+			case TAG_BIG_INTEGER:
+				output.writeBytes( ( (BigInteger) value ).toByteArray() );
+				break;
+			case TAG_UUID:
+				output.writeFixedLong( ( (UUID) value ).getMostSignificantBits() );
+				output.writeFixedLong( ( (UUID) value ).getLeastSignificantBits() );
+				break;
+			case TAG_DATE:
+			case TAG_SQL_DATE:
+			case TAG_TIME:
+				output.writeZigZag( ( (Date) value ).getTime() );
+				break;
+			case TAG_TIMESTAMP:
+				output.writeZigZag( ( (Timestamp) value ).getTime() );
+				output.writeVarint( ( (Timestamp) value ).getNanos() );
+				break;
+			case TAG_ARRAY:
+				final Object[] values = (Object[]) value;
+				output.writeVarint( values.length );
+				for ( Object element : values ) {
+					writeValue( output, (Serializable) element );
+				}
+				break;
+			case TAG_ENUM:
+				output.writeVarint( ( (Enum) value ).ordinal() );
+				break;
+			case TAG_UNFETCHED:
+			case TAG_UNKNOWN_BACKREF:
+				break;
+			default:
+				output.writeBytes( SerializationHelper.serialize( value ) );
+		}
+	}
+
+	private static Serializable readPayload(Input input, byte tag, Class<?> enumClass) {
+		switch ( tag ) {
+			case TAG_BOOLEAN:
+				return input.readByte() != 0;
+			case TAG_BYTE:
+				return input.readByte();
+			case TAG_SHORT:
+				return (short) input.readZigZag();
+			case TAG_INTEGER:
+				return (int) input.readZigZag();
+			case TAG_LONG:
+				return input.readZigZag();
+			case TAG_FLOAT:
+				return Float.intBitsToFloat( input.readFixedInt() );
+			case TAG_DOUBLE:
+				return Double.longBitsToDouble( input.readFixedLong() );
+			case TAG_CHARACTER:
+				return (char) input.readVarint();
+			case TAG_STRING:
+				return input.readString();
+			case TAG_BYTES:
+				return input.readBytes();
+			case TAG_BIG_DECIMAL:
+				final int scale = (int) input.readZigZag();
+				return new BigDecimal( new BigInteger( input.readBytes() ), scale );
+			case TAG_BIG_INTEGER:
+				return new BigInteger( input.readBytes() );
+			case TAG_UUID:
+				return new UUID( input.readFixedLong(), input.readFixedLong() );
+			case TAG_DATE:
+				return new Date( input.readZigZag() );
+			case TAG_SQL_DATE:
+				return new java.sql.Date( input.readZigZag() );
+			case TAG_TIME:
+				return new Time( input.readZigZag() );
+			case TAG_TIMESTAMP:
+				final Timestamp timestamp = new Timestamp( input.readZigZag() );
+				timestamp.setNanos( input.readVarint() );
+				return timestamp;
+			case TAG_ARRAY:
+				final Object[] values = new Object[input.readVarint()];
+				for ( int i = 0; i < values.length; i++ ) {
+					values[i] = readValue( input );
+				}
+				return values;
+			case TAG_ENUM:
+				return (Serializable) enumClass.getEnumConstants()[input.readVarint()];
+			case TAG_UNFETCHED:
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			case TAG_UNKNOWN_BACKREF:
+				return PropertyAccessStrategyBackRefImpl.UNKNOWN;
+			case TAG_SERIALIZED:
+				return (Serializable) SerializationHelper.deserialize( input.readBytes() );
+			default:
+				throw new CacheException( "Unknown value tag in compact cache entry: " + tag );
+		}
+	}
+
+	private static final class Output {
+		private byte[] buffer;
+		private int position;
+
+		private Output(int capacity) {
+			this.buffer = new byte[capacity];
+		}
+
+		private void ensureCapacity(int length) {
+			if ( position + length > buffer.length ) {
+				buffer = Arrays.copyOf( buffer, Math.max( buffer.length * 2, position + length ) );
+			}
+		}
+
+		private void writeByte(int value) {
+			ensureCapacity( 1 );
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeVarint(int value) {
+			writeVarlong( value & 0xFFFFFFFFL );
+		}
+
+		private void writeVarlong(long value) {
+			while ( ( value & ~0x7FL ) != 0 ) {
+				writeByte( (int) ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			writeByte( (int) value );
+		}
+
+		private void writeZigZag(long value) {
+			writeVarlong( ( value << 1 ) ^ ( value >> 63 ) );
+		}
+
+		private void writeFixedInt(int value) {
+			for ( int shift = 24; shift >= 0; shift -= 8 ) {
+				writeByte( value >>> shift );
+			}
+		}
+
+		private void writeFixedLong(long value) {
+			writeFixedInt( (int) ( value >>> 32 ) );
+			writeFixedInt( (int) value );
+		}
+
+		private void writeBytes(byte[] bytes) {
+			writeVarint( bytes.length );
+			ensureCapacity( bytes.length );
+			System.arraycopy( bytes, 0, buffer, position, bytes.length );
+			position += bytes.length;
+		}
+
+		private void writeString(String value) {
+			writeBytes( value.getBytes( StandardCharsets.UTF_8 ) );
+		}
+
+		/**
+		 * Reserve the given number of zeroed bytes, returning their position.
+		 */
+		private int reserve(int length) {
+			ensureCapacity( length );
+			final int reserved = position;
+			position += length;
+			return reserved;
+		}
+
+		private void setSlot(int slots, int index, int slot) {
+			buffer[slots + index / 4] |= (byte) ( slot << ( ( index % 4 ) * 2 ) );
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf( buffer, position );
+		}
+	}
+
+	private static final class Input {
+		private final byte[] buffer;
+		private int position;
+
+		private Input(byte[] buffer) {
+			this.buffer = buffer;
+		}
+
+		private byte readByte() {
+			return buffer[position++];
+		}
+
+		private int readVarint() {
+			return (int) readVarlong();
+		}
+
+		private long readVarlong() {
+			long value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = readByte();
+				value |= (long) ( b & 0x7F ) << shift;
+				shift += 7;
+			}
+			while ( ( b & 0x80 ) != 0 );
+			return value;
+		}
+
+		private long readZigZag() {
+			final long value = readVarlong();
+			return ( value >>> 1 ) ^ -( value & 1 );
+		}
+
+		private int readFixedInt() {
+			int value = 0;
+			for ( int i = 0; i < 4; i++ ) {
+				value = ( value << 8 ) | ( readByte() & 0xFF );
+			}
+			return value;
+		}
+
+		private long readFixedLong() {
+			return ( (long) readFixedInt() << 32 ) | ( readFixedInt() & 0xFFFFFFFFL );
+		}
+
+		private byte[] readBytes() {
+			final int length = readVarint();
+			final byte[] bytes = Arrays.copyOfRange( buffer, position, position + length );
+			position += length;
+			return bytes;
+		}
+
+		private String readString() {
+			final int length = readVarint();
+			final String value = new String( buffer, position, length, StandardCharsets.UTF_8 );
+			position += length;
+			return value;
+		}
+
+		private int skip(int length) {
+			final int skipped = position;
+			position += length;
+			return skipped;
+		}
+
+		private int getSlot(int slots, int index) {
+			return ( buffer[slots + index / 4] >>> ( ( index % 4 ) * 2 ) ) & 0x3;
+		}
+	}
+}
@@ -1040,6 +1040,68 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String BATCH_VERSIONED_DATA = "hibernate.jdbc.batch_versioned_data";
 
+	/**
+	 * Should batched inserts be rewritten into multi-row {@code INSERT ... VALUES (...), (...)} statements,
+	 * when the {@link org.hibernate.dialect.Dialect} supports them?  This requires {@link #STATEMENT_BATCH_SIZE}
+	 * to be greater than one, and reduces the number of statements executed by the database for drivers which
+	 * do not perform such a rewrite themselves.
+	 * <p/>
+	 * The default value is {@code false}.
+	 *
+	 * @see org.hibernate.dialect.Dialect#getMultiRowInsertMaxRows()
+	 *
+	 * @since 5.6
+	 */
+	String BATCH_MULTI_ROW_INSERTS = "hibernate.jdbc.batch_multi_row_inserts";
+
+	/**
+	 * Should a full JDBC batch be executed by a separate thread, while the next batch is being collected?
+	 * The batches are still executed one at a time, on the connection of the session, but the execution of a batch
+	 * overlaps with the binding of the next one.  This requires {@link #STATEMENT_BATCH_SIZE} to be greater than
+	 * one, and a JDBC driver supporting the use of distinct statements of a connection from distinct threads.
+	 * Ignored when {@link #BATCH_MULTI_ROW_INSERTS} is enabled.
+	 * <p/>
+	 * The default value is {@code false}.
+	 *
+	 * @since 5.6
+	 */
+	String BATCH_PIPELINING = "hibernate.jdbc.batch_pipelining";
+
+	/**
+	 * Should the batch size of each statement be tuned from the execution time of its batches?  The value of
+	 * {@link #STATEMENT_BATCH_SIZE}, which must be greater than one, is then the initial batch size of each statement.
+	 * The tuned batch sizes are exposed by {@link org.hibernate.stat.Statistics#getJdbcBatchSizes()}.
+	 * {@link #BATCH_MULTI_ROW_INSERTS} and {@link #BATCH_PIPELINING} are ignored, with a warning, when enabled.
+	 * Not supported, and ignored with a warning, by
+	 * {@link org.hibernate.engine.jdbc.batch.internal.UnmodifiableBatchBuilderInitiator}.
+	 * <p/>
+	 * The default value is {@code false}.
+	 *
+	 * @see #ADAPTIVE_BATCH_SIZE_MIN
+	 * @see #ADAPTIVE_BATCH_SIZE_MAX
+	 *
+	 * @since 5.6
+	 */
+	String ADAPTIVE_BATCH_SIZE = "hibernate.jdbc.adaptive_batch_size";
+
+	/**
+	 * The minimum batch size of a statement when {@link #ADAPTIVE_BATCH_SIZE} is enabled.
+	 * <p/>
+	 * The default value is {@code 2}.
+	 *
+	 * @since 5.6
+	 */
+	String ADAPTIVE_BATCH_SIZE_MIN = "hibernate.jdbc.adaptive_batch_size.min";
+
+	/**
+	 * The maximum batch size of a statement when {@link #ADAPTIVE_BATCH_SIZE} is enabled.
+	 * <p/>
+	 * The default value is four times {@link #STATEMENT_BATCH_SIZE}.
+	 *
+	 * @since 5.6
+	 */
+	String ADAPTIVE_BATCH_SIZE_MAX = "hibernate.jdbc.adaptive_batch_size.max";
+
 	/**
 	 * Default JDBC TimeZone. Unless specified, the JVM default TimeZone is going to be used by the underlying JDBC Driver.
 	 *
@@ -1175,7 +1237,10 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 
 	/**
 	 * Enable wrapping of JDBC result sets in order to speed up column name lookups for
-	 * broken JDBC drivers
+	 * broken JDBC drivers.  The result sets read by the loaders are then wrapped in a
+	 * {@link org.hibernate.engine.jdbc.internal.ColumnIndexResolvingResultSet}, which
+	 * resolves each column label to its index once per execution.  Defaults to false,
+	 * in which case the column labels are resolved by the driver.
 	 *
 	 * @deprecated (since 5.5) Scheduled for removal in 6.0 as ResultSet wrapping is no longer needed
 	 */
@@ -1200,7 +1265,8 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	String ORDER_UPDATES = "hibernate.order_updates";
 
 	/**
-	 * Enable ordering of insert statements for the purpose of more efficient JDBC batching.
+	 * Enable ordering of insert statements for the purpose of more efficient JDBC batching.  The delete statements
+	 * are grouped by entity as well, in the reverse order of the foreign keys.
 	 */
 	String ORDER_INSERTS = "hibernate.order_inserts";
 
@@ -1388,6 +1454,16 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
 
+	/**
+	 * Enable use of compact second-level cache entries for entities: the entries are encoded into a byte array laid
+	 * out after the property types of the entity.  Takes precedence over {@link #USE_STRUCTURED_CACHE} for entities.
+	 * <p/>
+	 * Default is {@code false}
+	 *
+	 * @see org.hibernate.cache.spi.entry.CompactCacheEntry
+	 */
+	String USE_COMPACT_CACHE = "hibernate.cache.use_compact_entries";
+
 	/**
 	 * Enables the automatic eviction of a bi-directional association's collection cache when an element in the
 	 * ManyToOne collection is added/updated/removed without properly managing the change on the OneToMany side.
@@ -1397,6 +1473,12 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	/**
 	 * Enable direct storage of entity references into the second level cache when applicable (immutable data, etc).
 	 * Default is to not store direct references.
+	 * <p/>
+	 * An instance with to-one associations is stored by reference only if the instances it references, transitively,
+	 * are themselves initialized instances of entities stored by reference: a proxy, or a lazy to-one value not yet
+	 * fetched, makes it fall back to a standard entry.  On a cache hit, the referenced instances are attached to the
+	 * session along with the instance, unless the session already holds another instance of one of them, in which
+	 * case the instance is loaded from the database.
 	 */
 	String USE_DIRECT_REFERENCE_CACHE_ENTRIES = "hibernate.cache.use_reference_entries";
 
@@ -1492,6 +1574,41 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE = "hibernate.query.plan_parameter_metadata_max_size";
 
+	/**
+	 * The eviction policy of the caches of {@link org.hibernate.engine.query.spi.QueryPlanCache}:
+	 * <ul>
+	 *     <li>{@code lirs} (the default)</li>
+	 *     <li>{@code lru}</li>
+	 *     <li>
+	 *         {@code tiny_lfu}, which only keeps a new entry over an existing one if it is used more often, so that
+	 *         queries executed once (such as queries built dynamically) do not evict the frequently used ones
+	 *     </li>
+	 * </ul>
+	 *
+	 * @since 5.6
+	 */
+	String QUERY_PLAN_CACHE_EVICTION = "hibernate.query.plan_cache_eviction";
+
+	/**
+	 * The file recording the HQL queries compiled by {@link org.hibernate.engine.query.spi.QueryPlanCache}, along
+	 * with their shallow flag and the names of their enabled filters.  The recorded queries are compiled in the
+	 * background when the SessionFactory is built, and the file is rewritten when it is closed.  The progress of
+	 * the compilation is reported by {@link org.hibernate.stat.Statistics#getQueryPlanWarmUpCount()}.
+	 * <p/>
+	 * No queries are recorded by default.
+	 *
+	 * @since 5.6
+	 */
+	String QUERY_PLAN_CACHE_WARM_UP_FILE = "hibernate.query.plan_cache_warm_up_file";
+
+	/**
+	 * The number of threads compiling the queries recorded in {@link #QUERY_PLAN_CACHE_WARM_UP_FILE}.
+	 * Default is the number of available processors.
+	 *
+	 * @since 5.6
+	 */
+	String QUERY_PLAN_CACHE_WARM_UP_THREADS = "hibernate.query.plan_cache_warm_up_threads";
+
 	/**
 	 * Should we not use contextual LOB creation (aka based on {@link java.sql.Connection#createBlob()} et al).
 	 */
@@ -2470,6 +2587,39 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String IN_CLAUSE_PARAMETER_PADDING = "hibernate.query.in_clause_parameter_padding";
 
+	/**
+	 * By default, a collection-valued parameter of an HQL query is expanded into one parameter per value in the
+	 * HQL query itself, so that each number of values (or each bucket of values, see
+	 * {@link #IN_CLAUSE_PARAMETER_PADDING}) is translated into a distinct query plan.
+	 * </p>
+	 * When this setting is enabled, the named collection-valued parameters of HQL select queries, as in
+	 * {@code where id in :ids}, are kept as is in the HQL query: the query is translated once, and the bind
+	 * parameters of their values are only expanded in the SQL, which is memoized per number of values.
+	 * Parameters of composite types, ordinal parameters and DML queries keep the default behavior.
+	 * </p>
+	 * The default value is {@code false}.
+	 *
+	 * @since 5.6
+	 */
+	String IN_CLAUSE_PARAMETER_PLAN_SHARING = "hibernate.query.in_clause_parameter_plan_sharing";
+
+	/**
+	 * When enabled, and when the {@link org.hibernate.dialect.Dialect} supports it (see
+	 * {@link org.hibernate.dialect.Dialect#supportsArrayInListBinding()}), the values of a named collection-valued
+	 * parameter of an HQL select query are bound as a single JDBC array, created by
+	 * {@link java.sql.Connection#createArrayOf}, and the IN list is rendered as a subquery over this array: the same
+	 * SQL statement is then used whatever the number of values, and large lists no longer hit the bind parameter
+	 * limits of the driver.
+	 * </p>
+	 * Only the values of basic types mapped to integer, decimal and character columns are bound as an array; the
+	 * other collection-valued parameters are expanded as usual, see {@link #IN_CLAUSE_PARAMETER_PLAN_SHARING}.
+	 * </p>
+	 * The default value is {@code false}.
+	 *
+	 * @since 5.6
+	 */
+	String IN_CLAUSE_PARAMETER_ARRAY_BINDING = "hibernate.query.in_clause_parameter_array_binding";
+
 	/**
 	 * This setting controls the number of {@link org.hibernate.stat.QueryStatistics} entries
 	 * that will be stored by the Hibernate {@link org.hibernate.stat.Statistics} object.
@@ -2511,6 +2661,86 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String OMIT_JOIN_OF_SUPERCLASS_TABLES = "hibernate.query.omit_join_of_superclass_tables";
 
+	/**
+	 * Enables parallel dirty checking during flush for sessions managing at least the given number of entities.
+	 * </p>
+	 * When enabled, the current state of the managed entities is compared with their loaded state on the
+	 * {@link java.util.concurrent.ForkJoinPool#commonPool() common ForkJoinPool} before the entities are flushed;
+	 * the entities found to be unchanged are then skipped by the (single-threaded) flush.  Only the entities
+	 * whose dirty check does not involve associations, collections, natural ids, bytecode enhancement, a custom
+	 * {@link org.hibernate.Interceptor} or a {@link org.hibernate.CustomEntityDirtinessStrategy} are checked
+	 * in parallel, the others are always dirty checked by the flush itself.  Note that no
+	 * {@link org.hibernate.SessionEventListener#dirtyCalculationStart() dirty calculation} notification is
+	 * issued for the entities skipped by the flush.
+	 * </p>
+	 * The default value is {@code 0}, meaning that dirty checking is never parallelized.
+	 *
+	 * @since 5.6
+	 */
+	String PARALLEL_DIRTY_CHECKING_THRESHOLD = "hibernate.flush.parallel_dirty_checking_threshold";
+
+	/**
+	 * Should the loaded state of the entities read from the database or from the second-level cache share the
+	 * values of their mutable basic attributes ({@code Date}, {@code byte[]}, serializable values...) with the
+	 * entities themselves, instead of keeping a deep copy of them?
+	 * </p>
+	 * The copy is then effectively made on the first write, when the application replaces the value of the
+	 * attribute, which saves the allocations made for the entities that are only read.  This is only safe when
+	 * the application never mutates such values in place (e.g. calling {@code Date#setTime}), as such changes
+	 * are not detected by the dirty checking anymore.  Embeddable values are always copied.
+	 * </p>
+	 * The default value is {@code false}.
+	 *
+	 * @since 5.6
+	 */
+	String LOADED_STATE_COPY_ON_WRITE = "hibernate.loaded_state.copy_on_write";
+
+	/**
+	 * Should the inserts of entities with an {@code IDENTITY} identifier be delayed until the flush, and executed
+	 * as multi-row inserts returning the generated identifiers, when the {@link org.hibernate.dialect.Dialect}
+	 * supports them?
+	 * </p>
+	 * The identifier of such an entity is then only available after the flush following its persist operation,
+	 * unless the operation needs it immediately (e.g. {@link org.hibernate.Session#save}).  Only the entities
+	 * without dynamic-insert, custom insert SQL, or association in embeddables are batched.
+	 * </p>
+	 * The default value is {@code false}.
+	 *
+	 * @see org.hibernate.dialect.Dialect#supportsMultiRowIdentityInserts()
+	 *
+	 * @since 5.6
+	 */
+	String BATCH_IDENTITY_INSERTS = "hibernate.jdbc.batch_identity_inserts";
+
+	/**
+	 * When enabled, the results of cacheable queries are stored column by column, the identifiers of the entities
+	 * and the other integral values as primitive arrays, and a hit on the query cache loads the entities of each
+	 * entity return with a single bulk read of the second-level cache followed by a batched SQL load of the entities
+	 * missing from it, rather than one lookup per row.
+	 * </p>
+	 * The default value is {@code false}.
+	 *
+	 * @since 5.6
+	 */
+	String QUERY_CACHE_COMPACT_RESULTS = "hibernate.cache.query_cache_compact_results";
+
+	/**
+	 * When enabled, the timestamps of the query spaces are kept per tenant: the changes made by the sessions of a
+	 * tenant only invalidate the cached query results of this tenant, rather than the cached query results of all
+	 * the tenants, the data of each tenant being held by a schema or a database of its own.  The changes made by a
+	 * session with no tenant identifier still invalidate the cached query results of all the tenants.
+	 * <p/>
+	 * With the {@link org.hibernate.MultiTenancyStrategy#SCHEMA} strategy, the tables mapped to an explicit schema
+	 * or catalog are shared by the tenants: their changes still invalidate the cached query results of all the
+	 * tenants.  The setting has no effect without multi-tenancy.
+	 * </p>
+	 * The default value is {@code false}.
+	 *
+	 * @see org.hibernate.MultiTenancyStrategy
+	 * @since 5.6
+	 */
+	String QUERY_CACHE_PARTITION_BY_TENANT = "hibernate.cache.query_cache_partition_by_tenant";
+
 	/**
 	 * @deprecated Support for JACC will be removed in 6.0
 	 */
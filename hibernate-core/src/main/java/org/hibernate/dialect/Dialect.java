@@ -2760,6 +2760,121 @@ public abstract class Dialect implements ConversionContext {
 		return 0;
 	}
 
+	/**
+	 * Does this dialect support binding the values of an {@code IN} predicate as a single array parameter, created
+	 * by {@link java.sql.Connection#createArrayOf}?
+	 *
+	 * @return {@code true} if {@link #getArrayInListSubquery(String)} is supported
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#IN_CLAUSE_PARAMETER_ARRAY_BINDING
+	 */
+	public boolean supportsArrayInListBinding() {
+		return false;
+	}
+
+	/**
+	 * The subquery selecting the elements of an array parameter, which replaces the values of an {@code IN}
+	 * predicate: {@code id in (?)} becomes {@code id in (<subquery>)}.
+	 *
+	 * @param elementTypeName The name of the database type of the elements, see {@link #getArrayElementTypeName(int)}
+	 *
+	 * @return The subquery, with a single bind parameter for the array
+	 */
+	public String getArrayInListSubquery(String elementTypeName) {
+		throw new UnsupportedOperationException( getClass().getName() + " does not support array binding of IN lists" );
+	}
+
+	/**
+	 * Get the name of the database type of the elements of an array parameter, as expected by
+	 * {@link java.sql.Connection#createArrayOf}.
+	 *
+	 * @param code The {@link Types} typecode of the elements
+	 *
+	 * @return The database type name, without storage specification
+	 */
+	public String getArrayElementTypeName(int code) {
+		final String typeName = getTypeName( code );
+		final int storageSpecification = typeName.indexOf( '(' );
+		return storageSpecification < 0 ? typeName : typeName.substring( 0, storageSpecification );
+	}
+
+	/**
+	 * Return the maximum number of rows that a single multi-row {@code INSERT ... VALUES (...), (...)} statement may
+	 * insert.  A value lower than two indicates that such statements are not supported.
+	 *
+	 * @return The limit, or a value lower than two to indicate that multi-row inserts are not supported.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_MULTI_ROW_INSERTS
+	 */
+	public int getMultiRowInsertMaxRows() {
+		return 0;
+	}
+
+	/**
+	 * Return the limit that the underlying database places on the number of JDBC parameters of a single statement.
+	 * If the database defines no such limits, simply return zero or less-than-zero.
+	 *
+	 * @return int The limit, or zero-or-less to indicate no limit.
+	 */
+	public int getMaxParametersPerStatement() {
+		return 0;
+	}
+
+	/**
+	 * Build the SQL of a multi-row insert from the SQL of a single-row insert.
+	 *
+	 * @param insertPrefix The SQL of the single-row insert, up to and including its {@code values} keyword and the following space
+	 * @param valuesRow The row of values of the single-row insert, including the parenthesis
+	 * @param rowCount The number of rows to insert, lower than or equal to {@link #getMultiRowInsertMaxRows()}
+	 *
+	 * @return The multi-row insert SQL
+	 */
+	public String getMultiRowInsertString(String insertPrefix, String valuesRow, int rowCount) {
+		final StringBuilder buf = new StringBuilder( insertPrefix.length() + ( valuesRow.length() + 2 ) * rowCount );
+		buf.append( insertPrefix ).append( valuesRow );
+		for ( int i = 1; i < rowCount; i++ ) {
+			buf.append( ", " ).append( valuesRow );
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Does this dialect support multi-row inserts of entities with an {@code IDENTITY} identifier, returning
+	 * the identifiers generated for each of the rows?
+	 *
+	 * @return {@code true} if the identifiers generated by a multi-row insert can be retrieved
+	 *
+	 * @see #getMultiRowIdentityInsertString
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 */
+	public boolean supportsMultiRowIdentityInserts() {
+		return false;
+	}
+
+	/**
+	 * Build the SQL of a multi-row insert of entities with an {@code IDENTITY} identifier, which returns a result
+	 * set with the position of each inserted row (starting at zero) in its first column, and the generated
+	 * identifier of the row in its second column.
+	 * <p/>
+	 * By default, {@code null} is returned, meaning that the generated identifiers are instead retrieved, in the
+	 * order of the rows, through {@link java.sql.Statement#getGeneratedKeys()} after executing the
+	 * {@link #getMultiRowInsertString multi-row insert}.
+	 *
+	 * @param insertPrefix The SQL of the single-row insert, up to and including its {@code values} keyword and the following space
+	 * @param valuesRow The row of values of the single-row insert, including the parenthesis
+	 * @param rowCount The number of rows to insert, lower than or equal to {@link #getMultiRowInsertMaxRows()}
+	 * @param identifierColumnName The name of the identity column
+	 *
+	 * @return The multi-row insert SQL, or {@code null}
+	 */
+	public String getMultiRowIdentityInsertString(
+			String insertPrefix,
+			String valuesRow,
+			int rowCount,
+			String identifierColumnName) {
+		return null;
+	}
+
 	/**
 	 * HHH-4635
 	 * Oracle expects all Lob values to be last in inserts and updates.
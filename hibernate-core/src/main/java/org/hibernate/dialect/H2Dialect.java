@@ -448,6 +448,16 @@ public class H2Dialect extends Dialect {
 		return supportsTuplesInSubqueries;
 	}
 
+	@Override
+	public boolean supportsArrayInListBinding() {
+		return true;
+	}
+
+	@Override
+	public String getArrayInListSubquery(String elementTypeName) {
+		return "select x from table(x " + elementTypeName + " = ?)";
+	}
+
 	// Do not drop constraints explicitly, just do this by cascading instead.
 	@Override
 	public boolean dropConstraints() {
@@ -485,4 +495,13 @@ public class H2Dialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public int getMultiRowInsertMaxRows() {
+		return 1000;
+	}
+
+	@Override
+	public boolean supportsMultiRowIdentityInserts() {
+		return true;
+	}
 }
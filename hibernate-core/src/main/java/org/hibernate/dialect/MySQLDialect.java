@@ -637,4 +637,13 @@ public class MySQLDialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public int getMultiRowInsertMaxRows() {
+		return 1000;
+	}
+
+	@Override
+	public int getMaxParametersPerStatement() {
+		return 65535;
+	}
 }
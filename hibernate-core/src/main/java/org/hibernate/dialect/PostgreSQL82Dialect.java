@@ -65,4 +65,19 @@ public class PostgreSQL82Dialect extends PostgreSQL81Dialect {
 	public boolean supportsRowValueConstructorSyntaxInInList() {
 		return true;
 	}
+
+	@Override
+	public int getMultiRowInsertMaxRows() {
+		return 1000;
+	}
+
+	@Override
+	public int getMaxParametersPerStatement() {
+		return 32767;
+	}
+
+	@Override
+	public boolean supportsMultiRowIdentityInserts() {
+		return true;
+	}
 }
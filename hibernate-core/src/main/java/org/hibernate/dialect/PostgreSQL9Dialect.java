@@ -16,4 +16,14 @@ public class PostgreSQL9Dialect extends PostgreSQL82Dialect {
 	public boolean supportsIfExistsBeforeConstraintName() {
 		return true;
 	}
+
+	@Override
+	public boolean supportsArrayInListBinding() {
+		return true;
+	}
+
+	@Override
+	public String getArrayInListSubquery(String elementTypeName) {
+		return "select unnest(?)";
+	}
 }
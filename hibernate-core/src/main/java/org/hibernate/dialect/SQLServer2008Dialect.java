@@ -61,4 +61,58 @@ public class SQLServer2008Dialect extends SQLServer2005Dialect {
 	public boolean supportsValuesList() {
 		return true;
 	}
+
+	@Override
+	public int getMultiRowInsertMaxRows() {
+		// the limit of a table value constructor
+		return 1000;
+	}
+
+	@Override
+	public int getMaxParametersPerStatement() {
+		// stay below the documented maximum of 2100 parameters
+		return 2099;
+	}
+
+	@Override
+	public boolean supportsMultiRowIdentityInserts() {
+		return true;
+	}
+
+	@Override
+	public String getMultiRowIdentityInsertString(
+			String insertPrefix,
+			String valuesRow,
+			int rowCount,
+			String identifierColumnName) {
+		// the rows of an "output" clause come in no particular order, so they are numbered through a merge
+		final int insertIndex = insertPrefix.indexOf( "insert into " );
+		final int columnsIndex = insertPrefix.indexOf( " (", insertIndex );
+		final String tableName = insertPrefix.substring( insertIndex + 12, columnsIndex );
+		final String[] columns = insertPrefix.substring( columnsIndex + 2, insertPrefix.lastIndexOf( ") values " ) )
+				.split( ", " );
+		final String row = valuesRow.substring( 0, valuesRow.length() - 1 );
+
+		final StringBuilder buf = new StringBuilder( insertPrefix.length() + ( valuesRow.length() + 8 ) * rowCount + 100 );
+		buf.append( insertPrefix, 0, insertIndex ).append( "merge into " ).append( tableName ).append( " using (values " );
+		for ( int i = 0; i < rowCount; i++ ) {
+			if ( i > 0 ) {
+				buf.append( ", " );
+			}
+			buf.append( row ).append( ", " ).append( i ).append( ')' );
+		}
+		buf.append( ") as hib_rows (" );
+		for ( String column : columns ) {
+			buf.append( column ).append( ", " );
+		}
+		buf.append( "hib_row) on 1 = 0 when not matched then insert (" );
+		buf.append( String.join( ", ", columns ) ).append( ") values (" );
+		for ( int i = 0; i < columns.length; i++ ) {
+			if ( i > 0 ) {
+				buf.append( ", " );
+			}
+			buf.append( "hib_rows." ).append( columns[i] );
+		}
+		return buf.append( ") output hib_rows.hib_row, inserted." ).append( identifierColumnName ).append( ';' ).toString();
+	}
 }
@@ -0,0 +1,336 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.hibernate.action.internal.EntityAction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.ForeignKeyDirection;
+import org.hibernate.type.OneToOneType;
+import org.hibernate.type.Type;
+
+/**
+ * The foreign key dependencies between the entities of a {@link MetamodelImplementor metamodel}, used to group
+ * the insertions (and the deletions) of a flush by entity without violating the foreign keys.
+ * <p/>
+ * An entity depends on the entities referenced by its many-to-one and (owning) one-to-one associations, which are
+ * inserted first, and the element entities of its one-to-many collections, as well as the entities of its inverse
+ * one-to-one associations, depend on it.  A dependency on an entity is a dependency on each of its subclasses.
+ * <p/>
+ * The graph is built once per metamodel, so that sorting the actions of a flush only costs a topological sort of
+ * the entities of these actions.
+ */
+public final class EntityDependencyGraph {
+	private static final Dependency[] NO_DEPENDENCIES = new Dependency[0];
+
+	private final Map<String, Integer> entityIndexes;
+	private final Dependency[][] dependencies;
+
+	private EntityDependencyGraph(Map<String, Integer> entityIndexes, Dependency[][] dependencies) {
+		this.entityIndexes = entityIndexes;
+		this.dependencies = dependencies;
+	}
+
+	/**
+	 * Build the dependency graph of the entities of the given metamodel.
+	 *
+	 * @param metamodel The metamodel
+	 *
+	 * @return The dependency graph
+	 */
+	public static EntityDependencyGraph build(MetamodelImplementor metamodel) {
+		final String[] entityNames = metamodel.getAllEntityNames();
+		final Map<String, Integer> entityIndexes = new HashMap<>();
+		for ( int i = 0; i < entityNames.length; i++ ) {
+			entityIndexes.put( entityNames[i], i );
+		}
+
+		final Dependency[][] dependencies = new Dependency[entityNames.length][];
+		for ( int i = 0; i < entityNames.length; i++ ) {
+			final EntityPersister persister = metamodel.entityPersister( entityNames[i] );
+			final DependencyCollector collector = new DependencyCollector( metamodel, entityIndexes, i );
+			final Type[] propertyTypes = persister.getPropertyTypes();
+			for ( int j = 0; j < propertyTypes.length; j++ ) {
+				collector.collect( propertyTypes[j], j );
+			}
+			final Type identifierType = persister.getIdentifierType();
+			if ( identifierType.isComponentType() ) {
+				for ( Type type : ( (CompositeType) identifierType ).getSubtypes() ) {
+					collector.collect( type, Dependency.ALWAYS );
+				}
+			}
+			dependencies[i] = collector.dependencies.isEmpty()
+					? NO_DEPENDENCIES
+					: collector.dependencies.toArray( new Dependency[0] );
+		}
+		return new EntityDependencyGraph( entityIndexes, dependencies );
+	}
+
+	/**
+	 * Group the given actions by entity, and order the groups so that the actions on an entity are executed after
+	 * (or, when {@code reverse}, before) the actions on the entities it depends on.  The actions on an entity keep
+	 * their relative order, and the groups keep the order of their first action when they do not depend on each
+	 * other.
+	 * <p/>
+	 * When the entities of the actions depend on each other, the dependencies are narrowed down to the entities
+	 * actually referenced by the state of the actions.  The actions are left untouched when they still do.
+	 *
+	 * @param actions The actions to sort
+	 * @param states The access to the state of an action
+	 * @param reverse Should the actions on an entity be executed before the actions on the entities it depends on?
+	 * @param <E> The type of actions
+	 *
+	 * @return {@code false} if the actions could not be sorted because of circular dependencies.
+	 */
+	public <E extends EntityAction> boolean sort(List<E> actions, Function<E, Object[]> states, boolean reverse) {
+		final Map<String, Group<E>> groupsByEntityName = new LinkedHashMap<>();
+		for ( E action : actions ) {
+			Group<E> group = groupsByEntityName.get( action.getEntityName() );
+			if ( group == null ) {
+				final Integer entityIndex = entityIndexes.get( action.getEntityName() );
+				group = new Group<>( entityIndex == null ? -1 : entityIndex, groupsByEntityName.size() );
+				groupsByEntityName.put( action.getEntityName(), group );
+			}
+			group.actions.add( action );
+		}
+		if ( groupsByEntityName.size() < 2 ) {
+			return true;
+		}
+
+		final List<Group<E>> groups = new ArrayList<>( groupsByEntityName.values() );
+		List<Group<E>> sortedGroups = sortGroups( groups, null, reverse );
+		if ( sortedGroups == null ) {
+			sortedGroups = sortGroups( groups, states, reverse );
+			if ( sortedGroups == null ) {
+				return false;
+			}
+		}
+
+		actions.clear();
+		for ( Group<E> group : sortedGroups ) {
+			actions.addAll( group.actions );
+		}
+		return true;
+	}
+
+	/**
+	 * Sort the groups topologically, picking the first group (in the order of the actions) among the groups whose
+	 * dependencies are satisfied.
+	 *
+	 * @return The sorted groups, or {@code null} when the groups depend on each other.
+	 */
+	private <E extends EntityAction> List<Group<E>> sortGroups(
+			List<Group<E>> groups,
+			Function<E, Object[]> states,
+			boolean reverse) {
+		@SuppressWarnings("unchecked")
+		final Group<E>[] groupsByEntity = new Group[dependencies.length];
+		for ( Group<E> group : groups ) {
+			group.successors.clear();
+			group.predecessorCount = 0;
+			if ( group.entityIndex >= 0 ) {
+				groupsByEntity[group.entityIndex] = group;
+			}
+		}
+
+		for ( Group<E> group : groups ) {
+			if ( group.entityIndex < 0 ) {
+				continue;
+			}
+			for ( Dependency dependency : dependencies[group.entityIndex] ) {
+				final Iterable<Integer> targets = states == null
+						? dependency.getTargets()
+						: dependency.getUsedTargets( group.actions, states, entityIndexes );
+				for ( int target : targets ) {
+					final Group<E> targetGroup = groupsByEntity[target];
+					if ( targetGroup == null || targetGroup == group ) {
+						continue;
+					}
+					if ( dependency.child != reverse ) {
+						group.precede( targetGroup );
+					}
+					else {
+						targetGroup.precede( group );
+					}
+				}
+			}
+		}
+
+		final PriorityQueue<Group<E>> ready = new PriorityQueue<>( Comparator.comparingInt( group -> group.position ) );
+		for ( Group<E> group : groups ) {
+			if ( group.predecessorCount == 0 ) {
+				ready.add( group );
+			}
+		}
+		final List<Group<E>> sortedGroups = new ArrayList<>( groups.size() );
+		while ( !ready.isEmpty() ) {
+			final Group<E> group = ready.poll();
+			sortedGroups.add( group );
+			for ( Group<E> successor : group.successors ) {
+				if ( --successor.predecessorCount == 0 ) {
+					ready.add( successor );
+				}
+			}
+		}
+		return sortedGroups.size() == groups.size() ? sortedGroups : null;
+	}
+
+	private static final class Group<E> {
+		private final int entityIndex;
+		private final int position;
+		private final List<E> actions = new ArrayList<>();
+
+		private final List<Group<E>> successors = new ArrayList<>();
+		private int predecessorCount;
+
+		private Group(int entityIndex, int position) {
+			this.entityIndex = entityIndex;
+			this.position = position;
+		}
+
+		private void precede(Group<E> group) {
+			successors.add( group );
+			group.predecessorCount++;
+		}
+	}
+
+	/**
+	 * The dependency of an entity on (or of) other entities through one of its properties.
+	 */
+	private static final class Dependency {
+		private static final int ALWAYS = -1;
+
+		private final int propertyIndex;
+		private final List<Integer> targets;
+		// do the targets depend on the entity?
+		private final boolean child;
+		// is the value of the property the associated entity?
+		private final boolean direct;
+
+		private Dependency(int propertyIndex, List<Integer> targets, boolean child, boolean direct) {
+			this.propertyIndex = propertyIndex;
+			this.targets = targets;
+			this.child = child;
+			this.direct = direct;
+		}
+
+		private List<Integer> getTargets() {
+			return targets;
+		}
+
+		/**
+		 * The targets actually used by the given actions: the entities of the values of the property when it is an
+		 * association, or all the targets when the property is not {@code null} for one of the actions.
+		 */
+		private <E extends EntityAction> Iterable<Integer> getUsedTargets(
+				List<E> actions,
+				Function<E, Object[]> states,
+				Map<String, Integer> entityIndexes) {
+			if ( propertyIndex == ALWAYS ) {
+				return targets;
+			}
+			Set<Integer> usedTargets = null;
+			for ( E action : actions ) {
+				final Object[] state = states.apply( action );
+				if ( state == null ) {
+					return targets;
+				}
+				final Object value = state[propertyIndex];
+				if ( value == null ) {
+					continue;
+				}
+				if ( !direct ) {
+					return targets;
+				}
+				final Integer target = entityIndexes.get( action.getSession().bestGuessEntityName( value ) );
+				if ( target != null ) {
+					if ( usedTargets == null ) {
+						usedTargets = new HashSet<>();
+					}
+					usedTargets.add( target );
+				}
+			}
+			return usedTargets == null ? Collections.emptySet() : usedTargets;
+		}
+	}
+
+	private static final class DependencyCollector {
+		private final MetamodelImplementor metamodel;
+		private final SessionFactoryImplementor sessionFactory;
+		private final Map<String, Integer> entityIndexes;
+		private final int entityIndex;
+		private final List<Dependency> dependencies = new ArrayList<>();
+
+		private DependencyCollector(MetamodelImplementor metamodel, Map<String, Integer> entityIndexes, int entityIndex) {
+			this.metamodel = metamodel;
+			this.sessionFactory = metamodel.getSessionFactory();
+			this.entityIndexes = entityIndexes;
+			this.entityIndex = entityIndex;
+		}
+
+		private void collect(Type type, int propertyIndex) {
+			collect( type, propertyIndex, true );
+		}
+
+		private void collect(Type type, int propertyIndex, boolean direct) {
+			if ( type.isEntityType() ) {
+				final EntityType entityType = (EntityType) type;
+				if ( entityType.isOneToOne()
+						&& ( (OneToOneType) entityType ).getForeignKeyDirection() == ForeignKeyDirection.TO_PARENT ) {
+					if ( !entityType.isReferenceToPrimaryKey() ) {
+						add( propertyIndex, entityType.getAssociatedEntityName(), true, direct );
+					}
+				}
+				else {
+					add( propertyIndex, entityType.getAssociatedEntityName(), false, direct );
+				}
+			}
+			else if ( type.isCollectionType() ) {
+				final CollectionType collectionType = (CollectionType) type;
+				if ( collectionType.getElementType( sessionFactory ).isEntityType()
+						&& !metamodel.collectionPersister( collectionType.getRole() ).isManyToMany() ) {
+					add( propertyIndex, collectionType.getAssociatedEntityName( sessionFactory ), true, false );
+				}
+			}
+			else if ( type.isComponentType() ) {
+				for ( Type subtype : ( (CompositeType) type ).getSubtypes() ) {
+					collect( subtype, propertyIndex, false );
+				}
+			}
+		}
+
+		private void add(int propertyIndex, String entityName, boolean child, boolean direct) {
+			final EntityPersister persister = metamodel.entityPersister( entityName );
+			final List<Integer> targets = new ArrayList<>();
+			for ( Object subclassEntityName : persister.getEntityMetamodel().getSubclassEntityNames() ) {
+				final Integer target = entityIndexes.get( subclassEntityName );
+				if ( target != null && target != entityIndex ) {
+					targets.add( target );
+				}
+			}
+			if ( !targets.isEmpty() ) {
+				dependencies.add( new Dependency( propertyIndex, targets, child, direct ) );
+			}
+		}
+	}
+}
@@ -22,6 +22,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * Defines a context for maintaining the relation between an entity associated with the Session ultimately owning this
@@ -51,9 +52,19 @@ public class EntityEntryContext {
 
 	private transient IdentityHashMap<Object,ManagedEntity> nonEnhancedEntityXref;
 
+	// Reentrant-safe snapshot of the entity/EntityEntry pairs, kept as two parallel arrays ("columns")
+	// so that taking it costs two allocations whatever the number of managed entities
+	private transient Object[] reentrantSafeEntities = EMPTY_ENTITIES;
+	private transient EntityEntry[] reentrantSafeEntityEntries = EMPTY_ENTITY_ENTRIES;
+	private transient boolean dirty;
+
+	// Legacy Map.Entry view of the snapshot above, only built on request
 	@SuppressWarnings( {"unchecked"})
 	private transient Map.Entry<Object,EntityEntry>[] reentrantSafeEntries = new Map.Entry[0];
-	private transient boolean dirty;
+	private transient boolean reentrantSafeEntriesStale;
+
+	private static final Object[] EMPTY_ENTITIES = new Object[0];
+	private static final EntityEntry[] EMPTY_ENTITY_ENTRIES = new EntityEntry[0];
 
 	/**
 	 * Constructs a EntityEntryContext
@@ -309,20 +320,60 @@ public class EntityEntryContext {
 	 * @return The safe array
 	 */
 	public Map.Entry<Object, EntityEntry>[] reentrantSafeEntityEntries() {
+		refreshReentrantSafeSnapshot();
+		if ( reentrantSafeEntriesStale ) {
+			final Object[] entities = reentrantSafeEntities;
+			final EntityEntry[] entityEntries = reentrantSafeEntityEntries;
+			reentrantSafeEntries = new EntityEntryCrossRefImpl[entities.length];
+			for ( int i = 0; i < entities.length; i++ ) {
+				reentrantSafeEntries[i] = new EntityEntryCrossRefImpl( entities[i], entityEntries[i] );
+			}
+			reentrantSafeEntriesStale = false;
+		}
+		return reentrantSafeEntries;
+	}
+
+	/**
+	 * Apply the given action to all the entity/EntityEntry pairs in this context.
+	 * <p/>
+	 * Like {@link #reentrantSafeEntityEntries()}, the pairs are those present when the iteration starts and
+	 * the action may safely add or remove entities; but no {@code Map.Entry} is created per entity.
+	 *
+	 * @param action The action to apply to each entity and its EntityEntry
+	 */
+	public void reentrantSafeForEach(BiConsumer<Object, EntityEntry> action) {
+		refreshReentrantSafeSnapshot();
+		// a reentrant modification replaces the snapshot arrays, it never writes into the ones we iterate
+		final Object[] entities = reentrantSafeEntities;
+		final EntityEntry[] entityEntries = reentrantSafeEntityEntries;
+		for ( int i = 0; i < entities.length; i++ ) {
+			action.accept( entities[i], entityEntries[i] );
+		}
+	}
+
+	private void refreshReentrantSafeSnapshot() {
 		if ( dirty ) {
-			reentrantSafeEntries = new EntityEntryCrossRefImpl[count];
-			int i = 0;
-			ManagedEntity managedEntity = head;
-			while ( managedEntity != null ) {
-				reentrantSafeEntries[i++] = new EntityEntryCrossRefImpl(
-						managedEntity.$$_hibernate_getEntityInstance(),
-						managedEntity.$$_hibernate_getEntityEntry()
-				);
-				managedEntity = managedEntity.$$_hibernate_getNextManagedEntity();
+			if ( count == 0 ) {
+				reentrantSafeEntities = EMPTY_ENTITIES;
+				reentrantSafeEntityEntries = EMPTY_ENTITY_ENTRIES;
 			}
+			else {
+				final Object[] entities = new Object[count];
+				final EntityEntry[] entityEntries = new EntityEntry[count];
+				int i = 0;
+				ManagedEntity managedEntity = head;
+				while ( managedEntity != null ) {
+					entities[i] = managedEntity.$$_hibernate_getEntityInstance();
+					entityEntries[i] = managedEntity.$$_hibernate_getEntityEntry();
+					i++;
+					managedEntity = managedEntity.$$_hibernate_getNextManagedEntity();
+				}
+				reentrantSafeEntities = entities;
+				reentrantSafeEntityEntries = entityEntries;
+			}
+			reentrantSafeEntriesStale = true;
 			dirty = false;
 		}
-		return reentrantSafeEntries;
 	}
 
 	/**
@@ -355,6 +406,8 @@ public class EntityEntryContext {
 		tail = null;
 		count = 0;
 
+		reentrantSafeEntities = EMPTY_ENTITIES;
+		reentrantSafeEntityEntries = EMPTY_ENTITY_ENTRIES;
 		reentrantSafeEntries = null;
 	}
 
@@ -0,0 +1,497 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.AbstractStandardBasicType;
+import org.hibernate.type.Type;
+
+/**
+ * Specialized storage for the instances the {@link StatefulPersistenceContext} keeps by {@link EntityKey}.
+ * <p/>
+ * Entries are partitioned by entity hierarchy (root entity name).  When the identifier of the hierarchy is
+ * a {@link Long}, {@link Integer} or {@link Short}, the partition is an open-addressing table keyed by the
+ * primitive value of the identifier: this avoids the per-entry node of a {@link HashMap} and, through
+ * {@link #get(Serializable, EntityPersister)}, allows lookups without allocating an {@code EntityKey}.
+ * Any other identifier type is stored in a plain {@code HashMap}.
+ * <p/>
+ * The {@code EntityKey} instances are still retained, as they are exposed through {@link #keySet()} and
+ * {@link #entrySet()}.  The views are read-only, and their iterators are fail-fast.
+ * <p/>
+ * Not thread-safe, like the persistence context itself.
+ *
+ * @param <V> The type of the values (entity instances or snapshots)
+ */
+final class EntityKeyMap<V> extends AbstractMap<EntityKey, V> {
+	private static final int INITIAL_PARTITION_CAPACITY = 16;
+
+	// Partitions by root entity name, created on demand
+	private final HashMap<String, Partition<V>> partitions = new HashMap<>();
+	// Keys whose identifier cannot be stored in a primitive table
+	private HashMap<EntityKey, V> objectKeyed;
+
+	// Most entity lookups in a row are for the same persister
+	private EntityPersister lastPersister;
+	private Partition<V> lastPartition;
+
+	private int size;
+	private int modCount;
+
+	private Set<EntityKey> keySet;
+	private Collection<V> values;
+	private Set<Map.Entry<EntityKey, V>> entrySet;
+
+	EntityKeyMap() {
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public V get(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		return get( entityKey.getIdentifier(), entityKey.getPersister() );
+	}
+
+	/**
+	 * Look up the value stored for the given identifier and persister; equivalent to
+	 * {@code get( new EntityKey( id, persister ) )} without requiring the key instance
+	 * when the identifier is a primitive wrapper.
+	 */
+	V get(Serializable id, EntityPersister persister) {
+		final Partition<V> partition = partition( persister, false );
+		if ( partition != null && partition.accepts( id ) ) {
+			return partition.get( Partition.toLong( id ) );
+		}
+		if ( objectKeyed == null ) {
+			return null;
+		}
+		return objectKeyed.get( new EntityKey( id, persister ) );
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return false;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		return containsKey( entityKey.getIdentifier(), entityKey.getPersister() );
+	}
+
+	boolean containsKey(Serializable id, EntityPersister persister) {
+		final Partition<V> partition = partition( persister, false );
+		if ( partition != null && partition.accepts( id ) ) {
+			return partition.indexOf( Partition.toLong( id ) ) >= 0;
+		}
+		return objectKeyed != null && objectKeyed.containsKey( new EntityKey( id, persister ) );
+	}
+
+	@Override
+	public V put(EntityKey key, V value) {
+		final Serializable id = key.getIdentifier();
+		final Partition<V> partition = partition( key.getPersister(), true );
+		final V previous;
+		if ( partition != null && partition.accepts( id ) ) {
+			final int sizeBefore = partition.size;
+			previous = partition.put( Partition.toLong( id ), key, value );
+			size += partition.size - sizeBefore;
+		}
+		else {
+			if ( objectKeyed == null ) {
+				objectKeyed = new HashMap<>();
+			}
+			final int sizeBefore = objectKeyed.size();
+			previous = objectKeyed.put( key, value );
+			size += objectKeyed.size() - sizeBefore;
+		}
+		modCount++;
+		return previous;
+	}
+
+	@Override
+	public V remove(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		final Serializable id = entityKey.getIdentifier();
+		final Partition<V> partition = partition( entityKey.getPersister(), false );
+		final V previous;
+		if ( partition != null && partition.accepts( id ) ) {
+			final int sizeBefore = partition.size;
+			previous = partition.remove( Partition.toLong( id ) );
+			size -= sizeBefore - partition.size;
+		}
+		else if ( objectKeyed != null ) {
+			final int sizeBefore = objectKeyed.size();
+			previous = objectKeyed.remove( entityKey );
+			size -= sizeBefore - objectKeyed.size();
+		}
+		else {
+			previous = null;
+		}
+		modCount++;
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		partitions.clear();
+		objectKeyed = null;
+		lastPersister = null;
+		lastPartition = null;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Resolve the primitive-keyed partition for the given persister.
+	 *
+	 * @return the partition, or {@code null} if the identifiers of this hierarchy are not primitive wrappers
+	 * (or if there is none yet and {@code create} is {@code false})
+	 */
+	private Partition<V> partition(EntityPersister persister, boolean create) {
+		if ( persister == lastPersister ) {
+			return lastPartition;
+		}
+		final String rootEntityName = persister.getRootEntityName();
+		Partition<V> partition = partitions.get( rootEntityName );
+		if ( partition == null ) {
+			final Class<?> idClass = primitiveIdClass( persister );
+			if ( idClass == null ) {
+				// remember that this hierarchy is not primitive-keyed, there is no need to ever look again
+				partition = Partition.none();
+				partitions.put( rootEntityName, partition );
+			}
+			else if ( create ) {
+				partition = new Partition<>( idClass );
+				partitions.put( rootEntityName, partition );
+			}
+			else {
+				// nothing stored yet: don't remember the persister, the partition is about to be created
+				return null;
+			}
+		}
+		lastPersister = persister;
+		lastPartition = partition.isNone() ? null : partition;
+		return lastPartition;
+	}
+
+	private static Class<?> primitiveIdClass(EntityPersister persister) {
+		final Type identifierType = persister.getIdentifierType();
+		if ( !( identifierType instanceof AbstractStandardBasicType ) ) {
+			return null;
+		}
+		final Class<?> idClass = identifierType.getReturnedClass();
+		if ( idClass == Long.class || idClass == Integer.class || idClass == Short.class ) {
+			return idClass;
+		}
+		return null;
+	}
+
+	@Override
+	public Set<EntityKey> keySet() {
+		if ( keySet == null ) {
+			keySet = new AbstractSet<EntityKey>() {
+				@Override
+				public Iterator<EntityKey> iterator() {
+					return new EntryIterator<EntityKey>() {
+						@Override
+						EntityKey current(Partition<V> partition, int index) {
+							return partition.keys[index];
+						}
+
+						@Override
+						EntityKey current(Map.Entry<EntityKey, V> entry) {
+							return entry.getKey();
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public boolean contains(Object o) {
+					return containsKey( o );
+				}
+			};
+		}
+		return keySet;
+	}
+
+	@Override
+	public Collection<V> values() {
+		if ( values == null ) {
+			values = new AbstractCollection<V>() {
+				@Override
+				public Iterator<V> iterator() {
+					return new EntryIterator<V>() {
+						@Override
+						V current(Partition<V> partition, int index) {
+							return partition.values[index];
+						}
+
+						@Override
+						V current(Map.Entry<EntityKey, V> entry) {
+							return entry.getValue();
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+		return values;
+	}
+
+	@Override
+	public Set<Map.Entry<EntityKey, V>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new AbstractSet<Map.Entry<EntityKey, V>>() {
+				@Override
+				public Iterator<Map.Entry<EntityKey, V>> iterator() {
+					return new EntryIterator<Map.Entry<EntityKey, V>>() {
+						@Override
+						Map.Entry<EntityKey, V> current(Partition<V> partition, int index) {
+							return new SimpleImmutableEntry<>( partition.keys[index], partition.values[index] );
+						}
+
+						@Override
+						Map.Entry<EntityKey, V> current(Map.Entry<EntityKey, V> entry) {
+							return entry;
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	/**
+	 * Iterates over the primitive-keyed partitions first, then over the object-keyed entries.
+	 */
+	private abstract class EntryIterator<T> implements Iterator<T> {
+		private final int expectedModCount = modCount;
+		private final List<Partition<V>> partitionList = new ArrayList<>( partitions.values() );
+		private final Iterator<Map.Entry<EntityKey, V>> objectKeyedIterator =
+				objectKeyed == null ? null : objectKeyed.entrySet().iterator();
+
+		private int partitionIndex;
+		private int slot = -1;
+
+		abstract T current(Partition<V> partition, int index);
+
+		abstract T current(Map.Entry<EntityKey, V> entry);
+
+		@Override
+		public boolean hasNext() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			while ( partitionIndex < partitionList.size() ) {
+				final Partition<V> partition = partitionList.get( partitionIndex );
+				final EntityKey[] keys = partition.keys;
+				if ( keys != null ) {
+					for ( int i = slot + 1; i < keys.length; i++ ) {
+						if ( keys[i] != null ) {
+							slot = i - 1;
+							return true;
+						}
+					}
+				}
+				partitionIndex++;
+				slot = -1;
+			}
+			return objectKeyedIterator != null && objectKeyedIterator.hasNext();
+		}
+
+		@Override
+		public T next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			if ( partitionIndex < partitionList.size() ) {
+				slot++;
+				return current( partitionList.get( partitionIndex ), slot );
+			}
+			return current( objectKeyedIterator.next() );
+		}
+	}
+
+	/**
+	 * Open-addressing (linear probing) table keyed by the primitive value of the identifier,
+	 * with backward-shift deletion so that no tombstones are needed.
+	 */
+	private static final class Partition<V> {
+		private static final Partition NONE = new Partition( null );
+
+		@SuppressWarnings("unchecked")
+		static <V> Partition<V> none() {
+			return NONE;
+		}
+
+		private final Class<?> idClass;
+
+		private long[] ids;
+		private EntityKey[] keys;
+		private V[] values;
+		private int size;
+
+		private Partition(Class<?> idClass) {
+			this.idClass = idClass;
+		}
+
+		boolean isNone() {
+			return idClass == null;
+		}
+
+		boolean accepts(Serializable id) {
+			return id.getClass() == idClass;
+		}
+
+		static long toLong(Serializable id) {
+			return ( (Number) id ).longValue();
+		}
+
+		private static int hash(long id) {
+			// Fibonacci hashing: spreads sequential identifiers evenly
+			final long h = id * 0x9E3779B97F4A7C15L;
+			return (int) ( h ^ ( h >>> 32 ) );
+		}
+
+		int indexOf(long id) {
+			if ( keys == null ) {
+				return -1;
+			}
+			final int mask = keys.length - 1;
+			int index = hash( id ) & mask;
+			while ( keys[index] != null ) {
+				if ( ids[index] == id ) {
+					return index;
+				}
+				index = ( index + 1 ) & mask;
+			}
+			return -1;
+		}
+
+		V get(long id) {
+			final int index = indexOf( id );
+			return index < 0 ? null : values[index];
+		}
+
+		@SuppressWarnings("unchecked")
+		V put(long id, EntityKey key, V value) {
+			if ( keys == null ) {
+				ids = new long[INITIAL_PARTITION_CAPACITY];
+				keys = new EntityKey[INITIAL_PARTITION_CAPACITY];
+				values = (V[]) new Object[INITIAL_PARTITION_CAPACITY];
+			}
+			else if ( ( size + 1 ) * 3 > keys.length * 2 ) {
+				resize( keys.length << 1 );
+			}
+			final int mask = keys.length - 1;
+			int index = hash( id ) & mask;
+			while ( keys[index] != null ) {
+				if ( ids[index] == id ) {
+					final V previous = values[index];
+					keys[index] = key;
+					values[index] = value;
+					return previous;
+				}
+				index = ( index + 1 ) & mask;
+			}
+			ids[index] = id;
+			keys[index] = key;
+			values[index] = value;
+			size++;
+			return null;
+		}
+
+		V remove(long id) {
+			int index = indexOf( id );
+			if ( index < 0 ) {
+				return null;
+			}
+			final V previous = values[index];
+			final int mask = keys.length - 1;
+			// shift back the following entries of the probe sequence into the freed slot
+			int next = ( index + 1 ) & mask;
+			while ( keys[next] != null ) {
+				final int ideal = hash( ids[next] ) & mask;
+				if ( ( ( next - ideal ) & mask ) >= ( ( next - index ) & mask ) ) {
+					ids[index] = ids[next];
+					keys[index] = keys[next];
+					values[index] = values[next];
+					index = next;
+				}
+				next = ( next + 1 ) & mask;
+			}
+			keys[index] = null;
+			values[index] = null;
+			size--;
+			return previous;
+		}
+
+		@SuppressWarnings("unchecked")
+		private void resize(int capacity) {
+			final long[] oldIds = ids;
+			final EntityKey[] oldKeys = keys;
+			final V[] oldValues = values;
+			ids = new long[capacity];
+			keys = new EntityKey[capacity];
+			values = (V[]) new Object[capacity];
+			final int mask = capacity - 1;
+			for ( int i = 0; i < oldKeys.length; i++ ) {
+				if ( oldKeys[i] != null ) {
+					int index = hash( oldIds[i] ) & mask;
+					while ( keys[index] != null ) {
+						index = ( index + 1 ) & mask;
+					}
+					ids[index] = oldIds[i];
+					keys[index] = oldKeys[i];
+					values[index] = oldValues[i];
+				}
+			}
+		}
+	}
+}
@@ -336,15 +336,28 @@ public final class TwoPhaseLoad {
 			persistenceContext.setEntryStatus( entityEntry, Status.READ_ONLY );
 		}
 		else {
-			//take a snapshot
-			TypeHelper.deepCopy(
-					hydratedState,
-					persister.getPropertyTypes(),
-					persister.getPropertyUpdateability(),
-					//after setting values to object
-					hydratedState,
-					session
-			);
+			if ( factory.getSessionFactoryOptions().isLoadedStateCopyOnWriteEnabled() ) {
+				//only snapshot the embeddables, the other mutable
+				//values are copied when the application replaces them
+				TypeHelper.deepCopyComposites(
+						hydratedState,
+						persister.getPropertyTypes(),
+						persister.getPropertyUpdateability(),
+						hydratedState,
+						session
+				);
+			}
+			else {
+				//take a snapshot
+				TypeHelper.deepCopy(
+						hydratedState,
+						persister.getPropertyTypes(),
+						persister.getPropertyUpdateability(),
+						//after setting values to object
+						hydratedState,
+						session
+				);
+			}
 			persistenceContext.setEntryStatus( entityEntry, Status.MANAGED );
 		}
 
@@ -133,7 +133,15 @@ public abstract class AbstractBatchImpl implements Batch {
 		return statement;
 	}
 
-	private PreparedStatement buildBatchStatement(String sql, boolean callable) {
+	/**
+	 * Build the statement used to batch the given SQL statement.
+	 *
+	 * @param sql The SQL statement.
+	 * @param callable Is the SQL statement callable?
+	 *
+	 * @return The prepared statement instance, representing the SQL statement.
+	 */
+	protected PreparedStatement buildBatchStatement(String sql, boolean callable) {
 		return jdbcCoordinator.getStatementPreparer().prepareStatement( sql, callable );
 	}
 
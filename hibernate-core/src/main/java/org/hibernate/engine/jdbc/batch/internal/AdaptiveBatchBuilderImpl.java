@@ -0,0 +1,75 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+
+/**
+ * A builder for {@link Batch} instances tuning the batch size of each {@link BatchKey} within the given bounds,
+ * from the execution time of its batches.
+ * <p/>
+ * The {@link #getJdbcBatchSize() JDBC batch size} is the initial batch size of each key.  The batch size of the
+ * session, when set, takes precedence over the tuned batch sizes.
+ *
+ * @see AdaptiveBatchSize
+ */
+public class AdaptiveBatchBuilderImpl extends BatchBuilderImpl {
+	private final int minBatchSize;
+	private final int maxBatchSize;
+	private final ConcurrentMap<BatchKey, AdaptiveBatchSize> batchSizes = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs an AdaptiveBatchBuilderImpl
+	 *
+	 * @param jdbcBatchSize The initial batch size of each key.
+	 * @param minBatchSize The minimum batch size.
+	 * @param maxBatchSize The maximum batch size.
+	 */
+	public AdaptiveBatchBuilderImpl(int jdbcBatchSize, int minBatchSize, int maxBatchSize) {
+		super( jdbcBatchSize );
+		this.minBatchSize = Math.max( 2, minBatchSize );
+		this.maxBatchSize = Math.max( this.minBatchSize, maxBatchSize );
+	}
+
+	@Override
+	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+		final int jdbcBatchSize = getJdbcBatchSize();
+		if ( jdbcCoordinator.getJdbcSessionOwner().getJdbcBatchSize() != null || jdbcBatchSize <= 1 ) {
+			return super.buildBatch( key, jdbcCoordinator );
+		}
+		final AdaptiveBatchSize batchSize = batchSizes.computeIfAbsent(
+				key,
+				k -> new AdaptiveBatchSize( jdbcBatchSize, minBatchSize, maxBatchSize )
+		);
+		return new AdaptiveBatchingBatch( key, jdbcCoordinator, batchSize );
+	}
+
+	@Override
+	public Map<String, Integer> getJdbcBatchSizes() {
+		final Map<String, Integer> sizes = new TreeMap<>();
+		for ( Map.Entry<BatchKey, AdaptiveBatchSize> entry : batchSizes.entrySet() ) {
+			sizes.put( entry.getKey().toString(), entry.getValue().getSize() );
+		}
+		return sizes;
+	}
+
+	@Override
+	public Map<String, Integer> getJdbcBatchParametersPerRow() {
+		final Map<String, Integer> widths = new TreeMap<>();
+		for ( Map.Entry<BatchKey, AdaptiveBatchSize> entry : batchSizes.entrySet() ) {
+			widths.put( entry.getKey().toString(), entry.getValue().getParametersPerRow() );
+		}
+		return widths;
+	}
+}
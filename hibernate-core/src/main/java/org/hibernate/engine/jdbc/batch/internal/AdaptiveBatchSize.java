@@ -0,0 +1,90 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+/**
+ * The batch size of a {@link org.hibernate.engine.jdbc.batch.spi.BatchKey}, tuned from the execution time of its
+ * full batches.
+ * <p/>
+ * The execution time per row is averaged over a few executions, and the batch size keeps moving in the same
+ * direction (by a quarter of its value) as long as the time per row decreases.  It turns around when the time per
+ * row increases, or when it reaches one of its bounds, and stays put when the time per row does not change.
+ */
+final class AdaptiveBatchSize {
+	private static final int SAMPLED_EXECUTIONS = 4;
+	private static final double TOLERANCE = 0.05;
+
+	private final int minSize;
+	private final int maxSize;
+
+	private int size;
+	private int direction = 1;
+	private int parametersPerRow = -1;
+
+	private long sampledNanos;
+	private long sampledRows;
+	private int sampledExecutions;
+	private double previousNanosPerRow = -1;
+
+	AdaptiveBatchSize(int initialSize, int minSize, int maxSize) {
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.size = clamp( initialSize );
+	}
+
+	synchronized int getSize() {
+		return size;
+	}
+
+	synchronized int getParametersPerRow() {
+		return parametersPerRow;
+	}
+
+	synchronized void setParametersPerRow(int parametersPerRow) {
+		this.parametersPerRow = parametersPerRow;
+	}
+
+	/**
+	 * Record the execution of a full batch.
+	 *
+	 * @param rows The number of rows of the batch
+	 * @param nanos The execution time of the batch
+	 */
+	synchronized void recordExecution(int rows, long nanos) {
+		sampledNanos += nanos;
+		sampledRows += rows;
+		if ( ++sampledExecutions < SAMPLED_EXECUTIONS ) {
+			return;
+		}
+
+		final double nanosPerRow = (double) sampledNanos / sampledRows;
+		sampledNanos = 0;
+		sampledRows = 0;
+		sampledExecutions = 0;
+
+		if ( previousNanosPerRow < 0 || nanosPerRow < previousNanosPerRow * ( 1 - TOLERANCE ) ) {
+			move();
+		}
+		else if ( nanosPerRow > previousNanosPerRow * ( 1 + TOLERANCE ) ) {
+			direction = -direction;
+			move();
+		}
+		previousNanosPerRow = nanosPerRow;
+	}
+
+	private void move() {
+		final int next = clamp( size + direction * Math.max( 1, size / 4 ) );
+		if ( next == size ) {
+			direction = -direction;
+		}
+		size = next;
+	}
+
+	private int clamp(int size) {
+		return Math.max( minSize, Math.min( maxSize, size ) );
+	}
+}
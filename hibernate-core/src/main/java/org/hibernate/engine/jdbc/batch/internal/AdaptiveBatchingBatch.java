@@ -0,0 +1,52 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.sql.PreparedStatement;
+
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+
+/**
+ * A {@link BatchingBatch} sized by an {@link AdaptiveBatchSize}, and reporting the execution time of its full
+ * batches to it.
+ */
+class AdaptiveBatchingBatch extends BatchingBatch {
+	private final AdaptiveBatchSize adaptiveBatchSize;
+	private final int batchSize;
+
+	AdaptiveBatchingBatch(BatchKey key, JdbcCoordinator jdbcCoordinator, AdaptiveBatchSize adaptiveBatchSize) {
+		this( key, jdbcCoordinator, adaptiveBatchSize, adaptiveBatchSize.getSize() );
+	}
+
+	private AdaptiveBatchingBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			AdaptiveBatchSize adaptiveBatchSize,
+			int batchSize) {
+		super( key, jdbcCoordinator, batchSize );
+		this.adaptiveBatchSize = adaptiveBatchSize;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public PreparedStatement getBatchStatement(String sql, boolean callable) {
+		final int previousStatementCount = getStatements().size();
+		final PreparedStatement statement = super.getBatchStatement( sql, callable );
+		if ( previousStatementCount == 0 && adaptiveBatchSize.getParametersPerRow() < 0 ) {
+			adaptiveBatchSize.setParametersPerRow( MultiRowInserts.countParameters( sql ) );
+		}
+		return statement;
+	}
+
+	@Override
+	protected void performImplicitExecution() {
+		final long start = System.nanoTime();
+		super.performImplicitExecution();
+		adaptiveBatchSize.recordExecution( batchSize, System.nanoTime() - start );
+	}
+}
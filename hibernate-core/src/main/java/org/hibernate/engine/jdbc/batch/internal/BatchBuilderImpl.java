@@ -11,20 +11,25 @@ import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.service.spi.Manageable;
+import org.hibernate.service.spi.Stoppable;
 
 /**
  * A builder for {@link Batch} instances.
  *
  * @author Steve Ebersole
  */
-public class BatchBuilderImpl implements BatchBuilder, Manageable, BatchBuilderMXBean {
+public class BatchBuilderImpl implements BatchBuilder, Manageable, BatchBuilderMXBean, Stoppable {
 
 	private volatile int jdbcBatchSize;
+	private final boolean multiRowInserts;
+	private final PipelinedBatchExecutor pipelinedBatchExecutor;
 
 	/**
 	 * Constructs a BatchBuilderImpl
 	 */
 	public BatchBuilderImpl() {
+		this.multiRowInserts = false;
+		this.pipelinedBatchExecutor = null;
 	}
 
 	/**
@@ -33,7 +38,30 @@ public class BatchBuilderImpl implements BatchBuilder, Manageable, BatchBuilderM
 	 * @param jdbcBatchSize The batch jdbcBatchSize to use.
 	 */
 	public BatchBuilderImpl(int jdbcBatchSize) {
+		this( jdbcBatchSize, false );
+	}
+
+	/**
+	 * Constructs a BatchBuilderImpl
+	 *
+	 * @param jdbcBatchSize The batch jdbcBatchSize to use.
+	 * @param multiRowInserts Should batched inserts be executed as multi-row inserts?
+	 */
+	public BatchBuilderImpl(int jdbcBatchSize, boolean multiRowInserts) {
+		this( jdbcBatchSize, multiRowInserts, false );
+	}
+
+	/**
+	 * Constructs a BatchBuilderImpl
+	 *
+	 * @param jdbcBatchSize The batch jdbcBatchSize to use.
+	 * @param multiRowInserts Should batched inserts be executed as multi-row inserts?
+	 * @param pipelining Should full batches be executed by a separate thread?
+	 */
+	public BatchBuilderImpl(int jdbcBatchSize, boolean multiRowInserts, boolean pipelining) {
 		this.jdbcBatchSize = jdbcBatchSize;
+		this.multiRowInserts = multiRowInserts;
+		this.pipelinedBatchExecutor = pipelining ? new PipelinedBatchExecutor() : null;
 	}
 
 	@Override
@@ -48,7 +76,20 @@ public class BatchBuilderImpl implements BatchBuilder, Manageable, BatchBuilderM
 
 	@Override
 	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
-		return SharedBatchBuildingCode.buildBatch( jdbcBatchSize, key, jdbcCoordinator );
+		return SharedBatchBuildingCode.buildBatch(
+				jdbcBatchSize,
+				multiRowInserts,
+				pipelinedBatchExecutor,
+				key,
+				jdbcCoordinator
+		);
+	}
+
+	@Override
+	public void stop() {
+		if ( pipelinedBatchExecutor != null ) {
+			pipelinedBatchExecutor.stop();
+		}
 	}
 
 }
@@ -12,6 +12,8 @@ import org.hibernate.boot.registry.StandardServiceInitiator;
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
 import org.hibernate.cfg.Environment;
 import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.service.spi.ServiceException;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
@@ -22,6 +24,8 @@ import org.hibernate.service.spi.ServiceRegistryImplementor;
  * @author Steve Ebersole
  */
 public class BatchBuilderInitiator implements StandardServiceInitiator<BatchBuilder> {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( BatchBuilderInitiator.class );
+
 	/**
 	 * Singleton access
 	 */
@@ -41,9 +45,18 @@ public class BatchBuilderInitiator implements StandardServiceInitiator<BatchBuil
 	public BatchBuilder initiateService(Map configurationValues, ServiceRegistryImplementor registry) {
 		final Object builder = configurationValues.get( BUILDER );
 		if ( builder == null ) {
-			return new BatchBuilderImpl(
-					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 )
-			);
+			final int jdbcBatchSize = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 );
+			final boolean multiRowInserts = ConfigurationHelper.getBoolean( Environment.BATCH_MULTI_ROW_INSERTS, configurationValues, false );
+			final boolean pipelining = ConfigurationHelper.getBoolean( Environment.BATCH_PIPELINING, configurationValues, false );
+			if ( ConfigurationHelper.getBoolean( Environment.ADAPTIVE_BATCH_SIZE, configurationValues, false ) ) {
+				warnIgnoredBatchSettings( multiRowInserts, pipelining );
+				return new AdaptiveBatchBuilderImpl(
+						jdbcBatchSize,
+						ConfigurationHelper.getInt( Environment.ADAPTIVE_BATCH_SIZE_MIN, configurationValues, 2 ),
+						ConfigurationHelper.getInt( Environment.ADAPTIVE_BATCH_SIZE_MAX, configurationValues, jdbcBatchSize * 4 )
+				);
+			}
+			return new BatchBuilderImpl( jdbcBatchSize, multiRowInserts, pipelining );
 		}
 
 		if ( BatchBuilder.class.isInstance( builder ) ) {
@@ -58,4 +71,21 @@ public class BatchBuilderInitiator implements StandardServiceInitiator<BatchBuil
 			throw new ServiceException( "Could not build explicit BatchBuilder [" + builderClassName + "]", e );
 		}
 	}
+
+	private static void warnIgnoredBatchSettings(boolean multiRowInserts, boolean pipelining) {
+		if ( multiRowInserts ) {
+			LOG.warnf(
+					"%s is ignored since %s is enabled",
+					Environment.BATCH_MULTI_ROW_INSERTS,
+					Environment.ADAPTIVE_BATCH_SIZE
+			);
+		}
+		if ( pipelining ) {
+			LOG.warnf(
+					"%s is ignored since %s is enabled",
+					Environment.BATCH_PIPELINING,
+					Environment.ADAPTIVE_BATCH_SIZE
+			);
+		}
+	}
 }
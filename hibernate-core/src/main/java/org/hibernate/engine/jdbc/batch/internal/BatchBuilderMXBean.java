@@ -6,6 +6,9 @@
  */
 package org.hibernate.engine.jdbc.batch.internal;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * The BatchBuilderImpl JMX management interface
  *
@@ -14,4 +17,22 @@ package org.hibernate.engine.jdbc.batch.internal;
 public interface BatchBuilderMXBean {
 	int getJdbcBatchSize();
 	void setJdbcBatchSize(int size);
+
+	/**
+	 * The batch sizes tuned for each batch key, when the batch sizes are adaptive.
+	 *
+	 * @return The batch sizes, keyed by batch key.
+	 */
+	default Map<String, Integer> getJdbcBatchSizes() {
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * The number of JDBC parameters of a row of each batch key, when the batch sizes are adaptive.
+	 *
+	 * @return The numbers of JDBC parameters per row, keyed by batch key.
+	 */
+	default Map<String, Integer> getJdbcBatchParametersPerRow() {
+		return Collections.emptyMap();
+	}
 }
@@ -87,7 +87,7 @@ public class BatchingBatch extends AbstractBatchImpl {
 			batchPosition++;
 			if ( batchPosition == batchSize ) {
 				notifyObserversImplicitExecution();
-				performExecution();
+				performImplicitExecution();
 				batchPosition = 0;
 				batchExecuted = true;
 			}
@@ -107,6 +107,13 @@ public class BatchingBatch extends AbstractBatchImpl {
 		}
 	}
 
+	/**
+	 * Execute the batch once it reached the batch size, from {@link #addToBatch()}.
+	 */
+	protected void performImplicitExecution() {
+		performExecution();
+	}
+
 	private void performExecution() {
 		LOG.debugf( "Executing batch size: %s", batchPosition );
 		final JdbcObserver observer = getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver();
@@ -0,0 +1,71 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+
+/**
+ * A {@link BatchingBatch} which executes the batched rows of single-row {@code INSERT ... VALUES (...)}
+ * statements as multi-row {@code INSERT ... VALUES (...), (...)} statements, rendered by the
+ * {@link Dialect#getMultiRowInsertString Dialect}.  The other statements are batched as usual.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BATCH_MULTI_ROW_INSERTS
+ */
+public class MultiRowInsertBatch extends BatchingBatch {
+	private final Dialect dialect;
+	private final List<MultiRowInsertStatement> multiRowInserts = new ArrayList<>();
+
+	/**
+	 * Constructs a MultiRowInsertBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param batchSize The batch size.
+	 * @param dialect The dialect rendering the multi-row inserts
+	 */
+	public MultiRowInsertBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize,
+			Dialect dialect) {
+		super( key, jdbcCoordinator, batchSize );
+		this.dialect = dialect;
+	}
+
+	@Override
+	protected PreparedStatement buildBatchStatement(String sql, boolean callable) {
+		if ( !callable ) {
+			final MultiRowInsertStatement multiRowInsert = MultiRowInsertStatement.from(
+					sql,
+					dialect,
+					getJdbcCoordinator()
+			);
+			if ( multiRowInsert != null ) {
+				multiRowInserts.add( multiRowInsert );
+				return multiRowInsert;
+			}
+		}
+		return super.buildBatchStatement( sql, callable );
+	}
+
+	@Override
+	protected void releaseStatements() {
+		// the multi-row insert statements are not registered statements
+		for ( MultiRowInsertStatement multiRowInsert : multiRowInserts ) {
+			getStatements().remove( multiRowInsert.getSql() );
+			multiRowInsert.release();
+		}
+		multiRowInserts.clear();
+		super.releaseStatements();
+	}
+}
@@ -0,0 +1,1098 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+
+/**
+ * A {@link PreparedStatement} recording the rows batched for a single-row {@code INSERT ... VALUES (...)}
+ * statement, and executing them as multi-row inserts when the batch is executed.
+ * <p/>
+ * The parameters of the rows are recorded in typed slots, one per parameter of each row, and bound again, shifted
+ * by the position of the row, to the multi-row statements.  The settings of the statement, such as its query
+ * timeout, are applied to the multi-row statements, and the other methods, including the executions of single
+ * statements (which bind the current row), are delegated to a statement prepared for the single-row insert.
+ * Statements batched as SQL strings are executed by the single-row statement, after the recorded rows.  The row
+ * counts returned by {@code executeBatch} are reported per row, as for a regular batch.
+ */
+final class MultiRowInsertStatement implements PreparedStatement {
+	// the kinds of parameter slots, one per setter
+	private static final byte UNSET = 0;
+	private static final byte NULL = 1;
+	private static final byte NULL_TYPE_NAME = 2;
+	private static final byte BOOLEAN = 3;
+	private static final byte BYTE = 4;
+	private static final byte SHORT = 5;
+	private static final byte INT = 6;
+	private static final byte LONG = 7;
+	private static final byte FLOAT = 8;
+	private static final byte DOUBLE = 9;
+	private static final byte BIG_DECIMAL = 10;
+	private static final byte STRING = 11;
+	private static final byte NSTRING = 12;
+	private static final byte BYTES = 13;
+	private static final byte DATE = 14;
+	private static final byte DATE_CALENDAR = 15;
+	private static final byte TIME = 16;
+	private static final byte TIME_CALENDAR = 17;
+	private static final byte TIMESTAMP = 18;
+	private static final byte TIMESTAMP_CALENDAR = 19;
+	private static final byte ASCII_STREAM = 20;
+	private static final byte ASCII_STREAM_INT_LENGTH = 21;
+	private static final byte ASCII_STREAM_LENGTH = 22;
+	private static final byte UNICODE_STREAM_LENGTH = 23;
+	private static final byte BINARY_STREAM = 24;
+	private static final byte BINARY_STREAM_INT_LENGTH = 25;
+	private static final byte BINARY_STREAM_LENGTH = 26;
+	private static final byte CHARACTER_STREAM = 27;
+	private static final byte CHARACTER_STREAM_INT_LENGTH = 28;
+	private static final byte CHARACTER_STREAM_LENGTH = 29;
+	private static final byte NCHARACTER_STREAM = 30;
+	private static final byte NCHARACTER_STREAM_LENGTH = 31;
+	private static final byte OBJECT = 32;
+	private static final byte OBJECT_TYPE = 33;
+	private static final byte OBJECT_TYPE_SCALE = 34;
+	private static final byte OBJECT_SQL_TYPE = 35;
+	private static final byte OBJECT_SQL_TYPE_SCALE = 36;
+	private static final byte REF = 37;
+	private static final byte BLOB = 38;
+	private static final byte BLOB_STREAM = 39;
+	private static final byte BLOB_STREAM_LENGTH = 40;
+	private static final byte CLOB = 41;
+	private static final byte CLOB_READER = 42;
+	private static final byte CLOB_READER_LENGTH = 43;
+	private static final byte NCLOB = 44;
+	private static final byte NCLOB_READER = 45;
+	private static final byte NCLOB_READER_LENGTH = 46;
+	private static final byte ARRAY = 47;
+	private static final byte URL_VALUE = 48;
+	private static final byte ROW_ID = 49;
+	private static final byte SQLXML_VALUE = 50;
+
+	private final String sql;
+	private final String insertPrefix;
+	private final String valuesRow;
+	private final int parametersPerRow;
+	private final int maxRows;
+	private final Dialect dialect;
+	private final JdbcCoordinator jdbcCoordinator;
+
+	// the parameter slots of the batched rows, followed by those of the current row
+	private byte[] kinds;
+	// the primitive values, SQL types or lengths
+	private long[] numbers;
+	private Object[] values;
+	// the calendars, type names or SQL types
+	private Object[] extras;
+	private int rowCount;
+
+	// the settings of the statement (timeout, fetch size...), applied to each statement prepared
+	private final List<Setting> settings = new ArrayList<>();
+	// the multi-row statements, keyed by number of rows
+	private final Map<Integer, PreparedStatement> statements = new HashMap<>();
+	// the single-row statement, only prepared for the methods delegated to it
+	private PreparedStatement singleRowStatement;
+	// were SQL strings batched by the single-row statement?
+	private boolean sqlBatched;
+	private boolean closed;
+
+	private MultiRowInsertStatement(
+			String sql,
+			String insertPrefix,
+			String valuesRow,
+			int parametersPerRow,
+			int maxRows,
+			Dialect dialect,
+			JdbcCoordinator jdbcCoordinator) {
+		this.sql = sql;
+		this.insertPrefix = insertPrefix;
+		this.valuesRow = valuesRow;
+		this.parametersPerRow = parametersPerRow;
+		this.maxRows = maxRows;
+		this.dialect = dialect;
+		this.jdbcCoordinator = jdbcCoordinator;
+		final int capacity = Math.max( 1, parametersPerRow ) * Math.min( maxRows, 16 );
+		this.kinds = new byte[capacity];
+		this.numbers = new long[capacity];
+		this.values = new Object[capacity];
+		this.extras = new Object[capacity];
+	}
+
+	/**
+	 * Build the recorder of a single-row insert.
+	 *
+	 * @param sql The SQL of the single-row insert
+	 * @param dialect The dialect
+	 * @param jdbcCoordinator The JDBC coordinator
+	 *
+	 * @return The recorder, or {@code null} if the statement cannot be rewritten into multi-row inserts.
+	 */
+	static MultiRowInsertStatement from(String sql, Dialect dialect, JdbcCoordinator jdbcCoordinator) {
+		final String[] insert = MultiRowInserts.split( sql );
+		if ( insert == null ) {
+			return null;
+		}
+		final int parametersPerRow = MultiRowInserts.countParameters( insert[1] );
+		final int maxRows = MultiRowInserts.maxRows( dialect, parametersPerRow );
+		if ( maxRows < 2 ) {
+			return null;
+		}
+		return new MultiRowInsertStatement(
+				sql,
+				insert[0],
+				insert[1],
+				parametersPerRow,
+				maxRows,
+				dialect,
+				jdbcCoordinator
+		);
+	}
+
+	String getSql() {
+		return sql;
+	}
+
+	// recording of the rows ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	private void record(int parameterIndex, byte kind, long number, Object value, Object extra) throws SQLException {
+		if ( parameterIndex < 1 || parameterIndex > parametersPerRow ) {
+			throw new SQLException(
+					"Parameter index [" + parameterIndex + "] out of range [1, " + parametersPerRow + "] for: " + sql
+			);
+		}
+		final int slot = rowCount * parametersPerRow + parameterIndex - 1;
+		kinds[slot] = kind;
+		numbers[slot] = number;
+		values[slot] = value;
+		extras[slot] = extra;
+	}
+
+	private void record(int parameterIndex, byte kind, Object value) throws SQLException {
+		record( parameterIndex, kind, 0L, value, null );
+	}
+
+	private void record(int parameterIndex, byte kind, long number) throws SQLException {
+		record( parameterIndex, kind, number, null, null );
+	}
+
+	@Override
+	public void addBatch() throws SQLException {
+		rowCount++;
+		final int required = ( rowCount + 1 ) * parametersPerRow;
+		if ( required > kinds.length ) {
+			final int capacity = Math.max( required, kinds.length * 2 );
+			kinds = Arrays.copyOf( kinds, capacity );
+			numbers = Arrays.copyOf( numbers, capacity );
+			values = Arrays.copyOf( values, capacity );
+			extras = Arrays.copyOf( extras, capacity );
+		}
+	}
+
+	@Override
+	public void clearParameters() throws SQLException {
+		clearSlots( rowCount * parametersPerRow, ( rowCount + 1 ) * parametersPerRow );
+	}
+
+	@Override
+	public void clearBatch() throws SQLException {
+		clearRows();
+		if ( sqlBatched ) {
+			sqlBatched = false;
+			singleRowStatement.clearBatch();
+		}
+	}
+
+	private void clearRows() {
+		clearSlots( 0, ( rowCount + 1 ) * parametersPerRow );
+		rowCount = 0;
+	}
+
+	private void clearSlots(int from, int to) {
+		Arrays.fill( kinds, from, to, UNSET );
+		// do not retain the bound values
+		Arrays.fill( values, from, to, null );
+		Arrays.fill( extras, from, to, null );
+	}
+
+	@Override
+	public void addBatch(String sql) throws SQLException {
+		getSingleRowStatement().addBatch( sql );
+		sqlBatched = true;
+	}
+
+	// execution ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@Override
+	public int[] executeBatch() throws SQLException {
+		int[] rowCounts = new int[rowCount];
+		try {
+			int position = 0;
+			while ( position < rowCount ) {
+				final int rows = Math.min( maxRows, rowCount - position );
+				final PreparedStatement statement = getStatement( rows );
+				// an unset parameter must not take the value bound by a previous execution
+				statement.clearParameters();
+				for ( int i = 0; i < rows; i++ ) {
+					bindRow( statement, position + i, i * parametersPerRow );
+				}
+				distributeRowCount( statement.executeUpdate(), rowCounts, position, rows );
+				position += rows;
+			}
+		}
+		finally {
+			clearRows();
+		}
+		if ( sqlBatched ) {
+			sqlBatched = false;
+			final int[] sqlRowCounts = singleRowStatement.executeBatch();
+			final int batchedRows = rowCounts.length;
+			rowCounts = Arrays.copyOf( rowCounts, batchedRows + sqlRowCounts.length );
+			System.arraycopy( sqlRowCounts, 0, rowCounts, batchedRows, sqlRowCounts.length );
+		}
+		return rowCounts;
+	}
+
+	@Override
+	public long[] executeLargeBatch() throws SQLException {
+		final int[] rowCounts = executeBatch();
+		final long[] largeRowCounts = new long[rowCounts.length];
+		for ( int i = 0; i < rowCounts.length; i++ ) {
+			largeRowCounts[i] = rowCounts[i];
+		}
+		return largeRowCounts;
+	}
+
+	/**
+	 * Report the row count of a multi-row insert for each of its rows, so that a missing (or an extra) row is
+	 * reported on the last row(s) of the statement.
+	 */
+	private static void distributeRowCount(int rowCount, int[] rowCounts, int position, int rows) {
+		if ( rowCount == Statement.SUCCESS_NO_INFO ) {
+			for ( int i = 0; i < rows; i++ ) {
+				rowCounts[position + i] = Statement.SUCCESS_NO_INFO;
+			}
+			return;
+		}
+		for ( int i = 0; i < rows; i++ ) {
+			rowCounts[position + i] = i < rowCount ? 1 : 0;
+		}
+		if ( rowCount > rows ) {
+			rowCounts[position + rows - 1] += rowCount - rows;
+		}
+	}
+
+	/**
+	 * @return The single-row statement, with the parameters of the current row bound
+	 */
+	private PreparedStatement bindCurrentRow() throws SQLException {
+		final PreparedStatement statement = getSingleRowStatement();
+		statement.clearParameters();
+		bindRow( statement, rowCount, 0 );
+		return statement;
+	}
+
+	@Override
+	public ResultSet executeQuery() throws SQLException {
+		return bindCurrentRow().executeQuery();
+	}
+
+	@Override
+	public int executeUpdate() throws SQLException {
+		return bindCurrentRow().executeUpdate();
+	}
+
+	@Override
+	public long executeLargeUpdate() throws SQLException {
+		return bindCurrentRow().executeLargeUpdate();
+	}
+
+	@Override
+	public boolean execute() throws SQLException {
+		return bindCurrentRow().execute();
+	}
+
+	private void bindRow(PreparedStatement statement, int row, int offset) throws SQLException {
+		final int firstSlot = row * parametersPerRow;
+		for ( int i = 0; i < parametersPerRow; i++ ) {
+			bind( statement, firstSlot + i, offset + i + 1 );
+		}
+	}
+
+	@SuppressWarnings("deprecation")
+	private void bind(PreparedStatement statement, int slot, int index) throws SQLException {
+		final long number = numbers[slot];
+		final Object value = values[slot];
+		final Object extra = extras[slot];
+		switch ( kinds[slot] ) {
+			case UNSET:
+				// reported by the driver on execution, as for the single-row statement
+				break;
+			case NULL:
+				statement.setNull( index, (int) number );
+				break;
+			case NULL_TYPE_NAME:
+				statement.setNull( index, (int) number, (String) extra );
+				break;
+			case BOOLEAN:
+				statement.setBoolean( index, number != 0L );
+				break;
+			case BYTE:
+				statement.setByte( index, (byte) number );
+				break;
+			case SHORT:
+				statement.setShort( index, (short) number );
+				break;
+			case INT:
+				statement.setInt( index, (int) number );
+				break;
+			case LONG:
+				statement.setLong( index, number );
+				break;
+			case FLOAT:
+				statement.setFloat( index, Float.intBitsToFloat( (int) number ) );
+				break;
+			case DOUBLE:
+				statement.setDouble( index, Double.longBitsToDouble( number ) );
+				break;
+			case BIG_DECIMAL:
+				statement.setBigDecimal( index, (BigDecimal) value );
+				break;
+			case STRING:
+				statement.setString( index, (String) value );
+				break;
+			case NSTRING:
+				statement.setNString( index, (String) value );
+				break;
+			case BYTES:
+				statement.setBytes( index, (byte[]) value );
+				break;
+			case DATE:
+				statement.setDate( index, (Date) value );
+				break;
+			case DATE_CALENDAR:
+				statement.setDate( index, (Date) value, (Calendar) extra );
+				break;
+			case TIME:
+				statement.setTime( index, (Time) value );
+				break;
+			case TIME_CALENDAR:
+				statement.setTime( index, (Time) value, (Calendar) extra );
+				break;
+			case TIMESTAMP:
+				statement.setTimestamp( index, (Timestamp) value );
+				break;
+			case TIMESTAMP_CALENDAR:
+				statement.setTimestamp( index, (Timestamp) value, (Calendar) extra );
+				break;
+			case ASCII_STREAM:
+				statement.setAsciiStream( index, (InputStream) value );
+				break;
+			case ASCII_STREAM_INT_LENGTH:
+				statement.setAsciiStream( index, (InputStream) value, (int) number );
+				break;
+			case ASCII_STREAM_LENGTH:
+				statement.setAsciiStream( index, (InputStream) value, number );
+				break;
+			case UNICODE_STREAM_LENGTH:
+				statement.setUnicodeStream( index, (InputStream) value, (int) number );
+				break;
+			case BINARY_STREAM:
+				statement.setBinaryStream( index, (InputStream) value );
+				break;
+			case BINARY_STREAM_INT_LENGTH:
+				statement.setBinaryStream( index, (InputStream) value, (int) number );
+				break;
+			case BINARY_STREAM_LENGTH:
+				statement.setBinaryStream( index, (InputStream) value, number );
+				break;
+			case CHARACTER_STREAM:
+				statement.setCharacterStream( index, (Reader) value );
+				break;
+			case CHARACTER_STREAM_INT_LENGTH:
+				statement.setCharacterStream( index, (Reader) value, (int) number );
+				break;
+			case CHARACTER_STREAM_LENGTH:
+				statement.setCharacterStream( index, (Reader) value, number );
+				break;
+			case NCHARACTER_STREAM:
+				statement.setNCharacterStream( index, (Reader) value );
+				break;
+			case NCHARACTER_STREAM_LENGTH:
+				statement.setNCharacterStream( index, (Reader) value, number );
+				break;
+			case OBJECT:
+				statement.setObject( index, value );
+				break;
+			case OBJECT_TYPE:
+				statement.setObject( index, value, (int) number );
+				break;
+			case OBJECT_TYPE_SCALE:
+				// the SQL type in the high bits, the scale in the low bits
+				statement.setObject( index, value, (int) ( number >> 32 ), (int) number );
+				break;
+			case OBJECT_SQL_TYPE:
+				statement.setObject( index, value, (SQLType) extra );
+				break;
+			case OBJECT_SQL_TYPE_SCALE:
+				statement.setObject( index, value, (SQLType) extra, (int) number );
+				break;
+			case REF:
+				statement.setRef( index, (Ref) value );
+				break;
+			case BLOB:
+				statement.setBlob( index, (Blob) value );
+				break;
+			case BLOB_STREAM:
+				statement.setBlob( index, (InputStream) value );
+				break;
+			case BLOB_STREAM_LENGTH:
+				statement.setBlob( index, (InputStream) value, number );
+				break;
+			case CLOB:
+				statement.setClob( index, (Clob) value );
+				break;
+			case CLOB_READER:
+				statement.setClob( index, (Reader) value );
+				break;
+			case CLOB_READER_LENGTH:
+				statement.setClob( index, (Reader) value, number );
+				break;
+			case NCLOB:
+				statement.setNClob( index, (NClob) value );
+				break;
+			case NCLOB_READER:
+				statement.setNClob( index, (Reader) value );
+				break;
+			case NCLOB_READER_LENGTH:
+				statement.setNClob( index, (Reader) value, number );
+				break;
+			case ARRAY:
+				statement.setArray( index, (Array) value );
+				break;
+			case URL_VALUE:
+				statement.setURL( index, (URL) value );
+				break;
+			case ROW_ID:
+				statement.setRowId( index, (RowId) value );
+				break;
+			case SQLXML_VALUE:
+				statement.setSQLXML( index, (SQLXML) value );
+				break;
+			default:
+				throw new IllegalStateException( "Unexpected parameter kind: " + kinds[slot] );
+		}
+	}
+
+	// statements ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	private void applySetting(Setting setting) throws SQLException {
+		settings.add( setting );
+		if ( singleRowStatement != null ) {
+			setting.apply( singleRowStatement );
+		}
+		for ( PreparedStatement statement : statements.values() ) {
+			setting.apply( statement );
+		}
+	}
+
+	private PreparedStatement prepareStatement(String sql) throws SQLException {
+		// this form does not execute the current batch, which is the one being executed
+		final PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement( sql );
+		for ( Setting setting : settings ) {
+			setting.apply( statement );
+		}
+		return statement;
+	}
+
+	private PreparedStatement getSingleRowStatement() throws SQLException {
+		if ( singleRowStatement == null ) {
+			singleRowStatement = prepareStatement( sql );
+		}
+		return singleRowStatement;
+	}
+
+	private PreparedStatement getStatement(int rowCount) throws SQLException {
+		PreparedStatement statement = statements.get( rowCount );
+		if ( statement == null ) {
+			statement = prepareStatement( dialect.getMultiRowInsertString( insertPrefix, valuesRow, rowCount ) );
+			statements.put( rowCount, statement );
+		}
+		return statement;
+	}
+
+	/**
+	 * Release the multi-row statements, and forget the recorded rows.
+	 */
+	void release() {
+		clearRows();
+		sqlBatched = false;
+		for ( PreparedStatement statement : statements.values() ) {
+			jdbcCoordinator.getResourceRegistry().release( statement );
+		}
+		statements.clear();
+		if ( singleRowStatement != null ) {
+			jdbcCoordinator.getResourceRegistry().release( singleRowStatement );
+			singleRowStatement = null;
+		}
+		settings.clear();
+	}
+
+	@Override
+	public void close() throws SQLException {
+		release();
+		closed = true;
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return closed;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return jdbcCoordinator.getLogicalConnection().getPhysicalConnection();
+	}
+
+	@Override
+	public String toString() {
+		return "MultiRowInsertStatement(" + sql + ")";
+	}
+
+	/**
+	 * A setting of the statement, applied to each statement prepared.
+	 */
+	@FunctionalInterface
+	private interface Setting {
+		void apply(PreparedStatement statement) throws SQLException;
+	}
+
+	// settings ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@Override
+	public void setMaxFieldSize(int max) throws SQLException {
+		applySetting( statement -> statement.setMaxFieldSize( max ) );
+	}
+
+	@Override
+	public void setMaxRows(int max) throws SQLException {
+		applySetting( statement -> statement.setMaxRows( max ) );
+	}
+
+	@Override
+	public void setLargeMaxRows(long max) throws SQLException {
+		applySetting( statement -> statement.setLargeMaxRows( max ) );
+	}
+
+	@Override
+	public void setEscapeProcessing(boolean enable) throws SQLException {
+		applySetting( statement -> statement.setEscapeProcessing( enable ) );
+	}
+
+	@Override
+	public void setQueryTimeout(int seconds) throws SQLException {
+		applySetting( statement -> statement.setQueryTimeout( seconds ) );
+	}
+
+	@Override
+	public void setCursorName(String name) throws SQLException {
+		applySetting( statement -> statement.setCursorName( name ) );
+	}
+
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		applySetting( statement -> statement.setFetchDirection( direction ) );
+	}
+
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		applySetting( statement -> statement.setFetchSize( rows ) );
+	}
+
+	@Override
+	public void setPoolable(boolean poolable) throws SQLException {
+		applySetting( statement -> statement.setPoolable( poolable ) );
+	}
+
+	@Override
+	public void closeOnCompletion() throws SQLException {
+		applySetting( Statement::closeOnCompletion );
+	}
+
+	// parameters ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@Override
+	public void setNull(int parameterIndex, int sqlType) throws SQLException {
+		record( parameterIndex, NULL, sqlType );
+	}
+
+	@Override
+	public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+		record( parameterIndex, NULL_TYPE_NAME, sqlType, null, typeName );
+	}
+
+	@Override
+	public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+		record( parameterIndex, BOOLEAN, x ? 1L : 0L );
+	}
+
+	@Override
+	public void setByte(int parameterIndex, byte x) throws SQLException {
+		record( parameterIndex, BYTE, x );
+	}
+
+	@Override
+	public void setShort(int parameterIndex, short x) throws SQLException {
+		record( parameterIndex, SHORT, x );
+	}
+
+	@Override
+	public void setInt(int parameterIndex, int x) throws SQLException {
+		record( parameterIndex, INT, x );
+	}
+
+	@Override
+	public void setLong(int parameterIndex, long x) throws SQLException {
+		record( parameterIndex, LONG, x );
+	}
+
+	@Override
+	public void setFloat(int parameterIndex, float x) throws SQLException {
+		record( parameterIndex, FLOAT, Float.floatToRawIntBits( x ) );
+	}
+
+	@Override
+	public void setDouble(int parameterIndex, double x) throws SQLException {
+		record( parameterIndex, DOUBLE, Double.doubleToRawLongBits( x ) );
+	}
+
+	@Override
+	public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+		record( parameterIndex, BIG_DECIMAL, x );
+	}
+
+	@Override
+	public void setString(int parameterIndex, String x) throws SQLException {
+		record( parameterIndex, STRING, x );
+	}
+
+	@Override
+	public void setNString(int parameterIndex, String value) throws SQLException {
+		record( parameterIndex, NSTRING, value );
+	}
+
+	@Override
+	public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+		record( parameterIndex, BYTES, x );
+	}
+
+	@Override
+	public void setDate(int parameterIndex, Date x) throws SQLException {
+		record( parameterIndex, DATE, x );
+	}
+
+	@Override
+	public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+		record( parameterIndex, DATE_CALENDAR, 0L, x, cal );
+	}
+
+	@Override
+	public void setTime(int parameterIndex, Time x) throws SQLException {
+		record( parameterIndex, TIME, x );
+	}
+
+	@Override
+	public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+		record( parameterIndex, TIME_CALENDAR, 0L, x, cal );
+	}
+
+	@Override
+	public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+		record( parameterIndex, TIMESTAMP, x );
+	}
+
+	@Override
+	public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+		record( parameterIndex, TIMESTAMP_CALENDAR, 0L, x, cal );
+	}
+
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+		record( parameterIndex, ASCII_STREAM, x );
+	}
+
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		record( parameterIndex, ASCII_STREAM_INT_LENGTH, length, x, null );
+	}
+
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+		record( parameterIndex, ASCII_STREAM_LENGTH, length, x, null );
+	}
+
+	@Override
+	@Deprecated
+	public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		record( parameterIndex, UNICODE_STREAM_LENGTH, length, x, null );
+	}
+
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+		record( parameterIndex, BINARY_STREAM, x );
+	}
+
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		record( parameterIndex, BINARY_STREAM_INT_LENGTH, length, x, null );
+	}
+
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+		record( parameterIndex, BINARY_STREAM_LENGTH, length, x, null );
+	}
+
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+		record( parameterIndex, CHARACTER_STREAM, reader );
+	}
+
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+		record( parameterIndex, CHARACTER_STREAM_INT_LENGTH, length, reader, null );
+	}
+
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+		record( parameterIndex, CHARACTER_STREAM_LENGTH, length, reader, null );
+	}
+
+	@Override
+	public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+		record( parameterIndex, NCHARACTER_STREAM, value );
+	}
+
+	@Override
+	public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
+		record( parameterIndex, NCHARACTER_STREAM_LENGTH, length, value, null );
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x) throws SQLException {
+		record( parameterIndex, OBJECT, x );
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+		record( parameterIndex, OBJECT_TYPE, targetSqlType, x, null );
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+		record( parameterIndex, OBJECT_TYPE_SCALE, ( (long) targetSqlType << 32 ) | ( scaleOrLength & 0xFFFFFFFFL ), x, null );
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+		record( parameterIndex, OBJECT_SQL_TYPE, 0L, x, targetSqlType );
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+		record( parameterIndex, OBJECT_SQL_TYPE_SCALE, scaleOrLength, x, targetSqlType );
+	}
+
+	@Override
+	public void setRef(int parameterIndex, Ref x) throws SQLException {
+		record( parameterIndex, REF, x );
+	}
+
+	@Override
+	public void setBlob(int parameterIndex, Blob x) throws SQLException {
+		record( parameterIndex, BLOB, x );
+	}
+
+	@Override
+	public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+		record( parameterIndex, BLOB_STREAM, inputStream );
+	}
+
+	@Override
+	public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+		record( parameterIndex, BLOB_STREAM_LENGTH, length, inputStream, null );
+	}
+
+	@Override
+	public void setClob(int parameterIndex, Clob x) throws SQLException {
+		record( parameterIndex, CLOB, x );
+	}
+
+	@Override
+	public void setClob(int parameterIndex, Reader reader) throws SQLException {
+		record( parameterIndex, CLOB_READER, reader );
+	}
+
+	@Override
+	public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+		record( parameterIndex, CLOB_READER_LENGTH, length, reader, null );
+	}
+
+	@Override
+	public void setNClob(int parameterIndex, NClob value) throws SQLException {
+		record( parameterIndex, NCLOB, value );
+	}
+
+	@Override
+	public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+		record( parameterIndex, NCLOB_READER, reader );
+	}
+
+	@Override
+	public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+		record( parameterIndex, NCLOB_READER_LENGTH, length, reader, null );
+	}
+
+	@Override
+	public void setArray(int parameterIndex, Array x) throws SQLException {
+		record( parameterIndex, ARRAY, x );
+	}
+
+	@Override
+	public void setURL(int parameterIndex, URL x) throws SQLException {
+		record( parameterIndex, URL_VALUE, x );
+	}
+
+	@Override
+	public void setRowId(int parameterIndex, RowId x) throws SQLException {
+		record( parameterIndex, ROW_ID, x );
+	}
+
+	@Override
+	public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+		record( parameterIndex, SQLXML_VALUE, xmlObject );
+	}
+
+	// delegated to the single-row statement ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@Override
+	public ResultSet executeQuery(String sql) throws SQLException {
+		return getSingleRowStatement().executeQuery( sql );
+	}
+
+	@Override
+	public int executeUpdate(String sql) throws SQLException {
+		return getSingleRowStatement().executeUpdate( sql );
+	}
+
+	@Override
+	public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		return getSingleRowStatement().executeUpdate( sql, autoGeneratedKeys );
+	}
+
+	@Override
+	public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		return getSingleRowStatement().executeUpdate( sql, columnIndexes );
+	}
+
+	@Override
+	public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+		return getSingleRowStatement().executeUpdate( sql, columnNames );
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql) throws SQLException {
+		return getSingleRowStatement().executeLargeUpdate( sql );
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		return getSingleRowStatement().executeLargeUpdate( sql, autoGeneratedKeys );
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		return getSingleRowStatement().executeLargeUpdate( sql, columnIndexes );
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+		return getSingleRowStatement().executeLargeUpdate( sql, columnNames );
+	}
+
+	@Override
+	public boolean execute(String sql) throws SQLException {
+		return getSingleRowStatement().execute( sql );
+	}
+
+	@Override
+	public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+		return getSingleRowStatement().execute( sql, autoGeneratedKeys );
+	}
+
+	@Override
+	public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+		return getSingleRowStatement().execute( sql, columnIndexes );
+	}
+
+	@Override
+	public boolean execute(String sql, String[] columnNames) throws SQLException {
+		return getSingleRowStatement().execute( sql, columnNames );
+	}
+
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		return getSingleRowStatement().getMetaData();
+	}
+
+	@Override
+	public ParameterMetaData getParameterMetaData() throws SQLException {
+		return getSingleRowStatement().getParameterMetaData();
+	}
+
+	@Override
+	public int getMaxFieldSize() throws SQLException {
+		return getSingleRowStatement().getMaxFieldSize();
+	}
+
+	@Override
+	public int getMaxRows() throws SQLException {
+		return getSingleRowStatement().getMaxRows();
+	}
+
+	@Override
+	public long getLargeMaxRows() throws SQLException {
+		return getSingleRowStatement().getLargeMaxRows();
+	}
+
+	@Override
+	public int getQueryTimeout() throws SQLException {
+		return getSingleRowStatement().getQueryTimeout();
+	}
+
+	@Override
+	public void cancel() throws SQLException {
+		getSingleRowStatement().cancel();
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return getSingleRowStatement().getWarnings();
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+		getSingleRowStatement().clearWarnings();
+	}
+
+	@Override
+	public ResultSet getResultSet() throws SQLException {
+		return getSingleRowStatement().getResultSet();
+	}
+
+	@Override
+	public int getUpdateCount() throws SQLException {
+		return getSingleRowStatement().getUpdateCount();
+	}
+
+	@Override
+	public long getLargeUpdateCount() throws SQLException {
+		return getSingleRowStatement().getLargeUpdateCount();
+	}
+
+	@Override
+	public boolean getMoreResults() throws SQLException {
+		return getSingleRowStatement().getMoreResults();
+	}
+
+	@Override
+	public boolean getMoreResults(int current) throws SQLException {
+		return getSingleRowStatement().getMoreResults( current );
+	}
+
+	@Override
+	public int getFetchDirection() throws SQLException {
+		return getSingleRowStatement().getFetchDirection();
+	}
+
+	@Override
+	public int getFetchSize() throws SQLException {
+		return getSingleRowStatement().getFetchSize();
+	}
+
+	@Override
+	public int getResultSetConcurrency() throws SQLException {
+		return getSingleRowStatement().getResultSetConcurrency();
+	}
+
+	@Override
+	public int getResultSetType() throws SQLException {
+		return getSingleRowStatement().getResultSetType();
+	}
+
+	@Override
+	public int getResultSetHoldability() throws SQLException {
+		return getSingleRowStatement().getResultSetHoldability();
+	}
+
+	@Override
+	public ResultSet getGeneratedKeys() throws SQLException {
+		return getSingleRowStatement().getGeneratedKeys();
+	}
+
+	@Override
+	public boolean isPoolable() throws SQLException {
+		return getSingleRowStatement().isPoolable();
+	}
+
+	@Override
+	public boolean isCloseOnCompletion() throws SQLException {
+		return getSingleRowStatement().isCloseOnCompletion();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if ( iface.isInstance( this ) ) {
+			return iface.cast( this );
+		}
+		return getSingleRowStatement().unwrap( iface );
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance( this ) || getSingleRowStatement().isWrapperFor( iface );
+	}
+}
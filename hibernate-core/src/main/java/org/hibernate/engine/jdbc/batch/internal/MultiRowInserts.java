@@ -0,0 +1,217 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.hibernate.dialect.Dialect;
+
+/**
+ * Helpers for rewriting single-row {@code INSERT ... VALUES (...)} statements into multi-row inserts.
+ *
+ * @see Dialect#getMultiRowInsertString
+ */
+public final class MultiRowInserts {
+	private static final String INSERT_INTO = "insert into ";
+	private static final String VALUES = "values";
+
+	private MultiRowInserts() {
+	}
+
+	/**
+	 * Split a single-row insert into its prefix, up to and including the {@code values} keyword and the
+	 * following space, and its row of values.
+	 * <p/>
+	 * The statement is scanned, skipping its comments, literals and quoted identifiers: it must start with
+	 * {@code insert into}, have a single {@code values} keyword outside of any parenthesis, followed by a single
+	 * parenthesized row of values ending the statement.
+	 *
+	 * @param sql The SQL of the single-row insert
+	 *
+	 * @return The prefix and the row of values, or {@code null} if the statement is not a plain single-row
+	 * insert, or if its prefix contains JDBC parameters
+	 */
+	public static String[] split(String sql) {
+		final int length = sql.length();
+		final int start = skipWhitespaceAndComments( sql, 0 );
+		if ( !sql.regionMatches( true, start, INSERT_INTO, 0, INSERT_INTO.length() ) ) {
+			return null;
+		}
+		int depth = 0;
+		int valuesIndex = -1;
+		int rowStart = -1;
+		int rowEnd = -1;
+		for ( int i = start + INSERT_INTO.length(); i < length; i++ ) {
+			final char c = sql.charAt( i );
+			if ( rowEnd >= 0 && !Character.isWhitespace( c ) ) {
+				// something follows the row of values, such as a second row or a returning clause
+				return null;
+			}
+			switch ( c ) {
+				case '\'':
+				case '"':
+				case '`':
+					i = skipQuoted( sql, i, c );
+					break;
+				case '[':
+					i = skipQuoted( sql, i, ']' );
+					break;
+				case '/':
+				case '-':
+					i = skipComment( sql, i );
+					break;
+				case '(':
+					if ( depth == 0 && valuesIndex >= 0 ) {
+						if ( rowStart >= 0 ) {
+							return null;
+						}
+						rowStart = i;
+					}
+					depth++;
+					break;
+				case ')':
+					depth--;
+					if ( depth < 0 ) {
+						return null;
+					}
+					if ( depth == 0 && rowStart >= 0 ) {
+						rowEnd = i;
+					}
+					break;
+				default:
+					if ( depth == 0 && isKeyword( sql, i, VALUES ) ) {
+						if ( valuesIndex >= 0 ) {
+							return null;
+						}
+						valuesIndex = i;
+						i += VALUES.length() - 1;
+					}
+					else if ( depth == 0 && valuesIndex >= 0 && rowStart < 0 && !Character.isWhitespace( c ) ) {
+						// values followed by something else than a row, such as default values
+						return null;
+					}
+			}
+			if ( i < 0 ) {
+				// an unterminated literal or comment
+				return null;
+			}
+		}
+		if ( rowEnd < 0 ) {
+			return null;
+		}
+		final String insertPrefix = sql.substring( 0, rowStart );
+		if ( countParameters( insertPrefix ) != 0 ) {
+			return null;
+		}
+		return new String[] { insertPrefix, sql.substring( rowStart, rowEnd + 1 ) };
+	}
+
+	/**
+	 * Count the JDBC parameters of a SQL fragment, ignoring the question marks of the literals, quoted
+	 * identifiers and comments.
+	 *
+	 * @param sql The SQL fragment
+	 *
+	 * @return The number of JDBC parameters
+	 */
+	public static int countParameters(String sql) {
+		int count = 0;
+		for ( int i = 0; i < sql.length(); i++ ) {
+			final char c = sql.charAt( i );
+			switch ( c ) {
+				case '\'':
+				case '"':
+				case '`':
+					i = skipQuoted( sql, i, c );
+					break;
+				case '[':
+					i = skipQuoted( sql, i, ']' );
+					break;
+				case '/':
+				case '-':
+					i = skipComment( sql, i );
+					break;
+				case '?':
+					count++;
+					break;
+				default:
+					break;
+			}
+			if ( i < 0 ) {
+				break;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return The index of the closing quote, or {@code -1} if the quoted part is not terminated
+	 */
+	private static int skipQuoted(String sql, int index, char closingQuote) {
+		// a doubled quote is an escaped quote, so it is read as two successive quoted parts
+		return sql.indexOf( closingQuote, index + 1 );
+	}
+
+	/**
+	 * @return The index of the last character of the comment starting at the given index (or the given index if
+	 * there is no comment there), or {@code -1} if the comment is not terminated
+	 */
+	private static int skipComment(String sql, int index) {
+		if ( sql.startsWith( "/*", index ) ) {
+			final int end = sql.indexOf( "*/", index + 2 );
+			return end < 0 ? -1 : end + 1;
+		}
+		if ( sql.startsWith( "--", index ) ) {
+			final int end = sql.indexOf( '\n', index + 2 );
+			return end < 0 ? sql.length() - 1 : end;
+		}
+		return index;
+	}
+
+	private static int skipWhitespaceAndComments(String sql, int index) {
+		int i = index;
+		while ( i >= 0 && i < sql.length() ) {
+			if ( Character.isWhitespace( sql.charAt( i ) ) ) {
+				i++;
+			}
+			else {
+				final int end = skipComment( sql, i );
+				if ( end == i ) {
+					return i;
+				}
+				i = end < 0 ? -1 : end + 1;
+			}
+		}
+		return i;
+	}
+
+	private static boolean isKeyword(String sql, int index, String keyword) {
+		final int end = index + keyword.length();
+		return sql.regionMatches( true, index, keyword, 0, keyword.length() )
+				&& ( index == 0 || !isIdentifierPart( sql.charAt( index - 1 ) ) )
+				&& ( end == sql.length() || !isIdentifierPart( sql.charAt( end ) ) );
+	}
+
+	private static boolean isIdentifierPart(char c) {
+		return Character.isLetterOrDigit( c ) || c == '_' || c == '$';
+	}
+
+	/**
+	 * Determine the maximum number of rows of a multi-row insert.
+	 *
+	 * @param dialect The dialect
+	 * @param parametersPerRow The number of JDBC parameters of each row
+	 *
+	 * @return The maximum number of rows, lower than two if multi-row inserts are not possible
+	 */
+	public static int maxRows(Dialect dialect, int parametersPerRow) {
+		final int maxRows = dialect.getMultiRowInsertMaxRows();
+		final int maxParameters = dialect.getMaxParametersPerStatement();
+		if ( maxParameters > 0 && parametersPerRow > 0 ) {
+			return Math.min( maxRows, maxParameters / parametersPerRow );
+		}
+		return maxRows;
+	}
+}
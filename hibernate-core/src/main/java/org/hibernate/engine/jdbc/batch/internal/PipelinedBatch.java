@@ -0,0 +1,216 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.jdbc.Expectation;
+import org.hibernate.resource.jdbc.ResourceRegistry;
+import org.hibernate.resource.jdbc.spi.JdbcObserver;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link BatchingBatch} which hands a full batch over to a {@link PipelinedBatchExecutor} thread, and keeps
+ * collecting the next batch on other statements in the meantime.
+ * <p/>
+ * At most one batch is executed at a time on the connection: the execution of a full batch (and of the remainder
+ * of the batch on {@link #execute()}) first waits for the completion of the previous one.  The failure of a batch
+ * is reported by the next operation waiting for it.
+ * <p/>
+ * Batches of callable statements are executed synchronously.
+ */
+public class PipelinedBatch extends BatchingBatch {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PipelinedBatch.class.getName()
+	);
+
+	private final PipelinedBatchExecutor executor;
+
+	private boolean callable;
+	private Execution currentExecution;
+	// the statements of the previous executions, ready to collect another batch
+	private final Map<String, PreparedStatement> spareStatements = new HashMap<>();
+
+	/**
+	 * Constructs a PipelinedBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param batchSize The batch size.
+	 * @param executor The executor of the batches
+	 */
+	PipelinedBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize,
+			PipelinedBatchExecutor executor) {
+		super( key, jdbcCoordinator, batchSize );
+		this.executor = executor;
+	}
+
+	@Override
+	public PreparedStatement getBatchStatement(String sql, boolean callable) {
+		if ( callable ) {
+			this.callable = true;
+		}
+		return super.getBatchStatement( sql, callable );
+	}
+
+	@Override
+	protected void performImplicitExecution() {
+		checkOutcome( awaitExecution() );
+		if ( callable ) {
+			super.performImplicitExecution();
+			return;
+		}
+
+		final LinkedHashMap<String, PreparedStatement> statements = getStatements();
+		final Execution execution = new Execution( new LinkedHashMap<>( statements ), getKey().getExpectation() );
+		for ( Map.Entry<String, PreparedStatement> entry : statements.entrySet() ) {
+			PreparedStatement statement = spareStatements.remove( entry.getKey() );
+			if ( statement == null ) {
+				// this form does not execute the current batch
+				statement = getJdbcCoordinator().getStatementPreparer().prepareStatement( entry.getKey() );
+			}
+			entry.setValue( statement );
+		}
+
+		LOG.debug( "Handing over batch for execution" );
+		observer().jdbcExecuteBatchStart();
+		currentExecution = execution;
+		execution.future = executor.submit( execution );
+	}
+
+	@Override
+	protected void doExecuteBatch() {
+		checkOutcome( awaitExecution() );
+		super.doExecuteBatch();
+	}
+
+	/**
+	 * Wait for the completion of the current execution, if any, and keep its statements aside for the next batch.
+	 *
+	 * @return The completed execution, or {@code null} if there was none.
+	 */
+	private Execution awaitExecution() {
+		final Execution execution = currentExecution;
+		if ( execution == null ) {
+			return null;
+		}
+		currentExecution = null;
+
+		// the statements cannot be released before the execution is over, so the wait is not interruptible
+		boolean interrupted = false;
+		try {
+			while ( true ) {
+				try {
+					execution.future.get();
+					break;
+				}
+				catch (InterruptedException e) {
+					interrupted = true;
+				}
+				catch (ExecutionException e) {
+					execution.failure = e.getCause();
+					break;
+				}
+			}
+		}
+		finally {
+			observer().jdbcExecuteBatchEnd();
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		spareStatements.putAll( execution.statements );
+		return execution;
+	}
+
+	private void checkOutcome(Execution execution) {
+		if ( execution == null || execution.failure == null ) {
+			return;
+		}
+		final Throwable failure = execution.failure;
+		final String sql = execution.failedSql;
+		abortBatch();
+		LOG.unableToExecuteBatch( failure, sql );
+		if ( failure instanceof SQLException ) {
+			throw sqlExceptionHelper().convert( (SQLException) failure, "could not execute batch", sql );
+		}
+		if ( failure instanceof RuntimeException ) {
+			throw (RuntimeException) failure;
+		}
+		throw new HibernateException( "could not execute batch", failure );
+	}
+
+	@Override
+	protected void releaseStatements() {
+		final Execution execution = awaitExecution();
+		if ( execution != null && execution.failure != null ) {
+			LOG.debugf( execution.failure, "Discarding the failure of a batch execution on release: %s", execution.failedSql );
+		}
+		final ResourceRegistry resourceRegistry = getJdbcCoordinator().getResourceRegistry();
+		for ( PreparedStatement statement : spareStatements.values() ) {
+			clearBatch( statement );
+			resourceRegistry.release( statement );
+		}
+		spareStatements.clear();
+		super.releaseStatements();
+	}
+
+	private JdbcObserver observer() {
+		return getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver();
+	}
+
+	/**
+	 * The execution of a full batch, which only touches its own statements.
+	 */
+	private static final class Execution implements Runnable {
+		private final Map<String, PreparedStatement> statements;
+		private final Expectation expectation;
+
+		private Future<?> future;
+		private String failedSql;
+		private Throwable failure;
+
+		private Execution(Map<String, PreparedStatement> statements, Expectation expectation) {
+			this.statements = statements;
+			this.expectation = expectation;
+		}
+
+		@Override
+		public void run() {
+			for ( Map.Entry<String, PreparedStatement> entry : statements.entrySet() ) {
+				final String sql = entry.getKey();
+				final PreparedStatement statement = entry.getValue();
+				try {
+					final int[] rowCounts = statement.executeBatch();
+					for ( int i = 0; i < rowCounts.length; i++ ) {
+						expectation.verifyOutcome( rowCounts[i], statement, i, sql );
+					}
+				}
+				catch (SQLException | RuntimeException e) {
+					failedSql = sql;
+					failure = e;
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The threads executing the JDBC batches of {@link PipelinedBatch} instances, created on demand and shut down
+ * with the {@link org.hibernate.engine.jdbc.batch.spi.BatchBuilder} service.
+ */
+final class PipelinedBatchExecutor {
+	private ExecutorService executorService;
+
+	synchronized Future<?> submit(Runnable execution) {
+		if ( executorService == null ) {
+			executorService = Executors.newCachedThreadPool( new BatchExecutionThreadFactory() );
+		}
+		return executorService.submit( execution );
+	}
+
+	synchronized void stop() {
+		if ( executorService != null ) {
+			executorService.shutdown();
+			executorService = null;
+		}
+	}
+
+	private static class BatchExecutionThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread( runnable );
+			thread.setDaemon( true );
+			thread.setName( "Hibernate JDBC Batch Execution Thread " + threadCount.incrementAndGet() );
+			return thread;
+		}
+	}
+}
@@ -6,23 +6,44 @@
  */
 package org.hibernate.engine.jdbc.batch.internal;
 
+import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
 
 /**
  * Common code across BatchBuilder service implementors
  */
 final class SharedBatchBuildingCode {
 
-	static Batch buildBatch(final int defaultJdbcBatchSize, final BatchKey key, final JdbcCoordinator jdbcCoordinator) {
+	static Batch buildBatch(
+			final int defaultJdbcBatchSize,
+			final boolean multiRowInserts,
+			final PipelinedBatchExecutor pipelinedBatchExecutor,
+			final BatchKey key,
+			final JdbcCoordinator jdbcCoordinator) {
 		final Integer sessionJdbcBatchSize = jdbcCoordinator.getJdbcSessionOwner()
 				.getJdbcBatchSize();
 		final int jdbcBatchSizeToUse = sessionJdbcBatchSize == null ?
 				defaultJdbcBatchSize :
 				sessionJdbcBatchSize;
-		return jdbcBatchSizeToUse > 1
-				? new BatchingBatch( key, jdbcCoordinator, jdbcBatchSizeToUse )
-				: new NonBatchingBatch( key, jdbcCoordinator );
+		if ( jdbcBatchSizeToUse <= 1 ) {
+			return new NonBatchingBatch( key, jdbcCoordinator );
+		}
+		if ( multiRowInserts ) {
+			final Dialect dialect = jdbcCoordinator.getJdbcSessionOwner()
+					.getJdbcSessionContext()
+					.getServiceRegistry()
+					.getService( JdbcServices.class )
+					.getDialect();
+			if ( dialect.getMultiRowInsertMaxRows() > 1 ) {
+				return new MultiRowInsertBatch( key, jdbcCoordinator, jdbcBatchSizeToUse, dialect );
+			}
+		}
+		if ( pipelinedBatchExecutor != null ) {
+			return new PipelinedBatch( key, jdbcCoordinator, jdbcBatchSizeToUse, pipelinedBatchExecutor );
+		}
+		return new BatchingBatch( key, jdbcCoordinator, jdbcBatchSizeToUse );
 	}
 }
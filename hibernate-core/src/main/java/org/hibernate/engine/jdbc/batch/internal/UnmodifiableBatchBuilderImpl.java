@@ -10,6 +10,7 @@ import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.service.spi.Stoppable;
 
 /**
  * Simplified version of BatchBuilderImpl which does not support
@@ -17,17 +18,34 @@ import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
  * not exposed via JMX.
  * @author Sanne Grinovero
  */
-final class UnmodifiableBatchBuilderImpl implements BatchBuilder {
+final class UnmodifiableBatchBuilderImpl implements BatchBuilder, Stoppable {
 
 	private final int jdbcBatchSize;
+	private final boolean multiRowInserts;
+	private final PipelinedBatchExecutor pipelinedBatchExecutor;
 
-	public UnmodifiableBatchBuilderImpl(int jdbcBatchSize) {
+	public UnmodifiableBatchBuilderImpl(int jdbcBatchSize, boolean multiRowInserts, boolean pipelining) {
 		this.jdbcBatchSize = jdbcBatchSize;
+		this.multiRowInserts = multiRowInserts;
+		this.pipelinedBatchExecutor = pipelining ? new PipelinedBatchExecutor() : null;
 	}
 
 	@Override
 	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
-		return SharedBatchBuildingCode.buildBatch( jdbcBatchSize, key, jdbcCoordinator );
+		return SharedBatchBuildingCode.buildBatch(
+				jdbcBatchSize,
+				multiRowInserts,
+				pipelinedBatchExecutor,
+				key,
+				jdbcCoordinator
+		);
+	}
+
+	@Override
+	public void stop() {
+		if ( pipelinedBatchExecutor != null ) {
+			pipelinedBatchExecutor.stop();
+		}
 	}
 
 }
@@ -12,6 +12,8 @@ import org.hibernate.boot.registry.StandardServiceInitiator;
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
 import org.hibernate.cfg.Environment;
 import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.service.spi.ServiceException;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
@@ -25,6 +27,8 @@ import org.hibernate.service.spi.ServiceRegistryImplementor;
  * @author Sanne Grinovero
  */
 public final class UnmodifiableBatchBuilderInitiator implements StandardServiceInitiator<BatchBuilder> {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( UnmodifiableBatchBuilderInitiator.class );
+
 	/**
 	 * Singleton access
 	 */
@@ -39,8 +43,18 @@ public final class UnmodifiableBatchBuilderInitiator implements StandardServiceI
 	public BatchBuilder initiateService(Map configurationValues, ServiceRegistryImplementor registry) {
 		final Object builder = configurationValues.get( BatchBuilderInitiator.BUILDER );
 		if ( builder == null ) {
+			if ( ConfigurationHelper.getBoolean( Environment.ADAPTIVE_BATCH_SIZE, configurationValues, false ) ) {
+				// tuned batch sizes would defeat the purpose of a fixed batch size
+				LOG.warnf(
+						"%s is not supported by %s; ignored",
+						Environment.ADAPTIVE_BATCH_SIZE,
+						getClass().getName()
+				);
+			}
 			return new UnmodifiableBatchBuilderImpl(
-					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 )
+					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 ),
+					ConfigurationHelper.getBoolean( Environment.BATCH_MULTI_ROW_INSERTS, configurationValues, false ),
+					ConfigurationHelper.getBoolean( Environment.BATCH_PIPELINING, configurationValues, false )
 			);
 		}
 		else {
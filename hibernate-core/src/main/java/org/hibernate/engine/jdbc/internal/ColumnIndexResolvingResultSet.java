@@ -0,0 +1,1081 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.internal;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Map;
+
+import org.hibernate.engine.jdbc.ColumnNameCache;
+
+/**
+ * A {@link ResultSet} delegating the accesses by column label to the accesses by column index.
+ * <p/>
+ * The loaders only wrap their result sets when {@value org.hibernate.cfg.AvailableSettings#WRAP_RESULT_SETS}
+ * is enabled, which it is not by default.
+ * <p/>
+ * The loaders read the columns of each row in the same order, passing the same String instances as column labels:
+ * the labels resolved by an execution are recorded in that order, so that resolving the label of the next column
+ * is usually a single reference comparison, instead of a lookup in the {@link ColumnNameCache}.
+ */
+public final class ColumnIndexResolvingResultSet implements ResultSet {
+	private static final int MAX_RECORDED_RESOLUTIONS = 512;
+
+	private final ResultSet delegate;
+	private final ColumnNameCache columnNameCache;
+
+	private String[] columnLabels = new String[16];
+	private int[] columnIndexes = new int[16];
+	private int resolutionCount;
+	private int cursor;
+
+	public ColumnIndexResolvingResultSet(ResultSet delegate, ColumnNameCache columnNameCache) {
+		this.delegate = delegate;
+		this.columnNameCache = columnNameCache;
+	}
+
+	private int columnIndex(String columnLabel) throws SQLException {
+		if ( cursor < resolutionCount ) {
+			if ( columnLabels[cursor] == columnLabel ) {
+				return columnIndexes[cursor++];
+			}
+			// a column was skipped (or read in another order) for this row
+			for ( int i = cursor + 1; i < resolutionCount; i++ ) {
+				if ( columnLabels[i] == columnLabel ) {
+					cursor = i + 1;
+					return columnIndexes[i];
+				}
+			}
+			return columnNameCache.getIndexForColumnName( columnLabel, delegate );
+		}
+
+		final int columnIndex = columnNameCache.getIndexForColumnName( columnLabel, delegate );
+		if ( resolutionCount < MAX_RECORDED_RESOLUTIONS ) {
+			if ( resolutionCount == columnLabels.length ) {
+				columnLabels = Arrays.copyOf( columnLabels, resolutionCount * 2 );
+				columnIndexes = Arrays.copyOf( columnIndexes, resolutionCount * 2 );
+			}
+			columnLabels[resolutionCount] = columnLabel;
+			columnIndexes[resolutionCount] = columnIndex;
+			cursor = ++resolutionCount;
+		}
+		return columnIndex;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if ( iface.isInstance( this ) ) {
+			return (T) this;
+		}
+		return delegate.unwrap( iface );
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance( this ) || delegate.isWrapperFor( iface );
+	}
+
+	@Override
+	public boolean absolute(int row) throws SQLException {
+		cursor = 0;
+		return delegate.absolute( row );
+	}
+
+	@Override
+	public void afterLast() throws SQLException {
+		cursor = 0;
+		delegate.afterLast();
+	}
+
+	@Override
+	public void beforeFirst() throws SQLException {
+		cursor = 0;
+		delegate.beforeFirst();
+	}
+
+	@Override
+	public void cancelRowUpdates() throws SQLException {
+		delegate.cancelRowUpdates();
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+		delegate.clearWarnings();
+	}
+
+	@Override
+	public void close() throws SQLException {
+		delegate.close();
+	}
+
+	@Override
+	public void deleteRow() throws SQLException {
+		delegate.deleteRow();
+	}
+
+	@Override
+	public int findColumn(String columnLabel) throws SQLException {
+		return columnIndex( columnLabel );
+	}
+
+	@Override
+	public boolean first() throws SQLException {
+		cursor = 0;
+		return delegate.first();
+	}
+
+	@Override
+	public Array getArray(String columnLabel) throws SQLException {
+		return delegate.getArray( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public Array getArray(int columnIndex) throws SQLException {
+		return delegate.getArray( columnIndex );
+	}
+
+	@Override
+	public InputStream getAsciiStream(String columnLabel) throws SQLException {
+		return delegate.getAsciiStream( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public InputStream getAsciiStream(int columnIndex) throws SQLException {
+		return delegate.getAsciiStream( columnIndex );
+	}
+
+	@Override
+	@Deprecated
+	public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+		return delegate.getBigDecimal( columnIndex( columnLabel ), scale );
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+		return delegate.getBigDecimal( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	@Deprecated
+	public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+		return delegate.getBigDecimal( columnIndex, scale );
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+		return delegate.getBigDecimal( columnIndex );
+	}
+
+	@Override
+	public InputStream getBinaryStream(String columnLabel) throws SQLException {
+		return delegate.getBinaryStream( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public InputStream getBinaryStream(int columnIndex) throws SQLException {
+		return delegate.getBinaryStream( columnIndex );
+	}
+
+	@Override
+	public Blob getBlob(String columnLabel) throws SQLException {
+		return delegate.getBlob( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public Blob getBlob(int columnIndex) throws SQLException {
+		return delegate.getBlob( columnIndex );
+	}
+
+	@Override
+	public boolean getBoolean(String columnLabel) throws SQLException {
+		return delegate.getBoolean( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public boolean getBoolean(int columnIndex) throws SQLException {
+		return delegate.getBoolean( columnIndex );
+	}
+
+	@Override
+	public byte getByte(String columnLabel) throws SQLException {
+		return delegate.getByte( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public byte getByte(int columnIndex) throws SQLException {
+		return delegate.getByte( columnIndex );
+	}
+
+	@Override
+	public byte[] getBytes(String columnLabel) throws SQLException {
+		return delegate.getBytes( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public byte[] getBytes(int columnIndex) throws SQLException {
+		return delegate.getBytes( columnIndex );
+	}
+
+	@Override
+	public Reader getCharacterStream(String columnLabel) throws SQLException {
+		return delegate.getCharacterStream( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public Reader getCharacterStream(int columnIndex) throws SQLException {
+		return delegate.getCharacterStream( columnIndex );
+	}
+
+	@Override
+	public Clob getClob(String columnLabel) throws SQLException {
+		return delegate.getClob( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public Clob getClob(int columnIndex) throws SQLException {
+		return delegate.getClob( columnIndex );
+	}
+
+	@Override
+	public int getConcurrency() throws SQLException {
+		return delegate.getConcurrency();
+	}
+
+	@Override
+	public String getCursorName() throws SQLException {
+		return delegate.getCursorName();
+	}
+
+	@Override
+	public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+		return delegate.getDate( columnIndex( columnLabel ), cal );
+	}
+
+	@Override
+	public Date getDate(String columnLabel) throws SQLException {
+		return delegate.getDate( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+		return delegate.getDate( columnIndex, cal );
+	}
+
+	@Override
+	public Date getDate(int columnIndex) throws SQLException {
+		return delegate.getDate( columnIndex );
+	}
+
+	@Override
+	public double getDouble(String columnLabel) throws SQLException {
+		return delegate.getDouble( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public double getDouble(int columnIndex) throws SQLException {
+		return delegate.getDouble( columnIndex );
+	}
+
+	@Override
+	public int getFetchDirection() throws SQLException {
+		return delegate.getFetchDirection();
+	}
+
+	@Override
+	public int getFetchSize() throws SQLException {
+		return delegate.getFetchSize();
+	}
+
+	@Override
+	public float getFloat(String columnLabel) throws SQLException {
+		return delegate.getFloat( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public float getFloat(int columnIndex) throws SQLException {
+		return delegate.getFloat( columnIndex );
+	}
+
+	@Override
+	public int getHoldability() throws SQLException {
+		return delegate.getHoldability();
+	}
+
+	@Override
+	public int getInt(String columnLabel) throws SQLException {
+		return delegate.getInt( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public int getInt(int columnIndex) throws SQLException {
+		return delegate.getInt( columnIndex );
+	}
+
+	@Override
+	public long getLong(String columnLabel) throws SQLException {
+		return delegate.getLong( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public long getLong(int columnIndex) throws SQLException {
+		return delegate.getLong( columnIndex );
+	}
+
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		return delegate.getMetaData();
+	}
+
+	@Override
+	public Reader getNCharacterStream(String columnLabel) throws SQLException {
+		return delegate.getNCharacterStream( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public Reader getNCharacterStream(int columnIndex) throws SQLException {
+		return delegate.getNCharacterStream( columnIndex );
+	}
+
+	@Override
+	public NClob getNClob(String columnLabel) throws SQLException {
+		return delegate.getNClob( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public NClob getNClob(int columnIndex) throws SQLException {
+		return delegate.getNClob( columnIndex );
+	}
+
+	@Override
+	public String getNString(String columnLabel) throws SQLException {
+		return delegate.getNString( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public String getNString(int columnIndex) throws SQLException {
+		return delegate.getNString( columnIndex );
+	}
+
+	@Override
+	public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+		return delegate.getObject( columnIndex( columnLabel ), type );
+	}
+
+	@Override
+	public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+		return delegate.getObject( columnIndex( columnLabel ), map );
+	}
+
+	@Override
+	public Object getObject(String columnLabel) throws SQLException {
+		return delegate.getObject( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+		return delegate.getObject( columnIndex, type );
+	}
+
+	@Override
+	public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+		return delegate.getObject( columnIndex, map );
+	}
+
+	@Override
+	public Object getObject(int columnIndex) throws SQLException {
+		return delegate.getObject( columnIndex );
+	}
+
+	@Override
+	public Ref getRef(String columnLabel) throws SQLException {
+		return delegate.getRef( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public Ref getRef(int columnIndex) throws SQLException {
+		return delegate.getRef( columnIndex );
+	}
+
+	@Override
+	public int getRow() throws SQLException {
+		return delegate.getRow();
+	}
+
+	@Override
+	public RowId getRowId(String columnLabel) throws SQLException {
+		return delegate.getRowId( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public RowId getRowId(int columnIndex) throws SQLException {
+		return delegate.getRowId( columnIndex );
+	}
+
+	@Override
+	public SQLXML getSQLXML(String columnLabel) throws SQLException {
+		return delegate.getSQLXML( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public SQLXML getSQLXML(int columnIndex) throws SQLException {
+		return delegate.getSQLXML( columnIndex );
+	}
+
+	@Override
+	public short getShort(String columnLabel) throws SQLException {
+		return delegate.getShort( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public short getShort(int columnIndex) throws SQLException {
+		return delegate.getShort( columnIndex );
+	}
+
+	@Override
+	public Statement getStatement() throws SQLException {
+		return delegate.getStatement();
+	}
+
+	@Override
+	public String getString(String columnLabel) throws SQLException {
+		return delegate.getString( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public String getString(int columnIndex) throws SQLException {
+		return delegate.getString( columnIndex );
+	}
+
+	@Override
+	public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+		return delegate.getTime( columnIndex( columnLabel ), cal );
+	}
+
+	@Override
+	public Time getTime(String columnLabel) throws SQLException {
+		return delegate.getTime( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+		return delegate.getTime( columnIndex, cal );
+	}
+
+	@Override
+	public Time getTime(int columnIndex) throws SQLException {
+		return delegate.getTime( columnIndex );
+	}
+
+	@Override
+	public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+		return delegate.getTimestamp( columnIndex( columnLabel ), cal );
+	}
+
+	@Override
+	public Timestamp getTimestamp(String columnLabel) throws SQLException {
+		return delegate.getTimestamp( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+		return delegate.getTimestamp( columnIndex, cal );
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex) throws SQLException {
+		return delegate.getTimestamp( columnIndex );
+	}
+
+	@Override
+	public int getType() throws SQLException {
+		return delegate.getType();
+	}
+
+	@Override
+	public URL getURL(String columnLabel) throws SQLException {
+		return delegate.getURL( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public URL getURL(int columnIndex) throws SQLException {
+		return delegate.getURL( columnIndex );
+	}
+
+	@Override
+	@Deprecated
+	public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+		return delegate.getUnicodeStream( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	@Deprecated
+	public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+		return delegate.getUnicodeStream( columnIndex );
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return delegate.getWarnings();
+	}
+
+	@Override
+	public void insertRow() throws SQLException {
+		delegate.insertRow();
+	}
+
+	@Override
+	public boolean isAfterLast() throws SQLException {
+		return delegate.isAfterLast();
+	}
+
+	@Override
+	public boolean isBeforeFirst() throws SQLException {
+		return delegate.isBeforeFirst();
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return delegate.isClosed();
+	}
+
+	@Override
+	public boolean isFirst() throws SQLException {
+		return delegate.isFirst();
+	}
+
+	@Override
+	public boolean isLast() throws SQLException {
+		return delegate.isLast();
+	}
+
+	@Override
+	public boolean last() throws SQLException {
+		cursor = 0;
+		return delegate.last();
+	}
+
+	@Override
+	public void moveToCurrentRow() throws SQLException {
+		cursor = 0;
+		delegate.moveToCurrentRow();
+	}
+
+	@Override
+	public void moveToInsertRow() throws SQLException {
+		cursor = 0;
+		delegate.moveToInsertRow();
+	}
+
+	@Override
+	public boolean next() throws SQLException {
+		cursor = 0;
+		return delegate.next();
+	}
+
+	@Override
+	public boolean previous() throws SQLException {
+		cursor = 0;
+		return delegate.previous();
+	}
+
+	@Override
+	public void refreshRow() throws SQLException {
+		delegate.refreshRow();
+	}
+
+	@Override
+	public boolean relative(int rows) throws SQLException {
+		cursor = 0;
+		return delegate.relative( rows );
+	}
+
+	@Override
+	public boolean rowDeleted() throws SQLException {
+		return delegate.rowDeleted();
+	}
+
+	@Override
+	public boolean rowInserted() throws SQLException {
+		return delegate.rowInserted();
+	}
+
+	@Override
+	public boolean rowUpdated() throws SQLException {
+		return delegate.rowUpdated();
+	}
+
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		delegate.setFetchDirection( direction );
+	}
+
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		delegate.setFetchSize( rows );
+	}
+
+	@Override
+	public void updateArray(String columnLabel, Array x) throws SQLException {
+		delegate.updateArray( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateArray(int columnIndex, Array x) throws SQLException {
+		delegate.updateArray( columnIndex, x );
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, int scaleOrLength) throws SQLException {
+		delegate.updateAsciiStream( columnIndex( columnLabel ), x, scaleOrLength );
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+		delegate.updateAsciiStream( columnIndex( columnLabel ), x, length );
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+		delegate.updateAsciiStream( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, int scaleOrLength) throws SQLException {
+		delegate.updateAsciiStream( columnIndex, x, scaleOrLength );
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+		delegate.updateAsciiStream( columnIndex, x, length );
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+		delegate.updateAsciiStream( columnIndex, x );
+	}
+
+	@Override
+	public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+		delegate.updateBigDecimal( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+		delegate.updateBigDecimal( columnIndex, x );
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, int scaleOrLength) throws SQLException {
+		delegate.updateBinaryStream( columnIndex( columnLabel ), x, scaleOrLength );
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+		delegate.updateBinaryStream( columnIndex( columnLabel ), x, length );
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+		delegate.updateBinaryStream( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, int scaleOrLength) throws SQLException {
+		delegate.updateBinaryStream( columnIndex, x, scaleOrLength );
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+		delegate.updateBinaryStream( columnIndex, x, length );
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+		delegate.updateBinaryStream( columnIndex, x );
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, InputStream x, long length) throws SQLException {
+		delegate.updateBlob( columnIndex( columnLabel ), x, length );
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, InputStream x) throws SQLException {
+		delegate.updateBlob( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, Blob x) throws SQLException {
+		delegate.updateBlob( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, InputStream x, long length) throws SQLException {
+		delegate.updateBlob( columnIndex, x, length );
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, InputStream x) throws SQLException {
+		delegate.updateBlob( columnIndex, x );
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, Blob x) throws SQLException {
+		delegate.updateBlob( columnIndex, x );
+	}
+
+	@Override
+	public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+		delegate.updateBoolean( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+		delegate.updateBoolean( columnIndex, x );
+	}
+
+	@Override
+	public void updateByte(String columnLabel, byte x) throws SQLException {
+		delegate.updateByte( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateByte(int columnIndex, byte x) throws SQLException {
+		delegate.updateByte( columnIndex, x );
+	}
+
+	@Override
+	public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+		delegate.updateBytes( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+		delegate.updateBytes( columnIndex, x );
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x, int scaleOrLength) throws SQLException {
+		delegate.updateCharacterStream( columnIndex( columnLabel ), x, scaleOrLength );
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x, long length) throws SQLException {
+		delegate.updateCharacterStream( columnIndex( columnLabel ), x, length );
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader x) throws SQLException {
+		delegate.updateCharacterStream( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, int scaleOrLength) throws SQLException {
+		delegate.updateCharacterStream( columnIndex, x, scaleOrLength );
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		delegate.updateCharacterStream( columnIndex, x, length );
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+		delegate.updateCharacterStream( columnIndex, x );
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Reader x, long length) throws SQLException {
+		delegate.updateClob( columnIndex( columnLabel ), x, length );
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Reader x) throws SQLException {
+		delegate.updateClob( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Clob x) throws SQLException {
+		delegate.updateClob( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Reader x, long length) throws SQLException {
+		delegate.updateClob( columnIndex, x, length );
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Reader x) throws SQLException {
+		delegate.updateClob( columnIndex, x );
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Clob x) throws SQLException {
+		delegate.updateClob( columnIndex, x );
+	}
+
+	@Override
+	public void updateDate(String columnLabel, Date x) throws SQLException {
+		delegate.updateDate( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateDate(int columnIndex, Date x) throws SQLException {
+		delegate.updateDate( columnIndex, x );
+	}
+
+	@Override
+	public void updateDouble(String columnLabel, double x) throws SQLException {
+		delegate.updateDouble( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateDouble(int columnIndex, double x) throws SQLException {
+		delegate.updateDouble( columnIndex, x );
+	}
+
+	@Override
+	public void updateFloat(String columnLabel, float x) throws SQLException {
+		delegate.updateFloat( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateFloat(int columnIndex, float x) throws SQLException {
+		delegate.updateFloat( columnIndex, x );
+	}
+
+	@Override
+	public void updateInt(String columnLabel, int x) throws SQLException {
+		delegate.updateInt( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateInt(int columnIndex, int x) throws SQLException {
+		delegate.updateInt( columnIndex, x );
+	}
+
+	@Override
+	public void updateLong(String columnLabel, long x) throws SQLException {
+		delegate.updateLong( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateLong(int columnIndex, long x) throws SQLException {
+		delegate.updateLong( columnIndex, x );
+	}
+
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader x, long length) throws SQLException {
+		delegate.updateNCharacterStream( columnIndex( columnLabel ), x, length );
+	}
+
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader x) throws SQLException {
+		delegate.updateNCharacterStream( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		delegate.updateNCharacterStream( columnIndex, x, length );
+	}
+
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+		delegate.updateNCharacterStream( columnIndex, x );
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, Reader x, long length) throws SQLException {
+		delegate.updateNClob( columnIndex( columnLabel ), x, length );
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, Reader x) throws SQLException {
+		delegate.updateNClob( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, NClob x) throws SQLException {
+		delegate.updateNClob( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, Reader x, long length) throws SQLException {
+		delegate.updateNClob( columnIndex, x, length );
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, Reader x) throws SQLException {
+		delegate.updateNClob( columnIndex, x );
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, NClob x) throws SQLException {
+		delegate.updateNClob( columnIndex, x );
+	}
+
+	@Override
+	public void updateNString(String columnLabel, String x) throws SQLException {
+		delegate.updateNString( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateNString(int columnIndex, String x) throws SQLException {
+		delegate.updateNString( columnIndex, x );
+	}
+
+	@Override
+	public void updateNull(String columnLabel) throws SQLException {
+		delegate.updateNull( columnIndex( columnLabel ) );
+	}
+
+	@Override
+	public void updateNull(int columnIndex) throws SQLException {
+		delegate.updateNull( columnIndex );
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+		delegate.updateObject( columnIndex( columnLabel ), x, scaleOrLength );
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+		delegate.updateObject( columnIndex( columnLabel ), x, targetSqlType, scaleOrLength );
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x, SQLType targetSqlType) throws SQLException {
+		delegate.updateObject( columnIndex( columnLabel ), x, targetSqlType );
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x) throws SQLException {
+		delegate.updateObject( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+		delegate.updateObject( columnIndex, x, scaleOrLength );
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+		delegate.updateObject( columnIndex, x, targetSqlType, scaleOrLength );
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x, SQLType targetSqlType) throws SQLException {
+		delegate.updateObject( columnIndex, x, targetSqlType );
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x) throws SQLException {
+		delegate.updateObject( columnIndex, x );
+	}
+
+	@Override
+	public void updateRef(String columnLabel, Ref x) throws SQLException {
+		delegate.updateRef( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateRef(int columnIndex, Ref x) throws SQLException {
+		delegate.updateRef( columnIndex, x );
+	}
+
+	@Override
+	public void updateRow() throws SQLException {
+		delegate.updateRow();
+	}
+
+	@Override
+	public void updateRowId(String columnLabel, RowId x) throws SQLException {
+		delegate.updateRowId( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateRowId(int columnIndex, RowId x) throws SQLException {
+		delegate.updateRowId( columnIndex, x );
+	}
+
+	@Override
+	public void updateSQLXML(String columnLabel, SQLXML x) throws SQLException {
+		delegate.updateSQLXML( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateSQLXML(int columnIndex, SQLXML x) throws SQLException {
+		delegate.updateSQLXML( columnIndex, x );
+	}
+
+	@Override
+	public void updateShort(String columnLabel, short x) throws SQLException {
+		delegate.updateShort( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateShort(int columnIndex, short x) throws SQLException {
+		delegate.updateShort( columnIndex, x );
+	}
+
+	@Override
+	public void updateString(String columnLabel, String x) throws SQLException {
+		delegate.updateString( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateString(int columnIndex, String x) throws SQLException {
+		delegate.updateString( columnIndex, x );
+	}
+
+	@Override
+	public void updateTime(String columnLabel, Time x) throws SQLException {
+		delegate.updateTime( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateTime(int columnIndex, Time x) throws SQLException {
+		delegate.updateTime( columnIndex, x );
+	}
+
+	@Override
+	public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+		delegate.updateTimestamp( columnIndex( columnLabel ), x );
+	}
+
+	@Override
+	public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+		delegate.updateTimestamp( columnIndex, x );
+	}
+
+	@Override
+	public boolean wasNull() throws SQLException {
+		return delegate.wasNull();
+	}
+}
@@ -9,7 +9,6 @@ package org.hibernate.engine.jdbc.internal;
 import java.sql.ResultSet;
 
 import org.hibernate.engine.jdbc.ColumnNameCache;
-import org.hibernate.engine.jdbc.ResultSetWrapperProxy;
 import org.hibernate.engine.jdbc.spi.ResultSetWrapper;
 import org.hibernate.service.ServiceRegistry;
 
@@ -32,6 +31,6 @@ public class ResultSetWrapperImpl implements ResultSetWrapper {
 
 	@Override
 	public ResultSet wrap(ResultSet resultSet, ColumnNameCache columnNameCache) {
-		return ResultSetWrapperProxy.generateProxy( resultSet, columnNameCache, serviceRegistry );
+		return new ColumnIndexResolvingResultSet( resultSet, columnNameCache );
 	}
 }
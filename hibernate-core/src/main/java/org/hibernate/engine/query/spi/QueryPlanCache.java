@@ -7,12 +7,17 @@
 package org.hibernate.engine.query.spi;
 
 import java.io.Serializable;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.hibernate.Filter;
@@ -64,6 +69,12 @@ public class QueryPlanCache implements Serializable {
 	 */
 	private final BoundedConcurrentHashMap queryPlanCache;
 
+	/**
+	 * the HQL query plans being compiled, shared by the threads missing on the same plan meanwhile
+	 */
+	private final ConcurrentHashMap<HQLQueryPlanKey, CompletableFuture<HQLQueryPlan>> hqlQueryPlanCompilations =
+			new ConcurrentHashMap<>();
+
 	/**
 	 * simple cache of param metadata based on query string.  Ideally, the original "user-supplied query"
 	 * string should be used to obtain this metadata (i.e., not the para-list-expanded query string) to avoid
@@ -77,6 +88,8 @@ public class QueryPlanCache implements Serializable {
 
 	private NativeQueryInterpreter nativeQueryInterpreter;
 
+	private final QueryPlanWarmUp queryPlanWarmUp;
+
 	/**
 	 * Constructs the QueryPlanCache to be used by the given SessionFactory
 	 *
@@ -110,14 +123,53 @@ public class QueryPlanCache implements Serializable {
 			);
 		}
 
-		queryPlanCache = new BoundedConcurrentHashMap( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+		final BoundedConcurrentHashMap.Eviction eviction = BoundedConcurrentHashMap.Eviction.valueOf(
+				ConfigurationHelper.getString(
+						Environment.QUERY_PLAN_CACHE_EVICTION,
+						factory.getProperties(),
+						"lirs",
+						"lru",
+						"tiny_lfu"
+				).toUpperCase( Locale.ROOT )
+		);
+
+		queryPlanCache = new BoundedConcurrentHashMap( maxQueryPlanCount, 20, eviction );
 		parameterMetadataCache = new BoundedConcurrentHashMap<>(
 				maxParameterMetadataCount,
 				20,
-				BoundedConcurrentHashMap.Eviction.LIRS
+				eviction
 		);
 
 		nativeQueryInterpreter = factory.getServiceRegistry().getService( NativeQueryInterpreter.class );
+
+		final String warmUpFile = ConfigurationHelper.getString(
+				Environment.QUERY_PLAN_CACHE_WARM_UP_FILE,
+				factory.getProperties()
+		);
+		if ( warmUpFile == null ) {
+			queryPlanWarmUp = null;
+		}
+		else {
+			queryPlanWarmUp = new QueryPlanWarmUp(
+					Paths.get( warmUpFile ),
+					ConfigurationHelper.getInt(
+							Environment.QUERY_PLAN_CACHE_WARM_UP_THREADS,
+							factory.getProperties(),
+							Runtime.getRuntime().availableProcessors()
+					),
+					maxQueryPlanCount
+			);
+		}
+	}
+
+	/**
+	 * Start compiling the HQL queries recorded by a previous run in the background, if
+	 * {@link Environment#QUERY_PLAN_CACHE_WARM_UP_FILE} is set.  Called once the SessionFactory is built.
+	 */
+	public void warmUp() {
+		if ( queryPlanWarmUp != null ) {
+			queryPlanWarmUp.start( this, factory );
+		}
 	}
 
 	/**
@@ -136,7 +188,10 @@ public class QueryPlanCache implements Serializable {
 	}
 
 	/**
-	 * Get the query plan for the given HQL query, creating it and caching it if not already cached
+	 * Get the query plan for the given HQL query, creating it and caching it if not already cached.
+	 * <p/>
+	 * The threads missing on a query plan while another thread is creating it wait for this plan instead of
+	 * creating their own.
 	 *
 	 * @param queryString The HQL query string
 	 * @param shallow Whether the execution will be shallow
@@ -156,18 +211,31 @@ public class QueryPlanCache implements Serializable {
 		boolean stats = statistics.isStatisticsEnabled();
 
 		if ( value == null ) {
-			final long startTime = ( stats ) ? System.nanoTime() : 0L;
-
-			LOG.tracev( "Unable to locate HQL query plan in cache; generating ({0})", queryString );
-			value = queryPlanCreator.createQueryPlan( queryString, shallow, enabledFilters, factory );
-
-			if ( stats ) {
-				final long endTime = System.nanoTime();
-				final long microseconds = TimeUnit.MICROSECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS );
-				statistics.queryCompiled( queryString, microseconds );
+			final CompletableFuture<HQLQueryPlan> compilation = new CompletableFuture<>();
+			final CompletableFuture<HQLQueryPlan> pendingCompilation = hqlQueryPlanCompilations.putIfAbsent( key, compilation );
+			if ( pendingCompilation != null ) {
+				LOG.tracev( "Waiting for the HQL query plan being generated by another thread ({0})", queryString );
+				if ( stats ) {
+					statistics.queryPlanCompilationShared( queryString );
+				}
+				return awaitCompilation( pendingCompilation );
 			}
 
-			queryPlanCache.putIfAbsent( key, value );
+			try {
+				// the plan may have been cached since the lookup
+				value = (HQLQueryPlan) queryPlanCache.get( key );
+				if ( value == null ) {
+					value = createHQLQueryPlan( key, queryString, shallow, enabledFilters, statistics, stats );
+				}
+				compilation.complete( value );
+			}
+			catch (RuntimeException | Error e) {
+				compilation.completeExceptionally( e );
+				throw e;
+			}
+			finally {
+				hqlQueryPlanCompilations.remove( key );
+			}
 		}
 		else {
 			LOG.tracev( "Located HQL query plan in cache ({0})", queryString );
@@ -179,6 +247,48 @@ public class QueryPlanCache implements Serializable {
 		return value;
 	}
 
+	private HQLQueryPlan createHQLQueryPlan(
+			HQLQueryPlanKey key,
+			String queryString,
+			boolean shallow,
+			Map<String, Filter> enabledFilters,
+			StatisticsImplementor statistics,
+			boolean stats) {
+		final long startTime = ( stats ) ? System.nanoTime() : 0L;
+
+		LOG.tracev( "Unable to locate HQL query plan in cache; generating ({0})", queryString );
+		final HQLQueryPlan value = queryPlanCreator.createQueryPlan( queryString, shallow, enabledFilters, factory );
+
+		if ( stats ) {
+			final long endTime = System.nanoTime();
+			final long microseconds = TimeUnit.MICROSECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS );
+			statistics.queryCompiled( queryString, microseconds );
+		}
+
+		queryPlanCache.putIfAbsent( key, value );
+		if ( queryPlanWarmUp != null ) {
+			queryPlanWarmUp.record( queryString, shallow, enabledFilters );
+		}
+		return value;
+	}
+
+	private static HQLQueryPlan awaitCompilation(CompletableFuture<HQLQueryPlan> compilation) {
+		try {
+			return compilation.join();
+		}
+		catch (CompletionException e) {
+			// rethrow the failure of the compilation as is, as if this thread had compiled the query
+			final Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
 	/**
 	 * Get the query plan for the given collection HQL filter fragment, creating it and caching it if not already cached
 	 *
@@ -268,6 +378,9 @@ public class QueryPlanCache implements Serializable {
 	 */
 	public void cleanup() {
 		LOG.trace( "Cleaning QueryPlan Cache" );
+		if ( queryPlanWarmUp != null ) {
+			queryPlanWarmUp.stop();
+		}
 		queryPlanCache.clear();
 		parameterMetadataCache.clear();
 	}
@@ -0,0 +1,292 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.spi;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.Filter;
+import org.hibernate.engine.spi.FilterDefinition;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.FilterImpl;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Records the HQL queries compiled by a {@link QueryPlanCache} into a file, and compiles the queries recorded by a
+ * previous run in the background.
+ * <p/>
+ * The queries executed with filters having collection-valued parameters are not recorded, as their plans depend
+ * on the number of values of these parameters.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_WARM_UP_FILE
+ */
+final class QueryPlanWarmUp {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( QueryPlanWarmUp.class );
+
+	private static final int FORMAT_VERSION = 1;
+
+	private final Path file;
+	private final int threadCount;
+	private final int maxRecordedQueries;
+	private final Set<RecordedQuery> recordedQueries = ConcurrentHashMap.newKeySet();
+
+	private ExecutorService executor;
+
+	QueryPlanWarmUp(Path file, int threadCount, int maxRecordedQueries) {
+		this.file = file;
+		this.threadCount = threadCount;
+		this.maxRecordedQueries = maxRecordedQueries;
+	}
+
+	/**
+	 * Record a compiled HQL query.
+	 */
+	void record(String query, boolean shallow, Map<String, Filter> enabledFilters) {
+		if ( recordedQueries.size() >= maxRecordedQueries ) {
+			return;
+		}
+		final String[] filterNames;
+		if ( enabledFilters.isEmpty() ) {
+			filterNames = RecordedQuery.NO_FILTERS;
+		}
+		else {
+			filterNames = new String[enabledFilters.size()];
+			int i = 0;
+			for ( Filter filter : enabledFilters.values() ) {
+				for ( Object value : ( (FilterImpl) filter ).getParameters().values() ) {
+					if ( value instanceof Collection ) {
+						return;
+					}
+				}
+				filterNames[i++] = filter.getName();
+			}
+			Arrays.sort( filterNames );
+		}
+		recordedQueries.add( new RecordedQuery( query, shallow, filterNames ) );
+	}
+
+	/**
+	 * Start compiling the queries recorded in the file in the background.
+	 */
+	synchronized void start(QueryPlanCache queryPlanCache, SessionFactoryImplementor factory) {
+		if ( !Files.exists( file ) ) {
+			return;
+		}
+		final List<RecordedQuery> queries;
+		try {
+			queries = read( file );
+		}
+		catch (IOException e) {
+			LOG.warnf( e, "Unable to read the recorded HQL queries from [%s]", file );
+			return;
+		}
+		if ( queries.isEmpty() ) {
+			return;
+		}
+
+		// kept for the next run, unless they fail to compile
+		for ( RecordedQuery query : queries ) {
+			if ( recordedQueries.size() >= maxRecordedQueries ) {
+				break;
+			}
+			recordedQueries.add( query );
+		}
+
+		LOG.debugf( "Compiling %s recorded HQL queries", queries.size() );
+		final StatisticsImplementor statistics = factory.getStatistics();
+		if ( statistics.isStatisticsEnabled() ) {
+			statistics.queryPlanWarmUpStarted( queries.size() );
+		}
+		executor = Executors.newFixedThreadPool(
+				Math.max( 1, Math.min( threadCount, queries.size() ) ),
+				new WarmUpThreadFactory()
+		);
+		for ( RecordedQuery query : queries ) {
+			executor.execute( () -> compile( query, queryPlanCache, factory, recordedQueries ) );
+		}
+		executor.shutdown();
+	}
+
+	private static void compile(
+			RecordedQuery query,
+			QueryPlanCache queryPlanCache,
+			SessionFactoryImplementor factory,
+			Set<RecordedQuery> recordedQueries) {
+		final StatisticsImplementor statistics = factory.getStatistics();
+		try {
+			queryPlanCache.getHQLQueryPlan( query.query, query.shallow, enabledFilters( query, factory ) );
+			if ( statistics.isStatisticsEnabled() ) {
+				statistics.queryPlanWarmedUp( query.query );
+			}
+		}
+		catch (RuntimeException e) {
+			// the mapping may have changed since the query was recorded
+			LOG.debugf( e, "Unable to compile recorded HQL query [%s]", query.query );
+			recordedQueries.remove( query );
+			if ( statistics.isStatisticsEnabled() ) {
+				statistics.queryPlanWarmUpFailed( query.query );
+			}
+		}
+	}
+
+	private static Map<String, Filter> enabledFilters(RecordedQuery query, SessionFactoryImplementor factory) {
+		if ( query.filterNames.length == 0 ) {
+			return Collections.emptyMap();
+		}
+		final Map<String, Filter> enabledFilters = new HashMap<>();
+		for ( String filterName : query.filterNames ) {
+			final FilterDefinition definition = factory.getFilterDefinition( filterName );
+			final FilterImpl filter = new FilterImpl( definition );
+			// only the parameter names take part in the plan
+			for ( String parameterName : definition.getParameterNames() ) {
+				filter.setParameter( parameterName, null );
+			}
+			enabledFilters.put( filterName, filter );
+		}
+		return enabledFilters;
+	}
+
+	/**
+	 * Stop the compilation of the recorded queries, and write the queries recorded so far to the file.
+	 */
+	synchronized void stop() {
+		if ( executor != null ) {
+			executor.shutdownNow();
+			executor = null;
+		}
+		try {
+			write( file, recordedQueries );
+		}
+		catch (IOException e) {
+			LOG.warnf( e, "Unable to write the recorded HQL queries to [%s]", file );
+		}
+		recordedQueries.clear();
+	}
+
+	private static List<RecordedQuery> read(Path file) throws IOException {
+		try ( DataInputStream input = new DataInputStream( new BufferedInputStream( Files.newInputStream( file ) ) ) ) {
+			if ( input.readInt() != FORMAT_VERSION ) {
+				LOG.debugf( "Ignoring the recorded HQL queries of [%s], written by another version", file );
+				return Collections.emptyList();
+			}
+			final int count = input.readInt();
+			final List<RecordedQuery> queries = new ArrayList<>( count );
+			for ( int i = 0; i < count; i++ ) {
+				final byte[] query = new byte[input.readInt()];
+				input.readFully( query );
+				final boolean shallow = input.readBoolean();
+				final String[] filterNames = new String[input.readInt()];
+				for ( int j = 0; j < filterNames.length; j++ ) {
+					filterNames[j] = input.readUTF();
+				}
+				queries.add( new RecordedQuery( new String( query, StandardCharsets.UTF_8 ), shallow, filterNames ) );
+			}
+			return queries;
+		}
+	}
+
+	private static void write(Path file, Collection<RecordedQuery> queries) throws IOException {
+		final Path directory = file.toAbsolutePath().getParent();
+		if ( directory != null ) {
+			Files.createDirectories( directory );
+		}
+		final Path temporaryFile = Files.createTempFile( directory, file.getFileName().toString(), ".tmp" );
+		try {
+			try ( DataOutputStream output = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( temporaryFile ) ) ) ) {
+				final List<RecordedQuery> snapshot = new ArrayList<>( queries );
+				output.writeInt( FORMAT_VERSION );
+				output.writeInt( snapshot.size() );
+				for ( RecordedQuery query : snapshot ) {
+					final byte[] bytes = query.query.getBytes( StandardCharsets.UTF_8 );
+					output.writeInt( bytes.length );
+					output.write( bytes );
+					output.writeBoolean( query.shallow );
+					output.writeInt( query.filterNames.length );
+					for ( String filterName : query.filterNames ) {
+						output.writeUTF( filterName );
+					}
+				}
+			}
+			Files.move( temporaryFile, file, StandardCopyOption.REPLACE_EXISTING );
+		}
+		finally {
+			Files.deleteIfExists( temporaryFile );
+		}
+	}
+
+	private static final class RecordedQuery {
+		private static final String[] NO_FILTERS = new String[0];
+
+		private final String query;
+		private final boolean shallow;
+		private final String[] filterNames;
+		private final int hashCode;
+
+		private RecordedQuery(String query, boolean shallow, String[] filterNames) {
+			this.query = query;
+			this.shallow = shallow;
+			this.filterNames = filterNames;
+			int hash = query.hashCode();
+			hash = 29 * hash + ( shallow ? 1 : 0 );
+			hash = 29 * hash + Arrays.hashCode( filterNames );
+			this.hashCode = hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o == null || getClass() != o.getClass() ) {
+				return false;
+			}
+			final RecordedQuery that = (RecordedQuery) o;
+			return shallow == that.shallow
+					&& query.equals( that.query )
+					&& Arrays.equals( filterNames, that.filterNames );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	private static class WarmUpThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable );
+			thread.setDaemon( true );
+			thread.setName( "Hibernate Query Plan Warm-up Thread " + threadCount.incrementAndGet() );
+			return thread;
+		}
+	}
+}
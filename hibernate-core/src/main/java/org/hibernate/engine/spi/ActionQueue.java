@@ -11,16 +11,15 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
@@ -30,6 +29,7 @@ import org.hibernate.action.internal.BulkOperationCleanupAction;
 import org.hibernate.action.internal.CollectionRecreateAction;
 import org.hibernate.action.internal.CollectionRemoveAction;
 import org.hibernate.action.internal.CollectionUpdateAction;
+import org.hibernate.action.internal.EntityAction;
 import org.hibernate.action.internal.EntityActionVetoException;
 import org.hibernate.action.internal.EntityDeleteAction;
 import org.hibernate.action.internal.EntityIdentityInsertAction;
@@ -42,17 +42,17 @@ import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.action.spi.Executable;
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.QuerySpacesHelper;
+import org.hibernate.engine.internal.EntityDependencyGraph;
 import org.hibernate.engine.internal.NonNullableTransientDependencies;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
-import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.metamodel.internal.MetamodelImpl;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
-import org.hibernate.type.CollectionType;
-import org.hibernate.type.CompositeType;
-import org.hibernate.type.EntityType;
-import org.hibernate.type.ForeignKeyDirection;
-import org.hibernate.type.OneToOneType;
 import org.hibernate.type.Type;
 
 /**
@@ -128,7 +128,7 @@ public class ActionQueue {
 					ExecutableList<AbstractEntityInsertAction> init(ActionQueue instance) {
 						if ( instance.isOrderInsertsEnabled() ) {
 							return instance.insertions = new ExecutableList<AbstractEntityInsertAction>(
-									new InsertActionSorter()
+									new EntityActionSorter<>( AbstractEntityInsertAction::getState, false )
 							);
 						}
 						else {
@@ -211,8 +211,15 @@ public class ActionQueue {
 						return instance.deletions;
 					}
 					ExecutableList<EntityDeleteAction> init(ActionQueue instance) {
-						// EntityDeleteAction executables never require sorting.
-						return instance.deletions = new ExecutableList<EntityDeleteAction>( false );
+						if ( instance.isOrderInsertsEnabled() ) {
+							// grouped by entity, as the insertions
+							return instance.deletions = new ExecutableList<EntityDeleteAction>(
+									new EntityActionSorter<>( EntityDeleteAction::getState, true )
+							);
+						}
+						else {
+							return instance.deletions = new ExecutableList<EntityDeleteAction>( false );
+						}
 					}
 				}
 		);
@@ -599,25 +606,36 @@ public class ActionQueue {
 		//		1) we explicitly iterate list here to perform Executable#execute()
 		//		2) ExecutableList#getQuerySpaces also iterates the Executables to collect query spaces.
 		try {
+			final boolean batchIdentityInserts = list == insertions
+					&& session.getFactory().getSessionFactoryOptions().isIdentityInsertBatchingEnabled();
+			IdentityInsertBatch identityInsertBatch = null;
 			for ( E e : list ) {
+				if ( batchIdentityInserts && IdentityInsertBatch.isBatchable( e ) ) {
+					final EntityIdentityInsertAction identityInsert = (EntityIdentityInsertAction) e;
+					if ( identityInsertBatch != null && !identityInsertBatch.accepts( identityInsert ) ) {
+						executeIdentityInsertBatch( identityInsertBatch );
+						identityInsertBatch = null;
+					}
+					if ( identityInsertBatch == null ) {
+						identityInsertBatch = new IdentityInsertBatch( identityInsert.getPersister() );
+					}
+					identityInsertBatch.add( identityInsert );
+					continue;
+				}
+				if ( identityInsertBatch != null ) {
+					executeIdentityInsertBatch( identityInsertBatch );
+					identityInsertBatch = null;
+				}
 				try {
 					e.execute();
 				}
 				finally {
-					if ( e.getBeforeTransactionCompletionProcess() != null ) {
-						if ( beforeTransactionProcesses == null ) {
-							beforeTransactionProcesses = new BeforeTransactionCompletionProcessQueue( session );
-						}
-						beforeTransactionProcesses.register( e.getBeforeTransactionCompletionProcess() );
-					}
-					if ( e.getAfterTransactionCompletionProcess() != null ) {
-						if ( afterTransactionProcesses == null ) {
-							afterTransactionProcesses = new AfterTransactionCompletionProcessQueue( session );
-						}
-						afterTransactionProcesses.register( e.getAfterTransactionCompletionProcess() );
-					}
+					registerTransactionCompletionProcesses( e );
 				}
 			}
+			if ( identityInsertBatch != null ) {
+				executeIdentityInsertBatch( identityInsertBatch );
+			}
 		}
 		finally {
 			if ( session.getFactory().getSessionFactoryOptions().isQueryCacheEnabled() ) {
@@ -633,6 +651,32 @@ public class ActionQueue {
 		session.getJdbcCoordinator().executeBatch();
 	}
 
+	private void executeIdentityInsertBatch(IdentityInsertBatch identityInsertBatch) {
+		try {
+			EntityIdentityInsertAction.executeBatch( identityInsertBatch.actions );
+		}
+		finally {
+			for ( EntityIdentityInsertAction action : identityInsertBatch.actions ) {
+				registerTransactionCompletionProcesses( action );
+			}
+		}
+	}
+
+	private void registerTransactionCompletionProcesses(Executable executable) {
+		if ( executable.getBeforeTransactionCompletionProcess() != null ) {
+			if ( beforeTransactionProcesses == null ) {
+				beforeTransactionProcesses = new BeforeTransactionCompletionProcessQueue( session );
+			}
+			beforeTransactionProcesses.register( executable.getBeforeTransactionCompletionProcess() );
+		}
+		if ( executable.getAfterTransactionCompletionProcess() != null ) {
+			if ( afterTransactionProcesses == null ) {
+				afterTransactionProcesses = new AfterTransactionCompletionProcessQueue( session );
+			}
+			afterTransactionProcesses.register( executable.getAfterTransactionCompletionProcess() );
+		}
+	}
+
 	private static String[] convertTimestampSpaces(Set spaces) {
 		return (String[]) spaces.toArray( new String[ spaces.size() ] );
 	}
@@ -663,7 +707,10 @@ public class ActionQueue {
 				afterTransactionProcesses.addSpaceToInvalidate( (String) s );
 			}
 			// Performance win: If we are processing an ExecutableList, this will only be called once
-			session.getFactory().getCache().getTimestampsCache().preInvalidate( spaces, session );
+			session.getFactory().getCache().getTimestampsCache().preInvalidate(
+					QuerySpacesHelper.INSTANCE.toInvalidatedSpaces( spaces, session ),
+					session
+			);
 		}
 	}
 
@@ -781,6 +828,9 @@ public class ActionQueue {
 		if ( isOrderInsertsEnabled() && insertions != null ) {
 			insertions.sort();
 		}
+		if ( isOrderInsertsEnabled() && deletions != null ) {
+			deletions.sort();
+		}
 	}
 
 	private boolean isOrderUpdatesEnabled() {
@@ -940,6 +990,52 @@ public class ActionQueue {
 		}
 	}
 
+	/**
+	 * Consecutive delayed inserts of entities with an IDENTITY id, executed as multi-row inserts.
+	 */
+	private static class IdentityInsertBatch {
+		private final EntityPersister persister;
+		private final List<EntityIdentityInsertAction> actions = new ArrayList<>();
+		private final Set<Object> instances = Collections.newSetFromMap( new IdentityHashMap<>() );
+
+		private IdentityInsertBatch(EntityPersister persister) {
+			this.persister = persister;
+		}
+
+		private static boolean isBatchable(Executable executable) {
+			if ( !( executable instanceof EntityIdentityInsertAction ) ) {
+				return false;
+			}
+			final EntityIdentityInsertAction action = (EntityIdentityInsertAction) executable;
+			return !action.isEarlyInsert()
+					&& action.getPersister() instanceof AbstractEntityPersister
+					&& ( (AbstractEntityPersister) action.getPersister() ).isIdentityInsertBatchable();
+		}
+
+		/**
+		 * Can the action be added to this batch?  It cannot reference an entity inserted by the batch,
+		 * as its identifier is only known once the batch is executed.
+		 */
+		private boolean accepts(EntityIdentityInsertAction action) {
+			if ( action.getPersister() != persister ) {
+				return false;
+			}
+			final Type[] types = persister.getPropertyTypes();
+			final Object[] state = action.getState();
+			for ( int i = 0; i < types.length; i++ ) {
+				if ( types[i].isEntityType() && state[i] != null && instances.contains( state[i] ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void add(EntityIdentityInsertAction action) {
+			actions.add( action );
+			instances.add( action.getInstance() );
+		}
+	}
+
 	/**
 	 * Encapsulates behavior needed for before transaction processing
 	 */
@@ -993,7 +1089,10 @@ public class ActionQueue {
 
 			if ( session.getFactory().getSessionFactoryOptions().isQueryCacheEnabled() ) {
 				session.getFactory().getCache().getTimestampsCache().invalidate(
-						querySpacesToInvalidate.toArray( new String[querySpacesToInvalidate.size()] ),
+						QuerySpacesHelper.INSTANCE.toInvalidatedSpaces(
+								querySpacesToInvalidate.toArray( new String[querySpacesToInvalidate.size()] ),
+								session
+						),
 						session
 				);
 			}
@@ -1018,335 +1117,39 @@ public class ActionQueue {
 
 	/**
 	 * Order the {@link #insertions} queue such that we group inserts against the same entity together (without
-	 * violating constraints). The original order is generated by cascade order, which in turn is based on the
-	 * directionality of foreign-keys. So even though we will be changing the ordering here, we need to make absolutely
-	 * certain that we do not circumvent this FK ordering to the extent of causing constraint violations.
-	 * <p>
-	 * Sorts the insert actions using more hashes.
-	 * </p>
-	 * NOTE: this class is not thread-safe.
-	 *
-	 * @author Jay Erb
+	 * violating constraints), or the {@link #deletions} queue such that we group deletes against the same entity
+	 * together, in the reverse order of the foreign keys.
+	 * <p/>
+	 * The dependencies between the entities are taken from the {@link EntityDependencyGraph} of the metamodel, so
+	 * that sorting only costs a topological sort of the entities of the actions.  The original order is kept when
+	 * the entities of the actions depend on each other.
 	 */
-	private static class InsertActionSorter implements ExecutableList.Sorter<AbstractEntityInsertAction> {
-		/**
-		 * Singleton access
-		 */
-		public static final InsertActionSorter INSTANCE = new InsertActionSorter();
-
-		private static class BatchIdentifier {
-
-			private final String entityName;
-			private final String rootEntityName;
-
-			private Set<String> parentEntityNames = new HashSet<>( );
-
-			private Set<String> childEntityNames = new HashSet<>( );
-
-			private BatchIdentifier parent;
+	private static class EntityActionSorter<E extends EntityAction> implements ExecutableList.Sorter<E> {
+		private final Function<E, Object[]> states;
+		private final boolean reverse;
 
-			BatchIdentifier(String entityName, String rootEntityName) {
-				this.entityName = entityName;
-				this.rootEntityName = rootEntityName;
-			}
-
-			public BatchIdentifier getParent() {
-				return parent;
-			}
-
-			public void setParent(BatchIdentifier parent) {
-				this.parent = parent;
-			}
-
-			@Override
-			public boolean equals(Object o) {
-				if ( this == o ) {
-					return true;
-				}
-				if ( !( o instanceof BatchIdentifier ) ) {
-					return false;
-				}
-				BatchIdentifier that = (BatchIdentifier) o;
-				return Objects.equals( entityName, that.entityName );
-			}
-
-			@Override
-			public int hashCode() {
-				return Objects.hash( entityName );
-			}
-
-			String getEntityName() {
-				return entityName;
-			}
-
-			String getRootEntityName() {
-				return rootEntityName;
-			}
-
-			Set<String> getParentEntityNames() {
-				return parentEntityNames;
-			}
-
-			Set<String> getChildEntityNames() {
-				return childEntityNames;
-			}
-
-			boolean hasAnyParentEntityNames(BatchIdentifier batchIdentifier) {
-				return parentEntityNames.contains( batchIdentifier.getEntityName() ) ||
-						parentEntityNames.contains( batchIdentifier.getRootEntityName() );
-			}
-
-			boolean hasAnyChildEntityNames(BatchIdentifier batchIdentifier) {
-				return childEntityNames.contains( batchIdentifier.getEntityName() );
-			}
-
-			/**
-			 * Check if this {@link BatchIdentifier} has a parent or grand parent
-			 * matching the given {@link BatchIdentifier} reference.
-			 *
-			 * @param batchIdentifier {@link BatchIdentifier} reference
-			 *
-			 * @return This {@link BatchIdentifier} has a parent matching the given {@link BatchIdentifier} reference
-			 */
-			boolean hasParent(BatchIdentifier batchIdentifier) {
-				return (
-					parent == batchIdentifier
-					|| parentEntityNames.contains( batchIdentifier.getEntityName() )
-					|| ( parentEntityNames.contains( batchIdentifier.getRootEntityName() ) && !this.getEntityName().equals( batchIdentifier.getRootEntityName() ) )
-					|| parent != null && parent.hasParent( batchIdentifier, new ArrayList<>() )
-				);
-			}
-
-			private boolean hasParent(BatchIdentifier batchIdentifier, List<BatchIdentifier> stack) {
-				if ( !stack.contains( this ) && parent != null ) {
-					stack.add( this );
-					return parent.hasParent( batchIdentifier, stack );
-				}
-				return (
-					parent == batchIdentifier
-					|| parentEntityNames.contains( batchIdentifier.getEntityName() )
-				);
-			}
+		private EntityActionSorter(Function<E, Object[]> states, boolean reverse) {
+			this.states = states;
+			this.reverse = reverse;
 		}
 
-		// the map of batch numbers to EntityInsertAction lists
-		private Map<BatchIdentifier, List<AbstractEntityInsertAction>> actionBatches;
-
-		public InsertActionSorter() {
-		}
-
-		/**
-		 * Sort the insert actions.
-		 */
-		public void sort(List<AbstractEntityInsertAction> insertions) {
-			// optimize the hash size to eliminate a rehash.
-			this.actionBatches = new HashMap<>();
-
-			// the mapping of entity names to their latest batch numbers.
-			final List<BatchIdentifier> latestBatches = new ArrayList<>();
-
-			for ( AbstractEntityInsertAction action : insertions ) {
-				BatchIdentifier batchIdentifier = new BatchIdentifier(
-						action.getEntityName(),
-						action.getSession()
-								.getFactory()
-								.getMetamodel()
-								.entityPersister( action.getEntityName() )
-								.getRootEntityName()
-				);
-
-				int index = latestBatches.indexOf( batchIdentifier );
-
-				if ( index != -1 )  {
-					batchIdentifier = latestBatches.get( index );
-				}
-				else {
-					latestBatches.add( batchIdentifier );
-				}
-				addParentChildEntityNames( action, batchIdentifier );
-				addToBatch( batchIdentifier, action );
-			}
-
-			// Examine each entry in the batch list, and build the dependency graph.
-			for ( int i = 0; i < latestBatches.size(); i++ ) {
-				BatchIdentifier batchIdentifier = latestBatches.get( i );
-
-				for ( int j = i - 1; j >= 0; j-- ) {
-					BatchIdentifier prevBatchIdentifier = latestBatches.get( j );
-					if ( prevBatchIdentifier.hasAnyParentEntityNames( batchIdentifier ) ) {
-						prevBatchIdentifier.parent = batchIdentifier;
-					}
-					else if ( batchIdentifier.hasAnyChildEntityNames( prevBatchIdentifier ) ) {
-						prevBatchIdentifier.parent = batchIdentifier;
-					}
-				}
-
-				for ( int j = i + 1; j < latestBatches.size(); j++ ) {
-					BatchIdentifier nextBatchIdentifier = latestBatches.get( j );
-
-					if ( nextBatchIdentifier.hasAnyParentEntityNames( batchIdentifier ) ) {
-						nextBatchIdentifier.parent = batchIdentifier;
-						nextBatchIdentifier.getParentEntityNames().add( batchIdentifier.getEntityName() );
-					}
-					else if ( batchIdentifier.hasAnyChildEntityNames( nextBatchIdentifier ) ) {
-						nextBatchIdentifier.parent = batchIdentifier;
-						nextBatchIdentifier.getParentEntityNames().add( batchIdentifier.getEntityName() );
-					}
-				}
-			}
-
-			boolean sorted = false;
-
-			long maxIterations = latestBatches.size() * latestBatches.size();
-			long iterations = 0;
-
-			sort:
-			do {
-				// Examine each entry in the batch list, sorting them based on parent/child association
-				// as depicted by the dependency graph.
-				iterations++;
-
-				for ( int i = 0; i < latestBatches.size(); i++ ) {
-					BatchIdentifier batchIdentifier = latestBatches.get( i );
-
-					// Iterate next batches and make sure that children types are after parents.
-					// Since the outer loop looks at each batch entry individually and the prior loop will reorder
-					// entries as well, we need to look and verify if the current batch is a child of the next
-					// batch or if the current batch is seen as a parent or child of the next batch.
-					for ( int j = i + 1; j < latestBatches.size(); j++ ) {
-						BatchIdentifier nextBatchIdentifier = latestBatches.get( j );
-
-						if ( batchIdentifier.hasParent( nextBatchIdentifier ) ) {
-							if ( nextBatchIdentifier.hasParent( batchIdentifier ) ) {
-								//cycle detected, no need to continue
-								break sort;
-							}
-
-							latestBatches.remove( batchIdentifier );
-							latestBatches.add( j, batchIdentifier );
-
-							continue sort;
-						}
-					}
-				}
-				sorted = true;
-			}
-			while ( !sorted && iterations <= maxIterations );
-
-			if ( iterations > maxIterations ) {
-				LOG.warn( "The batch containing " + latestBatches.size() + " statements could not be sorted after " + maxIterations + " iterations. " +
-								"This might indicate a circular entity relationship." );
-			}
-
-			// Now, rebuild the insertions list. There is a batch for each entry in the name list.
-			if ( sorted ) {
-				insertions.clear();
-
-				for ( BatchIdentifier rootIdentifier : latestBatches ) {
-					List<AbstractEntityInsertAction> batch = actionBatches.get( rootIdentifier );
-					insertions.addAll( batch );
-				}
-			}
-		}
-
-		/**
-		 * Add parent and child entity names so that we know how to rearrange dependencies
-		 *
-		 * @param action The action being sorted
-		 * @param batchIdentifier The batch identifier of the entity affected by the action
-		 */
-		private void addParentChildEntityNames(AbstractEntityInsertAction action, BatchIdentifier batchIdentifier) {
-			Object[] propertyValues = action.getState();
-			ClassMetadata classMetadata = action.getPersister().getClassMetadata();
-			if ( classMetadata != null ) {
-				Type[] propertyTypes = classMetadata.getPropertyTypes();
-				Type identifierType = classMetadata.getIdentifierType();
-
-				for ( int i = 0; i < propertyValues.length; i++ ) {
-					Object value = propertyValues[i];
-					if ( value != null ) {
-						Type type = propertyTypes[i];
-						addParentChildEntityNameByPropertyAndValue( action, batchIdentifier, type, value );
-					}
-				}
-
-				if ( identifierType.isComponentType() ) {
-					CompositeType compositeType = (CompositeType) identifierType;
-					Type[] compositeIdentifierTypes = compositeType.getSubtypes();
-
-					for ( Type type : compositeIdentifierTypes ) {
-						addParentChildEntityNameByPropertyAndValue( action, batchIdentifier, type, null );
-					}
-				}
-			}
-		}
-
-		private void addParentChildEntityNameByPropertyAndValue(AbstractEntityInsertAction action, BatchIdentifier batchIdentifier, Type type, Object value) {
-			if ( type.isEntityType() ) {
-				final EntityType entityType = (EntityType) type;
-				final String entityName = entityType.getName();
-				final String rootEntityName = action.getSession().getFactory().getMetamodel().entityPersister( entityName ).getRootEntityName();
-
-				if ( entityType.isOneToOne() && OneToOneType.class.cast( entityType ).getForeignKeyDirection() == ForeignKeyDirection.TO_PARENT ) {
-					if ( !entityType.isReferenceToPrimaryKey() ) {
-						batchIdentifier.getChildEntityNames().add( entityName );
-					}
-					if ( !rootEntityName.equals( entityName ) ) {
-						batchIdentifier.getChildEntityNames().add( rootEntityName );
-					}
-				}
-				else {
-					if ( !batchIdentifier.getEntityName().equals( entityName ) ) {
-						batchIdentifier.getParentEntityNames().add( entityName );
-					}
-					if ( value != null ) {
-						String valueClass = value.getClass().getName();
-						if ( !valueClass.equals( entityName ) ) {
-							batchIdentifier.getParentEntityNames().add( valueClass );
-						}
-					}
-					if ( !rootEntityName.equals( entityName ) ) {
-						batchIdentifier.getParentEntityNames().add( rootEntityName );
-					}
-				}
-			}
-			else if ( type.isCollectionType() ) {
-				CollectionType collectionType = (CollectionType) type;
-				final SessionFactoryImplementor sessionFactory = ( (SessionImplementor) action.getSession() )
-						.getSessionFactory();
-				if ( collectionType.getElementType( sessionFactory ).isEntityType() &&
-						!sessionFactory.getMetamodel().collectionPersister( collectionType.getRole() ).isManyToMany() ) {
-					String entityName = collectionType.getAssociatedEntityName( sessionFactory );
-					String rootEntityName = action.getSession().getFactory().getMetamodel().entityPersister( entityName ).getRootEntityName();
-					batchIdentifier.getChildEntityNames().add( entityName );
-					if ( !rootEntityName.equals( entityName ) ) {
-						batchIdentifier.getChildEntityNames().add( rootEntityName );
-					}
-				}
-			}
-			else if ( type.isComponentType() && value != null ) {
-				// Support recursive checks of composite type properties for associations and collections.
-				CompositeType compositeType = (CompositeType) type;
-				final SharedSessionContractImplementor session = action.getSession();
-				Object[] componentValues = compositeType.getPropertyValues( value, session );
-				for ( int j = 0; j < componentValues.length; ++j ) {
-					Type componentValueType = compositeType.getSubtypes()[j];
-					Object componentValue = componentValues[j];
-					addParentChildEntityNameByPropertyAndValue( action, batchIdentifier, componentValueType, componentValue );
-				}
+		@Override
+		public void sort(List<E> actions) {
+			if ( actions.size() < 2 ) {
+				return;
 			}
-		}
-
-		private void addToBatch(BatchIdentifier batchIdentifier, AbstractEntityInsertAction action) {
-			List<AbstractEntityInsertAction> actions = actionBatches.get( batchIdentifier );
-
-			if ( actions == null ) {
-				actions = new LinkedList<>();
-				actionBatches.put( batchIdentifier, actions );
+			final MetamodelImplementor metamodel = actions.get( 0 ).getSession().getFactory().getMetamodel();
+			// the graph is only cached by our own metamodel
+			final EntityDependencyGraph graph = metamodel instanceof MetamodelImpl
+					? ( (MetamodelImpl) metamodel ).getEntityDependencyGraph()
+					: EntityDependencyGraph.build( metamodel );
+			if ( !graph.sort( actions, states, reverse ) ) {
+				LOG.debugf(
+						"The %s actions could not be sorted because of circular entity relationships",
+						actions.size()
+				);
 			}
-			actions.add( action );
 		}
-
 	}
 
 	private abstract static class ListProvider<T extends Executable & Comparable & Serializable> {
@@ -9,11 +9,11 @@ package org.hibernate.engine.spi;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.function.Function;
 
 import org.hibernate.EntityMode;
+import org.hibernate.cache.spi.access.CachedDomainDataAccess;
 import org.hibernate.cache.spi.access.CollectionDataAccess;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.collection.spi.PersistentCollection;
@@ -51,13 +51,15 @@ public class BatchFetchQueue {
 	 * A Map structure is used to segment the keys by entity type since loading can only be done for a particular entity
 	 * type at a time.
 	 */
-	private Map <String,LinkedHashSet<EntityKey>> batchLoadableEntityKeys;
+	private Map<String, KeyRing<EntityKey, Void>> batchLoadableEntityKeys;
 
 	/**
 	 * Used to hold information about the collections that are currently eligible for batch-fetching.  Ultimately
 	 * used by {@link #getCollectionBatch} to build collection load batches.
+	 * <p/>
+	 * The collections are positioned by their {@link CollectionKey}.
 	 */
-	private Map<String, LinkedHashMap<CollectionEntry, PersistentCollection>> batchLoadableCollections;
+	private Map<String, KeyRing<CollectionEntry, PersistentCollection>> batchLoadableCollections;
 
 	/**
 	 * Constructs a queue for the given context.
@@ -138,12 +140,12 @@ public class BatchFetchQueue {
 			if ( batchLoadableEntityKeys == null ) {
 				batchLoadableEntityKeys = new HashMap<>( 12 );
 			}
-			final LinkedHashSet<EntityKey> keysForEntity = batchLoadableEntityKeys.computeIfAbsent(
+			final KeyRing<EntityKey, Void> keysForEntity = batchLoadableEntityKeys.computeIfAbsent(
 					key.getEntityName(),
-					k -> new LinkedHashSet<>( 8 )
+					k -> new KeyRing<>( false )
 			);
 
-			keysForEntity.add( key );
+			keysForEntity.add( key, null, null );
 		}
 	}
 
@@ -155,9 +157,9 @@ public class BatchFetchQueue {
 	 */
 	public void removeBatchLoadableEntityKey(EntityKey key) {
 		if ( batchLoadableEntityKeys != null && key.isBatchLoadable() ) {
-			LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( key.getEntityName() );
-			if ( set != null ) {
-				set.remove(key);
+			final KeyRing<EntityKey, Void> keysForEntity = batchLoadableEntityKeys.get( key.getEntityName() );
+			if ( keysForEntity != null ) {
+				keysForEntity.remove( key );
 			}
 		}
 	}
@@ -167,18 +169,18 @@ public class BatchFetchQueue {
 	 */
 	public boolean containsEntityKey(EntityKey key) {
 		if ( batchLoadableEntityKeys != null && key.isBatchLoadable() ) {
-			LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( key.getEntityName() );
-			if ( set != null ) {
-				return set.contains( key );
+			final KeyRing<EntityKey, Void> keysForEntity = batchLoadableEntityKeys.get( key.getEntityName() );
+			if ( keysForEntity != null ) {
+				return keysForEntity.contains( key );
 			}
 		}
 		return false;
 	}
 
 	/**
-	 * Get a batch of unloaded identifiers for this class, using a slightly
-	 * complex algorithm that tries to grab keys registered immediately after
-	 * the given key.
+	 * Get a batch of unloaded identifiers for this class: the keys registered
+	 * immediately after the given key, then those registered immediately
+	 * before it.
 	 *
 	 * @param persister The persister for the entities being loaded.
 	 * @param id The identifier of the entity currently demanding load.
@@ -198,53 +200,30 @@ public class BatchFetchQueue {
 			return ids;
 		}
 
-		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
-
 		// TODO: this needn't exclude subclasses...
 
-		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( persister.getEntityName() );
-		if ( set != null ) {
-			for ( EntityKey key : set ) {
-				if ( checkForEnd && i == end ) {
-					//the first id found after the given id
-					return ids;
-				}
-				if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
-					end = i;
-				}
-				else {
-					if ( !isCached( key, persister ) ) {
-						ids[i++] = key.getIdentifier();
-					}
-				}
-				if ( i == batchSize ) {
-					i = 1; // end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
-					}
-				}
+		final KeyRing<EntityKey, Void> keysForEntity = batchLoadableEntityKeys.get( persister.getEntityName() );
+		if ( keysForEntity != null ) {
+			// when the given key is not queued, the keys registered last are used
+			final Node<EntityKey, Void> position = keysForEntity.locate( new EntityKey( id, persister ) );
+			final SharedSessionContractImplementor session = context.getSession();
+			if ( session.getCacheMode().isGetEnabled() && persister.canReadFromCache() ) {
+				final EntityDataAccess cache = persister.getCacheAccessStrategy();
+				fillBatch(
+						ids,
+						new KeyWalk<>( keysForEntity, position ),
+						node -> node.key.getIdentifier(),
+						cache,
+						key -> cache.generateCacheKey( key, persister, session.getFactory(), session.getTenantIdentifier() )
+				);
+			}
+			else {
+				fillBatch( ids, new KeyWalk<>( keysForEntity, position ), node -> node.key.getIdentifier(), null, null );
 			}
 		}
 		return ids; //we ran out of ids to try
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
-		final SharedSessionContractImplementor session = context.getSession();
-		if ( context.getSession().getCacheMode().isGetEnabled() && persister.canReadFromCache() ) {
-			final EntityDataAccess cache = persister.getCacheAccessStrategy();
-			final Object key = cache.generateCacheKey(
-					entityKey.getIdentifier(),
-					persister,
-					session.getFactory(),
-					session.getTenantIdentifier()
-			);
-			return CacheHelper.fromSharedCache( session, key, cache ) != null;
-		}
-		return false;
-	}
-
 
 	// collection batch support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
@@ -259,12 +238,13 @@ public class BatchFetchQueue {
 			batchLoadableCollections = new HashMap<>( 12 );
 		}
 
-		final LinkedHashMap<CollectionEntry, PersistentCollection> map =  batchLoadableCollections.computeIfAbsent(
+		final KeyRing<CollectionEntry, PersistentCollection> collectionsForRole = batchLoadableCollections.computeIfAbsent(
 				persister.getRole(),
-				k -> new LinkedHashMap<>( 16 )
+				k -> new KeyRing<>( true )
 		);
 
-		map.put( ce, collection );
+		final Serializable loadedKey = ce.getLoadedKey();
+		collectionsForRole.add( ce, collection, loadedKey == null ? null : new CollectionKey( persister, loadedKey ) );
 	}
 
 	/**
@@ -276,14 +256,17 @@ public class BatchFetchQueue {
 		if ( batchLoadableCollections == null ) {
 			return;
 		}
-		LinkedHashMap<CollectionEntry, PersistentCollection> map =  batchLoadableCollections.get( ce.getLoadedPersister().getRole() );
-		if ( map != null ) {
-			map.remove( ce );
+		final KeyRing<CollectionEntry, PersistentCollection> collectionsForRole =
+				batchLoadableCollections.get( ce.getLoadedPersister().getRole() );
+		if ( collectionsForRole != null ) {
+			collectionsForRole.remove( ce );
 		}
 	}
 
 	/**
-	 * Get a batch of uninitialized collection keys for a given role
+	 * Get a batch of uninitialized collection keys for a given role: the keys
+	 * registered immediately after the given key, then those registered
+	 * immediately before it.
 	 *
 	 * @param collectionPersister The persister for the collection role.
 	 * @param id A key that must be included in the batch fetch
@@ -302,74 +285,217 @@ public class BatchFetchQueue {
 			return keys;
 		}
 
-		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
-
-		final LinkedHashMap<CollectionEntry, PersistentCollection> map =  batchLoadableCollections.get( collectionPersister.getRole() );
-		if ( map != null ) {
-			for ( Entry<CollectionEntry, PersistentCollection> me : map.entrySet() ) {
-				final CollectionEntry ce = me.getKey();
-				final PersistentCollection collection = me.getValue();
-
-				if ( ce.getLoadedKey() == null ) {
-					// the loadedKey of the collectionEntry might be null as it might have been reset to null
-					// (see for example Collections.processDereferencedCollection()
-					// and CollectionEntry.afterAction())
-					// though we clear the queue on flush, it seems like a good idea to guard
-					// against potentially null loadedKeys (which leads to various NPEs as demonstrated in HHH-7821).
-					continue;
-				}
+		final KeyRing<CollectionEntry, PersistentCollection> collectionsForRole =
+				batchLoadableCollections.get( collectionPersister.getRole() );
+		if ( collectionsForRole != null ) {
+			Node<CollectionEntry, PersistentCollection> position =
+					collectionsForRole.locate( new CollectionKey( collectionPersister, id ) );
+			if ( position != null && !isLoadedKey( id, position.key, collectionPersister ) ) {
+				// the key of the collection changed since it was queued
+				position = null;
+			}
+			final KeyWalk<CollectionEntry, PersistentCollection> walk = new KeyWalk<>( collectionsForRole, position );
+			final Function<Node<CollectionEntry, PersistentCollection>, Serializable> batchKey =
+					node -> isBatchLoadable( node, id, collectionPersister ) ? node.key.getLoadedKey() : null;
+			final SharedSessionContractImplementor session = context.getSession();
+			if ( session.getCacheMode().isGetEnabled() && collectionPersister.hasCache() ) {
+				final CollectionDataAccess cache = collectionPersister.getCacheAccessStrategy();
+				fillBatch(
+						keys,
+						walk,
+						batchKey,
+						cache,
+						key -> cache.generateCacheKey(
+								key,
+								collectionPersister,
+								session.getFactory(),
+								session.getTenantIdentifier()
+						)
+				);
+			}
+			else {
+				fillBatch( keys, walk, batchKey, null, null );
+			}
+		}
+		return keys; //we ran out of keys to try
+	}
 
-				if ( collection.wasInitialized() ) {
-					// should never happen
-					LOG.warn( "Encountered initialized collection in BatchFetchQueue, this should not happen." );
-					continue;
-				}
+	private boolean isBatchLoadable(
+			Node<CollectionEntry, PersistentCollection> node,
+			Serializable id,
+			CollectionPersister collectionPersister) {
+		final Serializable loadedKey = node.key.getLoadedKey();
+		if ( loadedKey == null ) {
+			// the loadedKey of the collectionEntry might be null as it might have been reset to null
+			// (see for example Collections.processDereferencedCollection()
+			// and CollectionEntry.afterAction())
+			// though we clear the queue on flush, it seems like a good idea to guard
+			// against potentially null loadedKeys (which leads to various NPEs as demonstrated in HHH-7821).
+			return false;
+		}
+		if ( node.value.wasInitialized() ) {
+			// should never happen
+			LOG.warn( "Encountered initialized collection in BatchFetchQueue, this should not happen." );
+			return false;
+		}
+		return !isLoadedKey( id, node.key, collectionPersister );
+	}
 
-				if ( checkForEnd && i == end ) {
-					return keys; //the first key found after the given key
-				}
+	private static boolean isLoadedKey(Serializable id, CollectionEntry ce, CollectionPersister collectionPersister) {
+		return ce.getLoadedKey() != null
+				&& collectionPersister.getKeyType().isEqual( id, ce.getLoadedKey(), collectionPersister.getFactory() );
+	}
 
-				final boolean isEqual = collectionPersister.getKeyType().isEqual(
-						id,
-						ce.getLoadedKey(),
-						collectionPersister.getFactory()
+	/**
+	 * Fills the free slots of a batch with the keys met along the given walk, leaving out those which are cached.
+	 * The candidate keys are checked against the cache by rounds, each round reading the cache once for as many
+	 * keys as there are free slots.
+	 *
+	 * @param batch The batch, the first slot of which is taken by the key demanding load
+	 * @param walk The walk through the queued keys
+	 * @param batchKey The key a queued key contributes to the batch, or {@code null} if it is not batch loadable
+	 * @param cache The cache to check the candidate keys against, or {@code null} if the cache is not to be read
+	 * @param cacheKey The cache key of a batch key
+	 */
+	private <K, V> void fillBatch(
+			Serializable[] batch,
+			KeyWalk<K, V> walk,
+			Function<Node<K, V>, Serializable> batchKey,
+			CachedDomainDataAccess cache,
+			Function<Serializable, Object> cacheKey) {
+		int i = 1;
+		Node<K, V> node = walk.next();
+		while ( node != null && i < batch.length ) {
+			final Map<Object, Serializable> candidates = new LinkedHashMap<>();
+			for ( ; node != null && candidates.size() < batch.length - i; node = walk.next() ) {
+				final Serializable key = batchKey.apply( node );
+				if ( key != null ) {
+					candidates.put( cache == null ? key : cacheKey.apply( key ), key );
+				}
+			}
+			if ( cache != null && !candidates.isEmpty() ) {
+				final Map<Object, Object> cached = CacheHelper.fromSharedCache(
+						context.getSession(),
+						candidates.keySet(),
+						cache
 				);
+				candidates.keySet().removeAll( cached.keySet() );
+			}
+			for ( Serializable key : candidates.values() ) {
+				batch[i++] = key;
+			}
+		}
+	}
 
-				if ( isEqual ) {
-					end = i;
-					//checkForEnd = false;
-				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
-					keys[i++] = ce.getLoadedKey();
-					//count++;
-				}
+	/**
+	 * The keys queued for batch fetching of an entity type or a collection role, in the order they were queued.
+	 * The keys are doubly linked and indexed, so that a batch is built by walking from the position of the key
+	 * demanding load, however many keys are queued, and so that a key is removed in constant time.
+	 */
+	private static final class KeyRing<K, V> {
+		private final Map<K, Node<K, V>> nodes = new HashMap<>();
+		private final Map<Object, Node<K, V>> positions;
+		private Node<K, V> head;
+		private Node<K, V> tail;
+
+		/**
+		 * @param positioned Whether the keys are located by a distinct position, rather than by themselves
+		 */
+		private KeyRing(boolean positioned) {
+			this.positions = positioned ? new HashMap<>() : null;
+		}
 
-				if ( i == batchSize ) {
-					i = 1; //end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
-					}
-				}
+		private void add(K key, V value, Object position) {
+			final Node<K, V> existing = nodes.get( key );
+			if ( existing != null ) {
+				existing.value = value;
+				return;
 			}
+			final Node<K, V> node = new Node<>( key, value, position );
+			nodes.put( key, node );
+			if ( positions != null && position != null ) {
+				positions.put( position, node );
+			}
+			if ( tail == null ) {
+				head = node;
+			}
+			else {
+				tail.next = node;
+				node.previous = tail;
+			}
+			tail = node;
+		}
+
+		private void remove(K key) {
+			final Node<K, V> node = nodes.remove( key );
+			if ( node == null ) {
+				return;
+			}
+			if ( positions != null && node.position != null ) {
+				positions.remove( node.position, node );
+			}
+			if ( node.previous == null ) {
+				head = node.next;
+			}
+			else {
+				node.previous.next = node.next;
+			}
+			if ( node.next == null ) {
+				tail = node.previous;
+			}
+			else {
+				node.next.previous = node.previous;
+			}
+		}
+
+		private boolean contains(K key) {
+			return nodes.containsKey( key );
+		}
+
+		private Node<K, V> locate(Object position) {
+			return positions == null ? nodes.get( position ) : positions.get( position );
 		}
-		return keys; //we ran out of keys to try
 	}
 
-	private boolean isCached(Serializable collectionKey, CollectionPersister persister) {
-		SharedSessionContractImplementor session = context.getSession();
-		if ( session.getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			CollectionDataAccess cache = persister.getCacheAccessStrategy();
-			Object cacheKey = cache.generateCacheKey(
-					collectionKey,
-					persister,
-					session.getFactory(),
-					session.getTenantIdentifier()
-			);
-			return CacheHelper.fromSharedCache( session, cacheKey, cache ) != null;
+	/**
+	 * Walks the keys of a ring following a position, then those preceding it; or, when there is no position,
+	 * the keys from the last one queued.
+	 */
+	private static final class KeyWalk<K, V> {
+		private final Node<K, V> position;
+		private Node<K, V> node;
+		private boolean forward;
+
+		private KeyWalk(KeyRing<K, V> ring, Node<K, V> position) {
+			this.position = position;
+			this.forward = position != null;
+			this.node = position == null ? ring.tail : position.next;
+		}
+
+		private Node<K, V> next() {
+			if ( node == null && forward ) {
+				forward = false;
+				node = position.previous;
+			}
+			final Node<K, V> current = node;
+			if ( current != null ) {
+				node = forward ? current.next : current.previous;
+			}
+			return current;
 		}
-		return false;
 	}
 
+	private static final class Node<K, V> {
+		private final K key;
+		private V value;
+		private final Object position;
+		private Node<K, V> previous;
+		private Node<K, V> next;
+
+		private Node(K key, V value, Object position) {
+			this.key = key;
+			this.value = value;
+			this.position = position;
+		}
+	}
 }
@@ -166,6 +166,21 @@ public interface PersistenceContext {
 	 */
 	Object getEntity(EntityKey key);
 
+	/**
+	 * Get the entity instance associated with the given identifier and persister.
+	 * <p/>
+	 * Equivalent to {@code getEntity( getSession().generateEntityKey( id, persister ) )}, but
+	 * implementations may avoid creating the {@link EntityKey}.
+	 *
+	 * @param id The entity identifier
+	 * @param persister The entity persister
+	 *
+	 * @return The matching entity, or {@code null}
+	 */
+	default Object getEntity(Serializable id, EntityPersister persister) {
+		return getEntity( getSession().generateEntityKey( id, persister ) );
+	}
+
 	/**
 	 * Is there an entity with the given key in the persistence context
 	 *
@@ -175,6 +190,21 @@ public interface PersistenceContext {
 	 */
 	boolean containsEntity(EntityKey key);
 
+	/**
+	 * Is there an entity with the given identifier and persister in the persistence context.
+	 * <p/>
+	 * Equivalent to {@code containsEntity( getSession().generateEntityKey( id, persister ) )}, but
+	 * implementations may avoid creating the {@link EntityKey}.
+	 *
+	 * @param id The entity identifier
+	 * @param persister The entity persister
+	 *
+	 * @return {@code true} indicates an entity was found; otherwise {@code false}
+	 */
+	default boolean containsEntity(Serializable id, EntityPersister persister) {
+		return containsEntity( getSession().generateEntityKey( id, persister ) );
+	}
+
 	/**
 	 * Remove an entity.  Also clears up all other state associated with the entity aside from the {@link EntityEntry}
 	 *
@@ -499,6 +529,19 @@ public interface PersistenceContext {
 	 */
 	Map.Entry<Object,EntityEntry>[] reentrantSafeEntityEntries();
 
+	/**
+	 * Apply the given action to the entity/EntityEntry combos associated with the persistence context, in a
+	 * manner that is safe from reentrant access like {@link #reentrantSafeEntityEntries}, but without requiring
+	 * a {@code Map.Entry} per entity.
+	 *
+	 * @param action The action to apply to each entity and its EntityEntry
+	 */
+	default void reentrantSafeForEachEntityEntry(BiConsumer<Object, EntityEntry> action) {
+		for ( Map.Entry<Object, EntityEntry> me : reentrantSafeEntityEntries() ) {
+			action.accept( me.getKey(), me.getValue() );
+		}
+	}
+
 	/**
 	 * Get the mapping from entity instance to entity entry
 	 *
@@ -9,6 +9,7 @@ package org.hibernate.engine.spi;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +65,7 @@ public final class QueryParameters {
 	private boolean autodiscovertypes;
 	private boolean isNaturalKeyLookup;
 	private boolean passDistinctThrough = true;
+	private int streamingDetachWindow = -1;
 
 	private final ResultTransformer resultTransformer; // why is all others non final ?
 
@@ -73,6 +75,9 @@ public final class QueryParameters {
 
 	private HQLQueryPlan queryPlan;
 
+	private Map<String, Integer> parameterListSizes = Collections.emptyMap();
+	private Map<String, TypedValue> parameterListArrays = Collections.emptyMap();
+
 	public QueryParameters() {
 		this( ArrayHelper.EMPTY_TYPE_ARRAY, ArrayHelper.EMPTY_OBJECT_ARRAY );
 	}
@@ -262,7 +267,8 @@ public final class QueryParameters {
 				optionalId,
 				resultTransformer
 		);
-
+		this.parameterListSizes = queryParameterBindings.collectParameterListSizes();
+		this.parameterListArrays = queryParameterBindings.collectParameterListArrays();
 	}
 
 	@SuppressWarnings( {"UnusedDeclaration"})
@@ -520,6 +526,20 @@ public final class QueryParameters {
 		this.passDistinctThrough = passDistinctThrough;
 	}
 
+	/**
+	 * The number of rows, preceding the current one, whose entities are kept managed while scrolling the results of
+	 * this query, or {@code -1} if the entities are never detached.
+	 *
+	 * @see org.hibernate.annotations.QueryHints#STREAMING_DETACH_WINDOW
+	 */
+	public int getStreamingDetachWindow() {
+		return streamingDetachWindow;
+	}
+
+	public void setStreamingDetachWindow(int streamingDetachWindow) {
+		this.streamingDetachWindow = streamingDetachWindow;
+	}
+
 	public void processFilters(String sql, SharedSessionContractImplementor session) {
 		processFilters( sql, session.getLoadQueryInfluencers().getEnabledFilters(), session.getFactory() );
 	}
@@ -654,6 +674,9 @@ public final class QueryParameters {
 		copy.processedPositionalParameterTypes = this.processedPositionalParameterTypes;
 		copy.processedPositionalParameterValues = this.processedPositionalParameterValues;
 		copy.passDistinctThrough = this.passDistinctThrough;
+		copy.streamingDetachWindow = this.streamingDetachWindow;
+		copy.parameterListSizes = this.parameterListSizes;
+		copy.parameterListArrays = this.parameterListArrays;
 		return copy;
 	}
 
@@ -665,6 +688,33 @@ public final class QueryParameters {
 		this.queryPlan = queryPlan;
 	}
 
+	/**
+	 * The number of values of the list-valued named parameters whose bind parameter is expanded in the SQL of the
+	 * query, by parameter name.
+	 *
+	 * @see org.hibernate.query.spi.QueryParameterBindings#collectParameterListSizes()
+	 */
+	public Map<String, Integer> getParameterListSizes() {
+		return parameterListSizes;
+	}
+
+	public void setParameterListSizes(Map<String, Integer> parameterListSizes) {
+		this.parameterListSizes = parameterListSizes;
+	}
+
+	/**
+	 * The values of the list-valued named parameters bound as a single array parameter, by parameter name.
+	 *
+	 * @see org.hibernate.query.spi.QueryParameterBindings#collectParameterListArrays()
+	 */
+	public Map<String, TypedValue> getParameterListArrays() {
+		return parameterListArrays;
+	}
+
+	public void setParameterListArrays(Map<String, TypedValue> parameterListArrays) {
+		this.parameterListArrays = parameterListArrays;
+	}
+
 	public void bindDynamicParameter(Type paramType, Object paramValue) {
 		if(processedPositionalParameterTypes != null) {
 			int length = processedPositionalParameterTypes.length;
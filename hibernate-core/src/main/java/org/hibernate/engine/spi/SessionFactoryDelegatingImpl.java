@@ -250,6 +250,11 @@ public class SessionFactoryDelegatingImpl implements SessionFactoryImplementor,
 		return delegate.getSqlStringGenerationContext();
 	}
 
+	@Override
+	public Set<String> getQuerySpacesSharedByTenants() {
+		return delegate.getQuerySpacesSharedByTenants();
+	}
+
 	@Override
 	public Dialect getDialect() {
 		return delegate.getDialect();
@@ -7,6 +7,7 @@
 package org.hibernate.engine.spi;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -301,6 +302,16 @@ public interface SessionFactoryImplementor extends Mapping, SessionFactory, Quer
 
 	SqlStringGenerationContext getSqlStringGenerationContext();
 
+	/**
+	 * The query spaces whose changes invalidate the cached query results of all the tenants when the query cache
+	 * is partitioned by tenant.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_PARTITION_BY_TENANT
+	 */
+	default Set<String> getQuerySpacesSharedByTenants() {
+		return Collections.emptySet();
+	}
+
 	/**
 	 * Retrieves the SQLExceptionConverter in effect for this SessionFactory.
 	 *
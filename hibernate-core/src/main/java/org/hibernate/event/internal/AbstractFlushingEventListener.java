@@ -8,7 +8,6 @@ package org.hibernate.event.internal;
 
 import java.io.Serializable;
 import java.util.IdentityHashMap;
-import java.util.Map;
 
 import org.hibernate.HibernateException;
 import org.hibernate.Interceptor;
@@ -140,15 +139,13 @@ public abstract class AbstractFlushingEventListener implements JpaBootstrapSensi
 		LOG.debug( "Processing flush-time cascades" );
 
 		final Object anything = getAnything();
-		//safe from concurrent modification because of how concurrentEntries() is implemented on IdentityMap
-		for ( Map.Entry<Object,EntityEntry> me : persistenceContext.reentrantSafeEntityEntries() ) {
-//		for ( Map.Entry me : IdentityMap.concurrentEntries( persistenceContext.getEntityEntries() ) ) {
-			EntityEntry entry = (EntityEntry) me.getValue();
+		//safe from concurrent modification because of how reentrantSafeForEachEntityEntry() is implemented
+		persistenceContext.reentrantSafeForEachEntityEntry( (entity, entry) -> {
 			Status status = entry.getStatus();
 			if ( status == Status.MANAGED || status == Status.SAVING || status == Status.READ_ONLY ) {
-				cascadeOnFlush( session, entry.getPersister(), me.getKey(), anything );
+				cascadeOnFlush( session, entry.getPersister(), entity, anything );
 			}
-		}
+		} );
 	}
 
 	private void cascadeOnFlush(EventSource session, EntityPersister persister, Object object, Object anything)
@@ -215,26 +212,51 @@ public abstract class AbstractFlushingEventListener implements JpaBootstrapSensi
 
 		// So this needs to be safe from concurrent modification problems.
 
-		final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
-		final int count = entityEntries.length;
-
-		for ( Map.Entry<Object,EntityEntry> me : entityEntries ) {
-			// Update the status of the object and if necessary, schedule an update
-
-			EntityEntry entry = me.getValue();
-			Status status = entry.getStatus();
-
-			if ( status != Status.LOADING && status != Status.GONE ) {
-				final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
-				flushListeners.fireEventOnEachListener( entityEvent, FlushEntityEventListener::onFlushEntity );
+		// the iteration is over a snapshot, taken when it starts, of the entities and their entries
+		final int count = persistenceContext.getNumberOfManagedEntities();
+
+		final int parallelDirtyCheckingThreshold = source.getFactory()
+				.getSessionFactoryOptions()
+				.getParallelDirtyCheckingThreshold();
+		if ( parallelDirtyCheckingThreshold > 0
+				&& count >= parallelDirtyCheckingThreshold
+				&& ParallelDirtyChecker.isApplicable( source, flushListeners ) ) {
+			final ParallelDirtyChecker.Snapshot snapshot = new ParallelDirtyChecker.Snapshot( count );
+			persistenceContext.reentrantSafeForEachEntityEntry( snapshot );
+			// entities known to be unchanged need no flush at all
+			final boolean[] unchanged = ParallelDirtyChecker.findUnchanged( snapshot, source, flushListeners );
+			for ( int i = 0; i < snapshot.size(); i++ ) {
+				if ( !unchanged[i] ) {
+					flushEntity( source, flushListeners, snapshot.getEntity( i ), snapshot.getEntityEntry( i ) );
+				}
 			}
 		}
+		else {
+			persistenceContext.reentrantSafeForEachEntityEntry(
+					(entity, entry) -> flushEntity( source, flushListeners, entity, entry )
+			);
+		}
 
 		source.getActionQueue().sortActions();
 
 		return count;
 	}
 
+	private void flushEntity(
+			EventSource source,
+			EventListenerGroup<FlushEntityEventListener> flushListeners,
+			Object entity,
+			EntityEntry entry) {
+		// Update the status of the object and if necessary, schedule an update
+
+		Status status = entry.getStatus();
+
+		if ( status != Status.LOADING && status != Status.GONE ) {
+			final FlushEntityEvent entityEvent = new FlushEntityEvent( source, entity, entry );
+			flushListeners.fireEventOnEachListener( entityEvent, FlushEntityEventListener::onFlushEntity );
+		}
+	}
+
 	/**
 	 * process any unreferenced collections and then inspect all known collections,
 	 * scheduling creates/removes/updates
@@ -33,6 +33,7 @@ import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.jpa.event.spi.CallbackRegistry;
 import org.hibernate.jpa.event.spi.CallbackRegistryConsumer;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.type.Type;
@@ -242,7 +243,8 @@ public abstract class AbstractSaveEventListener
 		Serializable id = key == null ? null : key.getIdentifier();
 
 		boolean inTrx = source.isTransactionInProgress();
-		boolean shouldDelayIdentityInserts = !inTrx && !requiresImmediateIdAccess;
+		boolean shouldDelayIdentityInserts = !requiresImmediateIdAccess
+				&& ( !inTrx || useIdentityColumn && isIdentityInsertBatchable( persister, source ) );
 		final PersistenceContext persistenceContext = source.getPersistenceContextInternal();
 
 		// Put a placeholder in entries, so we don't recurse back and try to save() the
@@ -315,6 +317,17 @@ public abstract class AbstractSaveEventListener
 		return id;
 	}
 
+	/**
+	 * Can the insert of an entity with an IDENTITY id be delayed until the flush, to be batched?
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 */
+	private static boolean isIdentityInsertBatchable(EntityPersister persister, EventSource source) {
+		return source.getFactory().getSessionFactoryOptions().isIdentityInsertBatchingEnabled()
+				&& persister instanceof AbstractEntityPersister
+				&& ( (AbstractEntityPersister) persister ).isIdentityInsertBatchable();
+	}
+
 	private AbstractEntityInsertAction addInsertAction(
 			Object[] values,
 			Serializable id,
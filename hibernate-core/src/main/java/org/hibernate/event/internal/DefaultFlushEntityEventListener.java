@@ -36,6 +36,7 @@ import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jpa.event.spi.CallbackRegistry;
 import org.hibernate.jpa.event.spi.CallbackRegistryConsumer;
+import org.hibernate.jpa.event.spi.CallbackType;
 import org.hibernate.metadata.ClassMetadata;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
@@ -57,6 +58,13 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		this.callbackRegistry = callbackRegistry;
 	}
 
+	/**
+	 * Might the flush of an entity of this persister run a JPA {@code @PreUpdate} callback?
+	 */
+	boolean hasPreUpdateCallbacks(EntityPersister persister) {
+		return callbackRegistry.hasRegisteredCallbacks( persister.getMappedClass(), CallbackType.PRE_UPDATE );
+	}
+
 	/**
 	 * make sure user didn't mangle the id
 	 */
@@ -0,0 +1,290 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.event.internal;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.action.internal.DelayedPostInsertIdentifier;
+import org.hibernate.boot.internal.DefaultCustomEntityDirtinessStrategy;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.service.spi.EventListenerGroup;
+import org.hibernate.event.spi.FlushEntityEventListener;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
+
+/**
+ * Runs the "pure" part of the flush-time dirty checking, comparing the current state of the managed entities
+ * with their loaded state, on the {@link ForkJoinPool#commonPool() common pool}.
+ * <p/>
+ * The outcome is the set of entities which are provably unchanged, and for which
+ * {@link DefaultFlushEntityEventListener#onFlushEntity} would have no effect; everything else (scheduling
+ * updates, wrapping and visiting collections, interceptors, callbacks) still happens on the flushing thread.
+ * <p/>
+ * To stay side-effect free, an entity is only checked in parallel when it is {@link Status#MANAGED}, has a
+ * loaded state, is not bytecode enhanced, and when its persister has no collection, no natural id, no
+ * association and no composite identifier.  The session must use no {@link org.hibernate.Interceptor},
+ * the default {@link org.hibernate.CustomEntityDirtinessStrategy} and only the default flush entity listener.
+ * Since a JPA {@code @PreUpdate} callback may modify any other entity of the session, including one already
+ * found unchanged, nothing is checked in parallel as soon as one of the flushed entities has such a callback.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#PARALLEL_DIRTY_CHECKING_THRESHOLD
+ */
+final class ParallelDirtyChecker {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( ParallelDirtyChecker.class );
+
+	// entities checked by a single fork/join task
+	private static final int CHUNK_SIZE = 512;
+
+	private ParallelDirtyChecker() {
+	}
+
+	/**
+	 * Can the dirty checking of this session be parallelized at all?
+	 */
+	static boolean isApplicable(
+			SessionImplementor session,
+			EventListenerGroup<FlushEntityEventListener> flushListeners) {
+		if ( session.getInterceptor() != EmptyInterceptor.INSTANCE ) {
+			return false;
+		}
+		if ( session.getFactory().getCustomEntityDirtinessStrategy() != DefaultCustomEntityDirtinessStrategy.INSTANCE ) {
+			return false;
+		}
+		for ( FlushEntityEventListener listener : flushListeners.listeners() ) {
+			if ( listener.getClass() != DefaultFlushEntityEventListener.class ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determine which of the given entities are unchanged.
+	 *
+	 * @param snapshot The (reentrant-safe) entities and EntityEntry instances about to be flushed
+	 * @param session The flushing session
+	 * @param flushListeners The flush entity listeners, all known to be {@link DefaultFlushEntityEventListener}
+	 *
+	 * @return An array parallel to the entities of the {@code snapshot}, where {@code true} marks an entity
+	 * known to be unchanged
+	 */
+	static boolean[] findUnchanged(
+			Snapshot snapshot,
+			SessionImplementor session,
+			EventListenerGroup<FlushEntityEventListener> flushListeners) {
+		final Object[] entities = snapshot.entities;
+		final EntityEntry[] entityEntries = snapshot.entityEntries;
+		final int size = snapshot.size;
+		final boolean[] candidates = new boolean[size];
+		final IdentityHashMap<EntityPersister, Boolean> eligiblePersisters = new IdentityHashMap<>();
+		final IdentityHashMap<EntityPersister, Boolean> callbackPersisters = new IdentityHashMap<>();
+		int candidateCount = 0;
+		for ( int i = 0; i < size; i++ ) {
+			final Object entity = entities[i];
+			final EntityEntry entry = entityEntries[i];
+			if ( callbackPersisters.computeIfAbsent(
+					entry.getPersister(),
+					persister -> hasPreUpdateCallbacks( persister, flushListeners )
+			) ) {
+				LOG.debugf(
+						"Entity %s has @PreUpdate callbacks, skipping parallel dirty checking",
+						entry.getPersister().getEntityName()
+				);
+				return new boolean[size];
+			}
+			if ( entry.getStatus() == Status.MANAGED
+					&& entry.getLoadedState() != null
+					&& !( entity instanceof PersistentAttributeInterceptable )
+					&& !( entity instanceof SelfDirtinessTracker )
+					&& entry.requiresDirtyCheck( entity )
+					&& eligiblePersisters.computeIfAbsent( entry.getPersister(), ParallelDirtyChecker::isEligible ) ) {
+				candidates[i] = true;
+				candidateCount++;
+			}
+		}
+
+		final boolean[] unchanged = new boolean[size];
+		if ( candidateCount > 0 ) {
+			ForkJoinPool.commonPool().invoke(
+					new DirtyCheckTask( entities, entityEntries, candidates, unchanged, session, 0, size )
+			);
+		}
+		if ( LOG.isDebugEnabled() ) {
+			int unchangedCount = 0;
+			for ( boolean b : unchanged ) {
+				if ( b ) {
+					unchangedCount++;
+				}
+			}
+			LOG.debugf(
+					"Parallel dirty checking of %s out of %s entities found %s unchanged",
+					candidateCount,
+					size,
+					unchangedCount
+			);
+		}
+		return unchanged;
+	}
+
+	private static boolean hasPreUpdateCallbacks(
+			EntityPersister persister,
+			EventListenerGroup<FlushEntityEventListener> flushListeners) {
+		for ( FlushEntityEventListener listener : flushListeners.listeners() ) {
+			if ( ( (DefaultFlushEntityEventListener) listener ).hasPreUpdateCallbacks( persister ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isEligible(EntityPersister persister) {
+		if ( persister.hasCollections()
+				|| persister.hasNaturalIdentifier()
+				|| persister.getIdentifierType().isComponentType() ) {
+			return false;
+		}
+		for ( Type type : persister.getPropertyTypes() ) {
+			if ( !isSelfContained( type ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Does the dirty checking of this type only involve the values themselves?
+	 */
+	private static boolean isSelfContained(Type type) {
+		if ( type.isAssociationType() || type.isCollectionType() ) {
+			return false;
+		}
+		if ( type.isComponentType() ) {
+			for ( Type subtype : ( (CompositeType) type ).getSubtypes() ) {
+				if ( !isSelfContained( subtype ) ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean isUnchanged(Object entity, EntityEntry entry, SessionImplementor session) {
+		final EntityPersister persister = entry.getPersister();
+		final Serializable id = entry.getId();
+		if ( persister.canExtractIdOutOfEntity() && !( id instanceof DelayedPostInsertIdentifier ) ) {
+			// an altered identifier must be reported by the flush itself
+			if ( id == null
+					|| !persister.getIdentifierType().isEqual( id, persister.getIdentifier( entity, session ), session.getFactory() ) ) {
+				return false;
+			}
+		}
+		final Object[] values = persister.getPropertyValues( entity );
+		return persister.findDirty( values, entry.getLoadedState(), entity, session ) == null;
+	}
+
+	/**
+	 * The entities of a persistence context and their EntityEntry instances, as two parallel arrays.
+	 */
+	static final class Snapshot implements BiConsumer<Object, EntityEntry> {
+		private Object[] entities;
+		private EntityEntry[] entityEntries;
+		private int size;
+
+		Snapshot(int expectedSize) {
+			this.entities = new Object[expectedSize];
+			this.entityEntries = new EntityEntry[expectedSize];
+		}
+
+		@Override
+		public void accept(Object entity, EntityEntry entityEntry) {
+			if ( size == entities.length ) {
+				final int capacity = Math.max( 16, size * 2 );
+				entities = Arrays.copyOf( entities, capacity );
+				entityEntries = Arrays.copyOf( entityEntries, capacity );
+			}
+			entities[size] = entity;
+			entityEntries[size] = entityEntry;
+			size++;
+		}
+
+		int size() {
+			return size;
+		}
+
+		Object getEntity(int index) {
+			return entities[index];
+		}
+
+		EntityEntry getEntityEntry(int index) {
+			return entityEntries[index];
+		}
+	}
+
+	private static class DirtyCheckTask extends RecursiveAction {
+		private final Object[] entities;
+		private final EntityEntry[] entityEntries;
+		private final boolean[] candidates;
+		private final boolean[] unchanged;
+		private final SessionImplementor session;
+		private final int from;
+		private final int to;
+
+		private DirtyCheckTask(
+				Object[] entities,
+				EntityEntry[] entityEntries,
+				boolean[] candidates,
+				boolean[] unchanged,
+				SessionImplementor session,
+				int from,
+				int to) {
+			this.entities = entities;
+			this.entityEntries = entityEntries;
+			this.candidates = candidates;
+			this.unchanged = unchanged;
+			this.session = session;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if ( to - from > CHUNK_SIZE ) {
+				final int middle = ( from + to ) >>> 1;
+				invokeAll(
+						new DirtyCheckTask( entities, entityEntries, candidates, unchanged, session, from, middle ),
+						new DirtyCheckTask( entities, entityEntries, candidates, unchanged, session, middle, to )
+				);
+			}
+			else {
+				for ( int i = from; i < to; i++ ) {
+					if ( candidates[i] ) {
+						try {
+							unchanged[i] = isUnchanged( entities[i], entityEntries[i], session );
+						}
+						catch (RuntimeException e) {
+							// leave it to the flush, which will report the problem properly
+							unchanged[i] = false;
+						}
+					}
+				}
+			}
+		}
+	}
+}
@@ -8,23 +8,27 @@ package org.hibernate.hql.internal.ast;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
 import org.hibernate.QueryException;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.query.spi.EntityGraphQueryHint;
 import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.RowSelection;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.TypedValue;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.hql.internal.QueryExecutionRequestException;
 import org.hibernate.hql.internal.antlr.HqlSqlTokenTypes;
@@ -43,6 +47,7 @@ import org.hibernate.hql.internal.ast.tree.QueryNode;
 import org.hibernate.hql.internal.ast.tree.Statement;
 import org.hibernate.hql.internal.ast.util.ASTUtil;
 import org.hibernate.hql.internal.ast.util.NodeTraverser;
+import org.hibernate.hql.internal.ast.util.ParameterListMarkers;
 import org.hibernate.hql.internal.ast.util.TokenPrinters;
 import org.hibernate.hql.spi.FilterTranslator;
 import org.hibernate.hql.spi.ParameterTranslations;
@@ -74,6 +79,8 @@ public class QueryTranslatorImpl implements FilterTranslator {
 			QueryTranslatorImpl.class.getName()
 	);
 
+	private static final int MAX_EXPANDED_SQL_STRINGS = 64;
+
 	private SessionFactoryImplementor factory;
 
 	private final String queryIdentifier;
@@ -90,6 +97,8 @@ public class QueryTranslatorImpl implements FilterTranslator {
 
 	private Statement sqlAst;
 	private String sql;
+	private String sqlTemplate;
+	private Map<List<Map<String, ?>>, String> expandedSqlStrings;
 
 	private ParameterTranslations paramTranslations;
 	private List<ParameterSpecification> collectedParameterSpecifications;
@@ -252,8 +261,17 @@ public class QueryTranslatorImpl implements FilterTranslator {
 	private void generate(AST sqlAst) throws QueryException, RecognitionException {
 		if ( sql == null ) {
 			final SqlGenerator gen = new SqlGenerator( factory );
+			gen.setParameterListMarkersEnabled(
+					factory.getSessionFactoryOptions().inClauseParameterPlanSharingEnabled()
+							|| factory.getSessionFactoryOptions().inClauseParameterArrayBindingEnabled()
+			);
 			gen.statement( sqlAst );
 			sql = gen.getSQL();
+			if ( ParameterListMarkers.hasMarkers( sql ) ) {
+				sqlTemplate = sql;
+				expandedSqlStrings = new ConcurrentHashMap<>();
+				sql = ParameterListMarkers.removeMarkers( sqlTemplate );
+			}
 			if ( LOG.isDebugEnabled() ) {
 				LOG.debugf( "HQL: %s", hql );
 				LOG.debugf( "SQL: %s", sql );
@@ -481,6 +499,51 @@ public class QueryTranslatorImpl implements FilterTranslator {
 	public String getSQLString() {
 		return sql;
 	}
+
+	/**
+	 * The SQL query string to be called, with the bind parameters of the list-valued parameters of the given query
+	 * parameters expanded.
+	 *
+	 * @see QueryParameters#getParameterListSizes()
+	 * @see QueryParameters#getParameterListArrays()
+	 */
+	public String getSQLString(QueryParameters queryParameters) {
+		final Map<String, Integer> parameterListSizes = queryParameters.getParameterListSizes();
+		final Map<String, TypedValue> parameterListArrays = queryParameters.getParameterListArrays();
+		if ( sqlTemplate == null || parameterListSizes.isEmpty() && parameterListArrays.isEmpty() ) {
+			return sql;
+		}
+
+		final Map<String, String> arrayInListSubqueries;
+		if ( parameterListArrays.isEmpty() ) {
+			arrayInListSubqueries = Collections.emptyMap();
+		}
+		else {
+			final Dialect dialect = factory.getJdbcServices().getDialect();
+			arrayInListSubqueries = new HashMap<>();
+			for ( Map.Entry<String, TypedValue> entry : parameterListArrays.entrySet() ) {
+				final int elementTypeCode = entry.getValue().getType().sqlTypes( factory )[0];
+				arrayInListSubqueries.put(
+						entry.getKey(),
+						dialect.getArrayInListSubquery( dialect.getArrayElementTypeName( elementTypeCode ) )
+				);
+			}
+		}
+
+		final List<Map<String, ?>> key = Arrays.asList( parameterListSizes, arrayInListSubqueries );
+		String expandedSql = expandedSqlStrings.get( key );
+		if ( expandedSql == null ) {
+			expandedSql = ParameterListMarkers.expand( sqlTemplate, parameterListSizes, arrayInListSubqueries );
+			// with padding, the number of distinct sizes stays small; without it, stop memoising at some point
+			if ( expandedSqlStrings.size() < MAX_EXPANDED_SQL_STRINGS ) {
+				expandedSqlStrings.put(
+						Arrays.asList( new HashMap<>( parameterListSizes ), arrayInListSubqueries ),
+						expandedSql
+				);
+			}
+		}
+		return expandedSql;
+	}
 	@Override
 	public List<String> collectSqlStrings() {
 		ArrayList<String> list = new ArrayList<String>();
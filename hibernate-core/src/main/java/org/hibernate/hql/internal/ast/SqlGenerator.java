@@ -22,11 +22,13 @@ import org.hibernate.hql.internal.ast.tree.FunctionNode;
 import org.hibernate.hql.internal.ast.tree.Node;
 import org.hibernate.hql.internal.ast.tree.ParameterContainer;
 import org.hibernate.hql.internal.ast.tree.ParameterNode;
+import org.hibernate.hql.internal.ast.util.ParameterListMarkers;
 import org.hibernate.hql.internal.ast.util.TokenPrinters;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
+import org.hibernate.param.NamedParameterSpecification;
 import org.hibernate.param.ParameterSpecification;
 import org.hibernate.type.Type;
 
@@ -58,6 +60,7 @@ public class SqlGenerator extends SqlGeneratorBase implements ErrorReporter {
 	private SessionFactoryImplementor sessionFactory;
 	private LinkedList<SqlWriter> outputStack = new LinkedList<SqlWriter>();
 	private List<ParameterSpecification> collectedParameters = new ArrayList<ParameterSpecification>();
+	private boolean parameterListMarkersEnabled;
 
 
 	// handle trace logging ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -99,6 +102,16 @@ public class SqlGenerator extends SqlGeneratorBase implements ErrorReporter {
 		return collectedParameters;
 	}
 
+	/**
+	 * Should the single-column bind parameters of named parameters be marked, so that they can be expanded into a
+	 * list of bind parameters afterwards?
+	 *
+	 * @see ParameterListMarkers
+	 */
+	public void setParameterListMarkersEnabled(boolean parameterListMarkersEnabled) {
+		this.parameterListMarkersEnabled = parameterListMarkersEnabled;
+	}
+
 	@Override
 	protected void out(String s) {
 		if ( exprs.size() > 1 ) {
@@ -112,7 +125,16 @@ public class SqlGenerator extends SqlGeneratorBase implements ErrorReporter {
 	@Override
 	protected void out(AST n) {
 		if ( n instanceof Node ) {
-			out( ( (Node) n ).getRenderText( sessionFactory ) );
+			final String renderText = ( (Node) n ).getRenderText( sessionFactory );
+			if ( parameterListMarkersEnabled && n instanceof ParameterNode && "?".equals( renderText )
+					&& ( (ParameterNode) n ).getHqlParameterSpecification() instanceof NamedParameterSpecification ) {
+				final NamedParameterSpecification specification =
+						(NamedParameterSpecification) ( (ParameterNode) n ).getHqlParameterSpecification();
+				out( ParameterListMarkers.mark( specification.getName() ) );
+			}
+			else {
+				out( renderText );
+			}
 		}
 		else {
 			super.out( n );
@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.hql.internal.ast.util;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.hibernate.internal.util.StringHelper;
+
+/**
+ * Marks the bind parameters of named parameters in the generated SQL, so that the bind parameter of a list-valued
+ * parameter can be expanded once the number of its values is known.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#IN_CLAUSE_PARAMETER_PLAN_SHARING
+ */
+public final class ParameterListMarkers {
+	private static final char DELIMITER = '\u0000';
+
+	private ParameterListMarkers() {
+	}
+
+	/**
+	 * Render the marked bind parameter of the given named parameter.
+	 */
+	public static String mark(String name) {
+		return "?" + DELIMITER + name + DELIMITER;
+	}
+
+	public static boolean hasMarkers(String sql) {
+		return sql.indexOf( DELIMITER ) >= 0;
+	}
+
+	/**
+	 * Remove the markers, leaving a single bind parameter per named parameter.
+	 */
+	public static String removeMarkers(String sql) {
+		return expand( sql, Collections.emptyMap(), Collections.emptyMap() );
+	}
+
+	/**
+	 * Remove the markers, repeating the bind parameter of the named parameters of the first map as many times as their
+	 * number of values, and replacing the bind parameter of the named parameters of the second map, bound as an array,
+	 * with the given subquery.
+	 */
+	public static String expand(
+			String sql,
+			Map<String, Integer> parameterListSizes,
+			Map<String, String> arrayInListSubqueries) {
+		final StringBuilder buffer = new StringBuilder( sql.length() );
+		int from = 0;
+		int start;
+		while ( ( start = sql.indexOf( DELIMITER, from ) ) >= 0 ) {
+			final int end = sql.indexOf( DELIMITER, start + 1 );
+			final String name = sql.substring( start + 1, end );
+			// the marker follows the '?' of the bind parameter
+			buffer.append( sql, from, start );
+			final String arrayInListSubquery = arrayInListSubqueries.get( name );
+			final Integer size = parameterListSizes.get( name );
+			if ( arrayInListSubquery != null ) {
+				buffer.setLength( buffer.length() - 1 );
+				buffer.append( arrayInListSubquery );
+			}
+			else if ( size != null && size > 1 ) {
+				final boolean enclosedInParens =
+						StringHelper.getLastNonWhitespaceCharacter( sql.substring( 0, start - 1 ) ) == '('
+								&& StringHelper.getFirstNonWhitespaceCharacter( sql.substring( end + 1 ) ) == ')';
+				if ( !enclosedInParens ) {
+					buffer.insert( buffer.length() - 1, '(' );
+				}
+				for ( int i = 1; i < size; i++ ) {
+					buffer.append( ", ?" );
+				}
+				if ( !enclosedInParens ) {
+					buffer.append( ')' );
+				}
+			}
+			from = end + 1;
+		}
+		buffer.append( sql, from, sql.length() );
+		return buffer.toString();
+	}
+}
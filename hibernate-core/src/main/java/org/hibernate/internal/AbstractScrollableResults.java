@@ -12,17 +12,30 @@ import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
 import org.hibernate.HibernateException;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.internal.EvictVisitor;
+import org.hibernate.event.spi.EventSource;
 import org.hibernate.hql.internal.HolderInstantiator;
 import org.hibernate.loader.Loader;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.query.spi.ScrollableResultsImplementor;
 import org.hibernate.type.StandardBasicTypes;
 import org.hibernate.type.Type;
@@ -44,6 +57,11 @@ public abstract class AbstractScrollableResults implements ScrollableResultsImpl
 	private HolderInstantiator holderInstantiator;
 	private boolean closed;
 
+	private final int streamingDetachWindow;
+	private ArrayDeque<StreamedRow> streamedRows;
+	// the number of references to each entity, or uninitialized proxy, from the rows of the window
+	private IdentityHashMap<Object, Integer> referenceCounts;
+
 	protected AbstractScrollableResults(
 			ResultSet rs,
 			PreparedStatement ps,
@@ -61,6 +79,10 @@ public abstract class AbstractScrollableResults implements ScrollableResultsImpl
 		this.holderInstantiator = holderInstantiator != null && holderInstantiator.isRequired()
 				? holderInstantiator
 				: null;
+		// a stateless session does not keep the loaded entities anyway
+		this.streamingDetachWindow = queryParameters != null && sess instanceof EventSource
+				? queryParameters.getStreamingDetachWindow()
+				: -1;
 	}
 
 	protected abstract Object[] getCurrentRow();
@@ -93,6 +115,184 @@ public abstract class AbstractScrollableResults implements ScrollableResultsImpl
 		return holderInstantiator;
 	}
 
+	/**
+	 * Detach the entities of the rows which fall out of the
+	 * {@link QueryParameters#getStreamingDetachWindow() streaming detach window} before reading the next row.
+	 * <p/>
+	 * Only the entities hydrated by this scroll are detached, and an entity still referenced by a row of the
+	 * window is kept until that row falls out of the window as well.  The uninitialized proxies referenced by the
+	 * detached entities, and by no row of the window, are removed from the persistence context, along with their
+	 * batch fetch keys.
+	 *
+	 * @return The list to collect the entities hydrated from the next row into, or {@code null} if the entities
+	 * are not detached while scrolling
+	 */
+	protected List<Object> beforeNextStreamedRow() {
+		if ( streamingDetachWindow < 0 ) {
+			return null;
+		}
+		if ( streamedRows == null ) {
+			streamedRows = new ArrayDeque<>();
+			referenceCounts = new IdentityHashMap<>();
+		}
+		else if ( !streamedRows.isEmpty() ) {
+			completeRow( streamedRows.getLast(), getCurrentRow() );
+		}
+		if ( streamedRows.size() > streamingDetachWindow ) {
+			final List<Object> outOfWindowEntities = new ArrayList<>();
+			while ( streamedRows.size() > streamingDetachWindow ) {
+				final StreamedRow row = streamedRows.removeFirst();
+				removeReferences( row );
+				outOfWindowEntities.addAll( row.hydratedEntities );
+			}
+			if ( !streamedRows.isEmpty() ) {
+				keepReferencedEntities( outOfWindowEntities, streamedRows.getLast() );
+			}
+			detach( outOfWindowEntities );
+		}
+		final StreamedRow row = new StreamedRow();
+		streamedRows.addLast( row );
+		return row.hydratedEntities;
+	}
+
+	/**
+	 * Count the references of a row, once read: the entities it returns, and those referenced by the to-one
+	 * associations of the entities it hydrated.
+	 */
+	private void completeRow(StreamedRow row, Object[] values) {
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		for ( Object value : values ) {
+			if ( value instanceof HibernateProxy || value != null && persistenceContext.isEntryFor( value ) ) {
+				addReference( row, value );
+			}
+		}
+		for ( Object entity : row.hydratedEntities ) {
+			addLoadedStateReferences( row, entity );
+		}
+	}
+
+	private void addLoadedStateReferences(StreamedRow row, Object entity) {
+		final EntityEntry entry = session.getPersistenceContextInternal().getEntry( entity );
+		if ( entry != null && entry.getLoadedState() != null ) {
+			final Object[] loadedState = entry.getLoadedState();
+			final Type[] propertyTypes = entry.getPersister().getPropertyTypes();
+			for ( int i = 0; i < propertyTypes.length; i++ ) {
+				if ( propertyTypes[i].isEntityType() ) {
+					addReference( row, loadedState[i] );
+				}
+			}
+		}
+	}
+
+	private void addReference(StreamedRow row, Object value) {
+		Object reference = value;
+		if ( value instanceof HibernateProxy ) {
+			final LazyInitializer lazyInitializer = ( (HibernateProxy) value ).getHibernateLazyInitializer();
+			if ( !lazyInitializer.isUninitialized() ) {
+				reference = lazyInitializer.getImplementation();
+			}
+		}
+		if ( reference != null ) {
+			row.references.add( reference );
+			referenceCounts.merge( reference, 1, Integer::sum );
+		}
+	}
+
+	private void removeReferences(StreamedRow row) {
+		for ( Object reference : row.references ) {
+			referenceCounts.computeIfPresent( reference, (key, count) -> count == 1 ? null : count - 1 );
+		}
+	}
+
+	/**
+	 * Move the entities still referenced by a row of the window to its last row, including the entities only
+	 * referenced by the entities moved.
+	 */
+	private void keepReferencedEntities(List<Object> entities, StreamedRow lastRow) {
+		boolean kept;
+		do {
+			kept = false;
+			final Iterator<Object> iterator = entities.iterator();
+			while ( iterator.hasNext() ) {
+				final Object entity = iterator.next();
+				if ( referenceCounts.containsKey( entity ) ) {
+					iterator.remove();
+					lastRow.hydratedEntities.add( entity );
+					addLoadedStateReferences( lastRow, entity );
+					kept = true;
+				}
+			}
+		} while ( kept );
+	}
+
+	private void detach(List<Object> entities) {
+		final List<HibernateProxy> proxies = new ArrayList<>();
+		for ( Object entity : entities ) {
+			detach( entity, proxies );
+		}
+		for ( HibernateProxy proxy : proxies ) {
+			if ( !referenceCounts.containsKey( proxy ) ) {
+				removeProxy( proxy );
+			}
+		}
+	}
+
+	/**
+	 * Remove the entity from the persistence context, as {@link org.hibernate.Session#evict} does, but without
+	 * cascading to its associations.
+	 *
+	 * @param proxies The list to collect the uninitialized proxies referenced by the entity into
+	 */
+	private void detach(Object entity, List<HibernateProxy> proxies) {
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		final EntityEntry entry = persistenceContext.getEntry( entity );
+		if ( entry == null ) {
+			// already detached by the application
+			return;
+		}
+		final EntityPersister persister = entry.getPersister();
+		final Object[] loadedState = entry.getLoadedState();
+		if ( loadedState != null ) {
+			for ( Object value : loadedState ) {
+				if ( value instanceof HibernateProxy
+						&& ( (HibernateProxy) value ).getHibernateLazyInitializer().isUninitialized() ) {
+					proxies.add( (HibernateProxy) value );
+				}
+			}
+		}
+		if ( persister.hasNaturalIdentifier() ) {
+			persistenceContext.getNaturalIdHelper().handleEviction(
+					entity,
+					persister,
+					entry.getId()
+			);
+		}
+		if ( persister.hasCollections() ) {
+			new EvictVisitor( (EventSource) session, entity ).process( entity, persister );
+		}
+		persistenceContext.removeEntity( entry.getEntityKey() );
+		persistenceContext.removeEntry( entity );
+	}
+
+	/**
+	 * Remove an uninitialized proxy, and its batch fetch key, from the persistence context.
+	 */
+	private void removeProxy(HibernateProxy proxy) {
+		final LazyInitializer lazyInitializer = proxy.getHibernateLazyInitializer();
+		if ( !lazyInitializer.isUninitialized() ) {
+			// initialized since, its entity is not hydrated by this scroll
+			return;
+		}
+		final EntityPersister persister = session.getFactory()
+				.getMetamodel()
+				.entityPersister( lazyInitializer.getEntityName() );
+		final EntityKey key = session.generateEntityKey( lazyInitializer.getInternalIdentifier(), persister );
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		if ( persistenceContext.getProxy( key ) == proxy ) {
+			persistenceContext.removeProxy( key );
+		}
+	}
+
 	@Override
 	public final void close() {
 		if ( this.closed ) {
@@ -100,6 +300,19 @@ public abstract class AbstractScrollableResults implements ScrollableResultsImpl
 			return;
 		}
 
+		if ( streamedRows != null ) {
+			if ( !session.isClosed() ) {
+				final List<Object> entities = new ArrayList<>();
+				for ( StreamedRow row : streamedRows ) {
+					entities.addAll( row.hydratedEntities );
+				}
+				referenceCounts.clear();
+				detach( entities );
+			}
+			streamedRows = null;
+			referenceCounts = null;
+		}
+
 		// not absolutely necessary, but does help with aggressive release
 		//session.getJDBCContext().getConnectionManager().closeQueryStatement( ps, resultSet );
 		final JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
@@ -309,4 +522,10 @@ public abstract class AbstractScrollableResults implements ScrollableResultsImpl
 	protected void afterScrollOperation() {
 		session.afterScrollOperation();
 	}
+
+	private static final class StreamedRow {
+		private final List<Object> hydratedEntities = new ArrayList<>();
+		// the entities, or uninitialized proxies, referenced by the row once read, counted in referenceCounts
+		private final List<Object> references = new ArrayList<>();
+	}
 }
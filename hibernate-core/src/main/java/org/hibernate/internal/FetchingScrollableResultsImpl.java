@@ -72,7 +72,8 @@ public class FetchingScrollableResultsImpl extends AbstractScrollableResults {
 				getResultSet(),
 				getSession(),
 				getQueryParameters(),
-				true
+				true,
+				beforeNextStreamedRow()
 		);
 
 
@@ -9,6 +9,7 @@ package org.hibernate.internal;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 
 import org.hibernate.HibernateException;
 import org.hibernate.JDBCException;
@@ -186,6 +187,7 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 	}
 
 	private void prepareCurrentRow(boolean underlyingScrollSuccessful) {
+		final List<Object> rowEntities = beforeNextStreamedRow();
 		if ( !underlyingScrollSuccessful ) {
 			currentRow = null;
 			return;
@@ -198,7 +200,8 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 					getResultSet(),
 					getSession(),
 					getQueryParameters(),
-					true
+					true,
+					rowEntities
 			);
 			if ( result != null && result.getClass().isArray() ) {
 				currentRow = ArrayHelper.toObjectArray( result );
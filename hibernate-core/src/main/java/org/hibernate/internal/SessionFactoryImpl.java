@@ -54,6 +54,7 @@ import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
 import org.hibernate.boot.spi.MetadataImplementor;
 import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.QuerySpacesHelper;
 import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Environment;
 import org.hibernate.cfg.Settings;
@@ -173,6 +174,7 @@ public class SessionFactoryImpl implements SessionFactoryImplementor {
 	private final transient EventEngine eventEngine;
 	private final transient JdbcServices jdbcServices;
 	private final transient SqlStringGenerationContext sqlStringGenerationContext;
+	private final transient Set<String> querySpacesSharedByTenants;
 
 	private final transient SQLFunctionRegistry sqlFunctionRegistry;
 
@@ -258,6 +260,11 @@ public class SessionFactoryImpl implements SessionFactoryImplementor {
 		sqlStringGenerationContext = SqlStringGenerationContextImpl.fromExplicit(
 				jdbcServices.getJdbcEnvironment(), metadata.getDatabase(),
 				options.getDefaultCatalog(), options.getDefaultSchema() );
+		this.querySpacesSharedByTenants = QuerySpacesHelper.INSTANCE.determineSpacesSharedByTenants(
+				metadata,
+				options,
+				sqlStringGenerationContext
+		);
 
 		this.sqlFunctionRegistry = new SQLFunctionRegistry( jdbcServices.getJdbcEnvironment().getDialect(), options.getCustomSqlFunctionMap() );
 		this.cacheAccess = this.serviceRegistry.getService( CacheImplementor.class );
@@ -409,6 +416,8 @@ public class SessionFactoryImpl implements SessionFactoryImplementor {
 					serviceRegistry.getService( JndiService.class )
 			);
 
+			queryPlanCache.warmUp();
+
 			//As last operation, delete all caches from ReflectionManager
 			//(not modelled as a listener as we want this to be last)
 			metadata.getMetadataBuildingOptions().getReflectionManager().reset();
@@ -573,6 +582,11 @@ public class SessionFactoryImpl implements SessionFactoryImplementor {
 		return sqlStringGenerationContext;
 	}
 
+	@Override
+	public Set<String> getQuerySpacesSharedByTenants() {
+		return querySpacesSharedByTenants;
+	}
+
 	public IdentifierGeneratorFactory getIdentifierGeneratorFactory() {
 		return null;
 	}
@@ -279,6 +279,12 @@ public class BoundedConcurrentHashMap<K, V> extends AbstractMap<K, V>
 			public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf) {
 				return new LIRS<K, V>( s, capacity, capacity * 10, lf );
 			}
+		},
+		TINY_LFU {
+			@Override
+			public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf) {
+				return new TinyLFU<K, V>( s, capacity, capacity * 10, lf );
+			}
 		};
 
 		abstract <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf);
@@ -1132,6 +1138,308 @@ public class BoundedConcurrentHashMap<K, V> extends AbstractMap<K, V>
 		}
 	}
 
+	/**
+	 * A count-min sketch of the access frequency of the entries of a segment, using 4-bit counters which are halved
+	 * periodically so that the frequency of the entries which are no longer used decays.
+	 */
+	static final class FrequencySketch {
+		private static final long[] SEEDS = {
+				0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+		};
+		private static final long RESET_MASK = 0x7777777777777777L;
+
+		private final long[] table;
+		private final int tableMask;
+		private final int sampleSize;
+		private int size;
+
+		FrequencySketch(int capacity) {
+			int length = 1;
+			while ( length < Math.max( capacity, 16 ) ) {
+				length <<= 1;
+			}
+			this.table = new long[length];
+			this.tableMask = length - 1;
+			this.sampleSize = 10 * length;
+		}
+
+		int frequency(int hash) {
+			int frequency = Integer.MAX_VALUE;
+			for ( int i = 0; i < SEEDS.length; i++ ) {
+				final long h = indexOf( hash, i );
+				final int offset = (int) ( h >>> 32 );
+				frequency = Math.min( frequency, (int) ( ( table[(int) h] >>> offset ) & 0xfL ) );
+			}
+			return frequency;
+		}
+
+		void increment(int hash) {
+			boolean added = false;
+			for ( int i = 0; i < SEEDS.length; i++ ) {
+				final long h = indexOf( hash, i );
+				final int index = (int) h;
+				final int offset = (int) ( h >>> 32 );
+				if ( ( ( table[index] >>> offset ) & 0xfL ) != 0xfL ) {
+					table[index] += 1L << offset;
+					added = true;
+				}
+			}
+			if ( added && ++size == sampleSize ) {
+				reset();
+			}
+		}
+
+		/**
+		 * Returns the index of the word holding the i-th counter of the given hash in the lower 32 bits, and the offset
+		 * of this counter within the word in the upper 32 bits.
+		 */
+		private long indexOf(int hash, int i) {
+			long h = ( hash + SEEDS[i] ) * SEEDS[i];
+			h += h >>> 32;
+			final long index = h & tableMask;
+			final long offset = ( ( h >>> 40 ) & 0xfL ) << 2;
+			return ( offset << 32 ) | index;
+		}
+
+		private void reset() {
+			for ( int i = 0; i < table.length; i++ ) {
+				table[i] = ( table[i] >>> 1 ) & RESET_MASK;
+			}
+			size /= 2;
+		}
+	}
+
+	/**
+	 * W-TinyLFU eviction, as described in "TinyLFU: A Highly Efficient Cache Admission Policy" by Gil Einziger,
+	 * Roy Friedman and Ben Manes.
+	 * <p/>
+	 * New entries enter a small LRU window.  The entries leaving the window are only admitted into the main SLRU
+	 * region when they have been accessed more often than the entry they would evict, according to a
+	 * {@link FrequencySketch}: entries used once do not evict frequently used ones.
+	 */
+	static final class TinyLFU<K, V> implements EvictionPolicy<K, V> {
+
+		/**
+		 * The percentage of the cache dedicated to the window.
+		 */
+		private static final float WINDOW_RATIO = 0.01f;
+
+		/**
+		 * The percentage of the main region dedicated to the entries accessed again since their admission.
+		 */
+		private static final float PROTECTED_RATIO = 0.8f;
+
+		private final Segment<K, V> segment;
+		private final ConcurrentLinkedQueue<HashEntry<K, V>> accessQueue;
+		private final int maxBatchQueueSize;
+		private final float batchThresholdFactor;
+
+		private final int maximumSize;
+		private final int maximumWindowSize;
+		private final int maximumProtectedSize;
+		private final FrequencySketch sketch;
+
+		private final LinkedHashMap<HashEntry<K, V>, HashEntry<K, V>> window = newRegion();
+		private final LinkedHashMap<HashEntry<K, V>, HashEntry<K, V>> probation = newRegion();
+		private final LinkedHashMap<HashEntry<K, V>, HashEntry<K, V>> protectedRegion = newRegion();
+
+		private final Set<HashEntry<K, V>> evicted = new HashSet<HashEntry<K, V>>();
+		private boolean evicting;
+
+		// Segment#remove() re-creates the entries preceding the removed one in their bucket,
+		// these entries keep their region
+		private HashEntry<K, V> lastRemoved;
+		private Map<HashEntry<K, V>, HashEntry<K, V>> lastRemovedRegion;
+
+		public TinyLFU(Segment<K, V> s, int capacity, int maxBatchSize, float batchThresholdFactor) {
+			this.segment = s;
+			this.maximumSize = capacity;
+			this.maximumWindowSize = Math.max( 1, (int) ( capacity * WINDOW_RATIO ) );
+			this.maximumProtectedSize = (int) ( ( capacity - maximumWindowSize ) * PROTECTED_RATIO );
+			this.sketch = new FrequencySketch( capacity );
+			this.maxBatchQueueSize = maxBatchSize > MAX_BATCH_SIZE ? MAX_BATCH_SIZE : maxBatchSize;
+			this.batchThresholdFactor = batchThresholdFactor;
+			this.accessQueue = new ConcurrentLinkedQueue<HashEntry<K, V>>();
+		}
+
+		private static <K, V> LinkedHashMap<HashEntry<K, V>, HashEntry<K, V>> newRegion() {
+			return new LinkedHashMap<HashEntry<K, V>, HashEntry<K, V>>( 16, 0.75f, true );
+		}
+
+		@Override
+		public Set<HashEntry<K, V>> execute() {
+			HashEntry<K, V> e;
+			while ( ( e = accessQueue.poll() ) != null ) {
+				onAccess( e );
+			}
+			return drainEvicted();
+		}
+
+		@Override
+		public Set<HashEntry<K, V>> onEntryMiss(HashEntry<K, V> e) {
+			if ( lastRemovedRegion != null && e.equals( lastRemoved ) ) {
+				lastRemovedRegion.put( e, e );
+			}
+			else {
+				sketch.increment( e.hash );
+				window.put( e, e );
+			}
+			lastRemoved = null;
+			lastRemovedRegion = null;
+
+			if ( evicting ) {
+				return Collections.emptySet();
+			}
+			evict();
+			return drainEvicted();
+		}
+
+		/*
+		 * Invoked without holding a lock on Segment
+		 */
+		@Override
+		public boolean onEntryHit(HashEntry<K, V> e) {
+			accessQueue.add( e );
+			return accessQueue.size() >= maxBatchQueueSize * batchThresholdFactor;
+		}
+
+		/*
+		 * Invoked without holding a lock on Segment
+		 */
+		@Override
+		public boolean thresholdExpired() {
+			return accessQueue.size() >= maxBatchQueueSize;
+		}
+
+		@Override
+		public void onEntryRemove(HashEntry<K, V> e) {
+			lastRemoved = e;
+			if ( window.remove( e ) != null ) {
+				lastRemovedRegion = window;
+			}
+			else if ( probation.remove( e ) != null ) {
+				lastRemovedRegion = probation;
+			}
+			else if ( protectedRegion.remove( e ) != null ) {
+				lastRemovedRegion = protectedRegion;
+			}
+			else {
+				lastRemovedRegion = null;
+			}
+			// we could have multiple instances of e in accessQueue; remove them all
+			while ( accessQueue.remove( e ) ) {
+				continue;
+			}
+		}
+
+		@Override
+		public void clear() {
+			window.clear();
+			probation.clear();
+			protectedRegion.clear();
+			accessQueue.clear();
+			lastRemoved = null;
+			lastRemovedRegion = null;
+		}
+
+		@Override
+		public Eviction strategy() {
+			return Eviction.TINY_LFU;
+		}
+
+		private void onAccess(HashEntry<K, V> e) {
+			sketch.increment( e.hash );
+			if ( window.get( e ) != null || protectedRegion.get( e ) != null ) {
+				// moved to the end of its region
+				return;
+			}
+			final HashEntry<K, V> entry = probation.remove( e );
+			if ( entry != null ) {
+				protectedRegion.put( entry, entry );
+				while ( protectedRegion.size() > maximumProtectedSize ) {
+					final HashEntry<K, V> demoted = eldest( protectedRegion );
+					protectedRegion.remove( demoted );
+					probation.put( demoted, demoted );
+				}
+			}
+			// otherwise the entry was removed since its access
+		}
+
+		private void evict() {
+			evicting = true;
+			try {
+				while ( window.size() > maximumWindowSize ) {
+					final HashEntry<K, V> candidate = eldest( window );
+					window.remove( candidate );
+					if ( size() < maximumSize ) {
+						probation.put( candidate, candidate );
+						continue;
+					}
+					HashEntry<K, V> victim = eldest( probation );
+					if ( victim == null ) {
+						victim = eldest( protectedRegion );
+					}
+					if ( victim == null ) {
+						evict( candidate );
+					}
+					else if ( sketch.frequency( candidate.hash ) > sketch.frequency( victim.hash ) ) {
+						probation.put( candidate, candidate );
+						evict( victim );
+					}
+					else {
+						evict( candidate );
+					}
+				}
+				while ( size() > maximumSize ) {
+					HashEntry<K, V> victim = eldest( probation );
+					if ( victim == null ) {
+						victim = eldest( protectedRegion );
+					}
+					if ( victim == null ) {
+						victim = eldest( window );
+					}
+					evict( victim );
+				}
+			}
+			finally {
+				evicting = false;
+			}
+		}
+
+		private void evict(HashEntry<K, V> entry) {
+			segment.evictionListener.onEntryChosenForEviction( entry.value );
+			segment.remove( entry.key, entry.hash, null );
+			window.remove( entry );
+			probation.remove( entry );
+			protectedRegion.remove( entry );
+			lastRemoved = null;
+			lastRemovedRegion = null;
+			evicted.add( entry );
+		}
+
+		private Set<HashEntry<K, V>> drainEvicted() {
+			if ( evicted.isEmpty() ) {
+				return new HashSet<HashEntry<K, V>>();
+			}
+			final Set<HashEntry<K, V>> evictedCopy = new HashSet<HashEntry<K, V>>( evicted );
+			evicted.clear();
+			return evictedCopy;
+		}
+
+		private int size() {
+			return window.size() + probation.size() + protectedRegion.size();
+		}
+
+		private static <K, V> HashEntry<K, V> eldest(Map<HashEntry<K, V>, HashEntry<K, V>> region) {
+			return region.isEmpty() ? null : region.keySet().iterator().next();
+		}
+
+		@Override
+		public HashEntry<K, V> createNewEntry(K key, int hash, HashEntry<K, V> next, V value) {
+			return new HashEntry<K, V>( key, hash, next, value );
+		}
+	}
+
 	/**
 	 * Segments are specialized versions of hash tables.  This
 	 * subclasses from ReentrantLock opportunistically, just to
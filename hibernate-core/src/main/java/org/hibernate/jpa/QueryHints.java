@@ -22,6 +22,7 @@ import static org.hibernate.annotations.QueryHints.NATIVE_LOCKMODE;
 import static org.hibernate.annotations.QueryHints.NATIVE_SPACES;
 import static org.hibernate.annotations.QueryHints.PASS_DISTINCT_THROUGH;
 import static org.hibernate.annotations.QueryHints.READ_ONLY;
+import static org.hibernate.annotations.QueryHints.STREAMING_DETACH_WINDOW;
 import static org.hibernate.annotations.QueryHints.TIMEOUT_HIBERNATE;
 import static org.hibernate.annotations.QueryHints.TIMEOUT_JAKARTA_JPA;
 import static org.hibernate.annotations.QueryHints.TIMEOUT_JPA;
@@ -128,6 +129,8 @@ public class QueryHints {
 
 	public static final String HINT_NATIVE_SPACES = NATIVE_SPACES;
 
+	public static final String HINT_STREAMING_DETACH_WINDOW = STREAMING_DETACH_WINDOW;
+
 
 	private static final Set<String> HINTS = buildHintsSet();
 
@@ -149,6 +152,7 @@ public class QueryHints {
 		hints.add( JAKARTA_HINT_FETCHGRAPH );
 		hints.add( JAKARTA_HINT_LOADGRAPH );
 		hints.add( HINT_NATIVE_SPACES );
+		hints.add( HINT_STREAMING_DETACH_WINDOW );
 		return java.util.Collections.unmodifiableSet( hints );
 	}
 
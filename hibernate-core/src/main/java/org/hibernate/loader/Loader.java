@@ -386,6 +386,28 @@ public abstract class Loader {
 			final SharedSessionContractImplementor session,
 			final QueryParameters queryParameters,
 			final boolean returnProxies) throws HibernateException {
+		return loadSingleRow( resultSet, session, queryParameters, returnProxies, null );
+	}
+
+	/**
+	 * Loads a single row from the result set, collecting the entities it hydrated.
+	 *
+	 * @param resultSet The result set from which to do the load.
+	 * @param session The session from which the request originated.
+	 * @param queryParameters The query parameters specified by the user.
+	 * @param returnProxies Should proxies be generated
+	 * @param hydratedEntities The list to which the entities hydrated from the row are added, or {@code null}
+	 *
+	 * @return The loaded "row".
+	 *
+	 * @throws HibernateException
+	 */
+	public Object loadSingleRow(
+			final ResultSet resultSet,
+			final SharedSessionContractImplementor session,
+			final QueryParameters queryParameters,
+			final boolean returnProxies,
+			final List<Object> hydratedEntities) throws HibernateException {
 
 		final int entitySpan = getEntityPersisters().length;
 		final List hydratedObjects = entitySpan == 0 ?
@@ -419,6 +441,9 @@ public abstract class Loader {
 				queryParameters.isReadOnly( session )
 		);
 		session.getPersistenceContextInternal().initializeNonLazyCollections();
+		if ( hydratedEntities != null && hydratedObjects != null ) {
+			hydratedEntities.addAll( hydratedObjects );
+		}
 		return result;
 	}
 
@@ -427,7 +452,8 @@ public abstract class Loader {
 			final SharedSessionContractImplementor session,
 			final QueryParameters queryParameters,
 			final boolean returnProxies,
-			final EntityKey keyToRead) throws HibernateException {
+			final EntityKey keyToRead,
+			final List<Object> hydratedEntities) throws HibernateException {
 
 		final int entitySpan = getEntityPersisters().length;
 		final List hydratedObjects = entitySpan == 0 ?
@@ -479,6 +505,9 @@ public abstract class Loader {
 				queryParameters.isReadOnly( session )
 		);
 		session.getPersistenceContextInternal().initializeNonLazyCollections();
+		if ( hydratedEntities != null && hydratedObjects != null ) {
+			hydratedEntities.addAll( hydratedObjects );
+		}
 		return result;
 	}
 
@@ -513,6 +542,28 @@ public abstract class Loader {
 			final SharedSessionContractImplementor session,
 			final QueryParameters queryParameters,
 			final boolean returnProxies) throws HibernateException {
+		return loadSequentialRowsForward( resultSet, session, queryParameters, returnProxies, null );
+	}
+
+	/**
+	 * Loads a single logical row from the result set moving forward, collecting the entities it hydrated.
+	 *
+	 * @param resultSet The result set from which to do the load.
+	 * @param session The session from which the request originated.
+	 * @param queryParameters The query parameters specified by the user.
+	 * @param returnProxies Should proxies be generated
+	 * @param hydratedEntities The list to which the entities hydrated from the row are added, or {@code null}
+	 *
+	 * @return The loaded "row".
+	 *
+	 * @throws HibernateException
+	 */
+	public Object loadSequentialRowsForward(
+			final ResultSet resultSet,
+			final SharedSessionContractImplementor session,
+			final QueryParameters queryParameters,
+			final boolean returnProxies,
+			final List<Object> hydratedEntities) throws HibernateException {
 
 		// note that for sequential scrolling, we make the assumption that
 		// the first persister element is the "root entity"
@@ -541,7 +592,7 @@ public abstract class Loader {
 					session
 			);
 
-			return sequentialLoad( resultSet, session, queryParameters, returnProxies, currentKey );
+			return sequentialLoad( resultSet, session, queryParameters, returnProxies, currentKey, hydratedEntities );
 		}
 		catch (SQLException sqle) {
 			throw factory.getJdbcServices().getSqlExceptionHelper().convert(
@@ -668,7 +719,7 @@ public abstract class Loader {
 			resultSet.next();
 
 			// and doAfterTransactionCompletion the load
-			return sequentialLoad( resultSet, session, queryParameters, returnProxies, keyToRead );
+			return sequentialLoad( resultSet, session, queryParameters, returnProxies, keyToRead, null );
 		}
 		catch (SQLException sqle) {
 			throw factory.getJdbcServices().getSqlExceptionHelper().convert(
@@ -1753,7 +1804,9 @@ public abstract class Loader {
 							cachedEntry,
 							factory
 					);
-					return ( (ReferenceCacheEntryImpl) entry ).getReference();
+					if ( entry != null && entry.isReferenceEntry() ) {
+						return ( (ReferenceCacheEntryImpl) entry ).getReference();
+					}
 				}
 			}
 		}
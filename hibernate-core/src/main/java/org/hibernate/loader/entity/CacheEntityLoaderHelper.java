@@ -7,6 +7,14 @@
 package org.hibernate.loader.entity;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
@@ -25,6 +33,7 @@ import org.hibernate.engine.spi.ManagedEntity;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.event.internal.AbstractLockUpgradeEventListener;
 import org.hibernate.event.spi.EventSource;
@@ -33,11 +42,13 @@ import org.hibernate.event.spi.LoadEventListener;
 import org.hibernate.event.spi.PostLoadEvent;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.stat.internal.StatsHelper;
 import org.hibernate.stat.spi.StatisticsImplementor;
+import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -147,6 +158,89 @@ public class CacheEntityLoaderHelper extends AbstractLockUpgradeEventListener {
 		return processCachedEntry( event, persister, ce, source, entityKey );
 	}
 
+	/**
+	 * Reads the second-level cache entries of the given entities at once, sparing a cache round trip per entity
+	 * when they are then resolved by {@link #loadFromSecondLevelCache(LoadEvent, EntityPersister, EntityKey, Map)}.
+	 *
+	 * @param persister The persister of the entities
+	 * @param entityKeys The keys of the entities
+	 * @param lockMode The lock mode the entities are to be loaded with
+	 * @param session The session
+	 *
+	 * @return The cache entries by entity key, or {@code null} if the cache is not to be read
+	 */
+	public Map<EntityKey, Object> getFromSecondLevelCache(
+			final EntityPersister persister,
+			final Collection<EntityKey> entityKeys,
+			final LockMode lockMode,
+			final SharedSessionContractImplementor session) {
+		final boolean useCache = persister.canReadFromCache()
+				&& session.getCacheMode().isGetEnabled()
+				&& lockMode.lessThan( LockMode.READ );
+		if ( !useCache ) {
+			return null;
+		}
+		if ( entityKeys.isEmpty() ) {
+			return Collections.emptyMap();
+		}
+
+		final EntityDataAccess cache = persister.getCacheAccessStrategy();
+		final SessionFactoryImplementor factory = session.getFactory();
+		final Map<Object, EntityKey> entityKeysByCacheKey = new HashMap<>(
+				CollectionHelper.determineProperSizing( entityKeys.size() )
+		);
+		for ( EntityKey entityKey : entityKeys ) {
+			entityKeysByCacheKey.put(
+					cache.generateCacheKey( entityKey.getIdentifier(), persister, factory, session.getTenantIdentifier() ),
+					entityKey
+			);
+		}
+
+		final Map<Object, Object> cached = CacheHelper.fromSharedCache( session, entityKeysByCacheKey.keySet(), cache );
+		final Map<EntityKey, Object> entries = new HashMap<>( CollectionHelper.determineProperSizing( cached.size() ) );
+		for ( Map.Entry<Object, Object> entry : cached.entrySet() ) {
+			entries.put( entityKeysByCacheKey.get( entry.getKey() ), entry.getValue() );
+		}
+
+		final StatisticsImplementor statistics = factory.getStatistics();
+		if ( statistics.isStatisticsEnabled() ) {
+			final String rootEntityRole = StatsHelper.INSTANCE.getRootEntityRole( persister );
+			final String regionName = cache.getRegion().getName();
+			for ( int i = 0; i < entries.size(); i++ ) {
+				statistics.entityCacheHit( rootEntityRole, regionName );
+			}
+			for ( int i = entries.size(); i < entityKeysByCacheKey.size(); i++ ) {
+				statistics.entityCacheMiss( rootEntityRole, regionName );
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Resolves the entity from the second-level cache entries read beforehand by
+	 * {@link #getFromSecondLevelCache(EntityPersister, Collection, LockMode, SharedSessionContractImplementor)}.
+	 *
+	 * @param cacheEntries The cache entries read beforehand, or {@code null} if the cache is not to be read
+	 */
+	public Object loadFromSecondLevelCache(
+			final LoadEvent event,
+			final EntityPersister persister,
+			final EntityKey entityKey,
+			final Map<EntityKey, Object> cacheEntries) {
+		if ( cacheEntries == null ) {
+			return null;
+		}
+
+		final Object ce = cacheEntries.get( entityKey );
+
+		if ( ce == null ) {
+			// nothing was found in cache
+			return null;
+		}
+
+		return processCachedEntry( event, persister, ce, event.getSession(), entityKey );
+	}
+
 
 	private Object processCachedEntry(
 			final LoadEvent event,
@@ -156,6 +250,10 @@ public class CacheEntityLoaderHelper extends AbstractLockUpgradeEventListener {
 			final EntityKey entityKey) {
 
 		CacheEntry entry = (CacheEntry) persister.getCacheEntryStructure().destructure( ce, source.getFactory() );
+		if ( entry == null ) {
+			// the entry can no longer be read
+			return null;
+		}
 		if ( entry.isReferenceEntry() ) {
 			if ( event.getInstanceToLoad() != null ) {
 				throw new HibernateException(
@@ -227,10 +325,75 @@ public class CacheEntityLoaderHelper extends AbstractLockUpgradeEventListener {
 			throw new IllegalStateException(
 					"Reference cache entry contained null : " + referenceCacheEntry.toString() );
 		}
-		else {
-			makeEntityCircularReferenceSafe( referenceCacheEntry, session, entity, entityKey );
-			return entity;
+		final List<Object> referencedEntities = new ArrayList<>();
+		collectReferencedEntities(
+				referenceCacheEntry.getSubclassPersister(),
+				entity,
+				session,
+				referencedEntities,
+				Collections.newSetFromMap( new IdentityHashMap<>() )
+		);
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		for ( Object referencedEntity : referencedEntities ) {
+			final Object managed = persistenceContext.getEntity( referenceEntityKey( referencedEntity, session ) );
+			if ( managed != null && managed != referencedEntity ) {
+				// the session already holds another instance of a referenced entity, the shared graph
+				// cannot be attached without breaking the identity guarantee: load from the database
+				LOG.debugf(
+						"Ignoring reference cache entry of %s referencing an entity already loaded by the session",
+						MessageHelper.infoString( referenceCacheEntry.getSubclassPersister(), entityKey.getIdentifier(), session.getFactory() )
+				);
+				return null;
+			}
 		}
+
+		makeEntityCircularReferenceSafe( referenceCacheEntry, session, entity, entityKey );
+		// the referenced instances are shared as well, see ReferenceCacheEntryHelper: attach them too
+		for ( Object referencedEntity : referencedEntities ) {
+			final EntityKey referencedKey = referenceEntityKey( referencedEntity, session );
+			if ( persistenceContext.getEntity( referencedKey ) == null ) {
+				final EntityPersister referencedPersister = session.getEntityPersister( null, referencedEntity );
+				addReferenceEntity(
+						referencedEntity,
+						referencedKey,
+						referencedPersister,
+						referencedPersister.getVersion( referencedEntity ),
+						session
+				);
+			}
+		}
+		return entity;
+	}
+
+	/**
+	 * Collects the instances referenced, transitively, through the to-one associations of a cached reference.
+	 */
+	private static void collectReferencedEntities(
+			EntityPersister persister,
+			Object entity,
+			EventSource session,
+			List<Object> referencedEntities,
+			Set<Object> visited) {
+		visited.add( entity );
+		final Type[] types = persister.getPropertyTypes();
+		final Object[] values = persister.getPropertyValues( entity );
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( types[i].isEntityType() && values[i] != null && visited.add( values[i] ) ) {
+				referencedEntities.add( values[i] );
+				collectReferencedEntities(
+						session.getEntityPersister( ( (EntityType) types[i] ).getAssociatedEntityName(), values[i] ),
+						values[i],
+						session,
+						referencedEntities,
+						visited
+				);
+			}
+		}
+	}
+
+	private static EntityKey referenceEntityKey(Object entity, EventSource session) {
+		final EntityPersister persister = session.getEntityPersister( null, entity );
+		return session.generateEntityKey( persister.getIdentifier( entity, session ), persister );
 	}
 
 	private void makeEntityCircularReferenceSafe(
@@ -240,10 +403,24 @@ public class CacheEntityLoaderHelper extends AbstractLockUpgradeEventListener {
 			EntityKey entityKey) {
 
 		// make it circular-reference safe
-		final StatefulPersistenceContext statefulPersistenceContext = (StatefulPersistenceContext) session.getPersistenceContext();
+		addReferenceEntity(
+				entity,
+				entityKey,
+				referenceCacheEntry.getSubclassPersister(),
+				referenceCacheEntry.getVersion(),
+				session
+		);
+		session.getPersistenceContextInternal().initializeNonLazyCollections();
+	}
 
+	private static void addReferenceEntity(
+			Object entity,
+			EntityKey entityKey,
+			EntityPersister persister,
+			Object version,
+			EventSource session) {
 		if ( ( entity instanceof ManagedEntity ) ) {
-			statefulPersistenceContext.addReferenceEntry(
+			( (StatefulPersistenceContext) session.getPersistenceContext() ).addReferenceEntry(
 					entity,
 					Status.READ_ONLY
 			);
@@ -252,13 +429,12 @@ public class CacheEntityLoaderHelper extends AbstractLockUpgradeEventListener {
 			TwoPhaseLoad.addUninitializedCachedEntity(
 					entityKey,
 					entity,
-					referenceCacheEntry.getSubclassPersister(),
+					persister,
 					LockMode.NONE,
-					referenceCacheEntry.getVersion(),
+					version,
 					session
 			);
 		}
-		statefulPersistenceContext.initializeNonLazyCollections();
 	}
 
 	private Object convertCacheEntryToEntity(
@@ -309,13 +485,24 @@ public class CacheEntityLoaderHelper extends AbstractLockUpgradeEventListener {
 				entity, entityId, subclassPersister, session.getInterceptor(), session
 		);
 		if ( ( (StandardCacheEntryImpl) entry ).isDeepCopyNeeded() ) {
-			TypeHelper.deepCopy(
-					values,
-					types,
-					subclassPersister.getPropertyUpdateability(),
-					values,
-					session
-			);
+			if ( factory.getSessionFactoryOptions().isLoadedStateCopyOnWriteEnabled() ) {
+				TypeHelper.deepCopyComposites(
+						values,
+						types,
+						subclassPersister.getPropertyUpdateability(),
+						values,
+						session
+				);
+			}
+			else {
+				TypeHelper.deepCopy(
+						values,
+						types,
+						subclassPersister.getPropertyUpdateability(),
+						values,
+						session
+				);
+			}
 		}
 		version = Versioning.getVersion( values, subclassPersister );
 		LOG.tracef( "Cached Version : %s", version );
@@ -11,6 +11,7 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
@@ -74,6 +75,8 @@ public class MultiEntityLoadingSupport {
 		final List<Serializable> idsInBatch = new ArrayList<>();
 		final List<Integer> elementPositionsLoadedByBatch = new ArrayList<>();
 
+		final Map<EntityKey, Object> cacheEntries = getFromSecondLevelCache( persister, ids, lockOptions, session, loadOptions );
+
 		for ( int i = 0; i < ids.length; i++ ) {
 			final Serializable id = ids[i];
 			final EntityKey entityKey = new EntityKey( id, persister );
@@ -112,7 +115,8 @@ public class MultiEntityLoadingSupport {
 					managedEntity = CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache(
 							loadEvent,
 							persister,
-							entityKey
+							entityKey,
+							cacheEntries
 					);
 				}
 
@@ -201,6 +205,7 @@ public class MultiEntityLoadingSupport {
 			// list immediately and remove its id from the group of ids to load.
 			boolean foundAnyManagedEntities = false;
 			final List<Serializable> nonManagedIds = new ArrayList<Serializable>();
+			final Map<EntityKey, Object> cacheEntries = getFromSecondLevelCache( persister, ids, lockOptions, session, loadOptions );
 			for ( Serializable id : ids ) {
 				final EntityKey entityKey = new EntityKey( id, persister );
 
@@ -236,7 +241,8 @@ public class MultiEntityLoadingSupport {
 					managedEntity = CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache(
 							loadEvent,
 							persister,
-							entityKey
+							entityKey,
+							cacheEntries
 					);
 				}
 
@@ -306,6 +312,37 @@ public class MultiEntityLoadingSupport {
 		return result;
 	}
 
+	/**
+	 * Reads the second-level cache entries of the entities which are not associated with the session at once,
+	 * rather than one entity at a time.
+	 *
+	 * @return The cache entries by entity key, or {@code null} if the cache is not to be read
+	 */
+	private static Map<EntityKey, Object> getFromSecondLevelCache(
+			OuterJoinLoadable persister,
+			Serializable[] ids,
+			LockOptions lockOptions,
+			SharedSessionContractImplementor session,
+			MultiLoadOptions loadOptions) {
+		if ( !loadOptions.isSecondLevelCacheCheckingEnabled() ) {
+			return null;
+		}
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		final List<EntityKey> entityKeys = new ArrayList<>( ids.length );
+		for ( Serializable id : ids ) {
+			final EntityKey entityKey = new EntityKey( id, persister );
+			if ( !loadOptions.isSessionCheckingEnabled() || persistenceContext.getEntity( entityKey ) == null ) {
+				entityKeys.add( entityKey );
+			}
+		}
+		return CacheEntityLoaderHelper.INSTANCE.getFromSecondLevelCache(
+				persister,
+				entityKeys,
+				lockOptions.getLockMode(),
+				session
+		);
+	}
+
 	public static QueryParameters buildMultiLoadQueryParameters(
 			OuterJoinLoadable persister,
 			Serializable[] ids,
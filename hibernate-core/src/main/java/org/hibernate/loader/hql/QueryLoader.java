@@ -270,6 +270,21 @@ public class QueryLoader extends BasicLoader {
 		return queryTranslator.getSQLString();
 	}
 
+	@Override
+	protected SqlStatementWrapper executeQueryStatement(
+			QueryParameters queryParameters,
+			boolean scroll,
+			List<AfterLoadAction> afterLoadActions,
+			SharedSessionContractImplementor session) throws SQLException {
+		return executeQueryStatement(
+				queryTranslator.getSQLString( queryParameters ),
+				queryParameters,
+				scroll,
+				afterLoadActions,
+				session
+		);
+	}
+
 	/**
 	 * An (optional) persister for a collection to be initialized; only collection loaders
 	 * return a non-null value
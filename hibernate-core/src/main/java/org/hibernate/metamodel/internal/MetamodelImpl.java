@@ -42,6 +42,7 @@ import org.hibernate.cache.spi.access.CollectionDataAccess;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.cache.spi.access.NaturalIdDataAccess;
 import org.hibernate.cfg.annotations.NamedEntityGraphDefinition;
+import org.hibernate.engine.internal.EntityDependencyGraph;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.graph.internal.RootGraphImpl;
 import org.hibernate.graph.spi.AttributeNodeImplementor;
@@ -97,6 +98,7 @@ public class MetamodelImpl implements MetamodelImplementor, Serializable {
 	private final Map<String,CollectionPersister> collectionPersisterMap = new ConcurrentHashMap<>();
 	private final Map<String,Set<String>> collectionRolesByEntityParticipant = new ConcurrentHashMap<>();
 	private final ConcurrentMap<EntityNameResolver,Object> entityNameResolvers = new ConcurrentHashMap<>();
+	private volatile EntityDependencyGraph entityDependencyGraph;
 
 	private final Map<Class<?>, EntityTypeDescriptor<?>> jpaEntityTypeMap = new ConcurrentHashMap<>();
 	private final Map<String, EntityTypeDescriptor<?>> jpaEntityTypesByEntityName = new ConcurrentHashMap<>();
@@ -801,6 +803,25 @@ public class MetamodelImpl implements MetamodelImplementor, Serializable {
 		return results;
 	}
 
+	/**
+	 * Get the foreign key dependencies between the entities known to this Metamodel, built on first use.
+	 *
+	 * @return The dependency graph of the entities
+	 */
+	public EntityDependencyGraph getEntityDependencyGraph() {
+		EntityDependencyGraph graph = entityDependencyGraph;
+		if ( graph == null ) {
+			synchronized ( this ) {
+				graph = entityDependencyGraph;
+				if ( graph == null ) {
+					graph = EntityDependencyGraph.build( this );
+					entityDependencyGraph = graph;
+				}
+			}
+		}
+		return graph;
+	}
+
 	@Override
 	public void close() {
 		// anything to do ?
@@ -6,9 +6,12 @@
  */
 package org.hibernate.param;
 
+import java.sql.Array;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 
+import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.TypedValue;
@@ -49,6 +52,31 @@ public class NamedParameterSpecification extends AbstractExplicitParameterSpecif
 			QueryParameters qp,
 			SharedSessionContractImplementor session,
 			int position) throws SQLException {
+		final TypedValue parameterListArray = qp.getParameterListArrays().get( name );
+		if ( parameterListArray != null ) {
+			// a list-valued parameter bound as a single array parameter
+			final Dialect dialect = session.getJdbcServices().getDialect();
+			final int elementTypeCode = parameterListArray.getType().sqlTypes( session.getFactory() )[0];
+			final Array array = statement.getConnection().createArrayOf(
+					dialect.getArrayElementTypeName( elementTypeCode ),
+					( (Collection<?>) parameterListArray.getValue() ).toArray()
+			);
+			// freed with the other JDBC resources of the session
+			session.getJdbcCoordinator().getResourceRegistry().register( array );
+			statement.setArray( position, array );
+			return 1;
+		}
+		final Integer parameterListSize = qp.getParameterListSizes().get( name );
+		if ( parameterListSize != null ) {
+			// a list-valued parameter whose bind parameter was expanded: bind its synthetic parameters
+			int span = 0;
+			for ( int i = 0; i < parameterListSize; i++ ) {
+				final TypedValue typedValue = qp.getNamedParameters().get( name + '_' + i );
+				typedValue.getType().nullSafeSet( statement, typedValue.getValue(), position + span, session );
+				span += typedValue.getType().getColumnSpan( session.getFactory() );
+			}
+			return span;
+		}
 		TypedValue typedValue = qp.getNamedParameters().get( name );
 		typedValue.getType().nullSafeSet( statement, typedValue.getValue(), position, session );
 		return typedValue.getType().getColumnSpan( session.getFactory() );
@@ -17,6 +17,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -27,6 +28,7 @@ import java.util.Set;
 import org.hibernate.AssertionFailure;
 import org.hibernate.EntityMode;
 import org.hibernate.FetchMode;
+import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
 import org.hibernate.JDBCException;
 import org.hibernate.LazyInitializationException;
@@ -52,12 +54,14 @@ import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.cache.spi.access.NaturalIdDataAccess;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
+import org.hibernate.cache.spi.entry.CompactCacheEntry;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StructuredCacheEntry;
 import org.hibernate.cache.spi.entry.UnstructuredCacheEntry;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.identity.GetGeneratedKeysDelegate;
 import org.hibernate.dialect.lock.LockingStrategy;
 import org.hibernate.engine.OptimisticLockStyle;
 import org.hibernate.engine.internal.CacheHelper;
@@ -66,6 +70,7 @@ import org.hibernate.engine.internal.MutableEntityEntryFactory;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.internal.MultiRowInserts;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.CachedNaturalIdValueSource;
@@ -89,6 +94,7 @@ import org.hibernate.engine.spi.ValueInclusion;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.LoadEvent;
 import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.PostInsertIdentifierGenerator;
 import org.hibernate.id.PostInsertIdentityPersister;
 import org.hibernate.id.insert.Binder;
@@ -127,6 +133,7 @@ import org.hibernate.persister.walking.spi.AttributeDefinition;
 import org.hibernate.persister.walking.spi.EntityIdentifierDefinition;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
+import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.sql.Alias;
 import org.hibernate.sql.Delete;
 import org.hibernate.sql.Insert;
@@ -290,6 +297,7 @@ public abstract class AbstractEntityPersister
 	protected ExecuteUpdateResultCheckStyle[] deleteResultCheckStyles;
 
 	private InsertGeneratedIdentifierDelegate identityDelegate;
+	private boolean identityInsertBatchable;
 
 	private boolean[] tableHasColumns;
 
@@ -936,9 +944,10 @@ public abstract class AbstractEntityPersister
 			refCacheEntries = false;
 		}
 
-		//		2)  have no associations.  Eventually we want to be a little more lenient with associations.
+		//		2)  have no collections, nor associations other than to-one associations, whose values are only
+		//			cached by reference when they are immutable (see ReferenceCacheEntryHelper)
 		for ( Type type : getSubclassPropertyTypeClosure() ) {
-			if ( type.isAssociationType() ) {
+			if ( !isReferenceCacheable( type ) ) {
 				refCacheEntries = false;
 			}
 		}
@@ -1033,11 +1042,29 @@ public abstract class AbstractEntityPersister
 			return new ReferenceCacheEntryHelper( this );
 		}
 
+		if ( factory.getSessionFactoryOptions().isCompactCacheEntriesEnabled() ) {
+			return new CompactCacheEntryHelper( this );
+		}
 		return factory.getSessionFactoryOptions().isStructuredCacheEntriesEnabled()
 				? new StructuredCacheEntryHelper( this )
 				: new StandardCacheEntryHelper( this );
 	}
 
+	private static boolean isReferenceCacheable(Type type) {
+		if ( type.isEntityType() ) {
+			return true;
+		}
+		else if ( type.isComponentType() ) {
+			for ( Type subtype : ( (CompositeType) type ).getSubtypes() ) {
+				if ( subtype.isAssociationType() || !isReferenceCacheable( subtype ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return !type.isAssociationType();
+	}
+
 	public boolean canUseReferenceCacheEntries() {
 		return useReferenceCacheEntries;
 	}
@@ -1184,13 +1211,15 @@ public abstract class AbstractEntityPersister
 			final Object ce = CacheHelper.fromSharedCache( session, cacheKey, cacheAccess );
 			if ( ce != null ) {
 				final CacheEntry cacheEntry = (CacheEntry) getCacheEntryStructure().destructure( ce, factory );
-				final Object initializedValue = initializeLazyPropertiesFromCache( fieldName, entity, session, entry, cacheEntry );
-				if (initializedValue != LazyPropertyInitializer.UNFETCHED_PROPERTY) {
-					// The following should be redundant, since the setter should have set this already.
-					// interceptor.attributeInitialized(fieldName);
-
-					// NOTE EARLY EXIT!!!
-					return initializedValue;
+				if ( cacheEntry != null ) {
+					final Object initializedValue = initializeLazyPropertiesFromCache( fieldName, entity, session, entry, cacheEntry );
+					if (initializedValue != LazyPropertyInitializer.UNFETCHED_PROPERTY) {
+						// The following should be redundant, since the setter should have set this already.
+						// interceptor.attributeInitialized(fieldName);
+
+						// NOTE EARLY EXIT!!!
+						return initializedValue;
+					}
 				}
 			}
 		}
@@ -3279,6 +3308,177 @@ public abstract class AbstractEntityPersister
 		return identityDelegate.performInsert( sql, session, binder );
 	}
 
+	private boolean determineIdentityInsertBatchable() {
+		final Dialect dialect = getFactory().getDialect();
+		if ( identityDelegate.getClass() != GetGeneratedKeysDelegate.class
+				|| entityMetamodel.isDynamicInsert()
+				|| !dialect.supportsMultiRowIdentityInserts()
+				|| MultiRowInserts.split( sqlIdentityInsertString ) == null ) {
+			return false;
+		}
+		// the references between the entities of a multi-row insert are detected
+		// through the state of the entities, which misses the embedded ones
+		for ( Type type : getPropertyTypes() ) {
+			if ( type.isComponentType() && hasAssociation( (CompositeType) type ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean hasAssociation(CompositeType type) {
+		for ( Type subtype : type.getSubtypes() ) {
+			if ( subtype.isAssociationType()
+					|| subtype.isComponentType() && hasAssociation( (CompositeType) subtype ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Can the inserts of this entity, which has an {@code IDENTITY} identifier, be executed as multi-row
+	 * inserts by {@link #insert(Object[][], Object[], SharedSessionContractImplementor)}?
+	 *
+	 * @return {@code true} if the inserts can be batched
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 */
+	public boolean isIdentityInsertBatchable() {
+		return identityInsertBatchable;
+	}
+
+	/**
+	 * Perform multi-row SQL INSERTs of entities with an {@code IDENTITY} identifier, and retrieve the
+	 * generated identifiers.
+	 *
+	 * @param fields The state of each entity
+	 * @param objects The entities
+	 * @param session The session
+	 *
+	 * @return The generated identifiers, in the order of the entities
+	 *
+	 * @see #isIdentityInsertBatchable()
+	 */
+	public Serializable[] insert(Object[][] fields, Object[] objects, SharedSessionContractImplementor session)
+			throws HibernateException {
+		if ( !identityInsertBatchable ) {
+			throw new AssertionFailure( "Inserts of entity " + getEntityName() + " cannot be batched" );
+		}
+		for ( int i = 0; i < objects.length; i++ ) {
+			preInsertInMemoryValueGeneration( fields[i], objects[i], session );
+		}
+
+		final Dialect dialect = getFactory().getDialect();
+		final String[] insert = MultiRowInserts.split( sqlIdentityInsertString );
+		final int maxRows = Math.max(
+				1,
+				MultiRowInserts.maxRows( dialect, MultiRowInserts.countParameters( insert[1] ) )
+		);
+		final Serializable[] ids = new Serializable[objects.length];
+		int position = 0;
+		while ( position < objects.length ) {
+			final int rowCount = Math.min( maxRows, objects.length - position );
+			insertRows( fields, position, rowCount, insert, ids, session );
+			position += rowCount;
+		}
+
+		for ( int j = 1; j < getTableSpan(); j++ ) {
+			for ( int i = 0; i < objects.length; i++ ) {
+				insert( ids[i], fields[i], getPropertyInsertability(), j, getSQLInsertStrings()[j], objects[i], session );
+			}
+		}
+		return ids;
+	}
+
+	private void insertRows(
+			Object[][] fields,
+			int position,
+			int rowCount,
+			String[] insert,
+			Serializable[] ids,
+			SharedSessionContractImplementor session) {
+		final Dialect dialect = getFactory().getDialect();
+		final String identifierColumnName = getRootTableKeyColumnNames()[0];
+		final String numberedSql = dialect.getMultiRowIdentityInsertString(
+				insert[0],
+				insert[1],
+				rowCount,
+				identifierColumnName
+		);
+		final String sql = numberedSql == null
+				? dialect.getMultiRowInsertString( insert[0], insert[1], rowCount )
+				: numberedSql;
+
+		if ( LOG.isTraceEnabled() ) {
+			LOG.tracev( "Inserting {0} entities: {1} (native id)", rowCount, getEntityName() );
+		}
+
+		final JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+		try {
+			final PreparedStatement ps = numberedSql == null
+					? jdbcCoordinator.getStatementPreparer().prepareStatement( sql, PreparedStatement.RETURN_GENERATED_KEYS )
+					: jdbcCoordinator.getStatementPreparer().prepareStatement( sql, false );
+			try {
+				int index = 1;
+				for ( int i = 0; i < rowCount; i++ ) {
+					index = dehydrate(
+							null,
+							fields[position + i],
+							null,
+							getPropertyInsertability(),
+							propertyColumnInsertable,
+							0,
+							ps,
+							session,
+							index,
+							false
+					);
+				}
+
+				final ResultSet rs;
+				if ( numberedSql == null ) {
+					jdbcCoordinator.getResultSetReturn().executeUpdate( ps );
+					rs = ps.getGeneratedKeys();
+				}
+				else {
+					rs = jdbcCoordinator.getResultSetReturn().extract( ps );
+				}
+				try {
+					for ( int i = 0; i < rowCount; i++ ) {
+						if ( !rs.next() ) {
+							throw new HibernateException(
+									"The database returned " + i + " natively generated identity values for "
+											+ rowCount + " inserted rows"
+							);
+						}
+						final int row = numberedSql == null ? i : rs.getInt( 1 );
+						ids[position + row] = IdentifierGeneratorHelper.get(
+								rs,
+								identifierColumnName,
+								getIdentifierType(),
+								dialect
+						);
+					}
+				}
+				finally {
+					jdbcCoordinator.getLogicalConnection().getResourceRegistry().release( rs, ps );
+				}
+			}
+			finally {
+				jdbcCoordinator.getLogicalConnection().getResourceRegistry().release( ps );
+				jdbcCoordinator.afterStatementExecution();
+			}
+		}
+		catch (SQLException e) {
+			throw getFactory().getSQLExceptionHelper().convert(
+					e,
+					"could not insert: " + MessageHelper.infoString( this ),
+					sql
+			);
+		}
+	}
+
 	public String getIdentitySelectString() {
 		//TODO: cache this in an instvar
 		return getFactory().getDialect().getIdentityColumnSupport()
@@ -4398,6 +4598,7 @@ public abstract class AbstractEntityPersister
 			sqlIdentityInsertString = customSQLInsert[0] == null
 					? generateIdentityInsertString( factory.getSqlStringGenerationContext(), getPropertyInsertability() )
 					: substituteBrackets( customSQLInsert[0] );
+			identityInsertBatchable = customSQLInsert[0] == null && determineIdentityInsertBatchable();
 		}
 		else {
 			sqlIdentityInsertString = null;
@@ -5870,8 +6071,50 @@ public abstract class AbstractEntityPersister
 
 		@Override
 		public CacheEntry buildCacheEntry(Object entity, Object[] state, Object version, SharedSessionContractImplementor session) {
+			if ( !isShareable( state, session ) ) {
+				return new StandardCacheEntryImpl( state, persister, version, session, entity );
+			}
 			return new ReferenceCacheEntryImpl( entity, persister );
 		}
+
+		/**
+		 * The entity instance is shared by all the sessions hitting the cache, and so are the instances it
+		 * references, transitively: they must be cacheable by reference themselves, and initialized instances
+		 * rather than proxies, as the proxies are bound to the session creating them.
+		 */
+		private boolean isShareable(Object[] state, SharedSessionContractImplementor session) {
+			return isShareable( persister, state, session, Collections.newSetFromMap( new IdentityHashMap<>() ) );
+		}
+
+		private static boolean isShareable(
+				EntityPersister persister,
+				Object[] state,
+				SharedSessionContractImplementor session,
+				Set<Object> visited) {
+			final Type[] types = persister.getPropertyTypes();
+			for ( int i = 0; i < types.length; i++ ) {
+				final Object value = state[i];
+				if ( !types[i].isEntityType() || value == null ) {
+					continue;
+				}
+				if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY
+						|| value instanceof HibernateProxy
+						|| !Hibernate.isInitialized( value ) ) {
+					return false;
+				}
+				if ( !visited.add( value ) ) {
+					// already checked, or being checked further up a cycle
+					continue;
+				}
+				final String entityName = ( (EntityType) types[i] ).getAssociatedEntityName();
+				final EntityPersister associatedPersister = session.getEntityPersister( entityName, value );
+				if ( !associatedPersister.canUseReferenceCacheEntries()
+						|| !isShareable( associatedPersister, associatedPersister.getPropertyValues( value ), session, visited ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
 	}
 
 	private static class StructuredCacheEntryHelper implements CacheEntryHelper {
@@ -5900,6 +6143,32 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	private static class CompactCacheEntryHelper implements CacheEntryHelper {
+		private final EntityPersister persister;
+		private final CompactCacheEntry structure;
+
+		private CompactCacheEntryHelper(EntityPersister persister) {
+			this.persister = persister;
+			this.structure = new CompactCacheEntry( persister );
+		}
+
+		@Override
+		public CacheEntryStructure getCacheEntryStructure() {
+			return structure;
+		}
+
+		@Override
+		public CacheEntry buildCacheEntry(Object entity, Object[] state, Object version, SharedSessionContractImplementor session) {
+			return new StandardCacheEntryImpl(
+					state,
+					persister,
+					version,
+					session,
+					entity
+			);
+		}
+	}
+
 	private static class NoopCacheEntryHelper implements CacheEntryHelper {
 		public static final NoopCacheEntryHelper INSTANCE = new NoopCacheEntryHelper();
 
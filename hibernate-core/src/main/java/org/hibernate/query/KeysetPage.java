@@ -0,0 +1,88 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.query;
+
+import java.util.Arrays;
+
+import org.hibernate.Incubating;
+
+/**
+ * A page of query results, located by the values of an ordered unique key rather than by an offset, so that reading
+ * any page costs the same as reading the first one.
+ * <p/>
+ * The keys are the items of the order by clause of the query, typically attribute paths such as
+ * {@code order by b.publicationDate desc, b.id desc}, which together uniquely identify a result of the query and
+ * are never {@code null}.  A page only carries the key values of the result preceding it, which are bound as
+ * parameters of the query, and the page following a given page is obtained from
+ * {@link KeysetResultList#getNextPage()}.  A page is only meaningful for the query it was obtained from.
+ *
+ * @see Query#getKeysetResultList(KeysetPage)
+ *
+ * @since 5.6
+ */
+@Incubating
+public final class KeysetPage {
+	private final int maxResults;
+	private final Object[] keyValues;
+
+	private KeysetPage(int maxResults, Object[] keyValues) {
+		this.maxResults = maxResults;
+		this.keyValues = keyValues;
+	}
+
+	/**
+	 * The first page of the results.
+	 *
+	 * @param maxResults The maximum number of results of a page
+	 *
+	 * @return The first page
+	 */
+	public static KeysetPage first(int maxResults) {
+		if ( maxResults <= 0 ) {
+			throw new IllegalArgumentException( "The maximum number of results of a page must be positive: " + maxResults );
+		}
+		return new KeysetPage( maxResults, null );
+	}
+
+	/**
+	 * The page following the result with the given key values.
+	 *
+	 * @param lastKeyValues The key values of the last result of this page, in the order of the keys
+	 *
+	 * @return The next page
+	 */
+	public KeysetPage next(Object[] lastKeyValues) {
+		if ( lastKeyValues.length == 0 ) {
+			throw new IllegalArgumentException( "At least one key value is required for keyset pagination" );
+		}
+		return new KeysetPage( maxResults, lastKeyValues.clone() );
+	}
+
+	public int getMaxResults() {
+		return maxResults;
+	}
+
+	/**
+	 * Is this the first page of the results?
+	 */
+	public boolean isFirst() {
+		return keyValues == null;
+	}
+
+	/**
+	 * The key values of the result preceding this page, or {@code null} for the first page.
+	 */
+	public Object[] getKeyValues() {
+		return keyValues == null ? null : keyValues.clone();
+	}
+
+	@Override
+	public String toString() {
+		return "KeysetPage(" + ( keyValues == null ? "first" : "after " + Arrays.toString( keyValues ) )
+				+ ", maxResults=" + maxResults + ")";
+	}
+}
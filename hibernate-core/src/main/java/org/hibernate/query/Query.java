@@ -29,6 +29,7 @@ import javax.persistence.TypedQuery;
 
 import org.hibernate.CacheMode;
 import org.hibernate.FlushMode;
+import org.hibernate.Incubating;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.ScrollMode;
@@ -172,6 +173,25 @@ public interface Query<R> extends TypedQuery<R>, org.hibernate.Query<R>, CommonQ
 		return uniqueResult();
 	}
 
+	/**
+	 * Execute the query and return the results of the given page, the query being paginated by key rather than by
+	 * offset.  The keys are the items of the order by clause of the query, which must together uniquely identify a
+	 * result and all be in ascending or all be in descending order.
+	 * <p/>
+	 * Only supported by HQL and Criteria queries.
+	 *
+	 * @param page The page to read, either {@link KeysetPage#first the first one} or the
+	 * {@link KeysetResultList#getNextPage() next page} of the results of a previous page
+	 *
+	 * @return The results of the page, along with the next page
+	 *
+	 * @since 5.6
+	 */
+	@Incubating
+	default KeysetResultList<R> getKeysetResultList(KeysetPage page) {
+		throw new UnsupportedOperationException( "Keyset pagination is not supported by " + getClass().getName() );
+	}
+
 	@Override
 	FlushMode getHibernateFlushMode();
 
@@ -148,6 +148,7 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 	private String optionalEntityName;
 
 	private Boolean passDistinctThrough;
+	private Integer streamingDetachWindow;
 
 	public AbstractProducedQuery(
 			SharedSessionContractImplementor producer,
@@ -937,6 +938,10 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		return this;
 	}
 
+	protected boolean hasResultTransformer() {
+		return resultTransformer != null;
+	}
+
 	@Override
 	public RowSelection getQueryOptions() {
 		return queryOptions;
@@ -1164,6 +1169,9 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 			else if ( QueryHints.HINT_PASS_DISTINCT_THROUGH.equals( hintName ) ) {
 				applied = applyPassDistinctThrough( ConfigurationHelper.getBoolean( value ) );
 			}
+			else if ( QueryHints.HINT_STREAMING_DETACH_WINDOW.equals( hintName ) ) {
+				applied = applyStreamingDetachWindowHint( ConfigurationHelper.getInteger( value ) );
+			}
 			else {
 				MSG_LOGGER.ignoringUnrecognizedQueryHint( hintName );
 			}
@@ -1397,6 +1405,19 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		return true;
 	}
 
+	/**
+	 * Apply the streaming detach window hint.
+	 *
+	 * @param streamingDetachWindow the number of preceding rows whose entities are kept managed while scrolling
+	 */
+	protected boolean applyStreamingDetachWindowHint(Integer streamingDetachWindow) {
+		if ( streamingDetachWindow == null || streamingDetachWindow < 0 ) {
+			return false;
+		}
+		this.streamingDetachWindow = streamingDetachWindow;
+		return true;
+	}
+
 	/**
 	 * Is the query represented here a native (SQL) query?
 	 *
@@ -1471,6 +1492,9 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		if ( passDistinctThrough != null ) {
 			queryParameters.setPassDistinctThrough( passDistinctThrough );
 		}
+		if ( streamingDetachWindow != null ) {
+			queryParameters.setStreamingDetachWindow( streamingDetachWindow );
+		}
 		return queryParameters;
 	}
 
@@ -1556,9 +1580,10 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		if (getMaxResults() == 0){
 			return Collections.emptyIterator();
 		}
+		final String expandedQuery = expandListValuedParameters();
 		return getProducer().iterate(
-				getQueryParameterBindings().expandListValuedParameters( getQueryString(), getProducer() ),
-				getQueryParameters()
+				expandedQuery,
+				makeQueryParametersForExecution( expandedQuery )
 		);
 	}
 
@@ -1582,7 +1607,7 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		if (getMaxResults() == 0){
 			return EmptyScrollableResults.INSTANCE;
 		}
-		final String query = getQueryParameterBindings().expandListValuedParameters( getQueryString(), getProducer() );
+		final String query = expandListValuedParameters();
 		QueryParameters queryParameters = makeQueryParametersForExecution( query );
 		queryParameters.setScrollMode( scrollMode );
 		return getProducer().scroll( query, queryParameters );
@@ -1645,7 +1670,7 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 			}
 		}
 
-		final String expandedQuery = getQueryParameterBindings().expandListValuedParameters( getQueryString(), getProducer() );
+		final String expandedQuery = expandListValuedParameters();
 		return getProducer().list(
 				expandedQuery,
 				makeQueryParametersForExecution( expandedQuery )
@@ -1654,6 +1679,23 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 
 	protected abstract QueryParameterBindings getQueryParameterBindings();
 
+	private String expandListValuedParameters() {
+		return getQueryParameterBindings().expandListValuedParameters(
+				getQueryString(),
+				getProducer(),
+				isInClauseParameterPlanSharingEnabled()
+		);
+	}
+
+	/**
+	 * Can the list-valued parameters of this query be expanded by its query plan, rather than in the query itself?
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#IN_CLAUSE_PARAMETER_PLAN_SHARING
+	 */
+	protected boolean isInClauseParameterPlanSharingEnabled() {
+		return false;
+	}
+
 	@Override
 	public R uniqueResult() {
 		return uniqueElement( list() );
@@ -0,0 +1,306 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.query.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.query.KeysetPage;
+
+/**
+ * Rewrites the HQL of a query to read a {@link KeysetPage}: the keys, which are the items of the order by clause of
+ * the query, are appended to the select clause, and the results are restricted to the keys following those of the
+ * previous page, bound as parameters.
+ */
+final class KeysetQueryRewriter {
+	private static final Set<String> CLAUSES = new HashSet<>( Arrays.asList(
+			"select", "from", "where", "group", "having", "order"
+	) );
+
+	private static final Set<String> NON_ALIASES = new HashSet<>( Arrays.asList(
+			"join", "inner", "left", "right", "full", "outer", "cross", "fetch", "with", "in"
+	) );
+
+	private KeysetQueryRewriter() {
+	}
+
+	/**
+	 * Rewrite the given HQL.
+	 *
+	 * @param hql The HQL of the query
+	 * @param selectionCount The number of items selected by the query
+	 * @param keyParameters The parameter references the key values of the previous page are bound to, or
+	 * {@code null} for the first page
+	 * @param useRowValueConstructorSyntax Whether the keys are compared as a single row value
+	 *
+	 * @return The rewritten HQL
+	 */
+	static String rewrite(
+			String hql,
+			int selectionCount,
+			String[] keyParameters,
+			boolean useRowValueConstructorSyntax) {
+		final Map<String, Integer> clauses = locateClauses( hql );
+		final Integer order = clauses.get( "order" );
+		if ( order == null ) {
+			throw new IllegalArgumentException(
+					"A query paginated by key must define an order by clause, its items being the keys: " + hql
+			);
+		}
+		final Integer from = clauses.get( "from" );
+		if ( from == null ) {
+			throw new IllegalArgumentException( "Keyset pagination requires a select query: " + hql );
+		}
+		final List<String> orderByItems = orderByItems( hql, order );
+		final List<String> keys = new ArrayList<>( orderByItems.size() );
+		final boolean descending = isDescending( orderByItems, keys, hql );
+		if ( keyParameters != null && keyParameters.length != keys.size() ) {
+			throw new IllegalArgumentException(
+					"Expected " + keys.size() + " key values, as many as the order by items, but the page has "
+							+ keyParameters.length + ": " + hql
+			);
+		}
+		final int fromEnd = firstOf( clauses, order, "where", "group", "having" );
+
+		final StringBuilder buffer = new StringBuilder( hql.length() + 64 );
+		final Integer select = clauses.get( "select" );
+		if ( select != null ) {
+			final String selection = hql.substring( select + "select".length(), from ).trim();
+			if ( startsWithWord( selection, "new" )
+					|| startsWithWord( selection, "distinct" )
+					&& startsWithWord( selection.substring( "distinct".length() ).trim(), "new" ) ) {
+				throw new IllegalArgumentException( "Keyset pagination does not support select new: " + hql );
+			}
+			buffer.append( hql, 0, select ).append( "select " ).append( selection );
+		}
+		else {
+			if ( selectionCount != 1 ) {
+				throw new IllegalArgumentException(
+						"Keyset pagination of a query selecting several roots requires an explicit select clause: " + hql
+				);
+			}
+			buffer.append( "select " ).append( rootAlias( hql, from, fromEnd ) );
+		}
+		buffer.append( ", " ).append( String.join( ", ", keys ) ).append( ' ' ).append( hql, from, fromEnd );
+
+		final String keyPredicate = keyParameters == null
+				? null
+				: keyPredicate( keys, keyParameters, descending ? "<" : ">", useRowValueConstructorSyntax );
+		final Integer where = clauses.get( "where" );
+		final int whereEnd = firstOf( clauses, order, "group", "having" );
+		if ( where != null ) {
+			buffer.append( " where (" ).append( hql.substring( where + "where".length(), whereEnd ).trim() ).append( ')' );
+			if ( keyPredicate != null ) {
+				buffer.append( " and (" ).append( keyPredicate ).append( ')' );
+			}
+		}
+		else if ( keyPredicate != null ) {
+			buffer.append( " where " ).append( keyPredicate );
+		}
+		// the group by, having and order by clauses of the query
+		buffer.append( ' ' ).append( hql, whereEnd, hql.length() );
+		return buffer.toString();
+	}
+
+	/**
+	 * The items of the top level order by clause starting at the given position, split at their top level commas.
+	 */
+	private static List<String> orderByItems(String hql, int order) {
+		int i = order + "order".length();
+		while ( i < hql.length() && Character.isWhitespace( hql.charAt( i ) ) ) {
+			i++;
+		}
+		if ( !startsWithWord( hql.substring( i ), "by" ) ) {
+			throw new IllegalArgumentException( "Unexpected order clause: " + hql );
+		}
+		i += "by".length();
+		final List<String> items = new ArrayList<>();
+		int depth = 0;
+		int itemStart = i;
+		while ( i < hql.length() ) {
+			final char c = hql.charAt( i );
+			if ( c == '\'' || c == '"' || c == '`' ) {
+				final int end = hql.indexOf( c, i + 1 );
+				i = end < 0 ? hql.length() : end + 1;
+				continue;
+			}
+			if ( c == '(' ) {
+				depth++;
+			}
+			else if ( c == ')' ) {
+				depth--;
+			}
+			else if ( c == ',' && depth == 0 ) {
+				items.add( hql.substring( itemStart, i ).trim() );
+				itemStart = i + 1;
+			}
+			i++;
+		}
+		items.add( hql.substring( itemStart ).trim() );
+		for ( String item : items ) {
+			if ( item.isEmpty() ) {
+				throw new IllegalArgumentException( "Unexpected order by clause: " + hql );
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * Strip the direction of the order by items, which must all be ascending or all be descending.
+	 *
+	 * @param orderByItems The items of the order by clause
+	 * @param keys The list to collect the keys, the items without their direction, into
+	 * @param hql The HQL of the query
+	 *
+	 * @return Whether the keys are in descending order
+	 */
+	private static boolean isDescending(List<String> orderByItems, List<String> keys, String hql) {
+		Boolean descending = null;
+		for ( String item : orderByItems ) {
+			int lastWordStart = item.length();
+			while ( lastWordStart > 0 && !Character.isWhitespace( item.charAt( lastWordStart - 1 ) ) ) {
+				lastWordStart--;
+			}
+			final String lastWord = lastWordStart == 0
+					? ""
+					: item.substring( lastWordStart ).toLowerCase( Locale.ROOT );
+			if ( lastWord.equals( "first" ) || lastWord.equals( "last" ) ) {
+				throw new IllegalArgumentException(
+						"The keys of keyset pagination are never null, and must not specify a null precedence: " + hql
+				);
+			}
+			final boolean itemDescending = lastWord.equals( "desc" );
+			if ( itemDescending || lastWord.equals( "asc" ) ) {
+				keys.add( item.substring( 0, lastWordStart ).trim() );
+			}
+			else {
+				keys.add( item );
+			}
+			if ( descending == null ) {
+				descending = itemDescending;
+			}
+			else if ( descending != itemDescending ) {
+				throw new IllegalArgumentException(
+						"The keys of keyset pagination must all be in ascending or all be in descending order: " + hql
+				);
+			}
+		}
+		return descending;
+	}
+
+	/**
+	 * The predicate {@code (k1, k2) > (p1, p2)}, or its expansion {@code k1 > p1 or (k1 = p1 and k2 > p2)}.
+	 */
+	private static String keyPredicate(
+			List<String> keys,
+			String[] keyParameters,
+			String operator,
+			boolean useRowValueConstructorSyntax) {
+		if ( keys.size() == 1 ) {
+			return keys.get( 0 ) + ' ' + operator + ' ' + keyParameters[0];
+		}
+		if ( useRowValueConstructorSyntax ) {
+			return "(" + String.join( ", ", keys ) + ") " + operator + " (" + String.join( ", ", keyParameters ) + ")";
+		}
+		final StringBuilder buffer = new StringBuilder();
+		for ( int i = 0; i < keys.size(); i++ ) {
+			if ( i > 0 ) {
+				buffer.append( " or (" );
+				for ( int j = 0; j < i; j++ ) {
+					buffer.append( keys.get( j ) ).append( " = " ).append( keyParameters[j] ).append( " and " );
+				}
+			}
+			buffer.append( keys.get( i ) ).append( ' ' ).append( operator ).append( ' ' ).append( keyParameters[i] );
+			if ( i > 0 ) {
+				buffer.append( ')' );
+			}
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * The alias of the single root of a query without select clause.
+	 */
+	private static String rootAlias(String hql, int from, int fromEnd) {
+		final String[] tokens = hql.substring( from + "from".length(), fromEnd ).trim().split( "\\s+" );
+		int index = 1;
+		if ( tokens.length > index && "as".equalsIgnoreCase( tokens[index] ) ) {
+			index++;
+		}
+		if ( tokens.length <= index
+				|| tokens[0].indexOf( ',' ) >= 0
+				|| tokens[index].indexOf( ',' ) >= 0
+				|| NON_ALIASES.contains( tokens[index].toLowerCase( Locale.ROOT ) ) ) {
+			throw new IllegalArgumentException(
+					"Keyset pagination requires an explicit select clause or an alias for the query root: " + hql
+			);
+		}
+		return tokens[index];
+	}
+
+	/**
+	 * Locate the first occurrence of each top level clause of the given HQL, ignoring those of subqueries.
+	 */
+	private static Map<String, Integer> locateClauses(String hql) {
+		final Map<String, Integer> clauses = new HashMap<>();
+		int depth = 0;
+		int i = 0;
+		while ( i < hql.length() ) {
+			final char c = hql.charAt( i );
+			if ( c == '\'' || c == '"' || c == '`' ) {
+				// skip the quoted literal or identifier, a doubled quote being an escaped one
+				final int end = hql.indexOf( c, i + 1 );
+				i = end < 0 ? hql.length() : end + 1;
+			}
+			else if ( c == '(' ) {
+				depth++;
+				i++;
+			}
+			else if ( c == ')' ) {
+				depth--;
+				i++;
+			}
+			else if ( Character.isJavaIdentifierStart( c ) ) {
+				int end = i + 1;
+				while ( end < hql.length() && Character.isJavaIdentifierPart( hql.charAt( end ) ) ) {
+					end++;
+				}
+				final char previous = i == 0 ? ' ' : hql.charAt( i - 1 );
+				final String word = hql.substring( i, end ).toLowerCase( Locale.ROOT );
+				if ( depth == 0 && previous != '.' && previous != ':' && CLAUSES.contains( word ) ) {
+					clauses.putIfAbsent( word, i );
+				}
+				i = end;
+			}
+			else {
+				i++;
+			}
+		}
+		return clauses;
+	}
+
+	private static int firstOf(Map<String, Integer> clauses, int defaultValue, String... names) {
+		for ( String name : names ) {
+			final Integer position = clauses.get( name );
+			if ( position != null ) {
+				return position;
+			}
+		}
+		return defaultValue;
+	}
+
+	private static boolean startsWithWord(String text, String word) {
+		return text.regionMatches( true, 0, word, 0, word.length() )
+				&& ( text.length() == word.length() || Character.isWhitespace( text.charAt( word.length() ) ) );
+	}
+}
@@ -6,18 +6,31 @@
  */
 package org.hibernate.query.internal;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.engine.query.spi.HQLQueryPlan;
 import org.hibernate.engine.query.spi.ReturnMetadata;
 import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.KeysetPage;
+import org.hibernate.query.KeysetResultList;
 import org.hibernate.query.Query;
+import org.hibernate.query.QueryParameter;
+import org.hibernate.query.spi.QueryImplementor;
+import org.hibernate.query.spi.QueryParameterBinding;
 import org.hibernate.query.spi.QueryParameterBindings;
+import org.hibernate.query.spi.QueryParameterListBinding;
 import org.hibernate.type.Type;
 
 /**
  * @author Steve Ebersole
  */
 public class QueryImpl<R> extends AbstractProducedQuery<R> implements Query<R> {
+	private static final String KEY_PARAMETER_PREFIX = "hibernateKeyset";
+
 	private final String queryString;
 
 	private final HQLQueryPlan hqlQueryPlan;
@@ -84,6 +97,130 @@ public class QueryImpl<R> extends AbstractProducedQuery<R> implements Query<R> {
 		return hqlQueryPlan.isSelect();
 	}
 
+	@Override
+	protected boolean isInClauseParameterPlanSharingEnabled() {
+		final SessionFactoryOptions options = getProducer().getFactory().getSessionFactoryOptions();
+		return isSelect()
+				&& ( options.inClauseParameterPlanSharingEnabled() || options.inClauseParameterArrayBindingEnabled() );
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public KeysetResultList<R> getKeysetResultList(KeysetPage page) {
+		getProducer().checkOpen();
+		if ( !isSelect() ) {
+			throw new IllegalStateException( "Keyset pagination requires a select query: " + queryString );
+		}
+		if ( hasResultTransformer() ) {
+			throw new IllegalStateException( "Keyset pagination does not support result transformers: " + queryString );
+		}
+		if ( getQueryOptions().definesLimits() ) {
+			throw new IllegalStateException( "The results of a query paginated by key cannot be limited: " + queryString );
+		}
+
+		final boolean positional = getParameterMetadata().hasPositionalParameters();
+		int maxPosition = 0;
+		if ( positional ) {
+			for ( QueryParameter parameter : getParameterMetadata().getPositionalParameters() ) {
+				maxPosition = Math.max( maxPosition, parameter.getPosition() );
+			}
+		}
+		final Object[] keyValues = page.getKeyValues();
+		String[] keyParameters = null;
+		if ( keyValues != null ) {
+			keyParameters = new String[keyValues.length];
+			for ( int i = 0; i < keyValues.length; i++ ) {
+				keyParameters[i] = positional
+						? "?" + ( maxPosition + i + 1 )
+						: ":" + KEY_PARAMETER_PREFIX + i;
+			}
+		}
+
+		final int selectionCount = getReturnTypes().length;
+		final String keysetQueryString = KeysetQueryRewriter.rewrite(
+				queryString,
+				selectionCount,
+				keyParameters,
+				getProducer().getJdbcServices().getDialect().supportsRowValueConstructorSyntax()
+		);
+		final QueryImplementor<Object[]> keysetQuery = getProducer().createQuery( keysetQueryString );
+		copyOptionsAndBindings( keysetQuery );
+		if ( keyValues != null ) {
+			for ( int i = 0; i < keyValues.length; i++ ) {
+				if ( positional ) {
+					keysetQuery.setParameter( maxPosition + i + 1, keyValues[i] );
+				}
+				else {
+					keysetQuery.setParameter( KEY_PARAMETER_PREFIX + i, keyValues[i] );
+				}
+			}
+		}
+		// one more result tells whether there is a next page
+		keysetQuery.setMaxResults( page.getMaxResults() + 1 );
+
+		final List<Object[]> rows = keysetQuery.list();
+		final List<R> results = new ArrayList<>( Math.min( rows.size(), page.getMaxResults() ) );
+		for ( int i = 0; i < rows.size() && i < page.getMaxResults(); i++ ) {
+			final Object[] row = rows.get( i );
+			results.add( (R) ( selectionCount == 1 ? row[0] : Arrays.copyOf( row, selectionCount ) ) );
+		}
+		KeysetPage nextPage = null;
+		if ( rows.size() > page.getMaxResults() ) {
+			final Object[] lastRow = rows.get( page.getMaxResults() - 1 );
+			nextPage = page.next( Arrays.copyOfRange( lastRow, selectionCount, lastRow.length ) );
+		}
+		return new KeysetResultList<>( results, page, nextPage );
+	}
+
+	@SuppressWarnings("unchecked")
+	private void copyOptionsAndBindings(QueryImplementor<?> query) {
+		query.setHibernateFlushMode( getHibernateFlushMode() );
+		query.setCacheMode( getCacheMode() );
+		query.setCacheable( isCacheable() );
+		query.setCacheRegion( getCacheRegion() );
+		if ( getTimeout() != null ) {
+			query.setTimeout( getTimeout() );
+		}
+		if ( getFetchSize() != null ) {
+			query.setFetchSize( getFetchSize() );
+		}
+		query.setReadOnly( isReadOnly() );
+		query.setComment( getComment() );
+		query.setLockOptions( getLockOptions() );
+
+		for ( QueryParameter parameter : getParameterMetadata().collectAllParameters() ) {
+			if ( queryParameterBindings.isMultiValuedBinding( parameter ) ) {
+				final QueryParameterListBinding binding = queryParameterBindings.getQueryParameterListBinding( parameter );
+				if ( parameter.getName() != null ) {
+					query.setParameterList( parameter.getName(), binding.getBindValues(), binding.getBindType() );
+				}
+				else {
+					query.setParameterList( parameter.getPosition(), binding.getBindValues(), binding.getBindType() );
+				}
+			}
+			else {
+				final QueryParameterBinding binding = queryParameterBindings.getBinding( parameter );
+				if ( !binding.isBound() ) {
+					continue;
+				}
+				if ( binding.getBindType() == null ) {
+					if ( parameter.getName() != null ) {
+						query.setParameter( parameter.getName(), binding.getBindValue() );
+					}
+					else {
+						query.setParameter( parameter.getPosition(), binding.getBindValue() );
+					}
+				}
+				else if ( parameter.getName() != null ) {
+					query.setParameter( parameter.getName(), binding.getBindValue(), binding.getBindType() );
+				}
+				else {
+					query.setParameter( parameter.getPosition(), binding.getBindValue(), binding.getBindType() );
+				}
+			}
+		}
+	}
+
 	@Override
 	protected void appendQueryPlanToQueryParameters(
 			String hql,
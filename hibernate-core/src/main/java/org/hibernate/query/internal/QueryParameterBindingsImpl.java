@@ -6,7 +6,9 @@
  */
 package org.hibernate.query.internal;
 
+import java.math.BigDecimal;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -39,6 +41,7 @@ import org.hibernate.query.QueryParameter;
 import org.hibernate.query.spi.QueryParameterBinding;
 import org.hibernate.query.spi.QueryParameterBindings;
 import org.hibernate.query.spi.QueryParameterListBinding;
+import org.hibernate.type.AbstractStandardBasicType;
 import org.hibernate.type.SerializableType;
 import org.hibernate.type.Type;
 
@@ -64,6 +67,8 @@ public class QueryParameterBindingsImpl implements QueryParameterBindings {
 	private Map<QueryParameter, QueryParameterListBinding> parameterListBindingMap;
 	private Set<QueryParameter> parametersConvertedToListBindings;
 	private Set<QueryParameter> syntheticParametersFromListBindings;
+	private Map<String, Integer> parameterListSizes;
+	private Map<String, TypedValue> parameterListArrays;
 
 	public static QueryParameterBindingsImpl from(
 			ParameterMetadata parameterMetadata,
@@ -511,6 +516,14 @@ public class QueryParameterBindingsImpl implements QueryParameterBindings {
 	@Deprecated
 	@SuppressWarnings("unchecked")
 	public String expandListValuedParameters(String queryString, SharedSessionContractImplementor session) {
+		return expandListValuedParameters( queryString, session, false );
+	}
+
+	@Override
+	public String expandListValuedParameters(
+			String queryString,
+			SharedSessionContractImplementor session,
+			boolean inClauseParameterPlanSharing) {
 		if ( queryString == null ) {
 			return null;
 		}
@@ -520,6 +533,8 @@ public class QueryParameterBindingsImpl implements QueryParameterBindings {
 			parameterBindingMap.keySet().removeAll( syntheticParametersFromListBindings );
 			syntheticParametersFromListBindings.clear();
 		}
+		parameterListSizes = null;
+		parameterListArrays = null;
 
 		if ( parameterListBindingMap == null || parameterListBindingMap.isEmpty() ) {
 			return queryString;
@@ -536,6 +551,11 @@ public class QueryParameterBindingsImpl implements QueryParameterBindings {
 		// Some DBs limit number of IN expressions.  For now, warn...
 		final Dialect dialect = session.getFactory().getServiceRegistry().getService( JdbcServices.class ).getJdbcEnvironment().getDialect();
 		final int inExprLimit = dialect.getInExpressionCountLimit();
+		final boolean arrayBinding = inClauseParameterPlanSharing
+				&& session.getFactory().getSessionFactoryOptions().inClauseParameterArrayBindingEnabled()
+				&& dialect.supportsArrayInListBinding();
+		final boolean planSharing = inClauseParameterPlanSharing
+				&& session.getFactory().getSessionFactoryOptions().inClauseParameterPlanSharingEnabled();
 
 		int maxOrdinalPosition = getMaxOrdinalPosition();
 
@@ -598,6 +618,26 @@ public class QueryParameterBindingsImpl implements QueryParameterBindings {
 				continue;
 			}
 
+			final boolean leftInPlace = sourceParam instanceof NamedParameterDescriptor
+					&& bindValueCount > 0
+					&& isSingleColumn( entry.getValue().getBindType(), session );
+
+			if ( leftInPlace && arrayBinding && isArrayBindable( entry.getValue().getBindType() ) ) {
+				// the values are bound as a single array parameter, the query plan renders the IN list as a subquery
+				if ( parameterListArrays == null ) {
+					parameterListArrays = new HashMap<>();
+				}
+				parameterListArrays.put(
+						sourceParam.getName(),
+						new TypedValue( entry.getValue().getBindType(), bindValues )
+				);
+				continue;
+			}
+
+			// the values are bound to synthetic parameters as usual, but the query itself is left as is: the query
+			// plan expands the bind parameter in the SQL instead
+			final boolean sharedQueryPlan = leftInPlace && planSharing;
+
 			StringBuilder expansionList = new StringBuilder();
 
 			Iterator bindValueIterator = entry.getValue().getBindValues().iterator();
@@ -657,6 +697,14 @@ public class QueryParameterBindingsImpl implements QueryParameterBindings {
 				parameterBindingMap.put( syntheticParam, syntheticBinding );
 			}
 
+			if ( sharedQueryPlan ) {
+				if ( parameterListSizes == null ) {
+					parameterListSizes = new HashMap<>();
+				}
+				parameterListSizes.put( sourceParam.getName(), bindValueMaxCount );
+				continue;
+			}
+
 			String expansionListAsString = expansionList.toString();
 
 			// HHH-8901
@@ -677,6 +725,33 @@ public class QueryParameterBindingsImpl implements QueryParameterBindings {
 		return queryString;
 	}
 
+	private static boolean isSingleColumn(Type bindType, SharedSessionContractImplementor session) {
+		return bindType == null || bindType.getColumnSpan( session.getFactory() ) == 1;
+	}
+
+	private static boolean isArrayBindable(Type bindType) {
+		if ( !( bindType instanceof AbstractStandardBasicType ) ) {
+			return false;
+		}
+		// the values must be passed to Connection#createArrayOf as is
+		final Class<?> javaType = ( (AbstractStandardBasicType<?>) bindType ).getJavaTypeDescriptor().getJavaType();
+		return javaType == Integer.class
+				|| javaType == Long.class
+				|| javaType == Short.class
+				|| javaType == BigDecimal.class
+				|| javaType == String.class;
+	}
+
+	@Override
+	public Map<String, Integer> collectParameterListSizes() {
+		return parameterListSizes == null ? Collections.emptyMap() : parameterListSizes;
+	}
+
+	@Override
+	public Map<String, TypedValue> collectParameterListArrays() {
+		return parameterListArrays == null ? Collections.emptyMap() : parameterListArrays;
+	}
+
 	private void registerSyntheticParamFromListBindings(QueryParameter<?> syntheticParam) {
 		if ( syntheticParametersFromListBindings == null ) {
 			syntheticParametersFromListBindings = new HashSet<>();
@@ -6,6 +6,7 @@
  */
 package org.hibernate.query.spi;
 
+import java.util.Collections;
 import java.util.Map;
 
 import org.hibernate.Incubating;
@@ -28,6 +29,22 @@ public interface QueryParameterBindings {
 	void verifyParametersBound(boolean callable);
 	String expandListValuedParameters(String queryString, SharedSessionContractImplementor producer);
 
+	/**
+	 * Expand the list-valued parameters of the given query, leaving the named single-column ones in place when
+	 * {@code inClauseParameterPlanSharing} is {@code true}: their number of values is then reported by
+	 * {@link #collectParameterListSizes()}, or their values by {@link #collectParameterListArrays()} when they are
+	 * bound as an array.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#IN_CLAUSE_PARAMETER_PLAN_SHARING
+	 * @see org.hibernate.cfg.AvailableSettings#IN_CLAUSE_PARAMETER_ARRAY_BINDING
+	 */
+	default String expandListValuedParameters(
+			String queryString,
+			SharedSessionContractImplementor producer,
+			boolean inClauseParameterPlanSharing) {
+		return expandListValuedParameters( queryString, producer );
+	}
+
 	<T> QueryParameterListBinding<T> getQueryParameterListBinding(QueryParameter<T> parameter);
 	<T> QueryParameterListBinding<T> getQueryParameterListBinding(String name);
 	<T> QueryParameterListBinding<T> getQueryParameterListBinding(int position);
@@ -36,6 +53,25 @@ public interface QueryParameterBindings {
 	Object[] collectPositionalBindValues();
 	Map<String,TypedValue> collectNamedParameterBindings();
 
+	/**
+	 * The number of values bound to each of the list-valued parameters left in place by the last
+	 * {@link #expandListValuedParameters(String, SharedSessionContractImplementor, boolean) expansion}, by parameter
+	 * name.  The values themselves are bound to the synthetic parameters {@code name_0}, {@code name_1}...
+	 */
+	default Map<String, Integer> collectParameterListSizes() {
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * The list-valued parameters left in place by the last
+	 * {@link #expandListValuedParameters(String, SharedSessionContractImplementor, boolean) expansion} which are
+	 * bound as a single array parameter, by parameter name.  Each value is the collection of values, typed with the
+	 * type of its elements.
+	 */
+	default Map<String, TypedValue> collectParameterListArrays() {
+		return Collections.emptyMap();
+	}
+
 	/**
 	 * @deprecated expect a different approach to org.hibernate.engine.spi.QueryParameters in 6.0
 	 */
@@ -6,6 +6,7 @@
  */
 package org.hibernate.resource.jdbc;
 
+import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.NClob;
@@ -72,6 +73,22 @@ public interface ResourceRegistry {
 	void register(NClob nclob);
 	void release(NClob nclob);
 
+	/**
+	 * Register a JDBC array, freed when the resources are released.
+	 *
+	 * @param array The array to register.
+	 */
+	default void register(Array array) {
+	}
+
+	/**
+	 * Release a previously registered array, without freeing it.
+	 *
+	 * @param array The array to release.
+	 */
+	default void release(Array array) {
+	}
+
 	void cancelLastQuery();
 
 }
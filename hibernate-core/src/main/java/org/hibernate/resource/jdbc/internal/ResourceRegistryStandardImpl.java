@@ -6,6 +6,7 @@
  */
 package org.hibernate.resource.jdbc.internal;
 
+import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.NClob;
@@ -57,6 +58,7 @@ public final class ResourceRegistryStandardImpl implements ResourceRegistry {
 	private ArrayList<Blob> blobs;
 	private ArrayList<Clob> clobs;
 	private ArrayList<NClob> nclobs;
+	private ArrayList<Array> arrays;
 
 	private Statement lastQuery;
 
@@ -74,7 +76,8 @@ public final class ResourceRegistryStandardImpl implements ResourceRegistry {
 				|| hasRegistered( unassociatedResultSets )
 				|| hasRegistered( blobs )
 				|| hasRegistered( clobs )
-				|| hasRegistered( nclobs );
+				|| hasRegistered( nclobs )
+				|| hasRegistered( arrays );
 	}
 
 	@Override
@@ -302,6 +305,23 @@ public final class ResourceRegistryStandardImpl implements ResourceRegistry {
 		nclobs.remove( nclob );
 	}
 
+	@Override
+	public void register(Array array) {
+		if ( arrays == null ) {
+			arrays = new ArrayList<Array>();
+		}
+		arrays.add( array );
+	}
+
+	@Override
+	public void release(Array array) {
+		if ( arrays == null ) {
+			log.debug( "Request to release Array, but appears no Arrays have ever been registered" );
+			return;
+		}
+		arrays.remove( array );
+	}
+
 	@Override
 	public void cancelLastQuery() {
 		try {
@@ -366,6 +386,18 @@ public final class ResourceRegistryStandardImpl implements ResourceRegistry {
 			} );
 			nclobs = null;
 		}
+
+		if ( arrays != null ) {
+			arrays.forEach( array -> {
+				try {
+					array.free();
+				}
+				catch (SQLException e) {
+					log.debugf( "Unable to free JDBC Array reference [%s]", e.getMessage() );
+				}
+			} );
+			arrays = null;
+		}
 	}
 
 	private boolean hasRegistered(final HashMap resource) {
@@ -6,6 +6,8 @@
  */
 package org.hibernate.stat;
 
+import java.util.Collections;
+import java.util.Map;
 import javax.management.MXBean;
 
 /**
@@ -386,4 +388,47 @@ public interface Statistics {
 		//For backward compatibility
 		return 0;
 	}
+
+	/**
+	 * Get the global number of query plans lookups *not* found in cache, which waited for the compilation of the
+	 * query plan by another thread instead of compiling it too.  These lookups are not counted as misses.
+	 */
+	default long getQueryPlanSharedCompilationCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the number of query plans to compile during the warm-up of the query plan cache
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_WARM_UP_FILE
+	 */
+	default long getQueryPlanWarmUpCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the number of query plans compiled so far by the warm-up of the query plan cache
+	 */
+	default long getQueryPlanWarmedUpCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the number of query plans the warm-up of the query plan cache failed to compile
+	 */
+	default long getQueryPlanWarmUpFailureCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the JDBC batch sizes tuned for each batch key, when
+	 * {@value org.hibernate.cfg.AvailableSettings#ADAPTIVE_BATCH_SIZE} is enabled
+	 */
+	default Map<String, Integer> getJdbcBatchSizes() {
+		return Collections.emptyMap();
+	}
 }
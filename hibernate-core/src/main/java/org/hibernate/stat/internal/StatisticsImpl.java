@@ -6,6 +6,8 @@
  */
 package org.hibernate.stat.internal;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
@@ -15,6 +17,8 @@ import org.hibernate.cache.spi.CacheImplementor;
 import org.hibernate.cache.spi.QueryResultsCache;
 import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.Region;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderMXBean;
+import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.metamodel.model.domain.NavigableRole;
@@ -43,6 +47,7 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 	private final String cacheRegionPrefix;
 	private final boolean secondLevelCacheEnabled;
 	private final boolean queryCacheEnabled;
+	private final BatchBuilder batchBuilder;
 
 	private volatile boolean isStatisticsEnabled;
 	private volatile long startTime;
@@ -87,6 +92,11 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 
 	private final LongAdder queryPlanCacheHitCount = new LongAdder();
 	private final LongAdder queryPlanCacheMissCount = new LongAdder();
+	private final LongAdder queryPlanSharedCompilationCount = new LongAdder();
+
+	private final LongAdder queryPlanWarmUpCount = new LongAdder();
+	private final LongAdder queryPlanWarmedUpCount = new LongAdder();
+	private final LongAdder queryPlanWarmUpFailureCount = new LongAdder();
 
 	private final LongAdder updateTimestampsCacheHitCount = new LongAdder();
 	private final LongAdder updateTimestampsCacheMissCount = new LongAdder();
@@ -128,6 +138,7 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 		cacheRegionPrefix = sessionFactoryOptions.getCacheRegionPrefix();
 		secondLevelCacheEnabled = sessionFactoryOptions.isSecondLevelCacheEnabled();
 		queryCacheEnabled = sessionFactoryOptions.isQueryCacheEnabled();
+		batchBuilder = sessionFactory.getServiceRegistry().getService( BatchBuilder.class );
 	}
 
 	/**
@@ -191,6 +202,11 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 
 		queryPlanCacheHitCount.reset();
 		queryPlanCacheMissCount.reset();
+		queryPlanSharedCompilationCount.reset();
+
+		queryPlanWarmUpCount.reset();
+		queryPlanWarmedUpCount.reset();
+		queryPlanWarmUpFailureCount.reset();
 
 		resetStartTime();
 	}
@@ -758,6 +774,34 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 		return queryPlanCacheMissCount.sum();
 	}
 
+	@Override
+	public long getQueryPlanSharedCompilationCount() {
+		return queryPlanSharedCompilationCount.sum();
+	}
+
+	@Override
+	public long getQueryPlanWarmUpCount() {
+		return queryPlanWarmUpCount.sum();
+	}
+
+	@Override
+	public long getQueryPlanWarmedUpCount() {
+		return queryPlanWarmedUpCount.sum();
+	}
+
+	@Override
+	public long getQueryPlanWarmUpFailureCount() {
+		return queryPlanWarmUpFailureCount.sum();
+	}
+
+	@Override
+	public Map<String, Integer> getJdbcBatchSizes() {
+		if ( batchBuilder instanceof BatchBuilderMXBean ) {
+			return ( (BatchBuilderMXBean) batchBuilder ).getJdbcBatchSizes();
+		}
+		return Collections.emptyMap();
+	}
+
 	@Override
 	public void queryCompiled(String hql, long microseconds) {
 		queryPlanCacheMissCount.increment();
@@ -785,6 +829,26 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 		}
 	}
 
+	@Override
+	public void queryPlanCompilationShared(String query) {
+		queryPlanSharedCompilationCount.increment();
+	}
+
+	@Override
+	public void queryPlanWarmUpStarted(int planCount) {
+		queryPlanWarmUpCount.add( planCount );
+	}
+
+	@Override
+	public void queryPlanWarmedUp(String query) {
+		queryPlanWarmedUpCount.increment();
+	}
+
+	@Override
+	public void queryPlanWarmUpFailed(String query) {
+		queryPlanWarmUpFailureCount.increment();
+	}
+
 	private CacheRegionStatisticsImpl getQueryRegionStats(String regionName) {
 		return l2CacheStatsMap.getOrCompute(
 				regionName,
@@ -958,6 +1022,7 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 				.append( ",max query time=" ).append( queryExecutionMaxTime )
 				.append( ",query plan cache hits=" ).append( queryPlanCacheHitCount )
 				.append( ",query plan cache misses=" ).append( queryPlanCacheMissCount )
+				.append( ",query plan shared compilations=" ).append( queryPlanSharedCompilationCount )
 				.append( ']' )
 				.toString();
 	}
@@ -275,4 +275,41 @@ public interface StatisticsImplementor extends Statistics, Service {
 	default void queryCompiled(String hql, long microseconds) {
 		//For backward compatibility
 	}
+
+	/**
+	 * Callback indicating a get from the query plan cache waited for the compilation of the query plan by another
+	 * thread, instead of compiling it too.
+	 *
+	 * @param query The query
+	 */
+	default void queryPlanCompilationShared(String query) {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating the start of the warm-up of the query plan cache.
+	 *
+	 * @param planCount The number of query plans to compile
+	 */
+	default void queryPlanWarmUpStarted(int planCount) {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating a query plan was compiled by the warm-up of the query plan cache.
+	 *
+	 * @param query The query
+	 */
+	default void queryPlanWarmedUp(String query) {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating a query recorded for the warm-up of the query plan cache could not be compiled.
+	 *
+	 * @param query The query
+	 */
+	default void queryPlanWarmUpFailed(String query) {
+		//For backward compatibility
+	}
 }
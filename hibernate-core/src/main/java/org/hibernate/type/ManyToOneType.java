@@ -203,10 +203,9 @@ public class ManyToOneType extends EntityType {
 		if ( uniqueKeyPropertyName == null && id != null ) {
 			final EntityPersister persister = getAssociatedEntityPersister( session.getFactory() );
 			if ( persister.isBatchLoadable() ) {
-				final EntityKey entityKey = session.generateEntityKey( id, persister );
 				final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
-				if ( !persistenceContext.containsEntity( entityKey ) ) {
-					persistenceContext.getBatchFetchQueue().addBatchLoadableEntityKey( entityKey );
+				if ( !persistenceContext.containsEntity( id, persister ) ) {
+					persistenceContext.getBatchFetchQueue().addBatchLoadableEntityKey( session.generateEntityKey( id, persister ) );
 				}
 			}
 		}
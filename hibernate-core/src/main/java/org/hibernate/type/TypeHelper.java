@@ -59,6 +59,38 @@ public class TypeHelper {
 		}
 	}
 
+	/**
+	 * Deep copy the values of a series of composite (embeddable) types from one array to another, the values of
+	 * the other types being shared between both arrays.
+	 *
+	 * @param values The values to copy (the source)
+	 * @param types The value types
+	 * @param copy an array indicating which values to include in the copy
+	 * @param target The array into which to copy the values
+	 * @param session The originating session
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#LOADED_STATE_COPY_ON_WRITE
+	 */
+	public static void deepCopyComposites(
+			final Object[] values,
+			final Type[] types,
+			final boolean[] copy,
+			final Object[] target,
+			final SharedSessionContractImplementor session) {
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( copy[i] ) {
+				if ( !types[i].isComponentType()
+					|| values[i] == LazyPropertyInitializer.UNFETCHED_PROPERTY
+					|| values[i] == PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
+					target[i] = values[i];
+				}
+				else {
+					target[i] = types[i].deepCopy( values[i], session.getFactory() );
+				}
+			}
+		}
+	}
+
 	/**
 	 * Apply the {@link Type#beforeAssemble} operation across a series of values.
 	 *
@@ -0,0 +1,111 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks {@link EntityKeyMap} against a plain {@link HashMap}, for both primitive-keyed
+ * and object-keyed entity hierarchies.
+ */
+public class EntityKeyMapTest {
+
+	@Test
+	public void testLookupWithoutEntityKey() {
+		final EntityPersister persister = persister( "Book", IntegerType.INSTANCE );
+		final EntityKeyMap<Object> map = new EntityKeyMap<>();
+		final Object book = new Object();
+
+		map.put( new EntityKey( 1, persister ), book );
+
+		assertSame( book, map.get( 1, persister ) );
+		assertSame( book, map.get( new EntityKey( 1, persister ) ) );
+		assertTrue( map.containsKey( 1, persister ) );
+		assertNull( map.get( 2, persister ) );
+		assertFalse( map.containsKey( 2, persister ) );
+	}
+
+	@Test
+	public void testSubclassesShareTheRootPartition() {
+		final EntityPersister root = persister( "Animal", IntegerType.INSTANCE );
+		final EntityPersister subclass = persister( "Animal", IntegerType.INSTANCE );
+		final EntityKeyMap<Object> map = new EntityKeyMap<>();
+		final Object dog = new Object();
+
+		map.put( new EntityKey( 7, subclass ), dog );
+
+		assertSame( dog, map.get( 7, root ) );
+		assertSame( dog, map.remove( new EntityKey( 7, root ) ) );
+		assertTrue( map.isEmpty() );
+	}
+
+	@Test
+	public void testBehavesLikeHashMap() {
+		final EntityPersister[] persisters = new EntityPersister[] {
+				persister( "Book", IntegerType.INSTANCE ),
+				persister( "Author", IntegerType.INSTANCE ),
+				persister( "Publisher", StringType.INSTANCE )
+		};
+		final EntityKeyMap<Object> map = new EntityKeyMap<>();
+		final Map<EntityKey, Object> expected = new HashMap<>();
+		final Random random = new Random( 42 );
+
+		for ( int i = 0; i < 50_000; i++ ) {
+			final int p = random.nextInt( persisters.length );
+			final int value = random.nextInt( 2_000 );
+			final Serializable id = p == 2 ? "id" + value : (Serializable) value;
+			final EntityKey key = new EntityKey( id, persisters[p] );
+			switch ( random.nextInt( 3 ) ) {
+				case 0:
+					assertEquals( expected.put( key, i ), map.put( key, i ) );
+					break;
+				case 1:
+					assertEquals( expected.remove( key ), map.remove( key ) );
+					break;
+				default:
+					assertEquals( expected.get( key ), map.get( id, persisters[p] ) );
+			}
+			assertEquals( expected.size(), map.size() );
+		}
+
+		assertEquals( expected.keySet(), new HashSet<>( map.keySet() ) );
+		assertEquals( expected.entrySet(), new HashSet<>( map.entrySet() ) );
+		assertEquals( new HashSet<>( expected.values() ), new HashSet<>( map.values() ) );
+
+		map.clear();
+		assertTrue( map.isEmpty() );
+		assertFalse( map.values().iterator().hasNext() );
+	}
+
+	private static EntityPersister persister(String rootEntityName, Type identifierType) {
+		final EntityPersister persister = mock( EntityPersister.class );
+		when( persister.getRootEntityName() ).thenReturn( rootEntityName );
+		when( persister.getEntityName() ).thenReturn( rootEntityName );
+		when( persister.getIdentifierType() ).thenReturn( identifierType );
+		return persister;
+	}
+}
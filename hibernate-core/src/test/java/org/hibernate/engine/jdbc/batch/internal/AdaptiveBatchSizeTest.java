@@ -0,0 +1,56 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the tuning of {@link AdaptiveBatchSize}.
+ */
+public class AdaptiveBatchSizeTest {
+
+	@Test
+	public void testInitialSizeIsBounded() {
+		assertEquals( 40, new AdaptiveBatchSize( 100, 2, 40 ).getSize() );
+		assertEquals( 10, new AdaptiveBatchSize( 5, 10, 40 ).getSize() );
+	}
+
+	@Test
+	public void testSizeGrowsWhileTimePerRowDecreases() {
+		final AdaptiveBatchSize batchSize = new AdaptiveBatchSize( 16, 2, 100 );
+		// 1000ns per row: first sample, grows by a quarter
+		sample( batchSize, 1000 );
+		assertEquals( 20, batchSize.getSize() );
+		// 800ns per row: better, keeps growing
+		sample( batchSize, 800 );
+		assertEquals( 25, batchSize.getSize() );
+		// 810ns per row: within the tolerance, stays put
+		sample( batchSize, 810 );
+		assertEquals( 25, batchSize.getSize() );
+		// 1000ns per row: worse, turns around
+		sample( batchSize, 1000 );
+		assertEquals( 19, batchSize.getSize() );
+	}
+
+	@Test
+	public void testSizeTurnsAroundAtBound() {
+		final AdaptiveBatchSize batchSize = new AdaptiveBatchSize( 40, 2, 40 );
+		sample( batchSize, 1000 );
+		assertEquals( 40, batchSize.getSize() );
+		sample( batchSize, 500 );
+		assertEquals( 30, batchSize.getSize() );
+	}
+
+	private static void sample(AdaptiveBatchSize batchSize, long nanosPerRow) {
+		final int size = batchSize.getSize();
+		for ( int i = 0; i < 4; i++ ) {
+			batchSize.recordExecution( size, size * nanosPerRow );
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks the splitting of single-row inserts by {@link MultiRowInserts}.
+ */
+public class MultiRowInsertsTest {
+
+	@Test
+	public void testSplit() {
+		assertArrayEquals(
+				new String[] { "insert into Item (id, name) values ", "(?, ?)" },
+				MultiRowInserts.split( "insert into Item (id, name) values (?, ?)" )
+		);
+		assertArrayEquals(
+				new String[] { "INSERT INTO Item (id) VALUES", "(?)" },
+				MultiRowInserts.split( "INSERT INTO Item (id) VALUES(?)" )
+		);
+	}
+
+	@Test
+	public void testSplitSkipsCommentsLiteralsAndQuotedIdentifiers() {
+		assertArrayEquals(
+				new String[] { "/* insert Item */ insert into Item (id, \"values\") values ", "(?, ') values (?')" },
+				MultiRowInserts.split( "/* insert Item */ insert into Item (id, \"values\") values (?, ') values (?')" )
+		);
+	}
+
+	@Test
+	public void testSplitRejectsOtherStatements() {
+		assertNull( MultiRowInserts.split( "update Item set name = ? where id = ?" ) );
+		assertNull( MultiRowInserts.split( "insert into Item (id) select id from Other" ) );
+		assertNull( MultiRowInserts.split( "insert into Item default values" ) );
+		assertNull( MultiRowInserts.split( "insert into Item (id) values (?), (?)" ) );
+		assertNull( MultiRowInserts.split( "insert into Item (id) values (?) returning id" ) );
+		assertNull( MultiRowInserts.split( "insert into Item (id) values ('unterminated)" ) );
+	}
+
+	@Test
+	public void testCountParameters() {
+		assertEquals( 2, MultiRowInserts.countParameters( "(?, '?', \"?\", /* ? */ ?)" ) );
+	}
+}
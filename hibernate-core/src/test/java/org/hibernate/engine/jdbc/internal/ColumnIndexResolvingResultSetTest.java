@@ -0,0 +1,98 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.engine.jdbc.ColumnNameCache;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ColumnIndexResolvingResultSetTest {
+
+	private ResultSet resultSet;
+
+	private ResultSet wrapper;
+
+	@Before
+	public void initialize() throws SQLException {
+		resultSet = Mockito.mock( ResultSet.class );
+		when( resultSet.findColumn( eq( "myColumn" ) ) ).thenReturn( 1 );
+		when( resultSet.findColumn( eq( "myOtherColumn" ) ) ).thenReturn( 2 );
+		when( resultSet.next() ).thenReturn( true );
+
+		wrapper = new ColumnIndexResolvingResultSet( resultSet, new ColumnNameCache( 2 ) );
+	}
+
+	@Test
+	public void testRedirectedGetMethod() throws SQLException {
+		wrapper.getBigDecimal( "myColumn" );
+
+		verify( resultSet, times( 1 ) ).getBigDecimal( 1 );
+	}
+
+	@SuppressWarnings("deprecation")
+	@Test
+	public void testRedirectedGetMethodWithAdditionalParameters() throws SQLException {
+		wrapper.getBigDecimal( "myColumn", 8 );
+
+		verify( resultSet, times( 1 ) ).getBigDecimal( 1, 8 );
+	}
+
+	@Test
+	public void testRedirectedUpdateMethod() throws SQLException {
+		wrapper.updateInt( "myColumn", 19 );
+
+		verify( resultSet, times( 1 ) ).updateInt( 1, 19 );
+	}
+
+	@SuppressWarnings("deprecation")
+	@Test
+	public void testIntMethods() throws SQLException {
+		wrapper.getBigDecimal( 3 );
+		verify( resultSet, times( 1 ) ).getBigDecimal( 3 );
+
+		wrapper.getBigDecimal( 13, 8 );
+		verify( resultSet, times( 1 ) ).getBigDecimal( 13, 8 );
+
+		wrapper.updateInt( 23, 19 );
+		verify( resultSet, times( 1 ) ).updateInt( 23, 19 );
+	}
+
+	@Test
+	public void testStandardMethod() throws SQLException {
+		wrapper.getFetchSize();
+
+		verify( resultSet, times( 1 ) ).getFetchSize();
+	}
+
+	@Test
+	public void testColumnsResolvedOnce() throws SQLException {
+		for ( int i = 0; i < 3; i++ ) {
+			wrapper.next();
+			wrapper.getString( "myColumn" );
+			wrapper.getInt( "myOtherColumn" );
+		}
+		// a skipped column
+		wrapper.next();
+		wrapper.getInt( "myOtherColumn" );
+
+		verify( resultSet, times( 1 ) ).findColumn( "myColumn" );
+		verify( resultSet, times( 1 ) ).findColumn( "myOtherColumn" );
+		verify( resultSet, times( 3 ) ).getString( 1 );
+		verify( resultSet, times( 4 ) ).getInt( 2 );
+		assertEquals( 2, wrapper.findColumn( "myOtherColumn" ) );
+	}
+}
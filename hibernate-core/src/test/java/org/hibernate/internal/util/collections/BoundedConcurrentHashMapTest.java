@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util.collections;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link BoundedConcurrentHashMap.Eviction#TINY_LFU} eviction policy.
+ */
+public class BoundedConcurrentHashMapTest {
+
+	@Test
+	public void testFrequentlyUsedEntriesAreKept() {
+		final BoundedConcurrentHashMap<Integer, String> map =
+				new BoundedConcurrentHashMap<>( 100, 1, BoundedConcurrentHashMap.Eviction.TINY_LFU );
+		for ( int i = 0; i < 50; i++ ) {
+			map.put( i, "hot " + i );
+		}
+		for ( int j = 0; j < 10; j++ ) {
+			for ( int i = 0; i < 50; i++ ) {
+				assertEquals( "hot " + i, map.get( i ) );
+			}
+		}
+
+		// entries used once
+		for ( int i = 1000; i < 2000; i++ ) {
+			map.put( i, "cold " + i );
+		}
+
+		assertTrue( map.size() <= 100 );
+		for ( int i = 0; i < 50; i++ ) {
+			assertEquals( "hot " + i, map.get( i ) );
+		}
+	}
+
+	@Test
+	public void testRemoveAndClear() {
+		final BoundedConcurrentHashMap<Integer, String> map =
+				new BoundedConcurrentHashMap<>( 10, 1, BoundedConcurrentHashMap.Eviction.TINY_LFU );
+		for ( int i = 0; i < 100; i++ ) {
+			map.put( i, "value " + i );
+			if ( i % 3 == 0 ) {
+				map.remove( i );
+				assertNull( map.get( i ) );
+			}
+			assertTrue( map.size() <= 10 );
+		}
+
+		map.clear();
+		assertEquals( 0, map.size() );
+		for ( int i = 0; i < 10; i++ ) {
+			map.put( i, "value " + i );
+		}
+		assertEquals( 10, map.size() );
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the batching of statements with {@value AvailableSettings#ADAPTIVE_BATCH_SIZE} enabled.
+ */
+public class AdaptiveBatchSizeTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "10" );
+		settings.put( AvailableSettings.ADAPTIVE_BATCH_SIZE, "true" );
+		settings.put( AvailableSettings.ADAPTIVE_BATCH_SIZE_MIN, "5" );
+		settings.put( AvailableSettings.ADAPTIVE_BATCH_SIZE_MAX, "20" );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class };
+	}
+
+	@Test
+	public void testBatchSizesAreTunedPerStatement() {
+		for ( int batch = 0; batch < 5; batch++ ) {
+			final int offset = batch * 100;
+			doInHibernate( this::sessionFactory, session -> {
+				for ( int i = 0; i < 100; i++ ) {
+					session.persist( new Item( offset + i, "item " + i ) );
+				}
+			} );
+		}
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals(
+					Long.valueOf( 500 ),
+					session.createQuery( "select count(i) from Item i", Long.class ).getSingleResult()
+			);
+		} );
+
+		final Map<String, Integer> batchSizes = sessionFactory().getStatistics().getJdbcBatchSizes();
+		assertEquals( 1, batchSizes.size() );
+		final int batchSize = batchSizes.values().iterator().next();
+		assertTrue( batchSize >= 5 && batchSize <= 20 );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private int id;
+
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(int id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
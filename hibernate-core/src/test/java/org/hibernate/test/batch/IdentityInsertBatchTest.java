@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.jdbc.SQLStatementInterceptor;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that the inserts of entities with an IDENTITY id are executed as multi-row inserts with
+ * {@value AvailableSettings#BATCH_IDENTITY_INSERTS} enabled.
+ */
+@RequiresDialect(H2Dialect.class)
+public class IdentityInsertBatchTest extends BaseNonConfigCoreFunctionalTestCase {
+	private SQLStatementInterceptor sqlStatementInterceptor;
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.BATCH_IDENTITY_INSERTS, "true" );
+		sqlStatementInterceptor = new SQLStatementInterceptor( settings );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Node.class };
+	}
+
+	@Test
+	public void testIdentityInsertsAreBatched() {
+		final List<Node> nodes = new ArrayList<>();
+		sqlStatementInterceptor.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 20; i++ ) {
+				final Node node = new Node( "node " + i, null );
+				session.persist( node );
+				nodes.add( node );
+			}
+			assertNull( nodes.get( 0 ).id );
+			session.flush();
+
+			final Set<Long> ids = new HashSet<>();
+			for ( Node node : nodes ) {
+				assertNotNull( node.id );
+				ids.add( node.id );
+				assertSame( node, session.get( Node.class, node.id ) );
+			}
+			assertEquals( 20, ids.size() );
+		} );
+		assertEquals( 1, countInserts() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( Node node : nodes ) {
+				assertEquals( node.name, session.get( Node.class, node.id ).name );
+			}
+		} );
+	}
+
+	@Test
+	public void testReferenceToEntityOfTheSameBatch() {
+		final List<Node> nodes = new ArrayList<>();
+		sqlStatementInterceptor.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			final Node root = new Node( "root", null );
+			session.persist( root );
+			nodes.add( root );
+			for ( int i = 0; i < 5; i++ ) {
+				final Node child = new Node( "child " + i, root );
+				session.persist( child );
+				nodes.add( child );
+			}
+		} );
+		// the children are only inserted once the id of the root is known
+		assertEquals( 2, countInserts() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( Node node : nodes.subList( 1, nodes.size() ) ) {
+				assertEquals( nodes.get( 0 ).id, session.get( Node.class, node.id ).parent.id );
+			}
+		} );
+	}
+
+	private long countInserts() {
+		return sqlStatementInterceptor.getSqlQueries()
+				.stream()
+				.filter( sql -> sql.startsWith( "insert" ) )
+				.count();
+	}
+
+	@Entity(name = "Node")
+	public static class Node {
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+
+		private String name;
+
+		@ManyToOne
+		private Node parent;
+
+		public Node() {
+		}
+
+		public Node(String name, Node parent) {
+			this.name = name;
+			this.parent = parent;
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.jdbc.SQLStatementInterceptor;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that batched inserts are executed as multi-row inserts with
+ * {@value AvailableSettings#BATCH_MULTI_ROW_INSERTS} enabled.
+ */
+@RequiresDialect(H2Dialect.class)
+public class MultiRowInsertBatchTest extends BaseNonConfigCoreFunctionalTestCase {
+	private SQLStatementInterceptor sqlStatementInterceptor;
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "10" );
+		settings.put( AvailableSettings.BATCH_MULTI_ROW_INSERTS, "true" );
+		sqlStatementInterceptor = new SQLStatementInterceptor( settings );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class };
+	}
+
+	@Test
+	public void testInsertsAreExecutedAsMultiRowInserts() {
+		sqlStatementInterceptor.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 25; i++ ) {
+				session.persist( new Item( i, i % 5 == 0 ? null : "item " + i ) );
+			}
+		} );
+
+		final List<String> inserts = sqlStatementInterceptor.getSqlQueries()
+				.stream()
+				.filter( sql -> sql.startsWith( "insert" ) )
+				.collect( Collectors.toList() );
+		// the statement for 10 rows is reused by the two full batches
+		assertEquals( 2, inserts.size() );
+		assertEquals( 10, rowCount( inserts.get( 0 ) ) );
+		assertEquals( 5, rowCount( inserts.get( 1 ) ) );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Item> items = session.createQuery( "from Item order by id", Item.class ).getResultList();
+			assertEquals( 25, items.size() );
+			for ( int i = 0; i < 25; i++ ) {
+				assertEquals( i, items.get( i ).id );
+				if ( i % 5 == 0 ) {
+					assertNull( items.get( i ).name );
+				}
+				else {
+					assertEquals( "item " + i, items.get( i ).name );
+				}
+			}
+		} );
+	}
+
+	private static int rowCount(String sql) {
+		return sql.split( "\\), \\(" ).length;
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private int id;
+
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(int id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
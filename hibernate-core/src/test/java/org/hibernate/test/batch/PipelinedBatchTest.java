@@ -0,0 +1,114 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PersistenceException;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.exception.ConstraintViolationException;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks the execution of batches with {@value AvailableSettings#BATCH_PIPELINING} enabled.
+ */
+@RequiresDialect(H2Dialect.class)
+public class PipelinedBatchTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "10" );
+		settings.put( AvailableSettings.BATCH_PIPELINING, "true" );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class };
+	}
+
+	@Test
+	public void testPipelinedBatches() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 35; i++ ) {
+				session.persist( new Item( i, "item " + i ) );
+			}
+			session.flush();
+			for ( Item item : session.createQuery( "from Item", Item.class ).getResultList() ) {
+				item.name = item.name.toUpperCase();
+			}
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Item> items = session.createQuery( "from Item order by id", Item.class ).getResultList();
+			assertEquals( 35, items.size() );
+			for ( int i = 0; i < 35; i++ ) {
+				assertEquals( i, items.get( i ).id );
+				assertEquals( "ITEM " + i, items.get( i ).name );
+			}
+			session.createQuery( "delete Item" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testFailureOfPipelinedBatch() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Item( 5, "existing" ) );
+		} );
+
+		try {
+			doInHibernate( this::sessionFactory, session -> {
+				// the first batch, containing the duplicate, fails while the second one is being collected
+				for ( int i = 0; i < 20; i++ ) {
+					session.persist( new Item( i, "item " + i ) );
+				}
+			} );
+			fail( "The insert of a duplicate id should have failed" );
+		}
+		catch (PersistenceException e) {
+			assertTrue(
+					e instanceof ConstraintViolationException
+							|| e.getCause() instanceof ConstraintViolationException
+			);
+		}
+
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Item> items = session.createQuery( "from Item", Item.class ).getResultList();
+			assertEquals( 1, items.size() );
+			assertEquals( "existing", items.get( 0 ).name );
+			session.createQuery( "delete Item" ).executeUpdate();
+		} );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private int id;
+
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(int id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
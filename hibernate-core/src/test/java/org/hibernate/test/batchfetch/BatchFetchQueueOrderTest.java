@@ -0,0 +1,87 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batchfetch;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that a batch is made of the keys queued right after the key demanding load, then of those queued right
+ * before it.
+ */
+public class BatchFetchQueueOrderTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int NUMBER_OF_PRODUCTS = 20;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Product.class };
+	}
+
+	@Before
+	public void createProducts() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 1; i <= NUMBER_OF_PRODUCTS; i++ ) {
+				final Product product = new Product();
+				product.id = i;
+				product.name = "Product nr " + i;
+				session.persist( product );
+			}
+		} );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testBatchOrder() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Product> products = new ArrayList<>();
+			products.add( null );
+			for ( int i = 1; i <= NUMBER_OF_PRODUCTS; i++ ) {
+				products.add( session.load( Product.class, i ) );
+			}
+
+			Hibernate.initialize( products.get( 10 ) );
+			assertFalse( Hibernate.isInitialized( products.get( 9 ) ) );
+			for ( int i = 10; i <= 13; i++ ) {
+				assertTrue( Hibernate.isInitialized( products.get( i ) ) );
+			}
+			assertFalse( Hibernate.isInitialized( products.get( 14 ) ) );
+
+			// only one key follows, so the preceding ones complete the batch
+			Hibernate.initialize( products.get( 19 ) );
+			for ( int i = 17; i <= 20; i++ ) {
+				assertTrue( Hibernate.isInitialized( products.get( i ) ) );
+			}
+			assertFalse( Hibernate.isInitialized( products.get( 16 ) ) );
+		} );
+	}
+
+	@Entity(name = "Product")
+	@BatchSize(size = 4)
+	public static class Product {
+		@Id
+		private Integer id;
+
+		private String name;
+	}
+}
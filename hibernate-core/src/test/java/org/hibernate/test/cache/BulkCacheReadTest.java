@@ -0,0 +1,130 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that batch fetching and multi-loading leave out the entities found in the second-level cache.
+ */
+public class BulkCacheReadTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int NUMBER_OF_PRODUCTS = 10;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Product.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void createProducts() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 1; i <= NUMBER_OF_PRODUCTS; i++ ) {
+				final Product product = new Product();
+				product.id = i;
+				product.name = "Product nr " + i;
+				session.persist( product );
+			}
+		} );
+		// only the products with an even id remain cached
+		for ( int i = 1; i <= NUMBER_OF_PRODUCTS; i += 2 ) {
+			sessionFactory().getCache().evictEntityData( Product.class, i );
+		}
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testMultiLoad() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Integer> ids = new ArrayList<>();
+			for ( int i = 1; i <= NUMBER_OF_PRODUCTS; i++ ) {
+				ids.add( i );
+			}
+			final List<Product> products = session.byMultipleIds( Product.class )
+					.enableSessionCheck( true )
+					.with( CacheMode.NORMAL )
+					.multiLoad( ids );
+
+			assertEquals( NUMBER_OF_PRODUCTS, products.size() );
+			for ( int i = 0; i < NUMBER_OF_PRODUCTS; i++ ) {
+				assertNotNull( products.get( i ) );
+				assertEquals( Integer.valueOf( i + 1 ), products.get( i ).id );
+			}
+
+			final StatisticsImplementor statistics = sessionFactory().getStatistics();
+			assertEquals( NUMBER_OF_PRODUCTS / 2, statistics.getSecondLevelCacheHitCount() );
+			assertEquals( NUMBER_OF_PRODUCTS / 2, statistics.getSecondLevelCacheMissCount() );
+			assertEquals( 1, statistics.getPrepareStatementCount() );
+		} );
+	}
+
+	@Test
+	public void testBatchFetchLeavesOutCachedEntities() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Product> products = new ArrayList<>();
+			products.add( null );
+			for ( int i = 1; i <= NUMBER_OF_PRODUCTS; i++ ) {
+				products.add( session.load( Product.class, i ) );
+			}
+
+			Hibernate.initialize( products.get( 1 ) );
+			for ( int i = 1; i <= NUMBER_OF_PRODUCTS; i++ ) {
+				// the cached products are left out of the batch
+				assertEquals( i % 2 == 1, Hibernate.isInitialized( products.get( i ) ) );
+			}
+			assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+
+			Hibernate.initialize( products.get( 2 ) );
+			assertTrue( Hibernate.isInitialized( products.get( 2 ) ) );
+			assertFalse( Hibernate.isInitialized( products.get( 4 ) ) );
+			assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		} );
+	}
+
+	@Entity(name = "Product")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	@BatchSize(size = NUMBER_OF_PRODUCTS)
+	public static class Product {
+		@Id
+		private Integer id;
+
+		private String name;
+	}
+}
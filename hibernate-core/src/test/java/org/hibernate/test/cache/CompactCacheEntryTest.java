@@ -0,0 +1,209 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CompactCacheEntry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the round trip of entities through the second-level cache as {@link CompactCacheEntry}.
+ */
+public class CompactCacheEntryTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final UUID REFERENCE = UUID.randomUUID();
+	private static final Date RELEASED = new Date( 1_000_000_000L );
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Vendor.class, Product.class, Software.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.USE_COMPACT_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void createProducts() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Vendor vendor = new Vendor();
+			vendor.id = 1L;
+			vendor.name = "Vendor";
+			session.persist( vendor );
+
+			final Product product = new Product();
+			product.id = 1L;
+			product.name = "Product";
+			product.vendor = vendor;
+			product.status = Status.ACTIVE;
+			product.price = new BigDecimal( "-12.50" );
+			product.reference = REFERENCE;
+			product.dimensions = new Dimensions();
+			product.dimensions.width = 3;
+			product.dimensions.height = -4.5;
+			session.persist( product );
+
+			final Software software = new Software();
+			software.id = 2L;
+			software.name = "Software";
+			software.status = Status.RETIRED;
+			software.released = RELEASED;
+			software.version = "1.0";
+			session.persist( software );
+		} );
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testEntriesAreCompact() {
+		final EntityPersister persister = sessionFactory().getMetamodel().entityPersister( Product.class );
+		assertThat( persister.getCacheEntryStructure(), instanceOf( CompactCacheEntry.class ) );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final Object structured = persister.getCacheAccessStrategy().get(
+					session,
+					persister.getCacheAccessStrategy().generateCacheKey( 1L, persister, sessionFactory(), null )
+			);
+			assertThat( structured, instanceOf( byte[].class ) );
+			// none of the values, the embedded dimensions included, went through Java serialization
+			assertFalse( new String( (byte[]) structured, StandardCharsets.ISO_8859_1 ).contains( "java." ) );
+			final CacheEntry entry = (CacheEntry) persister.getCacheEntryStructure()
+					.destructure( structured, sessionFactory() );
+			assertEquals( Product.class.getName(), entry.getSubclass() );
+		} );
+	}
+
+	@Test
+	public void testEntryOfAnotherLayoutIsIgnored() {
+		final EntityPersister persister = sessionFactory().getMetamodel().entityPersister( Product.class );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final byte[] structured = (byte[]) persister.getCacheAccessStrategy().get(
+					session,
+					persister.getCacheAccessStrategy().generateCacheKey( 1L, persister, sessionFactory(), null )
+			);
+			// the fingerprint of the layout follows the format
+			final byte[] tampered = structured.clone();
+			tampered[1] ^= 1;
+			assertNull( persister.getCacheEntryStructure().destructure( tampered, sessionFactory() ) );
+		} );
+	}
+
+	@Test
+	public void testLoadFromCache() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Product product = session.get( Product.class, 1L );
+			assertEquals( "Product", product.name );
+			assertEquals( Status.ACTIVE, product.status );
+			assertEquals( new BigDecimal( "-12.50" ), product.price );
+			assertEquals( REFERENCE, product.reference );
+			assertEquals( 3, product.dimensions.width );
+			assertEquals( -4.5, product.dimensions.height, 0 );
+			assertEquals( "Vendor", product.vendor.name );
+
+			final Software software = (Software) session.get( Product.class, 2L );
+			assertEquals( "Software", software.name );
+			assertEquals( Status.RETIRED, software.status );
+			assertEquals( RELEASED.getTime(), software.released.getTime() );
+			assertEquals( "1.0", software.version );
+			assertNull( software.vendor );
+			assertNull( software.price );
+			assertNull( software.dimensions );
+		} );
+
+		assertEquals( 3, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getPrepareStatementCount() );
+	}
+
+	public enum Status {
+		ACTIVE, RETIRED
+	}
+
+	@Embeddable
+	public static class Dimensions {
+		private int width;
+
+		private double height;
+	}
+
+	@Entity(name = "Vendor")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Vendor {
+		@Id
+		private Long id;
+
+		private String name;
+	}
+
+	@Entity(name = "Product")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Product {
+		@Id
+		private Long id;
+
+		private String name;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Vendor vendor;
+
+		@Enumerated(EnumType.STRING)
+		private Status status;
+
+		private BigDecimal price;
+
+		private UUID reference;
+
+		@Embedded
+		private Dimensions dimensions;
+	}
+
+	@Entity(name = "Software")
+	public static class Software extends Product {
+		@Temporal(TemporalType.TIMESTAMP)
+		private Date released;
+
+		private String version;
+	}
+}
@@ -8,7 +8,9 @@ package org.hibernate.test.cache;
 
 import javax.persistence.Cacheable;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.Id;
+import javax.persistence.ManyToOne;
 
 import org.hibernate.Session;
 import org.hibernate.annotations.Cache;
@@ -39,7 +41,12 @@ public class ReferenceCacheTest extends BaseCoreFunctionalTestCase {
 
 	@Override
 	protected Class<?>[] getAnnotatedClasses() {
-		return new Class[] { MyReferenceData.class };
+		return new Class[] {
+				MyReferenceData.class,
+				MyReferenceDataItem.class,
+				MyMutableData.class,
+				MyReferenceDataItemHolder.class
+		};
 	}
 
 	@Test
@@ -87,6 +94,148 @@ public class ReferenceCacheTest extends BaseCoreFunctionalTestCase {
 		s.close();
 	}
 
+	@Test
+	public void testUseOfDirectReferencesWithToOneAssociations() throws Exception {
+		EntityPersister persister = (EntityPersister) sessionFactory().getClassMetadata( MyReferenceDataItem.class );
+		assertTrue( persister.canUseReferenceCacheEntries() );
+
+		final MyReferenceData myReferenceData = new MyReferenceData( 1, "first item", "abc" );
+		final MyMutableData myMutableData = new MyMutableData( 1 );
+		final MyReferenceDataItem immutableItem = new MyReferenceDataItem( 1, myReferenceData, null );
+		final MyReferenceDataItem mutableItem = new MyReferenceDataItem( 2, myReferenceData, myMutableData );
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( myReferenceData );
+		s.save( myMutableData );
+		s.save( immutableItem );
+		s.save( mutableItem );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		MyReferenceDataItem loadedImmutableItem = (MyReferenceDataItem) s.get( MyReferenceDataItem.class, 1 );
+		MyReferenceDataItem loadedMutableItem = (MyReferenceDataItem) s.get( MyReferenceDataItem.class, 2 );
+		s.getTransaction().commit();
+		s.close();
+
+		// only referencing immutable data, the item is cached by reference
+		assertTrue( "The two instances were different references", immutableItem == loadedImmutableItem );
+		assertTrue( myReferenceData == loadedImmutableItem.data );
+
+		// referencing mutable data, the item is cached disassembled
+		assertFalse( "The two instances were the same reference", mutableItem == loadedMutableItem );
+		assertTrue( myReferenceData == loadedMutableItem.data );
+
+		// cleanup
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( MyReferenceDataItem.class, 1 ) );
+		s.delete( s.get( MyReferenceDataItem.class, 2 ) );
+		s.delete( s.get( MyMutableData.class, 1 ) );
+		s.delete( s.get( MyReferenceData.class, 1 ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testUseOfDirectReferencesWithTransitiveToOneAssociations() throws Exception {
+		EntityPersister persister = (EntityPersister) sessionFactory().getClassMetadata( MyReferenceDataItemHolder.class );
+		assertTrue( persister.canUseReferenceCacheEntries() );
+
+		final MyReferenceData myReferenceData = new MyReferenceData( 1, "first item", "abc" );
+		final MyMutableData myMutableData = new MyMutableData( 1 );
+		final MyReferenceDataItem immutableItem = new MyReferenceDataItem( 1, myReferenceData, null );
+		final MyReferenceDataItem mutableItem = new MyReferenceDataItem( 2, myReferenceData, myMutableData );
+		final MyReferenceDataItemHolder immutableHolder = new MyReferenceDataItemHolder( 1, immutableItem );
+		final MyReferenceDataItemHolder mutableHolder = new MyReferenceDataItemHolder( 2, mutableItem );
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( myReferenceData );
+		s.save( myMutableData );
+		s.save( immutableItem );
+		s.save( mutableItem );
+		s.save( immutableHolder );
+		s.save( mutableHolder );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		MyReferenceDataItemHolder loadedImmutableHolder = (MyReferenceDataItemHolder) s.get( MyReferenceDataItemHolder.class, 1 );
+		MyReferenceDataItemHolder loadedMutableHolder = (MyReferenceDataItemHolder) s.get( MyReferenceDataItemHolder.class, 2 );
+		s.getTransaction().commit();
+		s.close();
+
+		// only referencing immutable data, transitively, the holder is cached by reference
+		assertTrue( "The two instances were different references", immutableHolder == loadedImmutableHolder );
+
+		// referencing mutable data through the item, the holder is cached disassembled
+		assertFalse( "The two instances were the same reference", mutableHolder == loadedMutableHolder );
+
+		// cleanup
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( MyReferenceDataItemHolder.class, 1 ) );
+		s.delete( s.get( MyReferenceDataItemHolder.class, 2 ) );
+		s.delete( s.get( MyReferenceDataItem.class, 1 ) );
+		s.delete( s.get( MyReferenceDataItem.class, 2 ) );
+		s.delete( s.get( MyMutableData.class, 1 ) );
+		s.delete( s.get( MyReferenceData.class, 1 ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testReferencedInstancesAreAttachedOnCacheHit() throws Exception {
+		final MyReferenceData myReferenceData = new MyReferenceData( 1, "first item", "abc" );
+		final MyReferenceDataItem item = new MyReferenceDataItem( 1, myReferenceData, null );
+		final MyReferenceDataItemHolder holder = new MyReferenceDataItemHolder( 1, item );
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( myReferenceData );
+		s.save( item );
+		s.save( holder );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		MyReferenceDataItemHolder loadedHolder = (MyReferenceDataItemHolder) s.get( MyReferenceDataItemHolder.class, 1 );
+		assertTrue( "The two instances were different references", holder == loadedHolder );
+		// the instances shared along with the holder belong to the session as well
+		assertTrue( s.contains( item ) );
+		assertTrue( s.contains( myReferenceData ) );
+		assertTrue( item == s.get( MyReferenceDataItem.class, 1 ) );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getCache().evictEntityData( MyReferenceData.class );
+
+		s = openSession();
+		s.beginTransaction();
+		MyReferenceData loadedData = (MyReferenceData) s.get( MyReferenceData.class, 1 );
+		assertFalse( myReferenceData == loadedData );
+		// the session already holds another instance of the referenced data, the holder is loaded from the database
+		loadedHolder = (MyReferenceDataItemHolder) s.get( MyReferenceDataItemHolder.class, 1 );
+		assertFalse( "The two instances were the same reference", holder == loadedHolder );
+		assertTrue( loadedData == loadedHolder.item.data );
+		s.getTransaction().commit();
+		s.close();
+
+		// cleanup
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( MyReferenceDataItemHolder.class, 1 ) );
+		s.delete( s.get( MyReferenceDataItem.class, 1 ) );
+		s.delete( s.get( MyReferenceData.class, 1 ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
 	@Entity( name="MyReferenceData" )
 	@Immutable
 	@Cacheable
@@ -132,4 +281,63 @@ public class ReferenceCacheTest extends BaseCoreFunctionalTestCase {
 			this.theValue = theValue;
 		}
 	}
+
+	@Entity( name="MyReferenceDataItem" )
+	@Immutable
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_ONLY )
+	@Proxy( lazy = false )
+	@SuppressWarnings("UnusedDeclaration")
+	public static class MyReferenceDataItem {
+		@Id
+		private Integer id;
+		@ManyToOne
+		private MyReferenceData data;
+		@ManyToOne( fetch = FetchType.LAZY )
+		private MyMutableData mutableData;
+
+		public MyReferenceDataItem(Integer id, MyReferenceData data, MyMutableData mutableData) {
+			this.id = id;
+			this.data = data;
+			this.mutableData = mutableData;
+		}
+
+		protected MyReferenceDataItem() {
+		}
+	}
+
+	@Entity( name="MyReferenceDataItemHolder" )
+	@Immutable
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_ONLY )
+	@Proxy( lazy = false )
+	@SuppressWarnings("UnusedDeclaration")
+	public static class MyReferenceDataItemHolder {
+		@Id
+		private Integer id;
+		@ManyToOne
+		private MyReferenceDataItem item;
+
+		public MyReferenceDataItemHolder(Integer id, MyReferenceDataItem item) {
+			this.id = id;
+			this.item = item;
+		}
+
+		protected MyReferenceDataItemHolder() {
+		}
+	}
+
+	@Entity( name="MyMutableData" )
+	@SuppressWarnings("UnusedDeclaration")
+	public static class MyMutableData {
+		@Id
+		private Integer id;
+
+		public MyMutableData(Integer id) {
+			this.id = id;
+		}
+
+		protected MyMutableData() {
+		}
+	}
 }
@@ -0,0 +1,112 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.dirtiness;
+
+import java.util.Date;
+import java.util.Map;
+import javax.persistence.Embeddable;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.EntityEntry;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks the dirty checking of mutable values with {@value AvailableSettings#LOADED_STATE_COPY_ON_WRITE} enabled.
+ */
+public class LoadedStateCopyOnWriteTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.LOADED_STATE_COPY_ON_WRITE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Event.class };
+	}
+
+	@Before
+	public void prepareData() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete Event" ).executeUpdate();
+			final Event event = new Event();
+			event.id = 1L;
+			event.startDate = new Date( 1000L );
+			event.location = new Location();
+			event.location.city = "Paris";
+			session.persist( event );
+		} );
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Test
+	public void testMutableValuesAreShared() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Event event = session.get( Event.class, 1L );
+			final EntityEntry entry = session.getPersistenceContext().getEntry( event );
+			assertSame( event.startDate, entry.getLoadedValue( "startDate" ) );
+			assertNotSame( event.location, entry.getLoadedValue( "location" ) );
+		} );
+		assertEquals( 0, sessionFactory().getStatistics().getEntityUpdateCount() );
+	}
+
+	@Test
+	public void testReplacedValueIsDirty() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Event event = session.get( Event.class, 1L );
+			event.startDate = new Date( 2000L );
+		} );
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( 2000L, session.get( Event.class, 1L ).startDate.getTime() );
+		} );
+	}
+
+	@Test
+	public void testEmbeddableMutatedInPlaceIsDirty() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Event event = session.get( Event.class, 1L );
+			event.location.city = "Rome";
+		} );
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( "Rome", session.get( Event.class, 1L ).location.city );
+		} );
+	}
+
+	@Entity(name = "Event")
+	public static class Event {
+		@Id
+		private Long id;
+
+		@Temporal(TemporalType.TIMESTAMP)
+		private Date startDate;
+
+		private Location location;
+	}
+
+	@Embeddable
+	public static class Location {
+		private String city;
+	}
+}
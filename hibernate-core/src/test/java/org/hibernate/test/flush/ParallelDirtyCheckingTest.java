@@ -0,0 +1,174 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.flush;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.PreUpdate;
+import javax.persistence.Transient;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the flush finds the same changes with {@value AvailableSettings#PARALLEL_DIRTY_CHECKING_THRESHOLD}
+ * enabled, for entities that are eligible for parallel dirty checking as well as for those that are not.
+ */
+public class ParallelDirtyCheckingTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int COUNT = 100;
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.PARALLEL_DIRTY_CHECKING_THRESHOLD, "10" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class, ItemOwner.class, Tag.class };
+	}
+
+	@Before
+	public void prepareData() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete Tag" ).executeUpdate();
+			session.createQuery( "delete ItemOwner" ).executeUpdate();
+			session.createQuery( "delete Item" ).executeUpdate();
+			for ( int i = 0; i < COUNT; i++ ) {
+				final Item item = new Item( i, "item " + i );
+				session.persist( item );
+				session.persist( new ItemOwner( i, item ) );
+			}
+		} );
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Test
+	public void testOnlyModifiedEntitiesAreUpdated() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Item> items = session.createQuery( "from Item order by id", Item.class ).getResultList();
+			final List<ItemOwner> owners = session.createQuery( "from ItemOwner order by id", ItemOwner.class ).getResultList();
+			assertEquals( COUNT, items.size() );
+
+			items.get( 3 ).name = "changed";
+			items.get( 42 ).name = "changed";
+			owners.get( 7 ).item = items.get( 8 );
+		} );
+
+		assertEquals( 3, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( "changed", session.get( Item.class, 3 ).name );
+			assertEquals( "changed", session.get( Item.class, 42 ).name );
+			assertEquals( "item 4", session.get( Item.class, 4 ).name );
+			assertEquals( 8, session.get( ItemOwner.class, 7 ).item.id );
+		} );
+	}
+
+	@Test
+	public void testNoUpdateForUnchangedEntities() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "from Item", Item.class ).getResultList();
+			session.createQuery( "from ItemOwner", ItemOwner.class ).getResultList();
+			session.flush();
+		} );
+
+		assertEquals( 0, sessionFactory().getStatistics().getEntityUpdateCount() );
+	}
+
+	@Test
+	public void testPreUpdateCallbackModifyingAnotherEntity() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Tag( 1, "tag" ) );
+		} );
+		sessionFactory().getStatistics().clear();
+
+		doInHibernate( this::sessionFactory, session -> {
+			// loaded first, so flushed before the items
+			final Tag tag = session.get( Tag.class, 1 );
+			final List<Item> items = session.createQuery( "from Item order by id", Item.class ).getResultList();
+
+			tag.label = "changed";
+			tag.touched = items.get( 5 );
+		} );
+
+		assertEquals( 2, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( "touched", session.get( Item.class, 5 ).name );
+		} );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private int id;
+
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(int id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "ItemOwner")
+	public static class ItemOwner {
+		@Id
+		private int id;
+
+		@ManyToOne
+		private Item item;
+
+		public ItemOwner() {
+		}
+
+		public ItemOwner(int id, Item item) {
+			this.id = id;
+			this.item = item;
+		}
+	}
+
+	@Entity(name = "Tag")
+	public static class Tag {
+		@Id
+		private int id;
+
+		private String label;
+
+		@Transient
+		private Item touched;
+
+		public Tag() {
+		}
+
+		public Tag(int id, String label) {
+			this.id = id;
+			this.label = label;
+		}
+
+		@PreUpdate
+		void touch() {
+			if ( touched != null ) {
+				touched.name = "touched";
+			}
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.flush;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the snapshot of the entities and their entries walked by
+ * {@link PersistenceContext#reentrantSafeForEachEntityEntry}.
+ */
+public class ReentrantSafeEntityEntriesTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class };
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testSnapshotContentsAndOrder() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Item> items = persistItems( session, 1, 2, 3 );
+			final PersistenceContext persistenceContext = ( (SessionImplementor) session ).getPersistenceContext();
+
+			final List<Object> entities = new ArrayList<>();
+			persistenceContext.reentrantSafeForEachEntityEntry( (entity, entry) -> {
+				assertSame( persistenceContext.getEntry( entity ), entry );
+				entities.add( entity );
+			} );
+			assertEquals( items, entities );
+
+			// the Map.Entry view holds the same pairs, in the same order
+			final Map.Entry<Object, EntityEntry>[] entries = persistenceContext.reentrantSafeEntityEntries();
+			assertEquals( items.size(), entries.length );
+			for ( int i = 0; i < entries.length; i++ ) {
+				assertSame( items.get( i ), entries[i].getKey() );
+				assertSame( persistenceContext.getEntry( items.get( i ) ), entries[i].getValue() );
+			}
+		} );
+	}
+
+	@Test
+	public void testReentrantModification() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Item> items = persistItems( session, 1, 2, 3 );
+			final PersistenceContext persistenceContext = ( (SessionImplementor) session ).getPersistenceContext();
+			final Item added = new Item( 4 );
+
+			final List<Object> entities = new ArrayList<>();
+			final List<Object> nestedEntities = new ArrayList<>();
+			persistenceContext.reentrantSafeForEachEntityEntry( (entity, entry) -> {
+				if ( entities.isEmpty() ) {
+					session.persist( added );
+					session.evict( items.get( 2 ) );
+					// a nested iteration sees the modified context
+					persistenceContext.reentrantSafeForEachEntityEntry( (nested, nestedEntry) -> nestedEntities.add( nested ) );
+				}
+				entities.add( entity );
+			} );
+
+			// the iteration started before the modifications walks the entities present at its start
+			assertEquals( items, entities );
+			assertEquals( Arrays.asList( items.get( 0 ), items.get( 1 ), added ), nestedEntities );
+
+			final List<Object> after = new ArrayList<>();
+			persistenceContext.reentrantSafeForEachEntityEntry( (entity, entry) -> after.add( entity ) );
+			assertEquals( nestedEntities, after );
+		} );
+	}
+
+	private static List<Item> persistItems(Session session, int... ids) {
+		final List<Item> items = new ArrayList<>();
+		for ( int id : ids ) {
+			final Item item = new Item( id );
+			session.persist( item );
+			items.add( item );
+		}
+		return items;
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(Integer id) {
+			this.id = id;
+			this.name = "Item nr " + id;
+		}
+	}
+}
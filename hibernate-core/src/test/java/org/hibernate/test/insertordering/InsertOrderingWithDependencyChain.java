@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.insertordering;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.testing.DialectChecks;
+import org.hibernate.testing.RequiresDialectFeature;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+
+/**
+ * Checks the grouping of the inserts and the deletes of a chain of many-to-one associations, including a reference
+ * to a subclass.
+ */
+@RequiresDialectFeature(DialectChecks.SupportsJdbcDriverProxying.class)
+public class InsertOrderingWithDependencyChain extends BaseInsertOrderingTest {
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] {
+				Country.class,
+				City.class,
+				Street.class,
+				MainStreet.class,
+				Address.class
+		};
+	}
+
+	@Test
+	public void testBatching() {
+		final List<Object> entities = new ArrayList<>();
+		doInHibernate( this::sessionFactory, session -> {
+			for ( long i = 0; i < 5; i++ ) {
+				final Country country = new Country( i );
+				final City city = new City( i, country );
+				final Street street = i % 2 == 0 ? new Street( i, city ) : new MainStreet( i, city );
+				final Address address = new Address( i, street );
+				session.persist( country );
+				session.persist( city );
+				session.persist( street );
+				session.persist( address );
+				entities.add( address );
+				entities.add( street );
+				entities.add( city );
+				entities.add( country );
+			}
+			clearBatches();
+		} );
+
+		// Street and MainStreet have distinct insert statements
+		verifyPreparedStatementCount( 5 );
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( Object entity : entities ) {
+				session.remove( session.merge( entity ) );
+			}
+			clearBatches();
+		} );
+
+		// Street and MainStreet have distinct batches
+		verifyPreparedStatementCount( 5 );
+	}
+
+	@Entity(name = "Country")
+	public static class Country {
+		@Id
+		private Long id;
+
+		public Country() {
+		}
+
+		public Country(Long id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "City")
+	public static class City {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Country country;
+
+		public City() {
+		}
+
+		public City(Long id, Country country) {
+			this.id = id;
+			this.country = country;
+		}
+	}
+
+	@Entity(name = "Street")
+	public static class Street {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private City city;
+
+		public Street() {
+		}
+
+		public Street(Long id, City city) {
+			this.id = id;
+			this.city = city;
+		}
+	}
+
+	@Entity(name = "MainStreet")
+	public static class MainStreet extends Street {
+		public MainStreet() {
+		}
+
+		public MainStreet(Long id, City city) {
+			super( id, city );
+		}
+	}
+
+	@Entity(name = "Address")
+	public static class Address {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Street street;
+
+		public Address() {
+		}
+
+		public Address(Long id, Street street) {
+			this.id = id;
+			this.street = street;
+		}
+	}
+}
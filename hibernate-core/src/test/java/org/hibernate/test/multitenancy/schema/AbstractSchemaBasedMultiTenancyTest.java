@@ -64,6 +64,7 @@ public abstract class AbstractSchemaBasedMultiTenancyTest<T extends MultiTenantC
 		settings.put( Environment.MULTI_TENANT, MultiTenancyStrategy.SCHEMA );
 		settings.put( Environment.CACHE_REGION_FACTORY, CachingRegionFactory.class.getName() );
 		settings.put( Environment.GENERATE_STATISTICS, "true" );
+		addSettings( settings );
 
 		serviceRegistry = (ServiceRegistryImplementor) new StandardServiceRegistryBuilder()
 				.applySettings( settings )
@@ -73,6 +74,7 @@ public abstract class AbstractSchemaBasedMultiTenancyTest<T extends MultiTenantC
 		MetadataSources ms = new MetadataSources( serviceRegistry );
 		ms.addAnnotatedClass( Customer.class );
 		ms.addAnnotatedClass( Invoice.class );
+		applyMetadataSources( ms );
 
 		Metadata metadata = ms.buildMetadata();
 		final PersistentClass customerMapping = metadata.getEntityBinding( Customer.class.getName() );
@@ -118,6 +120,12 @@ public abstract class AbstractSchemaBasedMultiTenancyTest<T extends MultiTenantC
 		sessionFactory = (SessionFactoryImplementor) sfb.build();
 	}
 
+	protected void addSettings(Map settings) {
+	}
+
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+	}
+
 	protected void configure(SessionFactoryBuilder sfb) {
 	}
 
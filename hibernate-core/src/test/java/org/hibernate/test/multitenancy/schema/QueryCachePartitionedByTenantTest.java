@@ -0,0 +1,128 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.multitenancy.schema;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.RequiresDialectFeature;
+import org.hibernate.testing.env.ConnectionProviderBuilder;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernateSessionBuilder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the changes made by a tenant leave the cached query results of the other tenants valid when
+ * {@link AvailableSettings#QUERY_CACHE_PARTITION_BY_TENANT} is enabled.
+ */
+@RequiresDialectFeature( value = ConnectionProviderBuilder.class )
+public class QueryCachePartitionedByTenantTest extends SchemaBasedMultiTenancyTest {
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.QUERY_CACHE_PARTITION_BY_TENANT, "true" );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( SharedItem.class );
+	}
+
+	@Test
+	public void testChangesOfTenantOnlyInvalidateItsQueries() {
+		doInHibernateSessionBuilder( () -> newSession( "jboss" ), session -> {
+			session.save( new Customer( 1L, "steve" ) );
+		} );
+		doInHibernateSessionBuilder( () -> newSession( "acme" ), session -> {
+			session.save( new Customer( 1L, "john" ) );
+		} );
+
+		assertEquals( 1, listCustomers( "jboss" ).size() );
+		assertEquals( 1, listCustomers( "acme" ).size() );
+
+		doInHibernateSessionBuilder( () -> newSession( "acme" ), session -> {
+			session.save( new Customer( 2L, "jane" ) );
+		} );
+		sessionFactory.getStatistics().clear();
+
+		// the results cached for jboss are still valid
+		assertEquals( 1, listCustomers( "jboss" ).size() );
+		assertEquals( 1, sessionFactory.getStatistics().getQueryCacheHitCount() );
+
+		// while the ones cached for acme are not
+		assertEquals( 2, listCustomers( "acme" ).size() );
+		assertEquals( 1, sessionFactory.getStatistics().getQueryCacheHitCount() );
+		assertEquals( 1, sessionFactory.getStatistics().getQueryCacheMissCount() );
+	}
+
+	@Test
+	public void testChangesOfSharedTableInvalidateQueriesOfAllTenants() {
+		doInHibernateSessionBuilder( () -> newSession( "jboss" ), session -> {
+			session.save( new SharedItem( 1L ) );
+		} );
+
+		assertEquals( 1, listSharedItems( "jboss" ).size() );
+
+		doInHibernateSessionBuilder( () -> newSession( "acme" ), session -> {
+			session.save( new SharedItem( 2L ) );
+		} );
+		sessionFactory.getStatistics().clear();
+
+		// the table of the schema named by the mapping is the same for all the tenants, so the changes of acme
+		// invalidate the results cached for jboss
+		listSharedItems( "jboss" );
+		assertEquals( 0, sessionFactory.getStatistics().getQueryCacheHitCount() );
+		assertEquals( 1, sessionFactory.getStatistics().getQueryCacheMissCount() );
+	}
+
+	@Test
+	public void testSharedSpacesAreTheTablesOfExplicitSchemas() {
+		final Set<String> sharedSpaces = sessionFactory.getQuerySpacesSharedByTenants();
+		assertEquals( 1, sharedSpaces.size() );
+		assertTrue( sharedSpaces.containsAll(
+				Arrays.asList( sessionFactory.getMetamodel().entityPersister( SharedItem.class ).getQuerySpaces() )
+		) );
+	}
+
+	private List<SharedItem> listSharedItems(String tenant) {
+		return doInHibernateSessionBuilder( () -> newSession( tenant ), session -> {
+			return session.createQuery( "from SharedItem", SharedItem.class ).setCacheable( true ).list();
+		} );
+	}
+
+	private List<Customer> listCustomers(String tenant) {
+		return doInHibernateSessionBuilder( () -> newSession( tenant ), session -> {
+			return session.createQuery( "from Customer", Customer.class ).setCacheable( true ).list();
+		} );
+	}
+
+	@Entity(name = "SharedItem")
+	@Table(schema = "SHARED")
+	public static class SharedItem {
+		@Id
+		private Long id;
+
+		public SharedItem() {
+		}
+
+		public SharedItem(Long id) {
+			this.id = id;
+		}
+	}
+}
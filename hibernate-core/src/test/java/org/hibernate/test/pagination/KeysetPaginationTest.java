@@ -0,0 +1,158 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.query.KeysetPage;
+import org.hibernate.query.KeysetResultList;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link org.hibernate.query.Query#getKeysetResultList(KeysetPage)}.
+ */
+public class KeysetPaginationTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Book.class };
+	}
+
+	@Before
+	public void createBooks() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 1; i <= 25; i++ ) {
+				final Book book = new Book();
+				book.id = i;
+				book.title = "Book nr " + i;
+				// several books share the same year
+				book.published = 2000 + i % 4;
+				session.persist( book );
+			}
+		} );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testSingleKey() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Integer> ids = new ArrayList<>();
+			KeysetPage page = KeysetPage.first( 10 );
+			int pages = 0;
+			while ( page != null ) {
+				final KeysetResultList<Book> results = session.createQuery(
+						"from Book b where b.published > :year order by b.id", Book.class )
+						.setParameter( "year", 2000 )
+						.getKeysetResultList( page );
+				for ( Book book : results.getResultList() ) {
+					ids.add( book.id );
+				}
+				page = results.getNextPage();
+				pages++;
+			}
+			assertEquals( 2, pages );
+			final List<Integer> expected = new ArrayList<>();
+			for ( int i = 1; i <= 25; i++ ) {
+				if ( i % 4 != 0 ) {
+					expected.add( i );
+				}
+			}
+			assertEquals( expected, ids );
+		} );
+	}
+
+	@Test
+	public void testCompositeKeyDescending() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Object[]> rows = new ArrayList<>();
+			KeysetPage page = KeysetPage.first( 4 );
+			do {
+				final KeysetResultList<Object[]> results = session.createQuery(
+						"select b.published, b.title from Book b order by b.published desc, b.id desc", Object[].class )
+						.getKeysetResultList( page );
+				assertTrue( results.getResultList().size() <= 4 );
+				rows.addAll( results.getResultList() );
+				page = results.getNextPage();
+			}
+			while ( page != null );
+
+			assertEquals( 25, rows.size() );
+			assertArrayEquals( new Object[] { 2003, "Book nr 23" }, rows.get( 0 ) );
+			assertArrayEquals( new Object[] { 2003, "Book nr 19" }, rows.get( 1 ) );
+			assertArrayEquals( new Object[] { 2000, "Book nr 4" }, rows.get( 24 ) );
+		} );
+	}
+
+	@Test
+	public void testLastPage() {
+		doInHibernate( this::sessionFactory, session -> {
+			final KeysetResultList<String> results = session.createQuery(
+					"select b.title from Book b where b.id <= 3 order by b.id", String.class )
+					.getKeysetResultList( KeysetPage.first( 3 ) );
+			assertEquals( 3, results.getResultList().size() );
+			assertTrue( results.isLastPage() );
+			assertNull( results.getNextPage() );
+		} );
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingOrderByIsRejected() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "from Book b", Book.class )
+					.getKeysetResultList( KeysetPage.first( 3 ) );
+		} );
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPageOfOtherKeysIsRejected() {
+		final KeysetPage page = KeysetPage.first( 5 ).next( new Object[] { 2001, 5 } );
+		assertFalse( page.isFirst() );
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "from Book b order by b.id", Book.class )
+					.getKeysetResultList( page );
+		} );
+	}
+
+	@Test
+	public void testKeyValuesAreBoundAsParameters() {
+		doInHibernate( this::sessionFactory, session -> {
+			final KeysetPage page = KeysetPage.first( 5 ).next( new Object[] { "0 or 1 = 1" } );
+			final KeysetResultList<Book> results = session.createQuery( "from Book b order by b.title", Book.class )
+					.getKeysetResultList( page );
+			assertEquals( 5, results.getResultList().size() );
+			assertEquals( "Book nr 1", results.getResultList().get( 0 ).title );
+			assertArrayEquals( new Object[] { "Book nr 13" }, results.getNextPage().getKeyValues() );
+		} );
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Integer id;
+
+		private String title;
+
+		private Integer published;
+	}
+}
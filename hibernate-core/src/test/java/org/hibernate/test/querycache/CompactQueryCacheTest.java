@@ -0,0 +1,103 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.querycache;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that a hit on the query cache loads the entities it returns in bulk when
+ * {@link AvailableSettings#QUERY_CACHE_COMPACT_RESULTS} is enabled.
+ */
+public class CompactQueryCacheTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int NUMBER_OF_PRODUCTS = 10;
+	private static final String QUERY = "select p, p.name, p.id from Product p order by p.id";
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Product.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.QUERY_CACHE_COMPACT_RESULTS, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void createProducts() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 1; i <= NUMBER_OF_PRODUCTS; i++ ) {
+				final Product product = new Product();
+				product.id = (long) i;
+				product.name = "Product nr " + i;
+				session.persist( product );
+			}
+		} );
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( QUERY ).setCacheable( true ).list();
+		} );
+		// only the products with an even id remain cached
+		for ( int i = 1; i <= NUMBER_OF_PRODUCTS; i += 2 ) {
+			sessionFactory().getCache().evictEntityData( Product.class, (long) i );
+		}
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCachedResultsAreLoadedInBulk() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Object[]> results = session.createQuery( QUERY ).setCacheable( true ).list();
+			assertEquals( NUMBER_OF_PRODUCTS, results.size() );
+			for ( int i = 0; i < NUMBER_OF_PRODUCTS; i++ ) {
+				final Object[] row = results.get( i );
+				assertEquals( Long.valueOf( i + 1 ), ( (Product) row[0] ).id );
+				assertEquals( "Product nr " + ( i + 1 ), row[1] );
+				assertEquals( Long.valueOf( i + 1 ), row[2] );
+			}
+
+			final StatisticsImplementor statistics = sessionFactory().getStatistics();
+			assertEquals( 1, statistics.getQueryCacheHitCount() );
+			assertEquals( NUMBER_OF_PRODUCTS / 2, statistics.getSecondLevelCacheHitCount() );
+			assertEquals( NUMBER_OF_PRODUCTS / 2, statistics.getSecondLevelCacheMissCount() );
+			// the products missing from the cache are loaded by a single statement
+			assertEquals( 1, statistics.getPrepareStatementCount() );
+		} );
+	}
+
+	@Entity(name = "Product")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Product {
+		@Id
+		private Long id;
+
+		private String name;
+	}
+}
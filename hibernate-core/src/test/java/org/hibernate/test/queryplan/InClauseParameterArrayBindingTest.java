@@ -0,0 +1,110 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQL9Dialect;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.jdbc.SQLStatementInterceptor;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Checks that the collection-valued parameters of an HQL query are bound as a single array parameter when
+ * {@value AvailableSettings#IN_CLAUSE_PARAMETER_ARRAY_BINDING} is enabled.
+ */
+@RequiresDialect(value = { H2Dialect.class, PostgreSQL9Dialect.class })
+public class InClauseParameterArrayBindingTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private SQLStatementInterceptor sqlStatementInterceptor;
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		sqlStatementInterceptor = new SQLStatementInterceptor( settings );
+		settings.put( AvailableSettings.IN_CLAUSE_PARAMETER_ARRAY_BINDING, "true" );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Person.class };
+	}
+
+	@Before
+	public void createPersons() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 1; i < 10; i++ ) {
+				final Person person = new Person();
+				person.id = i;
+				person.name = "Person nr " + i;
+				session.persist( person );
+			}
+		} );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testArrayBinding() {
+		final String sql = findNames( Arrays.asList( 1, 2, 3 ), "Person nr 1", "Person nr 2", "Person nr 3" );
+		assertFalse( sql.contains( "?, ?" ) );
+
+		final List<Integer> ids = new ArrayList<>();
+		for ( int i = 5; i < 5000; i++ ) {
+			ids.add( i );
+		}
+		assertEquals( sql, findNames( ids, "Person nr 5", "Person nr 6", "Person nr 7", "Person nr 8", "Person nr 9" ) );
+	}
+
+	@Test
+	public void testStringValues() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Integer> ids = session.createQuery(
+					"select p.id from Person p where p.name in :names order by p.id", Integer.class )
+					.setParameterList( "names", Arrays.asList( "Person nr 4", "Person nr 2", "Person nr 42" ) )
+					.list();
+			assertEquals( Arrays.asList( 2, 4 ), ids );
+		} );
+	}
+
+	private String findNames(List<Integer> ids, String... expectedNames) {
+		sqlStatementInterceptor.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			final List<String> names = session.createQuery(
+					"select p.name from Person p where p.id in :ids order by p.id", String.class )
+					.setParameterList( "ids", ids )
+					.list();
+			assertEquals( Arrays.asList( expectedNames ), names );
+		} );
+		return sqlStatementInterceptor.getSqlQueries().get( 0 );
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		private Integer id;
+
+		private String name;
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.jdbc.SQLStatementInterceptor;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the collection-valued parameters of an HQL query share a single query plan when
+ * {@value AvailableSettings#IN_CLAUSE_PARAMETER_PLAN_SHARING} is enabled.
+ */
+public class InClauseParameterPlanSharingTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private SQLStatementInterceptor sqlStatementInterceptor;
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		sqlStatementInterceptor = new SQLStatementInterceptor( settings );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, "true" );
+		settings.put( AvailableSettings.IN_CLAUSE_PARAMETER_PLAN_SHARING, "true" );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Person.class };
+	}
+
+	@Before
+	public void createPersons() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 1; i < 10; i++ ) {
+				final Person person = new Person();
+				person.id = i;
+				person.name = "Person nr " + i;
+				session.persist( person );
+			}
+		} );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testSharedQueryPlan() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		assertNames( "in (?)", 1 );
+		assertNames( "in (?, ?)", 1, 2 );
+		assertNames( "in (?, ?, ?, ?)", 1, 2, 3 );
+		assertNames( "in (?, ?, ?, ?, ?, ?, ?, ?)", 1, 2, 3, 4, 5 );
+		assertNames( "in (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", 1, 2, 3, 4, 5, 6, 7, 8, 9 );
+
+		assertEquals( 1, statistics.getQueryPlanCacheMissCount() );
+	}
+
+	@Test
+	public void testOtherParameters() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<String> names = session.createQuery(
+					"select p.name from Person p where p.id in (:ids) and p.name <> :name order by p.id", String.class )
+					.setParameterList( "ids", Arrays.asList( 1, 2, 3 ) )
+					.setParameter( "name", "Person nr 2" )
+					.list();
+			assertEquals( Arrays.asList( "Person nr 1", "Person nr 3" ), names );
+		} );
+	}
+
+	private void assertNames(String expectedInClause, Integer... ids) {
+		sqlStatementInterceptor.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			final List<String> names = session.createQuery(
+					"select p.name from Person p where p.id in :ids order by p.id", String.class )
+					.setParameterList( "ids", Arrays.asList( ids ) )
+					.list();
+			assertEquals( ids.length, names.size() );
+			for ( int i = 0; i < ids.length; i++ ) {
+				assertEquals( "Person nr " + ids[i], names.get( i ) );
+			}
+		} );
+		assertTrue( sqlStatementInterceptor.getSqlQueries().get( 0 ).contains( expectedInClause ) );
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		private Integer id;
+
+		private String name;
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the HQL queries compiled by a SessionFactory are compiled again by the next one when
+ * {@value AvailableSettings#QUERY_PLAN_CACHE_WARM_UP_FILE} is set.
+ */
+public class QueryPlanWarmUpTest extends BaseUnitTestCase {
+	private Path directory;
+	private Path file;
+
+	@Before
+	public void createDirectory() throws Exception {
+		directory = Files.createTempDirectory( "query-plan-warm-up" );
+		file = directory.resolve( "queries.bin" );
+	}
+
+	@After
+	public void deleteDirectory() throws Exception {
+		Files.deleteIfExists( file );
+		Files.deleteIfExists( directory );
+	}
+
+	@Test
+	public void testWarmUp() throws Exception {
+		try ( SessionFactory sessionFactory = buildSessionFactory() ) {
+			assertEquals( 0, sessionFactory.getStatistics().getQueryPlanWarmUpCount() );
+			createQueries( sessionFactory );
+		}
+		assertTrue( Files.exists( file ) );
+
+		try ( SessionFactory sessionFactory = buildSessionFactory() ) {
+			final Statistics statistics = sessionFactory.getStatistics();
+			assertEquals( 2, statistics.getQueryPlanWarmUpCount() );
+			final long deadline = System.currentTimeMillis() + 10_000;
+			while ( statistics.getQueryPlanWarmedUpCount() + statistics.getQueryPlanWarmUpFailureCount() < 2
+					&& System.currentTimeMillis() < deadline ) {
+				Thread.sleep( 10 );
+			}
+			assertEquals( 2, statistics.getQueryPlanWarmedUpCount() );
+			assertEquals( 0, statistics.getQueryPlanWarmUpFailureCount() );
+
+			statistics.clear();
+			createQueries( sessionFactory );
+			assertEquals( 2, statistics.getQueryPlanCacheHitCount() );
+			assertEquals( 0, statistics.getQueryPlanCacheMissCount() );
+		}
+	}
+
+	private void createQueries(SessionFactory sessionFactory) {
+		doInHibernate( () -> sessionFactory, session -> {
+			session.createQuery( "from Item where name = :name", Item.class );
+			session.enableFilter( "byName" ).setParameter( "name", "item" );
+			session.createQuery( "select count(i) from Item i", Long.class );
+		} );
+	}
+
+	private SessionFactory buildSessionFactory() {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.GENERATE_STATISTICS, "true" )
+				.applySetting( AvailableSettings.QUERY_PLAN_CACHE_WARM_UP_FILE, file.toString() )
+				.build();
+		try {
+			return new MetadataSources( ssr )
+					.addAnnotatedClass( Item.class )
+					.buildMetadata()
+					.buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( ssr );
+			throw e;
+		}
+	}
+
+	@Entity(name = "Item")
+	@FilterDef(name = "byName", parameters = @ParamDef(name = "name", type = "string"))
+	@Filter(name = "byName", condition = "name = :name")
+	public static class Item {
+		@Id
+		private Long id;
+
+		private String name;
+	}
+}
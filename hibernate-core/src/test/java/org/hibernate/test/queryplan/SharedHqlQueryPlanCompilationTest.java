@@ -0,0 +1,125 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.QueryException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that the threads missing on the same HQL query plan share a single compilation.
+ */
+public class SharedHqlQueryPlanCompilationTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int THREAD_COUNT = 8;
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class };
+	}
+
+	@Test
+	public void testConcurrentMisses() throws Exception {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final AtomicInteger compilationCount = new AtomicInteger();
+		final QueryPlanCache queryPlanCache = new QueryPlanCache(
+				sessionFactory(),
+				(queryString, shallow, enabledFilters, factory) -> {
+					compilationCount.incrementAndGet();
+					awaitSharedCompilations( statistics );
+					return new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
+				}
+		);
+
+		final ExecutorService executor = Executors.newFixedThreadPool( THREAD_COUNT );
+		try {
+			final List<Future<HQLQueryPlan>> plans = new ArrayList<>();
+			for ( int i = 0; i < THREAD_COUNT; i++ ) {
+				plans.add( executor.submit(
+						() -> queryPlanCache.getHQLQueryPlan( "from Item", false, Collections.emptyMap() )
+				) );
+			}
+			final HQLQueryPlan plan = plans.get( 0 ).get();
+			for ( Future<HQLQueryPlan> otherPlan : plans ) {
+				assertSame( plan, otherPlan.get() );
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals( 1, compilationCount.get() );
+		assertEquals( 1, statistics.getQueryPlanCacheMissCount() );
+		assertEquals( THREAD_COUNT - 1, statistics.getQueryPlanSharedCompilationCount() );
+		assertSame(
+				queryPlanCache.getHQLQueryPlan( "from Item", false, Collections.emptyMap() ),
+				queryPlanCache.getHQLQueryPlan( "from Item", false, Collections.emptyMap() )
+		);
+		assertEquals( 1, compilationCount.get() );
+	}
+
+	@Test
+	public void testFailedCompilation() {
+		final QueryPlanCache queryPlanCache = new QueryPlanCache(
+				sessionFactory(),
+				(queryString, shallow, enabledFilters, factory) -> {
+					throw new QueryException( "Unable to compile", queryString );
+				}
+		);
+		for ( int i = 0; i < 2; i++ ) {
+			try {
+				queryPlanCache.getHQLQueryPlan( "from Item", false, Collections.emptyMap() );
+				fail( "The compilation should have failed" );
+			}
+			catch (QueryException expected) {
+				// the failure is not cached
+			}
+		}
+	}
+
+	private static void awaitSharedCompilations(Statistics statistics) {
+		final long deadline = System.currentTimeMillis() + 10_000;
+		while ( statistics.getQueryPlanSharedCompilationCount() < THREAD_COUNT - 1
+				&& System.currentTimeMillis() < deadline ) {
+			Thread.yield();
+		}
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private Long id;
+
+		private String name;
+	}
+}
@@ -0,0 +1,224 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.stream.basic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.CascadeType;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the entities of scrolled and streamed results are detached according to the
+ * {@value QueryHints#STREAMING_DETACH_WINDOW} hint.
+ */
+public class StreamingDetachWindowTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class, Category.class };
+	}
+
+	@Before
+	public void createItems() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 1; i <= 20; i++ ) {
+				final Item item = new Item();
+				item.id = i;
+				item.name = "Item nr " + i;
+				session.persist( item );
+			}
+		} );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Override
+	protected void cleanupTestData() throws Exception {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete from Item" ).executeUpdate();
+			session.createQuery( "delete from Category" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testStream() {
+		doInHibernate( this::sessionFactory, session -> {
+			final PersistenceContext persistenceContext = ( (SessionImplementor) session ).getPersistenceContext();
+			final List<Item> items = new ArrayList<>();
+			try ( Stream<Item> stream = session.createQuery( "from Item i order by i.id", Item.class )
+					.setHint( QueryHints.STREAMING_DETACH_WINDOW, 0 )
+					.stream() ) {
+				stream.forEach( item -> {
+					assertTrue( session.contains( item ) );
+					assertEquals( 1, persistenceContext.getNumberOfManagedEntities() );
+					items.add( item );
+				} );
+			}
+			assertEquals( 20, items.size() );
+			assertEquals( 0, persistenceContext.getNumberOfManagedEntities() );
+		} );
+	}
+
+	@Test
+	public void testScrollWindow() {
+		doInHibernate( this::sessionFactory, session -> {
+			final PersistenceContext persistenceContext = ( (SessionImplementor) session ).getPersistenceContext();
+			final List<Item> items = new ArrayList<>();
+			try ( ScrollableResults results = session.createQuery( "from Item i order by i.id", Item.class )
+					.setHint( QueryHints.STREAMING_DETACH_WINDOW, 3 )
+					.scroll( ScrollMode.FORWARD_ONLY ) ) {
+				while ( results.next() ) {
+					items.add( (Item) results.get( 0 ) );
+					assertTrue( persistenceContext.getNumberOfManagedEntities() <= 4 );
+				}
+				assertEquals( 20, items.size() );
+				for ( int i = 0; i < 16; i++ ) {
+					assertFalse( session.contains( items.get( i ) ) );
+				}
+			}
+			assertEquals( 0, persistenceContext.getNumberOfManagedEntities() );
+		} );
+	}
+
+	@Test
+	public void testAlreadyManagedEntitiesAreKept() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Item item = session.get( Item.class, 1 );
+			try ( Stream<Item> stream = session.createQuery( "from Item i order by i.id", Item.class )
+					.setHint( QueryHints.STREAMING_DETACH_WINDOW, 0 )
+					.stream() ) {
+				assertEquals( 20, stream.count() );
+			}
+			assertTrue( session.contains( item ) );
+		} );
+	}
+
+	@Test
+	public void testEntitiesReferencedByTheWindowAreKept() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Category category = new Category();
+			category.id = 1;
+			session.persist( category );
+			session.createQuery( "update Item set category = :category" )
+					.setParameter( "category", category )
+					.executeUpdate();
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Item> items = new ArrayList<>();
+			try ( Stream<Item> stream = session.createQuery(
+					"from Item i join fetch i.category order by i.id",
+					Item.class
+			)
+					.setHint( QueryHints.STREAMING_DETACH_WINDOW, 2 )
+					.stream() ) {
+				stream.forEach( item -> {
+					// the category hydrated by the first row is still referenced by the rows of the window
+					assertTrue( session.contains( item.category ) );
+					if ( items.size() >= 3 ) {
+						// detaching the older items did not cascade to their category
+						assertFalse( session.contains( items.get( items.size() - 3 ) ) );
+						assertSame( items.get( 0 ).category, item.category );
+					}
+					items.add( item );
+				} );
+			}
+			assertEquals( 20, items.size() );
+			assertFalse( session.contains( items.get( 0 ).category ) );
+		} );
+	}
+
+	@Test
+	public void testProxiesOfDetachedEntitiesAreRemoved() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 1; i <= 20; i++ ) {
+				final Category category = new Category();
+				category.id = i;
+				session.persist( category );
+				session.get( Item.class, i ).lazyCategory = category;
+			}
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final SessionImplementor sessionImplementor = (SessionImplementor) session;
+			final PersistenceContext persistenceContext = sessionImplementor.getPersistenceContext();
+			final EntityPersister persister = sessionImplementor.getFactory()
+					.getMetamodel()
+					.entityPersister( Category.class );
+			try ( Stream<Item> stream = session.createQuery( "from Item i order by i.id", Item.class )
+					.setHint( QueryHints.STREAMING_DETACH_WINDOW, 0 )
+					.stream() ) {
+				stream.forEach( item -> {
+					final EntityKey key = sessionImplementor.generateEntityKey( item.id, persister );
+					assertNotNull( persistenceContext.getProxy( key ) );
+					assertTrue( persistenceContext.getBatchFetchQueue().containsEntityKey( key ) );
+					// the proxy of the previous item is gone with it
+					assertEquals( 1, persistenceContext.getNumberOfManagedEntities() );
+					if ( item.id > 1 ) {
+						final EntityKey previousKey = sessionImplementor.generateEntityKey( item.id - 1, persister );
+						assertNull( persistenceContext.getProxy( previousKey ) );
+						assertFalse( persistenceContext.getBatchFetchQueue().containsEntityKey( previousKey ) );
+					}
+				} );
+			}
+			for ( int i = 1; i <= 20; i++ ) {
+				final EntityKey key = sessionImplementor.generateEntityKey( i, persister );
+				assertNull( persistenceContext.getProxy( key ) );
+				assertFalse( persistenceContext.getBatchFetchQueue().containsEntityKey( key ) );
+			}
+		} );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		@ManyToOne(cascade = CascadeType.DETACH)
+		private Category category;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Category lazyCategory;
+	}
+
+	@Entity(name = "Category")
+	@BatchSize(size = 5)
+	public static class Category {
+		@Id
+		private Integer id;
+	}
+}
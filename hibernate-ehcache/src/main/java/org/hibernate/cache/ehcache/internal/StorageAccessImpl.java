@@ -6,6 +6,11 @@
  */
 package org.hibernate.cache.ehcache.internal;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
 import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
@@ -14,6 +19,7 @@ import net.sf.ehcache.hibernate.nonstop.HibernateNonstopCacheExceptionHandler;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.support.DomainDataStorageAccess;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.collections.CollectionHelper;
 
 import org.jboss.logging.Logger;
 
@@ -84,6 +90,30 @@ public class StorageAccessImpl implements DomainDataStorageAccess  {
 		}
 	}
 
+	@Override
+	public Map<Object, Object> getAllFromCache(Collection<?> keys, SharedSessionContractImplementor session) {
+		try {
+			final Map<Object, Element> elements = getCache().getAll( keys );
+			final Map<Object, Object> cached = new HashMap<>( CollectionHelper.determineProperSizing( elements.size() ) );
+			for ( Map.Entry<Object, Element> entry : elements.entrySet() ) {
+				if ( entry.getValue() != null ) {
+					cached.put( entry.getKey(), entry.getValue().getObjectValue() );
+				}
+			}
+			return cached;
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+				return Collections.emptyMap();
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+	}
+
 	@Override
 	public void evictData(Object key) {
 		try {
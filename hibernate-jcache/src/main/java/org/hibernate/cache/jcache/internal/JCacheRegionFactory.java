@@ -29,6 +29,7 @@ import org.hibernate.cache.jcache.MissingCacheStrategy;
 import org.hibernate.cache.spi.CacheKeysFactory;
 import org.hibernate.cache.spi.DomainDataRegion;
 import org.hibernate.cache.spi.SecondLevelCacheLogger;
+import org.hibernate.cache.spi.TimestampsRegion;
 import org.hibernate.cache.spi.support.DomainDataStorageAccess;
 import org.hibernate.cache.spi.support.RegionFactoryTemplate;
 import org.hibernate.cache.spi.support.RegionNameQualifier;
@@ -142,6 +143,16 @@ public class JCacheRegionFactory extends RegionFactoryTemplate {
 		);
 	}
 
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, SessionFactoryImplementor sessionFactory) {
+		verifyStarted();
+		return new JCacheTimestampsRegionImpl(
+				regionName,
+				this,
+				createTimestampsRegionStorageAccess( regionName, sessionFactory )
+		);
+	}
+
 	@Override
 	protected StorageAccess createTimestampsRegionStorageAccess(
 			String regionName,
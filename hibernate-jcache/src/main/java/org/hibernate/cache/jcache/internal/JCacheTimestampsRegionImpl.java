@@ -0,0 +1,90 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.cache.jcache.internal;
+
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryCreatedListener;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.cache.spi.support.TimestampsRegionTemplate;
+
+/**
+ * Timestamps region notifying of its updates through the entry listeners of the underlying JCache.
+ */
+public class JCacheTimestampsRegionImpl extends TimestampsRegionTemplate {
+
+	public JCacheTimestampsRegionImpl(String name, RegionFactory regionFactory, StorageAccess storageAccess) {
+		super( name, regionFactory, storageAccess );
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean addUpdateListener(UpdateListener listener) {
+		if ( !( getStorageAccess() instanceof JCacheAccessImpl ) ) {
+			return false;
+		}
+		try {
+			// synchronous, so that a query validated right after an update sees its timestamp
+			( (JCacheAccessImpl) getStorageAccess() ).getUnderlyingCache().registerCacheEntryListener(
+					new MutableCacheEntryListenerConfiguration(
+							new FactoryBuilder.SingletonFactory<>( new TimestampsEntryListener( listener ) ),
+							null,
+							false,
+							true
+					)
+			);
+			return true;
+		}
+		catch (UnsupportedOperationException e) {
+			return false;
+		}
+	}
+
+	private static final class TimestampsEntryListener
+			implements CacheEntryCreatedListener<Object, Object>, CacheEntryUpdatedListener<Object, Object>,
+			CacheEntryRemovedListener<Object, Object>, CacheEntryExpiredListener<Object, Object> {
+		private final UpdateListener listener;
+
+		private TimestampsEntryListener(UpdateListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void onCreated(Iterable<CacheEntryEvent<?, ?>> events) {
+			for ( CacheEntryEvent<?, ?> event : events ) {
+				listener.onUpdate( event.getKey(), event.getValue() );
+			}
+		}
+
+		@Override
+		public void onUpdated(Iterable<CacheEntryEvent<?, ?>> events) {
+			for ( CacheEntryEvent<?, ?> event : events ) {
+				listener.onUpdate( event.getKey(), event.getValue() );
+			}
+		}
+
+		@Override
+		public void onRemoved(Iterable<CacheEntryEvent<?, ?>> events) {
+			for ( CacheEntryEvent<?, ?> event : events ) {
+				listener.onUpdate( event.getKey(), null );
+			}
+		}
+
+		@Override
+		public void onExpired(Iterable<CacheEntryEvent<?, ?>> events) {
+			for ( CacheEntryEvent<?, ?> event : events ) {
+				listener.onUpdate( event.getKey(), null );
+			}
+		}
+	}
+}
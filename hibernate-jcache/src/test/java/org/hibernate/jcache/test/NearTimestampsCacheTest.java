@@ -0,0 +1,151 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.jcache.test;
+
+import java.util.concurrent.CompletableFuture;
+import javax.cache.Cache;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.internal.NearTimestampsCacheFactory;
+import org.hibernate.cache.internal.NearTimestampsCacheImpl;
+import org.hibernate.cache.jcache.internal.JCacheAccessImpl;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.support.DirectAccessRegionTemplate;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hibernate.testing.transaction.TransactionUtil2.inSession;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link NearTimestampsCacheImpl} against the update notifications of a JCache timestamps region
+ */
+public class NearTimestampsCacheTest extends BaseUnitTestCase {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testTimestampsFollowRegionUpdates() {
+		TestHelper.preBuildAllCaches();
+		try (final SessionFactoryImplementor sessionFactory = TestHelper.buildStandardSessionFactory(
+				ssrb -> ssrb.applySetting( AvailableSettings.QUERY_CACHE_FACTORY, NearTimestampsCacheFactory.class.getName() )
+		) ) {
+			final TimestampsCache timestampsCache = sessionFactory.getCache().getTimestampsCache();
+			assertThat( timestampsCache, instanceOf( NearTimestampsCacheImpl.class ) );
+
+			final JCacheAccessImpl access = (JCacheAccessImpl) ( (DirectAccessRegionTemplate) timestampsCache.getRegion() ).getStorageAccess();
+			final Cache<Object, Object> jcache = access.getUnderlyingCache();
+			final String[] spaces = { "Item", "Event" };
+
+			inSession(
+					sessionFactory,
+					s -> {
+						final long timestamp = sessionFactory.getCache().getRegionFactory().nextTimestamp();
+						assertTrue( timestampsCache.isUpToDate( spaces, timestamp, s ) );
+
+						// as if another member of the cluster updated, then evicted, the timestamp
+						jcache.put( "Event", timestamp + 1 );
+						assertFalse( timestampsCache.isUpToDate( spaces, timestamp, s ) );
+						jcache.remove( "Event" );
+						assertTrue( timestampsCache.isUpToDate( spaces, timestamp, s ) );
+
+						// the timestamps known locally are used without reading the region
+						jcache.put( "Event", timestamp + 1 );
+						jcache.clear();
+						assertFalse( timestampsCache.isUpToDate( spaces, timestamp, s ) );
+					}
+			);
+		}
+	}
+
+	@Test
+	public void testRegionReadRacingAnInvalidation() {
+		TestHelper.preBuildAllCaches();
+		try (final SessionFactoryImplementor sessionFactory = TestHelper.buildStandardSessionFactory() ) {
+			final TimestampsRegion region = sessionFactory.getCache().getTimestampsCache().getRegion();
+			final InterleavingTimestampsRegion interleavingRegion = new InterleavingTimestampsRegion( region );
+			final NearTimestampsCacheImpl timestampsCache = new NearTimestampsCacheImpl( interleavingRegion );
+			assertTrue( region.addUpdateListener( timestampsCache ) );
+			final String[] spaces = { "Item" };
+
+			inSession(
+					sessionFactory,
+					s -> {
+						timestampsCache.invalidate( spaces, s );
+						final long timestamp = sessionFactory.getCache().getRegionFactory().nextTimestamp();
+
+						// another thread invalidates the space after the region was read, but before the
+						// timestamp read is kept
+						interleavingRegion.afterRead = () -> CompletableFuture.runAsync(
+								() -> inSession( sessionFactory, other -> timestampsCache.invalidate( spaces, other ) )
+						).join();
+						assertTrue( timestampsCache.isUpToDate( spaces, timestamp, s ) );
+
+						// the outdated timestamp read was not kept
+						assertFalse( timestampsCache.isUpToDate( spaces, timestamp, s ) );
+						assertFalse( timestampsCache.isUpToDate( spaces, timestamp, s ) );
+					}
+			);
+		}
+	}
+
+	/**
+	 * Runs an action right after the next read of the timestamp of a space
+	 */
+	private static class InterleavingTimestampsRegion implements TimestampsRegion {
+		private final TimestampsRegion delegate;
+		private volatile Runnable afterRead;
+
+		private InterleavingTimestampsRegion(TimestampsRegion delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+			final Object value = delegate.getFromCache( key, session );
+			final Runnable action = afterRead;
+			if ( action != null ) {
+				afterRead = null;
+				action.run();
+			}
+			return value;
+		}
+
+		@Override
+		public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+			delegate.putIntoCache( key, value, session );
+		}
+
+		@Override
+		public String getName() {
+			return delegate.getName();
+		}
+
+		@Override
+		public RegionFactory getRegionFactory() {
+			return delegate.getRegionFactory();
+		}
+
+		@Override
+		public void clear() {
+			delegate.clear();
+		}
+
+		@Override
+		public void destroy() throws CacheException {
+			delegate.destroy();
+		}
+	}
+}